@@ -1,11 +1,14 @@
 package runtogether.server.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import runtogether.server.domain.RouteDetail;
 import runtogether.server.dto.CourseDto;
 import runtogether.server.dto.GroupDto;
 import runtogether.server.service.CourseService;
+import runtogether.server.service.RouteTileService;
 
 import java.util.List;
 
@@ -15,6 +18,7 @@ import java.util.List;
 public class CourseController {
 
     private final CourseService courseService;
+    private final RouteTileService routeTileService;
 
     // 0. 전체 코스 목록 조회 (플러터 드롭다운 목록용!)
     // GET http://localhost:8080/api/v1/courses
@@ -36,9 +40,12 @@ public class CourseController {
     // 2. ★ [추가됨] 코스 상세 조회 (프론트 친구가 요청한 부분!)
     // GET http://localhost:8080/api/v1/courses/{courseId}
     // 예: /api/v1/courses/1
+    // ?detail=low|medium|full 로 경로 좌표 밀도 선택 (기본 full)
     @GetMapping("/{courseId}")
-    public ResponseEntity<CourseDto.Response> getCourseDetail(@PathVariable Long courseId) {
-        return ResponseEntity.ok(courseService.getCourseDetail(courseId));
+    public ResponseEntity<CourseDto.Response> getCourseDetail(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) String detail) {
+        return ResponseEntity.ok(courseService.getCourseDetail(courseId, RouteDetail.from(detail)));
     }
 
     // 3. 경로 검색
@@ -68,4 +75,32 @@ public class CourseController {
         // 아래처럼 바로 tmapService를 호출하게 수정하거나 courseService를 거치게 해주세요.
         return ResponseEntity.ok(courseService.searchBicycleRoute(startName, endName));
     }
-}
\ No newline at end of file
+
+    // 6. 코스 경로 타일 (지도 줌에 맞춰 단순화 + 타일 경계로 자른 경로)
+    // GET /api/v1/courses/{courseId}/tiles/{z}/{x}/{y}
+    @GetMapping("/{courseId}/tiles/{z}/{x}/{y}")
+    public ResponseEntity<byte[]> getCourseTile(
+            @PathVariable Long courseId,
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(routeTileService.courseTile(courseId, z, x, y));
+    }
+
+    // 7. 화면 범위에 걸친 코스 타일 한 번에
+    // GET /api/v1/courses/{courseId}/tiles?z=14&minLat=..&minLng=..&maxLat=..&maxLng=..
+    @GetMapping("/{courseId}/tiles")
+    public ResponseEntity<byte[]> getCourseTiles(
+            @PathVariable Long courseId,
+            @RequestParam int z,
+            @RequestParam double minLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLat,
+            @RequestParam double maxLng) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(routeTileService.courseViewport(courseId, z, minLat, minLng, maxLat, maxLng));
+    }
+}
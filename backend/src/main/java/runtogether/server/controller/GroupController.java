@@ -84,15 +84,33 @@ public class GroupController {
     }
 
     // 4. ★ [수정됨] 그룹 목록 조회 (검색 + 필터링 통합)
-    // 사용법: GET /api/v1/groups?keyword=한강&status=recruiting&type=public
+    // 사용법: GET /api/v1/groups?keyword=한강&status=recruiting&type=public (검색어가 있으면 관련도 순, GroupSearchIndex)
+    // 페이지: GET /api/v1/groups?sort=newest|start_date|seats&limit=20&cursor={앞 응답의 nextCursor}
+    //  - sort/limit/cursor 중 하나라도 있으면 { groups, nextCursor } 페이지로 응답 (없으면 예전처럼 전체 배열)
     @GetMapping
-    public ResponseEntity<List<GroupDto.Response>> getGroupList(
+    public ResponseEntity<?> getGroupList(
             @RequestParam(required = false) String keyword, // 검색어
             @RequestParam(required = false) String status,  // 모집 상태 (recruiting)
-            @RequestParam(required = false) String type     // 공개 여부 (public)
+            @RequestParam(required = false) String type,    // 공개 여부 (public)
+            @RequestParam(required = false) String sort,    // 정렬 (newest 기본)
+            @RequestParam(required = false) String cursor,  // 다음 페이지 커서
+            @RequestParam(required = false) Integer limit   // 페이지 크기 (기본 20, 최대 100)
     ) {
-        // searchGroups 대신 getFilteredGroups를 호출합니다!
-        return ResponseEntity.ok(groupService.getFilteredGroups(keyword, status, type));
+        if (sort == null && cursor == null && limit == null) {
+            // searchGroups 대신 getFilteredGroups를 호출합니다!
+            return ResponseEntity.ok(groupService.getFilteredGroups(keyword, status, type));
+        }
+        return ResponseEntity.ok(groupService.getGroupPage(keyword, status, type, sort, cursor, limit));
+    }
+
+    // 4-1. 검색어 자동완성 (이름/태그가 입력 중인 글자로 시작하는 그룹)
+    // 사용법: GET /api/v1/groups/autocomplete?q=한가&type=public&limit=10
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<GroupDto.Suggestion>> autocomplete(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(groupService.autocomplete(q, type, limit));
     }
 
     // 5. 그룹 상세 조회 (설정 페이지 진입 시 호출)
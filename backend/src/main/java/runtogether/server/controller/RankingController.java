@@ -1,13 +1,19 @@
 package runtogether.server.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import runtogether.server.dto.RankingDto;
 import runtogether.server.service.RankingService;
+import runtogether.server.service.RankingStreamService;
+import runtogether.server.service.ResultsVersionService;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1") // ★ 수정: 공통 경로로 변경 (기존: /api/v1/courses)
@@ -15,6 +21,8 @@ import java.util.List;
 public class RankingController {
 
     private final RankingService rankingService;
+    private final ResultsVersionService resultsVersionService;
+    private final RankingStreamService rankingStreamService;
 
     // 랭킹 조회 API
     // URL 변경: /api/v1/courses/{id}/rankings -> /api/v1/groups/{groupId}/rankings
@@ -23,11 +31,47 @@ public class RankingController {
             @AuthenticationPrincipal String email, // ★ 수정: 토큰에서 이메일 자동 추출 (앱 연동 필수)
             @PathVariable Long groupId,            // ★ 수정: courseId -> groupId 로 변경
             @RequestParam(defaultValue = "TOTAL") String type, // "TOTAL" or "SECTION"
-            @RequestParam(required = false) Integer km         // 구간 랭킹일 때만 필요
+            @RequestParam(required = false) Integer km,        // 구간 랭킹일 때만 필요
+            @RequestParam(required = false) Integer top,       // 1등부터 N명
+            @RequestParam(required = false) Integer limit,     // top 의 예전 이름 (이미 배포된 앱 호환, top 이 있으면 무시)
+            @RequestParam(required = false) String around,     // "me" 면 내 주변
+            @RequestParam(required = false) Integer radius,    // 내 위아래 몇 명씩 (기본 5)
+            @RequestParam(required = false) Integer after,     // 이 등수 다음부터 (페이지 넘김)
+            @RequestParam(required = false) Integer size,      // 페이지 크기 (기본 50)
+            WebRequest webRequest
     ) {
+        if (around != null && !"me".equals(around)) {
+            throw new IllegalArgumentException("around 는 me 만 지원합니다.");
+        }
+
+        // ★ 그룹 기록이 바뀌지 않았으면 서비스/DB 를 거치지 않고 304 (isMe 가 있으므로 요청자별 ETag)
+        String etag = resultsVersionService.etag(groupId, email);
+        if (ResultsCaching.notModified(webRequest, etag)) return null;
 
         System.out.println("📢 [RankingController] 요청받은 그룹 ID: " + groupId + ", 타입: " + type);
         // 서비스에도 groupId를 넘겨줍니다.
-        return ResponseEntity.ok(rankingService.getRanking(email, groupId, type, km));
+        return ResponseEntity.ok().eTag(etag).body(rankingService.getRanking(email, groupId, type, km, (top != null) ? top : limit, around != null, radius, after, size));
+    }
+
+    // 모든 km 구간 랭킹 한 번에 조회 ({"1": [...], "2": [...], ...})
+    @GetMapping("/groups/{groupId}/rankings/sections")
+    public ResponseEntity<Map<Integer, List<RankingDto>>> getSectionRankings(
+            @AuthenticationPrincipal String email,
+            @PathVariable Long groupId,
+            @RequestParam(required = false) Integer top,       // 구간마다 상위 N명만 (없으면 전체)
+            @RequestParam(required = false) Integer limit,     // top 의 예전 이름
+            WebRequest webRequest
+    ) {
+        String etag = resultsVersionService.etag(groupId, email);
+        if (ResultsCaching.notModified(webRequest, etag)) return null;
+
+        return ResponseEntity.ok().eTag(etag).body(rankingService.getAllSectionRankings(email, groupId, (top != null) ? top : limit));
+    }
+
+    // 랭킹 실시간 구독 (SSE)
+    // 연결하면 event: snapshot 으로 현재 상위 랭킹, 이후 기록이 바뀔 때마다 event: delta 로 변경분만 받음
+    @GetMapping(value = "/groups/{groupId}/rankings/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRankings(@PathVariable Long groupId) {
+        return rankingStreamService.subscribe(groupId);
     }
 }
\ No newline at end of file
@@ -1,15 +1,27 @@
 package runtogether.server.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-import runtogether.server.domain.User;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import runtogether.server.domain.RouteDetail;
 import runtogether.server.dto.RecordDto;
-import runtogether.server.dto.ReplayDto;
+import runtogether.server.service.IdempotencyStore;
+import runtogether.server.service.RecordIngestService;
 import runtogether.server.service.RecordService;
+import runtogether.server.service.ReplayBundle;
+import runtogether.server.service.ReplayService;
+import runtogether.server.service.ResultsVersionService;
+import runtogether.server.service.RouteTileService;
+import runtogether.server.service.RunSessionService;
 
-import java.util.List;
+import java.net.URI;
+import java.util.Collections;
 
 @RestController
 @RequestMapping("/api/v1") // ★ 수정: 범위를 /api/v1/records -> /api/v1 으로 넓혔습니다!
@@ -17,15 +29,88 @@ import java.util.List;
 public class RecordController {
 
     private final RecordService recordService;
+    private final RecordIngestService recordIngestService;
+    private final RunSessionService runSessionService;
+    private final IdempotencyStore idempotencyStore;
+    private final ResultsVersionService resultsVersionService;
+    private final ReplayService replayService;
+    private final RouteTileService routeTileService;
 
 
     // 1. 기록 저장
     // URL: POST /api/v1/records
+    // ?mode=async 를 붙이면 바로 202 + 처리 번호를 주고, 저장은 백그라운드에서 묶어서 처리
+    // Idempotency-Key 헤더가 있으면 같은 키로 재전송된 요청은 다시 저장하지 않고 처음 결과를 그대로 돌려줌
     @PostMapping("/records") // ★ 수정: 여기에 /records를 붙여줌
-    public ResponseEntity<Long> createRecord(
+    public ResponseEntity<?> createRecord(
             @AuthenticationPrincipal String email,
+            @RequestBody RecordDto.Request request,
+            @RequestParam(required = false) String mode,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        boolean async = "async".equals(mode);
+
+        if (!async) {
+            Long recordId = (idempotencyKey == null)
+                    ? recordService.createRecord(email, request)
+                    : idempotencyStore.execute(email + ":" + idempotencyKey, () -> recordService.createRecord(email, request));
+            return ResponseEntity.ok(recordId);
+        }
+
+        String handle = (idempotencyKey == null)
+                ? recordIngestService.submit(email, request)
+                : idempotencyStore.execute(email + ":async:" + idempotencyKey, () -> recordIngestService.submit(email, request));
+        if (handle == null) {
+            // 큐가 가득 참 → 잠시 후 다시 보내달라고 응답
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Collections.singletonMap("message", "기록 저장 요청이 많습니다. 잠시 후 다시 시도해주세요."));
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/records/ingest/" + handle))
+                .body(new RecordDto.IngestResponse(handle, RecordIngestService.PENDING, null, null));
+    }
+
+    // 1-1. 비동기 저장 처리 상태 조회
+    // URL: GET /api/v1/records/ingest/{handle}
+    @GetMapping("/records/ingest/{handle}")
+    public ResponseEntity<RecordDto.IngestResponse> getIngestStatus(
+            @AuthenticationPrincipal String email,
+            @PathVariable String handle) {
+        RecordDto.IngestResponse response = recordIngestService.getStatus(email, handle);
+        if (response == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    // 1-2. 러닝 세션 시작 (달리는 중 경로를 조각으로 나눠 올리는 방식)
+    // URL: POST /api/v1/records/sessions
+    @PostMapping("/records/sessions")
+    public ResponseEntity<Long> openSession(
+            @AuthenticationPrincipal String email,
+            @RequestBody RecordDto.SessionOpenRequest request) {
+        return ResponseEntity.ok(runSessionService.openSession(email, request));
+    }
+
+    // 1-3. 경로 조각 업로드 (N초마다 호출, seq 는 1부터 1씩 증가)
+    // URL: POST /api/v1/records/sessions/{sessionId}/chunks
+    @PostMapping("/records/sessions/{sessionId}/chunks")
+    public ResponseEntity<?> appendChunk(
+            @AuthenticationPrincipal String email,
+            @PathVariable Long sessionId,
+            @RequestBody RecordDto.ChunkRequest request) {
+        int lastSeq = runSessionService.appendChunk(email, sessionId, request);
+        return ResponseEntity.ok(Collections.singletonMap("lastSeq", lastSeq));
+    }
+
+    // 1-4. 러닝 세션 종료 → 기록 저장 (routeData 없이 요약 정보만 보내면 됨)
+    // URL: POST /api/v1/records/sessions/{sessionId}/finish
+    @PostMapping("/records/sessions/{sessionId}/finish")
+    public ResponseEntity<Long> finishSession(
+            @AuthenticationPrincipal String email,
+            @PathVariable Long sessionId,
             @RequestBody RecordDto.Request request) {
-        return ResponseEntity.ok(recordService.createRecord(email, request));
+        return ResponseEntity.ok(runSessionService.finishSession(email, sessionId, request));
     }
 
     // 2. [전체] 가장 최근 기록 조회 (마이페이지용)
@@ -45,34 +130,144 @@ public class RecordController {
     @GetMapping("/groups/{groupId}/records/best")
     public ResponseEntity<RecordDto.DetailResponse> getBestRecordInGroup(
             @AuthenticationPrincipal String email,
-            @PathVariable Long groupId
+            @PathVariable Long groupId,
+            WebRequest webRequest
     ) {
+        // 그룹 결과가 그대로면 304 (순위/평균이 같으므로 응답도 같음, 내 기록이므로 요청자별 ETag)
+        String etag = resultsVersionService.etag(groupId, email);
+        if (ResultsCaching.notModified(webRequest, etag)) return null;
+
         // 서비스의 getBestRecordInGroup 호출!
         RecordDto.DetailResponse response = recordService.getBestRecordInGroup(email, groupId);
 
         if (response == null) {
             return ResponseEntity.noContent().build(); // 기록 없으면 204 리턴
         }
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag).body(response);
     }
 
     // 3. 기록 상세 조회
     // URL: GET /api/v1/records/{recordId}
+    // ?detail=low|medium|full 로 경로 좌표 밀도 선택 (기본 full)
     @GetMapping("/records/{recordId}") // ★ 수정
     public ResponseEntity<RecordDto.DetailResponse> getRecordDetail(
             @AuthenticationPrincipal String email,
-            @PathVariable Long recordId) {
-        return ResponseEntity.ok(recordService.getRecordDetail(email, recordId));
+            @PathVariable Long recordId,
+            @RequestParam(required = false) String detail) {
+        return ResponseEntity.ok(recordService.getRecordDetail(email, recordId, RouteDetail.from(detail)));
     }
 
     // 4. 리플레이 API
     // URL: GET /api/v1/records/replay/{groupId}
+    // ?detail=low|medium|full 로 경로 좌표 밀도 선택 (기본 full)
+    // ?format=columnar 면 러너마다 lat / lng / t 배열 (&delta=true 면 차이값으로), 없으면 기존 점 목록
+    // 응답은 미리 직렬화해 둔 번들에서 바로 내보냄 (Accept-Encoding: gzip 이면 내보내면서 압축)
     @GetMapping("/records/replay/{groupId}") // ★ 수정
-    public ResponseEntity<List<ReplayDto>> getReplay(
+    public ResponseEntity<StreamingResponseBody> getReplay(
             @PathVariable Long groupId,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal String email, // ★ 수정: 토큰 principal 은 이메일 (User 로 받으면 null)
+            @RequestParam(required = false) String detail,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean delta,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest
     ) {
-        List<ReplayDto> response = recordService.getReplayData(groupId, user.getId());
-        return ResponseEntity.ok(response);
+        boolean columnar = "columnar".equals(format);
+        if (format != null && !columnar && !"points".equals(format)) {
+            throw new IllegalArgumentException("format 은 points, columnar, frames, ndjson 중 하나여야 합니다.");
+        }
+
+        // 번들은 요청자와 상관없이 그룹 버전으로 캐시, 응답은 isMe 가 들어가므로 요청자별 ETag
+        String etag = resultsVersionService.etag(groupId, email);
+        if (ResultsCaching.notModified(webRequest, etag)) return null;
+
+        ReplayBundle bundle = replayService.getBundle(groupId, resultsVersionService.etag(groupId), RouteDetail.from(detail), columnar, delta);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return response.body(out -> bundle.writeTo(out, email, gzip));
+    }
+
+    // 리플레이 NDJSON (러너 한 명당 한 줄, DB 에서 읽는 대로 바로 전송)
+    // URL: GET /api/v1/records/replay/{groupId}?format=ndjson
+    // 받는 쪽이 느리면 그동안 DB 커넥션 하나가 전송에 묶여 있음 (ReplayReader.streamGroup)
+    @GetMapping(value = "/records/replay/{groupId}", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> getReplayNdjson(
+            @PathVariable Long groupId,
+            @AuthenticationPrincipal String email,
+            @RequestParam(required = false) String detail,
+            WebRequest webRequest
+    ) {
+        String etag = resultsVersionService.etag(groupId, email);
+        if (ResultsCaching.notModified(webRequest, etag)) return null;
+
+        RouteDetail routeDetail = RouteDetail.from(detail);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(out -> replayService.streamNdjson(groupId, email, routeDetail, out));
+    }
+
+    // 리플레이 프레임 (모든 러너를 같은 시간축에 맞춘 위치 행렬, 계산되는 대로 스트리밍)
+    // URL: GET /api/v1/records/replay/{groupId}?format=frames&step=1
+    @GetMapping(value = "/records/replay/{groupId}", params = "format=frames")
+    public ResponseEntity<StreamingResponseBody> getReplayFrames(
+            @PathVariable Long groupId,
+            @AuthenticationPrincipal String email,
+            @RequestParam(required = false) String detail,
+            @RequestParam(required = false) Integer step,
+            WebRequest webRequest
+    ) {
+        String etag = resultsVersionService.etag(groupId, email);
+        if (ResultsCaching.notModified(webRequest, etag)) return null;
+
+        ReplayService.FrameStream frames = replayService.getFrames(groupId, email, RouteDetail.from(detail), step);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(frames::writeTo);
+    }
+
+    // 리플레이 궤적 타일 (그룹 모든 기록의 경로를 지도 줌에 맞춰 단순화 + 타일 경계로 자름)
+    // URL: GET /api/v1/records/replay/{groupId}/tiles/{z}/{x}/{y}
+    @GetMapping("/records/replay/{groupId}/tiles/{z}/{x}/{y}")
+    public ResponseEntity<byte[]> getReplayTile(
+            @PathVariable Long groupId,
+            @PathVariable int z,
+            @PathVariable int x,
+            @PathVariable int y,
+            WebRequest webRequest
+    ) {
+        String etag = resultsVersionService.etag(groupId);
+        if (ResultsCaching.notModified(webRequest, etag)) return null;
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(routeTileService.groupTile(groupId, etag, z, x, y));
+    }
+
+    // 화면 범위에 걸친 리플레이 궤적 타일 한 번에
+    // URL: GET /api/v1/records/replay/{groupId}/tiles?z=14&minLat=..&minLng=..&maxLat=..&maxLng=..
+    @GetMapping("/records/replay/{groupId}/tiles")
+    public ResponseEntity<byte[]> getReplayTiles(
+            @PathVariable Long groupId,
+            @RequestParam int z,
+            @RequestParam double minLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLat,
+            @RequestParam double maxLng,
+            WebRequest webRequest
+    ) {
+        String etag = resultsVersionService.etag(groupId);
+        if (ResultsCaching.notModified(webRequest, etag)) return null;
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(routeTileService.groupViewport(groupId, etag, z, minLat, minLng, maxLat, maxLng));
     }
-}
\ No newline at end of file
+}
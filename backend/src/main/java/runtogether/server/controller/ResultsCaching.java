@@ -0,0 +1,33 @@
+package runtogether.server.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+// 그룹 결과 ETag 응답의 조건부 GET 처리 (RecordController / RankingController 공용)
+//
+// Cache-Control 이 없는 응답에는 Spring Security 가 "no-cache, no-store" 를 붙이는데,
+// no-store 면 앱/브라우저가 ETag 를 저장하지 않아 If-None-Match 가 오지 않고 304 도 나지 않습니다.
+//  - private: 요청자마다 다른 응답이므로 공용 캐시(프록시)에는 저장하지 않음
+//  - no-cache: 저장은 하되 쓸 때마다 ETag 로 다시 확인
+// 304 응답에도 붙어야 하므로 ResponseEntity 가 아니라 응답 객체에 바로 설정합니다.
+final class ResultsCaching {
+
+    static final String CACHE_CONTROL = "private, no-cache";
+
+    private ResultsCaching() {
+    }
+
+    // If-None-Match 가 etag 와 같으면 true (응답은 304 로 끝났으므로 컨트롤러는 null 을 반환)
+    static boolean notModified(WebRequest webRequest, String etag) {
+        if (webRequest instanceof ServletWebRequest servletRequest) {
+            HttpServletResponse response = servletRequest.getResponse();
+            if (response != null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+            }
+        }
+        return webRequest.checkNotModified(etag);
+    }
+}
@@ -0,0 +1,34 @@
+package runtogether.server.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import runtogether.server.dto.StatsDto;
+import runtogether.server.service.StatsService;
+
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final StatsService statsService;
+
+    // 그룹 기록 시간 분포 (백분위 + 구간별 인원 + 내 위치)
+    @GetMapping("/groups/{groupId}/stats/distribution")
+    public ResponseEntity<StatsDto.Distribution> getGroupDistribution(
+            @AuthenticationPrincipal String email,
+            @PathVariable Long groupId
+    ) {
+        return ResponseEntity.ok(statsService.groupDistribution(email, groupId));
+    }
+
+    // 코스 기록 시간 분포 (이 코스를 뛴 모든 그룹 기록)
+    @GetMapping("/courses/{courseId}/stats/distribution")
+    public ResponseEntity<StatsDto.Distribution> getCourseDistribution(
+            @AuthenticationPrincipal String email,
+            @PathVariable Long courseId
+    ) {
+        return ResponseEntity.ok(statsService.courseDistribution(email, courseId));
+    }
+}
@@ -32,6 +32,13 @@ public class Course {
     @Column(columnDefinition = "TEXT")
     private String pathData;
 
+    // 화면 크기에 맞춰 단순화한 경로 (RouteSimplifier, pathData 와 같은 JSON 형식)
+    @Column(columnDefinition = "TEXT")
+    private String pathDataMedium;
+
+    @Column(columnDefinition = "TEXT")
+    private String pathDataLow;
+
     @Column(length = 1000)
     private String description;
 
@@ -68,4 +75,18 @@ public class Course {
         this.startDate = null;    // (선택사항) 일정 정보도 초기화하고 싶다면
         this.endDate = null;
     }
-}
\ No newline at end of file
+
+    public void updateSimplifiedPaths(String pathDataMedium, String pathDataLow) {
+        this.pathDataMedium = pathDataMedium;
+        this.pathDataLow = pathDataLow;
+    }
+
+    // 요청한 상세도의 경로 (저장된 단순화 버전이 없으면 null)
+    public String getPathData(RouteDetail detail) {
+        return switch (detail) {
+            case LOW -> pathDataLow;
+            case MEDIUM -> pathDataMedium;
+            case FULL -> pathData;
+        };
+    }
+}
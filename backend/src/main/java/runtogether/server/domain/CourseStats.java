@@ -0,0 +1,21 @@
+package runtogether.server.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 코스별 기록 집계 (여러 그룹이 같은 코스를 뛰어도 코스 하나로 모음)
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "course_stats")
+public class CourseStats extends RecordStats {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    public CourseStats(Long courseId) {
+        this.courseId = courseId;
+    }
+}
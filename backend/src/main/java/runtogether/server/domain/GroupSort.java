@@ -0,0 +1,19 @@
+package runtogether.server.domain;
+
+// 그룹 목록 정렬 (GET /api/v1/groups?sort=...)
+// 모두 (정렬 키, id) 로 순서가 하나로 정해져서 커서 페이지를 넘겨도 빠지거나 겹치는 그룹이 없음
+public enum GroupSort {
+    NEWEST,     // 최신순 (id 내림차순)
+    START_DATE, // 시작일 빠른 순 (시작일 없는 그룹은 맨 뒤)
+    SEATS;      // 남은 자리 많은 순
+
+    // 요청 파라미터("newest", "start_date"(start-date), "seats") 변환 (없으면 NEWEST)
+    public static GroupSort from(String value) {
+        if (value == null || value.isBlank()) return NEWEST;
+        try {
+            return GroupSort.valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("sort 는 newest, start_date, seats 중 하나여야 합니다.");
+        }
+    }
+}
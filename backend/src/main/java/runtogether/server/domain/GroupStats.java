@@ -0,0 +1,22 @@
+package runtogether.server.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 그룹(대회)별 기록 집계
+// 기록 상세 화면마다 그룹 기록을 전부 읽어 평균 페이스를 내던 부분을 이 행 하나 읽기로 대체합니다.
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "group_stats")
+public class GroupStats extends RecordStats {
+
+    @Id
+    @Column(name = "group_id")
+    private Long groupId;
+
+    public GroupStats(Long groupId) {
+        this.groupId = groupId;
+    }
+}
@@ -0,0 +1,82 @@
+package runtogether.server.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Lob;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Getter;
+import runtogether.server.util.LogHistogram;
+
+// 기록 집계 공통 부분 (그룹별 GroupStats, 코스별 CourseStats)
+//
+// 기록 저장/갱신/삭제 때 조금씩 고쳐 나가는 값들
+//  - 인원 수, 페이스 합계(평균 = 합계 / 개수), 가장 빠른/느린 기록
+//  - 기록 시간 분포 (LogHistogram, 인원과 상관없이 크기 고정) → 순위 근사, 백분위, 분포 차트
+//  - 가장 빠른/느린 기록이 지워지면 분포에서 다음 칸을 찾으므로 그때부터는 근사값
+@Getter
+@MappedSuperclass
+public abstract class RecordStats {
+
+    private int recordCount;
+
+    // 페이스를 알 수 없는 기록은 평균에서 빠지므로 개수를 따로 셈
+    private long paceSum;
+    private int paceCount;
+
+    private Integer minTimeSeconds;
+    private Integer maxTimeSeconds;
+
+    @Lob
+    @Column(columnDefinition = "BLOB")
+    private byte[] histogram;
+
+    // 기존 기록으로 한 번 채웠는지 (처음 만들어진 행은 RecordStatsService 가 DB 기록으로 채움)
+    private boolean initialized;
+
+    public void add(Integer timeSeconds, Integer paceSeconds) {
+        recordCount++;
+        if (paceSeconds != null) {
+            paceSum += paceSeconds;
+            paceCount++;
+        }
+        if (timeSeconds != null) {
+            LogHistogram h = LogHistogram.fromBytes(histogram);
+            h.add(timeSeconds);
+            histogram = h.toBytes();
+            if (minTimeSeconds == null || timeSeconds < minTimeSeconds) minTimeSeconds = timeSeconds;
+            if (maxTimeSeconds == null || timeSeconds > maxTimeSeconds) maxTimeSeconds = timeSeconds;
+        }
+    }
+
+    public void remove(Integer timeSeconds, Integer paceSeconds) {
+        recordCount = Math.max(recordCount - 1, 0);
+        if (paceSeconds != null && paceCount > 0) {
+            paceSum -= paceSeconds;
+            paceCount--;
+        }
+        if (timeSeconds != null) {
+            LogHistogram h = LogHistogram.fromBytes(histogram);
+            h.remove(timeSeconds);
+            histogram = h.toBytes();
+            if (timeSeconds.equals(minTimeSeconds)) minTimeSeconds = h.lowestSeconds();
+            if (timeSeconds.equals(maxTimeSeconds)) maxTimeSeconds = h.highestSeconds();
+        }
+    }
+
+    public void markInitialized() {
+        this.initialized = true;
+    }
+
+    // 평균 페이스 (초, 없으면 0)
+    public int averagePaceSeconds() {
+        return (paceCount > 0) ? (int) (paceSum / paceCount) : 0;
+    }
+
+    // 나보다 빠른 기록 수 (분포 칸 기준 근사값)
+    public int countFasterThan(int timeSeconds) {
+        return (int) distribution().countLessThan(timeSeconds);
+    }
+
+    public LogHistogram distribution() {
+        return LogHistogram.fromBytes(histogram);
+    }
+}
@@ -0,0 +1,18 @@
+package runtogether.server.domain;
+
+// 경로 상세도 (지도/리플레이 화면에 내려줄 좌표 밀도)
+public enum RouteDetail {
+    LOW,    // 작은 지도, 목록 썸네일용 (크게 단순화)
+    MEDIUM, // 휴대폰 한 화면 지도용
+    FULL;   // 원본 GPS 좌표 전체
+
+    // 요청 파라미터("low", "medium", "full") 변환 (없으면 FULL)
+    public static RouteDetail from(String value) {
+        if (value == null || value.isBlank()) return FULL;
+        try {
+            return RouteDetail.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("detail 은 low, medium, full 중 하나여야 합니다.");
+        }
+    }
+}
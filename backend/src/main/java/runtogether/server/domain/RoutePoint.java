@@ -7,6 +7,8 @@ import lombok.NoArgsConstructor;
 @Entity
 @Getter
 @NoArgsConstructor
+// 그룹 리플레이가 구버전 좌표를 (기록, 시간) 순으로 한 번에 읽으므로 그 순서 그대로 인덱스
+@Table(indexes = @Index(name = "idx_route_point_record_time", columnList = "run_record_id, elapsed_seconds"))
 public class RoutePoint {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -3,6 +3,8 @@ package runtogether.server.domain;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import runtogether.server.util.RunTimes;
+
 import java.time.LocalDateTime;
 
 import java.util.ArrayList;
@@ -11,6 +13,13 @@ import java.util.List;
 @Entity
 @Getter
 @NoArgsConstructor
+// 한 사람은 같은 그룹/코스에 기록 1개만 (동시에 재전송된 요청이 둘 다 INSERT 되는 것을 DB 에서 막음)
+// 순위 계산(그룹/코스 안에서 나보다 빠른 기록 수 세기, 시간순 정렬)은 runTimeSeconds 인덱스 범위 조회로 처리
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "course_id", "running_group_id"}),
+        indexes = {
+                @Index(name = "idx_record_group_time", columnList = "running_group_id, run_time_seconds"),
+                @Index(name = "idx_record_course_time", columnList = "course_id, run_time_seconds")
+        })
 public class RunRecord extends BaseEntity {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -38,12 +47,32 @@ public class RunRecord extends BaseEntity {
     private Integer heartRate;   // 148 (bpm)
     private LocalDateTime endTime;
 
+    // 정렬/비교용 숫자 값 (runTime, averagePace 를 저장할 때 같이 계산, 예전 기록은 RunTimeBackfill 이 채움)
+    private Integer runTimeSeconds;   // 3402
+    private Integer paceSecondsPerKm; // 412
+
     // [상세 데이터 - 텍스트나 JSON으로 긴 내용 저장]
     @Column(columnDefinition = "TEXT")
     private String sectionJson;  // 구간별 기록 (표/그래프용)
 
+    // (구버전 기록 호환용) 예전에는 이동 경로를 JSON 문자열로 저장했음
     @Column(columnDefinition = "TEXT")
-    private String routeData;    // 이동 경로 (지도 그리기용)
+    private String routeData;
+
+    // 이동 경로 (지도 그리기/리플레이용) - RouteCodec 으로 압축한 바이너리
+    // JSON 문자열 + 좌표별 RoutePoint 행 대신 기록당 BLOB 하나만 저장합니다.
+    @Lob
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private byte[] routeBlob;
+
+    // 화면 크기에 맞춰 단순화한 경로 (RouteSimplifier, 같은 RouteCodec 포맷)
+    @Lob
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private byte[] routeBlobMedium;
+
+    @Lob
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private byte[] routeBlobLow;
 
     // 분석 결과 멘트
     private String analysisResult;
@@ -53,39 +82,63 @@ public class RunRecord extends BaseEntity {
     @OneToMany(mappedBy = "runRecord", cascade = CascadeType.ALL)
     private List<Lap> laps = new ArrayList<>();
 
+    // (구버전 기록 호환용) 새 기록은 routeBlob 에 저장하므로 더 이상 행이 추가되지 않음
     @OneToMany(mappedBy = "runRecord", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<RoutePoint> routePoints = new ArrayList<>();
 
     // 생성자 (분석 결과 추가)
     public RunRecord(User user, Course course, RunningGroup runningGroup, String runTime, Double distance,
                      String averagePace, Integer calories, Integer heartRate,
-                     String sectionJson, String routeData, String analysisResult, LocalDateTime endTime) {
+                     String sectionJson, byte[] routeBlob, String analysisResult, LocalDateTime endTime) {
         this.user = user;
         this.course = course;
         this.runningGroup = runningGroup;
         this.runTime = runTime;
         this.distance = distance;
         this.averagePace = averagePace;
+        this.runTimeSeconds = RunTimes.durationSeconds(runTime);
+        this.paceSecondsPerKm = RunTimes.paceSeconds(averagePace);
         this.calories = calories;
         this.heartRate = heartRate;
         this.sectionJson = sectionJson;
-        this.routeData = routeData;
+        this.routeBlob = routeBlob;
         this.analysisResult = analysisResult;
         this.endTime = endTime;
     }
 
     public void updateRecord(String runTime, Double distance, String averagePace,
                              Integer calories, Integer heartRate,
-                             String sectionJson, String routeData) {
+                             String sectionJson, byte[] routeBlob) {
         this.runTime = runTime;
         this.distance = distance;
         this.averagePace = averagePace;
+        this.runTimeSeconds = RunTimes.durationSeconds(runTime);
+        this.paceSecondsPerKm = RunTimes.paceSeconds(averagePace);
         this.calories = calories;
         this.heartRate = heartRate;
         this.sectionJson = sectionJson;
-        this.routeData = routeData;
+        this.routeBlob = routeBlob;
+
+        // 경로는 BLOB 으로 옮겨왔으니 구버전 JSON 은 비웁니다. (좌표 행은 RecordBulkWriter 가 한 번에 삭제)
+        this.routeData = null;
+
+        // 단순화 경로는 새 경로 기준으로 다시 만들어야 하므로 비움 (updateSimplifiedRoutes 로 채움)
+        this.routeBlobMedium = null;
+        this.routeBlobLow = null;
 
         // 기록이 갱신되었으니 날짜도 최신으로 맞춰줍니다.
         this.endTime = LocalDateTime.now();
     }
-}
\ No newline at end of file
+
+    public void updateSimplifiedRoutes(byte[] routeBlobMedium, byte[] routeBlobLow) {
+        this.routeBlobMedium = routeBlobMedium;
+        this.routeBlobLow = routeBlobLow;
+    }
+
+    // 요청한 상세도의 경로 (단순화 버전이 없는 예전 기록은 원본)
+    public byte[] getRouteBlob(RouteDetail detail) {
+        if (detail == RouteDetail.LOW && routeBlobLow != null) return routeBlobLow;
+        if (detail != RouteDetail.FULL && routeBlobMedium != null) return routeBlobMedium;
+        return routeBlob;
+    }
+}
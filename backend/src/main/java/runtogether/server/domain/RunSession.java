@@ -0,0 +1,56 @@
+package runtogether.server.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 달리는 중인 러닝 세션 (경로를 몇 초마다 조각(chunk)으로 나눠 올리는 용도)
+// 조각은 RouteCodec 블록으로 인코딩해서 routeBlob 뒤에 이어 붙이기만 하므로,
+// 종료 시에는 경로 전체를 다시 파싱할 필요 없이 그대로 RunRecord 로 옮깁니다.
+@Entity
+@Getter
+@NoArgsConstructor
+@Table(name = "run_sessions")
+public class RunSession extends BaseEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "session_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id")
+    private Course course;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "running_group_id")
+    private RunningGroup runningGroup;
+
+    // 지금까지 받은 경로 (헤더 + 조각 블록들)
+    @Lob
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private byte[] routeBlob;
+
+    private int lastSeq;     // 마지막으로 붙인 조각 번호 (1부터 시작, 0이면 아직 없음)
+    private int pointCount;  // 지금까지 받은 좌표 수
+
+    private boolean finished;
+    private Long recordId;   // 종료 후 만들어진 기록 ID
+
+    public RunSession(User user, Course course, RunningGroup runningGroup, byte[] routeBlob) {
+        this.user = user;
+        this.course = course;
+        this.runningGroup = runningGroup;
+        this.routeBlob = routeBlob;
+    }
+
+    // 종료 처리: 경로는 기록으로 옮겨 갔으니 세션 쪽 사본은 비웁니다.
+    public void finish(Long recordId) {
+        this.finished = true;
+        this.recordId = recordId;
+        this.routeBlob = null;
+    }
+}
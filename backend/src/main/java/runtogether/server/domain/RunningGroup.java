@@ -14,7 +14,14 @@ import java.util.List;
 @Getter
 @Setter
 @NoArgsConstructor
-@Table(name = "running_groups")
+@Table(name = "running_groups",
+        // 공개 그룹만 보기 (type=public) 를 id 순서로 (모집 중 조건 open_seats > 0 은 읽으면서 거름)
+        // 목록 정렬(GroupSort)마다 (정렬 키, group_id) 인덱스 → 커서 다음 행부터 limit 개만 읽음
+        indexes = {
+                @Index(name = "idx_group_secret_id", columnList = "is_secret, group_id"),
+                @Index(name = "idx_group_start", columnList = "start_date, group_id"),
+                @Index(name = "idx_group_seats", columnList = "open_seats, group_id")
+        })
 public class RunningGroup {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,6 +37,16 @@ public class RunningGroup {
     private boolean isSecret;
 
     private Integer maxPeople;
+
+    // 현재 인원 (user_groups 행 수를 미리 세어 둔 값)
+    // 가입/탈퇴 때 RunningGroupRepository 의 UPDATE 한 번으로만 바꿈 (updatable = false 라 엔티티를 저장해도 덮어쓰지 않음)
+    @Column(nullable = false, updatable = false, columnDefinition = "int not null default 0")
+    private int memberCount;
+
+    // 남은 자리 (max_people - member_count, 정원이 없으면 Integer.MAX_VALUE) - 남은 자리순 정렬/모집 중 필터용
+    // memberCount 와 같은 UPDATE 에서 같이 바뀜, -1 은 아직 계산 안 된 예전 그룹 (MemberCountBackfill 이 채움)
+    @Column(nullable = false, updatable = false, columnDefinition = "int not null default -1")
+    private int openSeats;
     private boolean isSearchable;
     private String tags;
     private LocalDate startDate;
@@ -72,6 +89,8 @@ public class RunningGroup {
         this.owner = owner;
         this.startDate = startDate;
         this.endDate = endDate;
+        this.memberCount = 1; // 방장은 만들 때 바로 가입됨
+        this.openSeats = (maxPeople != null) ? Math.max(0, maxPeople - 1) : Integer.MAX_VALUE;
 
         if (isSecret) {
             this.accessCode = generateRandomCode();
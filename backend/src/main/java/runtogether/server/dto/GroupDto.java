@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDate;
+import java.util.List;
 
 public class GroupDto {
 
@@ -51,6 +52,22 @@ public class GroupDto {
         private boolean isOwner;
     }
 
+    // 2-1. 그룹 목록 페이지 응답 (nextCursor 가 null 이면 마지막 페이지)
+    @Getter
+    @AllArgsConstructor
+    public static class Page {
+        private List<Response> groups;
+        private String nextCursor;
+    }
+
+    // 2-2. 검색어 자동완성 항목
+    @Getter
+    @AllArgsConstructor
+    public static class Suggestion {
+        private Long id;
+        private String groupName;
+    }
+
     // 3. 그룹 상세 조회 응답
     @Getter
     @Setter
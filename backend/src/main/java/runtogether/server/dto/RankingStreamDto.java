@@ -0,0 +1,48 @@
+package runtogether.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 랭킹 실시간 구독(SSE) 이벤트
+public class RankingStreamDto {
+
+    // 랭킹 한 줄 (isMe 는 구독자마다 다르므로 빼고 recordId 로 앱에서 판단)
+    @Getter
+    @AllArgsConstructor
+    public static class Row {
+        private int rank;
+        private Long recordId;
+        private String nickname;
+        private String profileImage;
+        private String recordValue; // "56:42"
+    }
+
+    // 순위가 바뀐 기록
+    @Getter
+    @AllArgsConstructor
+    public static class Moved {
+        private Long recordId;
+        private int from;
+        private int to;
+    }
+
+    // 연결 직후 한 번 (event: snapshot)
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private String version;
+        private List<Row> entries;
+    }
+
+    // 이후 변경분 (event: delta) - 새로 들어온 / 순위가 바뀐 / 빠진 기록
+    @Getter
+    @AllArgsConstructor
+    public static class Delta {
+        private String version;
+        private List<Row> entered;
+        private List<Moved> moved;
+        private List<Long> left;
+    }
+}
@@ -80,4 +80,32 @@ public class RecordDto {
         // [뱃지] (String -> List로 변경)
         private List<String> badges;   // ["8km 완주", "첫 기록"]
     }
-}
\ No newline at end of file
+
+    // 4. 비동기 기록 저장 접수/상태 응답
+    @Getter
+    @AllArgsConstructor
+    public static class IngestResponse {
+        private String handle;    // 처리 번호
+        private String status;    // PENDING / DONE / FAILED
+        private Long recordId;    // 저장 완료 시 기록 ID
+        private String message;   // 실패 사유
+    }
+
+    // 5. 러닝 세션 시작 요청 (달리는 중 경로를 조각으로 올릴 때)
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SessionOpenRequest {
+        private Long courseId;
+        private Long groupId;
+    }
+
+    // 6. 경로 조각 업로드 요청
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChunkRequest {
+        private int seq;          // 조각 번호 (1부터 1씩 증가)
+        private String routeData; // 이번 조각의 좌표들 ([{lat, lng, time}, ...] JSON String)
+    }
+}
@@ -1,7 +1,9 @@
 package runtogether.server.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
 import java.util.List;
 
 @Data
@@ -9,6 +11,9 @@ import java.util.List;
 public class ReplayDto {
     private Long runRecordId;
     private String nickname; // 유저 닉네임
+    // Lombok 게터 isMe() 는 Jackson 에서 "me" 가 되므로 게터에도 이름을 붙여 "isMe" 하나만 나가게 함
+    @JsonProperty("isMe")
+    @Getter(onMethod_ = @JsonProperty("isMe"))
     private boolean isMe;    // 나인지?
     private List<PointDto> path; // 이동 경로
 
@@ -19,4 +24,22 @@ public class ReplayDto {
         private double lng;
         private int time; // 경과 시간
     }
-}
\ No newline at end of file
+
+    // 열(column) 형식 리플레이 (?format=columnar)
+    // 점마다 객체를 만드는 대신 lat / lng / t 세 배열로 내려줌 (좌표는 scale 을 곱한 정수, 1e6 이면 약 11cm)
+    // delta=true 면 각 배열의 첫 값은 그대로, 그 뒤는 바로 앞 값과의 차이
+    @Data
+    @Builder
+    public static class Columns {
+        private Long runRecordId;
+        private String nickname;
+        @JsonProperty("isMe")
+        @Getter(onMethod_ = @JsonProperty("isMe"))
+        private boolean isMe;
+        private int scale;
+        private boolean delta;
+        private int[] lat;
+        private int[] lng;
+        private int[] t;
+    }
+}
@@ -0,0 +1,30 @@
+package runtogether.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+// 기록 시간 분포 (그룹/코스)
+public class StatsDto {
+
+    @Getter
+    @AllArgsConstructor
+    public static class Distribution {
+        private long count;                    // 시간이 있는 기록 수
+        private Map<String, Integer> percentiles; // {"p10": 2900, "p50": 3420, ...} (초, 빠른 순)
+        private List<Bucket> buckets;          // 기록이 있는 칸만, 빠른 순
+        private Integer myTimeSeconds;         // 내 기록 (없으면 null)
+        private Double myPercentile;           // 상위 몇 % (1등이면 작은 값, 없으면 null)
+    }
+
+    // [fromSeconds, toSeconds] 구간에 count 명
+    @Getter
+    @AllArgsConstructor
+    public static class Bucket {
+        private int fromSeconds;
+        private int toSeconds;
+        private int count;
+    }
+}
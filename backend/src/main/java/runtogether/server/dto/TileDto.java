@@ -0,0 +1,29 @@
+package runtogether.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 경로 타일 (지도 z/x/y 한 칸에 걸친 경로 조각)
+public class TileDto {
+
+    @Getter
+    @AllArgsConstructor
+    public static class Tile {
+        private int z;
+        private int x;
+        private int y;
+        private int scale;         // 좌표 배율 (1e6 이면 정수 / 1e6 = 위경도)
+        private List<Route> routes; // 이 타일에 걸친 경로만
+    }
+
+    // 경로 하나 (코스면 코스 id, 리플레이면 기록 id)
+    // lines: 타일 경계에서 잘린 조각들, 조각마다 [lat0, lng0, lat1, lng1, ...]
+    @Getter
+    @AllArgsConstructor
+    public static class Route {
+        private Long id;
+        private List<int[]> lines;
+    }
+}
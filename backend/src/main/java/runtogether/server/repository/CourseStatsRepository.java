@@ -0,0 +1,24 @@
+package runtogether.server.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import runtogether.server.domain.CourseStats;
+
+import java.util.Optional;
+
+public interface CourseStatsRepository extends JpaRepository<CourseStats, Long> {
+
+    // 집계 행이 없으면 빈 행을 만듦 (동시에 여러 요청이 와도 한 행만 생김)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO course_stats (course_id, record_count, pace_sum, pace_count, initialized) " +
+            "VALUES (:courseId, 0, 0, 0, false)", nativeQuery = true)
+    int insertIfAbsent(@Param("courseId") Long courseId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CourseStats s WHERE s.courseId = :courseId")
+    Optional<CourseStats> findForUpdate(@Param("courseId") Long courseId);
+}
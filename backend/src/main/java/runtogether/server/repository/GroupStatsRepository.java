@@ -0,0 +1,25 @@
+package runtogether.server.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import runtogether.server.domain.GroupStats;
+
+import java.util.Optional;
+
+public interface GroupStatsRepository extends JpaRepository<GroupStats, Long> {
+
+    // 집계 행이 없으면 빈 행을 만듦 (동시에 여러 요청이 와도 한 행만 생김)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO group_stats (group_id, record_count, pace_sum, pace_count, initialized) " +
+            "VALUES (:groupId, 0, 0, 0, false)", nativeQuery = true)
+    int insertIfAbsent(@Param("groupId") Long groupId);
+
+    // 같은 그룹 기록이 동시에 저장될 때 집계가 어긋나지 않도록 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM GroupStats s WHERE s.groupId = :groupId")
+    Optional<GroupStats> findForUpdate(@Param("groupId") Long groupId);
+}
@@ -0,0 +1,91 @@
+package runtogether.server.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import runtogether.server.util.LapSplits;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// 기록 저장 시 대량으로 생기는 행(구간 기록 Lap, 구버전 RoutePoint)을 JDBC 로 한꺼번에 쓰고 지우는 전용 저장소
+//
+// Lap / RoutePoint 는 IDENTITY 키라서 Hibernate 가 JDBC 배치를 못 하고 행마다 INSERT 를 날립니다.
+// 여기서는 INSERT ... VALUES (...),(...) 한 문장에 batch-size 개씩 묶어서 왕복 횟수를 줄입니다.
+// (deleteByRunRecord 같은 파생 삭제 쿼리도 엔티티를 다 읽은 뒤 한 줄씩 지우므로 DELETE 한 방으로 대체)
+// 러닝 세션 경로 조각도 기존 BLOB 을 읽지 않고 DB 안에서 뒤에 이어 붙임
+@Repository
+@RequiredArgsConstructor
+public class RecordBulkWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 한 INSERT 문에 넣을 최대 행 수 (MySQL max_allowed_packet 을 넘지 않는 선에서 조절)
+    @Value("${runtogether.ingest.batch-size:500}")
+    private int batchSize;
+
+    public void insertLaps(Long recordId, LapSplits laps) {
+        if (laps.isEmpty()) return;
+
+        for (int from = 0; from < laps.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, laps.size());
+            List<Object> args = new ArrayList<>((to - from) * 4);
+            for (int i = from; i < to; i++) {
+                args.add(recordId);
+                args.add(laps.km(i));
+                args.add(laps.pace(i));
+                args.add(laps.time(i));
+            }
+            jdbcTemplate.update(multiRowInsert("INSERT INTO laps (record_id, lap_km, lap_pace, lap_time) VALUES ", "(?,?,?,?)", to - from),
+                    args.toArray());
+        }
+    }
+
+    public int deleteLaps(Long recordId) {
+        return jdbcTemplate.update("DELETE FROM laps WHERE record_id = ?", recordId);
+    }
+
+    // 구버전 기록의 좌표 행 정리 (새 기록은 경로를 RunRecord.routeBlob 에 저장)
+    public int deleteRoutePoints(Long recordId) {
+        return jdbcTemplate.update("DELETE FROM route_point WHERE run_record_id = ?", recordId);
+    }
+
+    // 경로 조각을 세션 BLOB 뒤에 이어 붙이기 (기존 경로를 읽어오지 않고 DB 안에서 CONCAT)
+    // 바로 다음 번호(lastSeq + 1)의 조각일 때만 반영되므로, 재전송된 조각이나 순서가 꼬인 조각은 0을 반환
+    // MySQL 은 CONCAT 이 BLOB 을 그대로 잇지만, 테스트용 H2 의 CONCAT 은 글자로 바꿔서 바이트가 깨지므로 바이너리 || 를 씀
+    public int appendSessionChunk(Long sessionId, Long userId, byte[] chunk, int seq, int count) {
+        return jdbcTemplate.update(con -> {
+            String append = isMySql(con)
+                    ? "CONCAT(route_blob, ?)"
+                    : "CAST(route_blob AS VARBINARY(16777215)) || CAST(? AS VARBINARY(16777215))";
+            PreparedStatement ps = con.prepareStatement("UPDATE run_sessions SET route_blob = " + append + ", " +
+                    "last_seq = ?, point_count = point_count + ? " +
+                    "WHERE session_id = ? AND user_id = ? AND finished = false AND last_seq = ?");
+            ps.setBytes(1, chunk);
+            ps.setInt(2, seq);
+            ps.setInt(3, count);
+            ps.setLong(4, sessionId);
+            ps.setLong(5, userId);
+            ps.setInt(6, seq - 1);
+            return ps;
+        });
+    }
+
+    private static boolean isMySql(Connection con) throws SQLException {
+        return con.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+    }
+
+    private static String multiRowInsert(String head, String tuple, int rows) {
+        StringBuilder sql = new StringBuilder(head.length() + rows * (tuple.length() + 1));
+        sql.append(head);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) sql.append(',');
+            sql.append(tuple);
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,141 @@
+package runtogether.server.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import runtogether.server.domain.RouteDetail;
+import runtogether.server.util.RouteTrack;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// 그룹 리플레이 읽기 전용 저장소 (JDBC)
+//
+// 예전에는 기록 목록을 읽은 뒤 기록마다 getRoutePoints() / getUser() 지연 로딩이 일어나 쿼리가 2N+1 번 나갔습니다.
+// 여기서는 그룹 하나에 최대 두 번만 조회합니다.
+//  1. 기록 + 유저 + (detail 에 맞는) 경로 BLOB 한 번
+//  2. BLOB 이 없는 구버전 기록이 있을 때만, 그 좌표 행 전체를 (기록, 시간) 순으로 한 번 - 스트리밍으로 읽어 바로 RouteTrack 에 담음
+// streamGroup 은 같은 내용을 같은 순서로, 목록 없이 한 명씩 넘겨줍니다 (NDJSON 응답용).
+@Repository
+@RequiredArgsConstructor
+public class ReplayReader {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Runner> readGroup(Long groupId, RouteDetail detail) {
+        List<Runner> runners = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT r.record_id, u.email, u.nickname, r.run_time_seconds, " + blobColumn(detail) + " " +
+                        "FROM run_record r LEFT JOIN users u ON u.user_id = r.user_id " +
+                        "WHERE r.running_group_id = ? ORDER BY r.record_id",
+                (ResultSet rs) -> {
+                    runners.add(new Runner(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getObject(4, Integer.class), rs.getBytes(5)));
+                },
+                groupId);
+
+        Map<Long, Runner> legacy = new HashMap<>();
+        for (Runner runner : runners) {
+            if (runner.routeBlob == null) legacy.put(runner.recordId, runner);
+        }
+        if (!legacy.isEmpty()) readLegacyPoints(groupId, legacy);
+        return runners;
+    }
+
+    // 구버전 좌표 행
+    private void readLegacyPoints(Long groupId, Map<Long, Runner> legacy) {
+        stream("SELECT p.run_record_id, p.latitude, p.longitude, p.elapsed_seconds " +
+                        "FROM route_point p JOIN run_record r ON r.record_id = p.run_record_id " +
+                        "WHERE r.running_group_id = ? AND r.route_blob IS NULL " +
+                        "ORDER BY p.run_record_id, p.elapsed_seconds",
+                groupId,
+                rs -> {
+                    Runner runner = legacy.get(rs.getLong(1));
+                    if (runner != null) runner.legacyTrack.add(rs.getDouble(2), rs.getDouble(3), rs.getInt(4));
+                });
+    }
+
+    // 그룹 리플레이를 한 명씩 읽어서 바로 넘김 (목록을 만들지 않으므로 메모리에는 한 명분만 있음)
+    // readGroup 과 같은 record_id 순서로 넘기도록 한 쿼리로 읽음
+    //  - 경로 BLOB 이 있는 기록: 기록 + 유저 + BLOB 한 행
+    //  - BLOB 이 없는 구버전 기록: 좌표 행마다 한 행 (시간 순) → 기록이 바뀔 때마다 모아 둔 한 명분을 넘김
+    // consumer 가 도는 동안 DB 커서가 열려 있으므로 consumer 는 다른 쿼리를 실행하면 안 됨
+    // 커서를 쥔 커넥션(풀의 한 자리)도 마지막 행을 넘길 때까지 반납되지 않음 → 느린 클라이언트에 쓰고 있으면 그동안 계속 잡혀 있음
+    public void streamGroup(Long groupId, RouteDetail detail, Consumer<Runner> consumer) {
+        Runner[] current = new Runner[1];
+        stream("SELECT r.record_id, u.email, u.nickname, r.run_time_seconds, " + blobColumn(detail) + ", " +
+                        "p.latitude, p.longitude, p.elapsed_seconds " +
+                        "FROM run_record r LEFT JOIN users u ON u.user_id = r.user_id " +
+                        "LEFT JOIN route_point p ON p.run_record_id = r.record_id AND r.route_blob IS NULL " +
+                        "WHERE r.running_group_id = ? " +
+                        "ORDER BY r.record_id, p.elapsed_seconds",
+                groupId,
+                rs -> {
+                    long recordId = rs.getLong(1);
+                    if (current[0] == null || current[0].recordId != recordId) {
+                        if (current[0] != null) consumer.accept(current[0]);
+                        current[0] = new Runner(recordId, rs.getString(2), rs.getString(3), rs.getObject(4, Integer.class), rs.getBytes(5));
+                    }
+                    double lat = rs.getDouble(6);
+                    if (!rs.wasNull() && current[0].legacyTrack != null) {
+                        current[0].legacyTrack.add(lat, rs.getDouble(7), rs.getInt(8));
+                    }
+                });
+        if (current[0] != null) consumer.accept(current[0]);
+    }
+
+    // 앞으로만 읽는 커서 (MySQL 은 fetchSize = Integer.MIN_VALUE 일 때 결과를 한 번에 메모리에 올리지 않고 행 단위로 받음)
+    // 다른 드라이버(테스트용 H2 등)는 이 값을 받지 않으므로 MySQL 일 때만 설정
+    private void stream(String sql, Long groupId, RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            if (isMySql(con)) ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setLong(1, groupId);
+            return ps;
+        }, handler);
+    }
+
+    private static boolean isMySql(Connection con) throws SQLException {
+        return con.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+    }
+
+    // 단순화 경로가 아직 없는 기록은 원본으로 대체 (RunRecord.getRouteBlob(detail) 과 같은 규칙)
+    private static String blobColumn(RouteDetail detail) {
+        switch (detail) {
+            case LOW:
+                return "COALESCE(r.route_blob_low, r.route_blob_medium, r.route_blob)";
+            case MEDIUM:
+                return "COALESCE(r.route_blob_medium, r.route_blob)";
+            default:
+                return "r.route_blob";
+        }
+    }
+
+    // 리플레이 한 명분 (routeBlob 이 없으면 legacyTrack 에 RoutePoint 좌표가 담김)
+    @Getter
+    public static class Runner {
+        private final long recordId;
+        private final String email;
+        private final String nickname;
+        private final Integer runTimeSeconds;
+        private final byte[] routeBlob;
+        private final RouteTrack legacyTrack;
+
+        Runner(long recordId, String email, String nickname, Integer runTimeSeconds, byte[] routeBlob) {
+            this.recordId = recordId;
+            this.email = email;
+            this.nickname = nickname;
+            this.runTimeSeconds = runTimeSeconds;
+            this.routeBlob = routeBlob;
+            this.legacyTrack = (routeBlob == null) ? new RouteTrack() : null;
+        }
+    }
+}
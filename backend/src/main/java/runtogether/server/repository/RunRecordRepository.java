@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import runtogether.server.domain.*;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,13 +16,24 @@ public interface RunRecordRepository extends JpaRepository<RunRecord, Long> {
 
     // 2. [그룹 통계] 순위, 평균 계산용
     int countByRunningGroup(RunningGroup runningGroup);
-    int countByRunningGroupAndRunTimeLessThan(RunningGroup runningGroup, String runTime);
+    // (running_group_id, run_time_seconds) 인덱스 범위 카운트
+    int countByRunningGroupAndRunTimeSecondsLessThan(RunningGroup runningGroup, int runTimeSeconds);
     List<RunRecord> findAllByRunningGroup(RunningGroup runningGroup);
 
+    // 그룹/코스 통계(GroupStats, CourseStats) 처음 채울 때 사용 (runTimeSeconds, paceSecondsPerKm 두 컬럼만)
+    @Query("SELECT r.runTimeSeconds, r.paceSecondsPerKm FROM RunRecord r WHERE r.runningGroup.id = :groupId")
+    List<Object[]> findStatsRows(@Param("groupId") Long groupId);
+
+    @Query("SELECT r.runTimeSeconds, r.paceSecondsPerKm FROM RunRecord r WHERE r.course.id = :courseId")
+    List<Object[]> findCourseStatsRows(@Param("courseId") Long courseId);
+
+    // 코스에서 내 가장 빠른 기록 (분포에서 내 위치 계산용)
+    Optional<RunRecord> findTopByUserAndCourseOrderByRunTimeSecondsAsc(User user, Course course);
+
     // 3. [조회] 특정 그룹 내에서 내 최신 기록 조회
     Optional<RunRecord> findTopByUserAndRunningGroupOrderByCreatedAtDesc(User user, RunningGroup runningGroup);
 
-    Optional<RunRecord> findTopByUserAndRunningGroupOrderByRunTimeAsc(User user, RunningGroup runningGroup);
+    Optional<RunRecord> findTopByUserAndRunningGroupOrderByRunTimeSecondsAsc(User user, RunningGroup runningGroup);
 
     // ★★★ [에러 해결] 아까 에러 났던 메소드 추가! (전체 최신 기록 조회용) ★★★
     Optional<RunRecord> findTopByUserOrderByCreatedAtDesc(User user);
@@ -29,17 +41,23 @@ public interface RunRecordRepository extends JpaRepository<RunRecord, Long> {
 
     // ------------------- 랭킹 쿼리 (그룹 기준) -------------------
 
-    // 4. [시간순 랭킹]
-    @Query("SELECT r FROM RunRecord r JOIN FETCH r.user " +
-            "WHERE r.runningGroup.id = :groupId " +
-            "ORDER BY r.runTime ASC")
-    List<RunRecord> findRankingByTotalTime(@Param("groupId") Long groupId);
+    // 리더보드 warm-up 용 (엔티티 대신 필요한 컬럼만: recordId, runTimeSeconds, runTime, email, nickname, profileImageUrl)
+    @Query("SELECT r.id, r.runTimeSeconds, r.runTime, u.email, u.nickname, u.profileImageUrl " +
+            "FROM RunRecord r JOIN r.user u WHERE r.runningGroup.id = :groupId")
+    List<Object[]> findLeaderboardRows(@Param("groupId") Long groupId);
+
+    // 리더보드 표시용 정보를 캐시에 없는 기록만 다시 읽을 때 (컬럼 순서는 findLeaderboardRows 와 같음)
+    @Query("SELECT r.id, r.runTimeSeconds, r.runTime, u.email, u.nickname, u.profileImageUrl " +
+            "FROM RunRecord r JOIN r.user u WHERE r.id IN :ids")
+    List<Object[]> findLeaderboardRowsByIds(@Param("ids") Collection<Long> ids);
+
+    // 그룹 안에서 내 기록 id (리더보드에서 내 위치 찾기용)
+    @Query("SELECT r.id FROM RunRecord r WHERE r.runningGroup.id = :groupId AND r.user.email = :email")
+    List<Long> findIdsByGroupAndEmail(@Param("groupId") Long groupId, @Param("email") String email);
 
-    // 5. [구간별 랭킹]
-    @Query("SELECT l FROM Lap l JOIN FETCH l.runRecord r JOIN FETCH r.user u " +
-            "WHERE r.runningGroup.id = :groupId AND l.lapKm = :km " +
-            "ORDER BY l.lapTime ASC")
-    List<Lap> findRankingBySection(@Param("groupId") Long groupId, @Param("km") int km);
+    // 구간 리더보드 warm-up 용 (recordId, lapKm, lapTime)
+    @Query("SELECT l.runRecord.id, l.lapKm, l.lapTime FROM Lap l WHERE l.runRecord.runningGroup.id = :groupId")
+    List<Object[]> findSectionRows(@Param("groupId") Long groupId);
 
 
     // ------------------- 기존 메소드 & 호환성 유지 -------------------
@@ -48,7 +66,7 @@ public interface RunRecordRepository extends JpaRepository<RunRecord, Long> {
     Optional<RunRecord> findTopByUserOrderByEndTimeDesc(User user);
 
     int countByCourse(Course course);
-    int countByCourseAndRunTimeLessThan(Course course, String runTime);
+    int countByCourseAndRunTimeSecondsLessThan(Course course, int runTimeSeconds);
 
     List<RunRecord> findByRunningGroupId(Long runningGroupId);
     void deleteByRunningGroup(RunningGroup runningGroup);
@@ -0,0 +1,23 @@
+package runtogether.server.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import runtogether.server.domain.RunSession;
+
+import java.util.Optional;
+
+// 경로 조각 이어 붙이기는 RecordBulkWriter.appendSessionChunk (JDBC)
+public interface RunSessionRepository extends JpaRepository<RunSession, Long> {
+
+    // 조각 번호 확인용 (BLOB 은 읽지 않음)
+    @Query("SELECT s.lastSeq FROM RunSession s WHERE s.id = :sessionId AND s.user.id = :userId AND s.finished = false")
+    Optional<Integer> findOpenLastSeq(@Param("sessionId") Long sessionId, @Param("userId") Long userId);
+
+    // 세션 종료용 행 잠금 (종료 재전송이 동시에 와도 기록은 한 번만 만들고, 잠그는 동안에는 조각이 더 붙지 않음)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM RunSession s WHERE s.id = :sessionId")
+    Optional<RunSession> findForUpdate(@Param("sessionId") Long sessionId);
+}
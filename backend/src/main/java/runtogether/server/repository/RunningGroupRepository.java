@@ -1,16 +1,109 @@
 package runtogether.server.repository;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import runtogether.server.domain.RunningGroup;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface RunningGroupRepository extends JpaRepository<RunningGroup, Long> {
 
-    // ★ [추가] 검색 기능 (이름 또는 태그에 키워드가 포함되면 찾음)
-    // SQL: SELECT * FROM running_groups WHERE name LIKE %keyword% OR tags LIKE %keyword%
-    List<RunningGroup> findAllByGroupNameContainingOrTagsContaining(String nameKeyword, String tagKeyword);
-
     // 2. ★ 초대 코드로 그룹 찾기
     Optional<RunningGroup> findByAccessCode(String accessCode);
-}
\ No newline at end of file
+
+    // 그룹 목록 한 번에 (방장 닉네임, 코스 id 까지 조인, 인원은 memberCount)
+    // 컬럼: id, groupName, description, isSecret, 방장 닉네임, maxPeople, tags, memberCount, courseId, startDate, openSeats
+    //  - keyword: 이름/태그에 포함 (null 이면 전체, % _ 는 \ 로 이스케이프해서 넘김)
+    //  - recruiting: 정원이 남은 그룹만, publicOnly: 비밀 그룹 제외
+    String LIST_SELECT = "SELECT g.id, g.groupName, g.description, g.isSecret, o.nickname, g.maxPeople, g.tags, g.memberCount, c.id, " +
+            "g.startDate, g.openSeats " +
+            "FROM RunningGroup g LEFT JOIN g.owner o LEFT JOIN g.course c " +
+            "WHERE (:keyword IS NULL OR g.groupName LIKE CONCAT('%', :keyword, '%') ESCAPE '\\' " +
+            "OR g.tags LIKE CONCAT('%', :keyword, '%') ESCAPE '\\') " +
+            "AND (:recruiting = false OR g.openSeats > 0) " +
+            "AND (:publicOnly = false OR g.isSecret = false) ";
+
+    @Query(LIST_SELECT + "ORDER BY g.id")
+    List<Object[]> findListRows(@Param("keyword") String keyword,
+                                @Param("recruiting") boolean recruiting,
+                                @Param("publicOnly") boolean publicOnly);
+
+    // 검색 색인(GroupSearchIndex)이 찾은 id 들만 (keyword 는 null 로 넘김, 순서는 호출하는 쪽에서 맞춤)
+    @Query(LIST_SELECT + "AND g.id IN :ids")
+    List<Object[]> findListRowsIn(@Param("keyword") String keyword,
+                                  @Param("recruiting") boolean recruiting,
+                                  @Param("publicOnly") boolean publicOnly,
+                                  @Param("ids") Collection<Long> ids);
+
+    // ★ 목록 페이지 (keyset) - 앞 페이지 마지막 행(커서) 다음부터 pageable 크기만큼
+    // OFFSET 없이 (정렬 키, id) 인덱스에서 커서 위치부터 바로 읽으므로 몇 번째 페이지든 같은 비용
+    // afterId 가 null 이면 첫 페이지
+
+    // 최신순 (id 내림차순)
+    @Query(LIST_SELECT + "AND (:afterId IS NULL OR g.id < :afterId) ORDER BY g.id DESC")
+    List<Object[]> findListPageNewest(@Param("keyword") String keyword,
+                                      @Param("recruiting") boolean recruiting,
+                                      @Param("publicOnly") boolean publicOnly,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
+
+    // 시작일 빠른 순 (같은 날이면 id 오름차순)
+    // 시작일 없는 그룹은 여기서 빼고 GroupService 가 아래 쿼리로 맨 뒤에 이어 붙임 (NULLS LAST)
+    // → ORDER BY 에 식을 넣지 않아서 두 쿼리 모두 인덱스 순서 그대로 읽음
+    @Query(LIST_SELECT + "AND g.startDate IS NOT NULL " +
+            "AND (:afterId IS NULL OR g.startDate > :afterDate OR (g.startDate = :afterDate AND g.id > :afterId)) " +
+            "ORDER BY g.startDate, g.id")
+    List<Object[]> findListPageByStartDate(@Param("keyword") String keyword,
+                                           @Param("recruiting") boolean recruiting,
+                                           @Param("publicOnly") boolean publicOnly,
+                                           @Param("afterDate") LocalDate afterDate,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    // 시작일 없는 그룹 (id 오름차순) - 시작일 순 목록의 뒷부분
+    @Query(LIST_SELECT + "AND g.startDate IS NULL AND (:afterId IS NULL OR g.id > :afterId) ORDER BY g.id")
+    List<Object[]> findListPageWithoutStartDate(@Param("keyword") String keyword,
+                                                @Param("recruiting") boolean recruiting,
+                                                @Param("publicOnly") boolean publicOnly,
+                                                @Param("afterId") Long afterId,
+                                                Pageable pageable);
+
+    // 남은 자리 많은 순 (정원 없는 그룹이 맨 앞, 같으면 최신순)
+    @Query(LIST_SELECT + "AND (:afterId IS NULL OR g.openSeats < :afterSeats OR (g.openSeats = :afterSeats AND g.id < :afterId)) " +
+            "ORDER BY g.openSeats DESC, g.id DESC")
+    List<Object[]> findListPageBySeats(@Param("keyword") String keyword,
+                                       @Param("recruiting") boolean recruiting,
+                                       @Param("publicOnly") boolean publicOnly,
+                                       @Param("afterSeats") Integer afterSeats,
+                                       @Param("afterId") Long afterId,
+                                       Pageable pageable);
+
+    // 남은 자리 다시 계산 (정원 없는 그룹은 int 최댓값)
+    // MySQL 전용 IF 대신 CASE 로 씀 → 테스트용 H2 에서도 같은 쿼리가 돎
+    //  - OPEN_SEATS: 지금 member_count 기준 (백필용)
+    //  - 가입/탈퇴용은 바뀔 member_count(±1)로 직접 계산하고 SET 의 맨 앞에 둠
+    //    → MySQL(SET 을 왼쪽부터 적용)과 표준 SQL(모두 바뀌기 전 값으로 계산) 어느 쪽이든 같은 결과
+    String OPEN_SEATS = "open_seats = CASE WHEN max_people IS NULL THEN 2147483647 " +
+            "ELSE GREATEST(max_people - member_count, 0) END";
+    String OPEN_SEATS_AFTER_JOIN = "open_seats = CASE WHEN max_people IS NULL THEN 2147483647 " +
+            "ELSE GREATEST(max_people - (member_count + 1), 0) END";
+    String OPEN_SEATS_AFTER_LEAVE = "open_seats = CASE WHEN max_people IS NULL THEN 2147483647 " +
+            "ELSE GREATEST(max_people - (member_count - 1), 0) END";
+
+    // 가입: 정원이 남아 있을 때만 인원 +1 (0 이 반환되면 정원 초과)
+    // 행 잠금 안에서 비교와 증가가 같이 일어나므로 동시에 가입해도 정원을 넘지 않음
+    @Modifying
+    @Query(value = "UPDATE running_groups SET " + OPEN_SEATS_AFTER_JOIN + ", member_count = member_count + 1 " +
+            "WHERE group_id = :groupId AND (max_people IS NULL OR member_count < max_people)", nativeQuery = true)
+    int incrementMemberCount(@Param("groupId") Long groupId);
+
+    @Modifying
+    @Query(value = "UPDATE running_groups SET " + OPEN_SEATS_AFTER_LEAVE + ", member_count = member_count - 1 " +
+            "WHERE group_id = :groupId AND member_count > 0", nativeQuery = true)
+    int decrementMemberCount(@Param("groupId") Long groupId);
+}
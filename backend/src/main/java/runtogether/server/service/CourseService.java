@@ -5,11 +5,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import runtogether.server.domain.Course;
+import runtogether.server.domain.RouteDetail;
 import runtogether.server.repository.CourseRepository;
 import runtogether.server.domain.RunningGroup;
 import runtogether.server.repository.RunningGroupRepository;
 import runtogether.server.dto.CourseDto;
 import runtogether.server.dto.GroupDto;
+import runtogether.server.util.RouteSimplifier;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -22,6 +24,7 @@ public class CourseService {
     private final CourseRepository courseRepository;
     private final RunningGroupRepository groupRepository;
     private final TmapService tmapService;
+    private final RouteSimplifier routeSimplifier;
 
     // 1. 추천 코스 목록 조회 (isRecommended가 true인 것만!)
     @Transactional(readOnly = true)
@@ -71,6 +74,10 @@ public class CourseService {
                 group,
                 false  // ★ isRecommended 필드 값 추가 (사용자가 만든 코스이므로 false)
         );
+        course.updateSimplifiedPaths(
+                routeSimplifier.simplifyJson(request.getPathData(), RouteDetail.MEDIUM),
+                routeSimplifier.simplifyJson(request.getPathData(), RouteDetail.LOW)
+        );
         courseRepository.save(course);
     }
 
@@ -116,18 +123,27 @@ public class CourseService {
     }
 
     // 4. ★ [추가] 코스 상세 조회 (ID로 찾기)
+    // detail 로 경로 좌표 밀도 선택 (단순화 경로가 없는 예전 코스는 그 자리에서 단순화)
     @Transactional(readOnly = true)
-    public CourseDto.Response getCourseDetail(Long courseId) {
+    public CourseDto.Response getCourseDetail(Long courseId, RouteDetail detail) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 코스가 존재하지 않습니다. id=" + courseId));
 
+        String pathData = course.getPathData(detail);
+        if (pathData == null) {
+            pathData = routeSimplifier.simplifyJson(course.getPathData(), detail);
+        }
+        if (pathData == null) {
+            pathData = course.getPathData();
+        }
+
         return new CourseDto.Response(
                 course.getId(),
                 course.getTitle(),
                 course.getDescription(),
                 course.getDistance(),
                 course.getExpectedTime(),
-                course.getPathData() // 상세 조회니까 경로 데이터 필수!
+                pathData // 상세 조회니까 경로 데이터 필수!
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,192 @@
+package runtogether.server.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import runtogether.server.domain.RunningGroup;
+import runtogether.server.util.NgramIndex;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// 그룹 검색 색인 (NgramIndex 를 서버 메모리에 하나 두고 그룹 검색/자동완성에 사용)
+//
+// LIKE '%검색어%' 는 인덱스를 못 타서 그룹이 많아지면 매번 running_groups 전체를 읽으므로, 검색은 색인에서 id 만 찾고 DB 는 그 id 로만 조회합니다.
+//  - 서버가 뜨면 running_groups 를 한 번 훑어서 새로 만듦 (만드는 동안에는 null 을 돌려주고 GroupService 는 예전 LIKE 검색을 씀)
+//  - 그룹 생성/수정/삭제는 커밋된 뒤에 반영, 다시 만드는 중에 들어온 변경은 모아 두었다가 새 색인에 이어서 적용
+//  - 읽기는 여럿이 동시에, 변경은 하나씩 (ReadWriteLock)
+// 색인은 서버마다 따로 있어서 커밋 후 반영은 그 서버에서 바뀐 그룹만 됩니다. 서버가 여러 대면
+//  - 다른 서버에서 만든 그룹: refresh 가 주기적으로 (색인의 가장 큰 id - REFRESH_OVERLAP) 이후 그룹을 읽어 빠진 것만 넣음
+//  - 다른 서버에서 지운 그룹: 색인에 남아도 검색 결과는 DB 에서 id 로 다시 읽으므로 나오지 않음 (비밀/모집 여부도 DB 기준)
+//  - 다른 서버에서 이름/태그/소개를 고친 그룹: 다음 전체 재생성(rebuild-cron) 전까지는 예전 글자로 검색됨
+@Component
+public class GroupSearchIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int descriptionChars;
+
+    // 늦게 커밋된 그룹(작은 id 가 큰 id 보다 나중에 보임)도 놓치지 않도록 가장 큰 id 보다 이만큼 앞에서부터 다시 읽음
+    private static final long REFRESH_OVERLAP = 1000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private NgramIndex index;                      // null 이면 아직 준비 안 됨
+    private List<Consumer<NgramIndex>> pending;    // 다시 만드는 동안 들어온 변경 (만들고 있지 않으면 null)
+
+    public GroupSearchIndex(JdbcTemplate jdbcTemplate,
+                            @Value("${runtogether.search.description-chars:100}") int descriptionChars) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.descriptionChars = descriptionChars;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${runtogether.search.rebuild-cron:-}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) return; // 이미 만드는 중
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        NgramIndex fresh = null;
+        long start = System.currentTimeMillis();
+        try {
+            NgramIndex building = new NgramIndex(descriptionChars);
+            // 앞으로만 읽는 커서 (MySQL 은 fetchSize = Integer.MIN_VALUE 면 행 단위로 보내줌, 다른 드라이버는 이 값을 받지 않음)
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                        "SELECT group_id, group_name, tags, description, is_secret FROM running_groups ORDER BY group_id",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                if (isMySql(con)) ps.setFetchSize(Integer.MIN_VALUE);
+                return ps;
+            }, (RowCallbackHandler) rs -> building.put(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getBoolean(5)));
+            building.compact();
+            fresh = building;
+        } catch (Exception e) {
+            System.err.println("❌ 그룹 검색 색인 생성 실패: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (fresh != null) {
+                for (Consumer<NgramIndex> change : pending) change.accept(fresh);
+                index = fresh;
+                System.out.println("그룹 검색 색인 완료: " + fresh.size() + "건, " + (System.currentTimeMillis() - start) + "ms, 약 "
+                        + (fresh.memoryBytes() >> 20) + "MB");
+            }
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 다른 서버에서 만든 그룹을 색인에 추가 (색인이 없거나 다시 만드는 중이면 건너뜀)
+    @Scheduled(fixedDelayString = "${runtogether.search.refresh-millis:60000}", initialDelayString = "${runtogether.search.refresh-millis:60000}")
+    public void refresh() {
+        long from;
+        lock.readLock().lock();
+        try {
+            if (index == null || pending != null) return;
+            from = Math.max(0, index.maxId() - REFRESH_OVERLAP);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        try {
+            jdbcTemplate.query("SELECT group_id, group_name, tags, description, is_secret FROM running_groups WHERE group_id > ? ORDER BY group_id",
+                    (RowCallbackHandler) rs -> rows.add(new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getBoolean(5)}),
+                    from);
+        } catch (Exception e) {
+            System.err.println("❌ 그룹 검색 색인 갱신 실패: " + e.getMessage());
+            return;
+        }
+
+        // 이 서버에서 만든 그룹은 이미 커밋 후에 들어가 있으므로 없는 것만 (다시 넣으면 지운 문서만 늘어남)
+        lock.writeLock().lock();
+        try {
+            if (index == null || pending != null) return;
+            for (Object[] row : rows) {
+                long id = (Long) row[0];
+                if (!index.contains(id)) index.put(id, (String) row[1], (String) row[2], (String) row[3], (Boolean) row[4]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 검색 결과 그룹 id (순위순), 색인이 아직 없으면 null
+    public long[] search(String query, boolean publicOnly, int limit) {
+        lock.readLock().lock();
+        try {
+            return (index != null) ? index.search(query, publicOnly, limit) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 자동완성 그룹 id, 색인이 아직 없으면 null
+    public long[] complete(String prefix, boolean publicOnly, int limit) {
+        lock.readLock().lock();
+        try {
+            return (index != null) ? index.complete(prefix, publicOnly, limit) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 그룹 생성/수정 트랜잭션이 커밋된 뒤 반영 (값은 지금 읽어 둠)
+    public void indexAfterCommit(RunningGroup group) {
+        long id = group.getId();
+        String name = group.getGroupName();
+        String tags = group.getTags();
+        String description = group.getDescription();
+        boolean secret = group.isSecret();
+        afterCommit(ix -> ix.put(id, name, tags, description, secret));
+    }
+
+    public void removeAfterCommit(Long groupId) {
+        afterCommit(ix -> ix.remove(groupId));
+    }
+
+    private void afterCommit(Consumer<NgramIndex> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private static boolean isMySql(Connection con) throws SQLException {
+        return con.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+    }
+
+    private void apply(Consumer<NgramIndex> change) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) change.accept(index);
+            if (pending != null) pending.add(change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
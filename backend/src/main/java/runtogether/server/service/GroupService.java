@@ -1,15 +1,24 @@
 package runtogether.server.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import runtogether.server.domain.*;
 import runtogether.server.dto.GroupDto;
 import runtogether.server.repository.*;
+import runtogether.server.util.PageCursor;
+import runtogether.server.util.RouteSimplifier;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,6 +30,19 @@ public class GroupService {
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
     private final RunRecordRepository runRecordRepository;
+    private final RouteSimplifier routeSimplifier;
+    private final LeaderboardService leaderboardService;
+    private final RecordStatsService recordStatsService;
+    private final GroupSearchIndex groupSearchIndex;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_SEARCH_CANDIDATES = 10_000;
+
+    // 검색어(keyword) 목록 조회에서 돌려줄 최대 그룹 수 (관련도 순)
+    @Value("${runtogether.search.max-results:1000}")
+    private int searchMaxResults;
 
     // 헬퍼 메소드
     @Transactional(readOnly = true)
@@ -68,6 +90,10 @@ public class GroupService {
                     null ,
                     false
             );
+            selectedCourse.updateSimplifiedPaths(
+                    routeSimplifier.simplifyJson(request.getPathData(), RouteDetail.MEDIUM),
+                    routeSimplifier.simplifyJson(request.getPathData(), RouteDetail.LOW)
+            );
             courseRepository.save(selectedCourse);
         }
         // Case B: 기존 코스 선택
@@ -101,6 +127,7 @@ public class GroupService {
 
         // 3. 방장 자동 가입
         userGroupRepository.save(new UserGroup(owner, savedGroup));
+        groupSearchIndex.indexAfterCommit(savedGroup);
 
         return savedGroup.getId();
     }
@@ -125,6 +152,10 @@ public class GroupService {
                 group,
                 false
         );
+        course.updateSimplifiedPaths(
+                routeSimplifier.simplifyJson(request.getPathData(), RouteDetail.MEDIUM),
+                routeSimplifier.simplifyJson(request.getPathData(), RouteDetail.LOW)
+        );
         courseRepository.save(course);
     }
 
@@ -144,8 +175,7 @@ public class GroupService {
             }
         }
 
-        int currentCount = userGroupRepository.countByGroupId(group.getId());
-        if (group.getMaxPeople() != null && currentCount >= group.getMaxPeople()) {
+        if (groupRepository.incrementMemberCount(group.getId()) == 0) {
             throw new IllegalArgumentException("정원이 초과되어 가입할 수 없습니다.");
         }
 
@@ -163,8 +193,7 @@ public class GroupService {
             throw new IllegalArgumentException("이미 가입된 그룹입니다.");
         }
 
-        int currentCount = userGroupRepository.countByGroupId(group.getId());
-        if (group.getMaxPeople() != null && currentCount >= group.getMaxPeople()) {
+        if (groupRepository.incrementMemberCount(group.getId()) == 0) {
             throw new IllegalArgumentException("정원이 초과되어 가입할 수 없습니다.");
         }
 
@@ -173,43 +202,153 @@ public class GroupService {
     }
 
     // 4. 필터링된 그룹 목록 조회
+    // 검색어/모집 중/공개 조건을 모두 SQL 에 넣어 쿼리 한 번으로 끝냄 (인원은 memberCount, 방장 닉네임/코스 id 는 조인)
     @Transactional(readOnly = true)
     public List<GroupDto.Response> getFilteredGroups(String keyword, String status, String type) {
-        List<RunningGroup> groups;
+        boolean recruiting = "recruiting".equals(status);
+        boolean publicOnly = "public".equals(type);
         if (keyword != null && !keyword.trim().isEmpty()) {
-            groups = groupRepository.findAllByGroupNameContainingOrTagsContaining(keyword, keyword);
-        } else {
-            groups = groupRepository.findAll();
+            // 검색어가 있으면 검색 색인으로 관련도 순 (색인이 아직 준비 안 됐으면 아래 LIKE 검색)
+            List<GroupDto.Response> found = searchByIndex(keyword, recruiting, publicOnly, searchMaxResults);
+            if (found != null) return found;
         }
+        String pattern = (keyword != null && !keyword.trim().isEmpty()) ? escapeLike(keyword) : null;
+        return groupRepository.findListRows(pattern, recruiting, publicOnly).stream()
+                .map(GroupService::toListResponse)
+                .collect(Collectors.toList());
+    }
 
-        return groups.stream()
-                .map(group -> {
-                    int currentCount = userGroupRepository.countByGroupId(group.getId());
-                    Long courseId = (group.getCourse() != null) ? group.getCourse().getId() : null;
+    // 색인에서 찾은 id 를 순위 그대로 조회, 모집 중 필터는 DB 값(남은 자리)으로 거르므로 모자라면 후보를 늘려서 다시 찾음
+    private List<GroupDto.Response> searchByIndex(String keyword, boolean recruiting, boolean publicOnly, int limit) {
+        int want = limit;
+        while (true) {
+            long[] ids = groupSearchIndex.search(keyword, publicOnly, want);
+            if (ids == null) return null;
+            List<GroupDto.Response> found = rowsInOrder(ids, recruiting, publicOnly, limit).stream()
+                    .map(GroupService::toListResponse)
+                    .collect(Collectors.toList());
+            if (found.size() >= limit || ids.length < want || want >= MAX_SEARCH_CANDIDATES) return found;
+            want = Math.min(MAX_SEARCH_CANDIDATES, want * 4);
+        }
+    }
 
-                    return new GroupDto.Response(
-                            group.getId(),
-                            group.getGroupName(),
-                            group.getDescription(),
-                            group.isSecret(),
-                            group.getOwner().getNickname(),
-                            group.getMaxPeople(),
-                            group.getTags(),
-                            currentCount,
-                            courseId,
-                            false
-                    );
-                })
-                .filter(dto -> {
-                    if ("public".equals(type) && dto.isSecret()) return false;
-                    if ("recruiting".equals(status)) {
-                        if (dto.getMaxPeople() != null && dto.getCurrentPeople() >= dto.getMaxPeople()) return false;
-                    }
-                    return true;
-                })
+    // ★ 검색어 자동완성 (이름/태그가 입력한 글자로 시작하는 그룹, 색인이 아직 없으면 빈 목록)
+    // 사용법: GET /api/v1/groups/autocomplete?q=한가&type=public
+    @Transactional(readOnly = true)
+    public List<GroupDto.Suggestion> autocomplete(String query, String type, Integer limit) {
+        int size = (limit != null) ? limit : 10;
+        if (size < 1 || size > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("limit 은 1~" + MAX_SUGGESTIONS + " 사이여야 합니다.");
+        }
+        if (query == null || query.isBlank()) return List.of();
+
+        boolean publicOnly = "public".equals(type);
+        long[] ids = groupSearchIndex.complete(query, publicOnly, size);
+        if (ids == null) return List.of();
+        return rowsInOrder(ids, false, publicOnly, size).stream()
+                .map(row -> new GroupDto.Suggestion((Long) row[0], (String) row[1]))
                 .collect(Collectors.toList());
     }
 
+    // LIST_SELECT 행들을 ids 순서대로 (DB 에서 지워졌거나 필터에 걸린 id 는 빠짐)
+    private List<Object[]> rowsInOrder(long[] ids, boolean recruiting, boolean publicOnly, int limit) {
+        if (ids.length == 0) return List.of();
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) idList.add(id);
+        Map<Long, Object[]> byId = new HashMap<>();
+        for (Object[] row : groupRepository.findListRowsIn(null, recruiting, publicOnly, idList)) byId.put((Long) row[0], row);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (long id : ids) {
+            Object[] row = byId.get(id);
+            if (row != null) rows.add(row);
+            if (rows.size() == limit) break;
+        }
+        return rows;
+    }
+
+    // ★ 그룹 목록 페이지 (keyset) - 필터는 getFilteredGroups 와 같고 정렬/커서/limit 추가
+    // limit + 1 개를 읽어서 하나가 더 있으면 limit 번째 행으로 다음 커서를 만듦 (전체 개수는 세지 않음)
+    @Transactional(readOnly = true)
+    public GroupDto.Page getGroupPage(String keyword, String status, String type,
+                                      String sort, String cursor, Integer limit) {
+        GroupSort order = GroupSort.from(sort);
+        int size = (limit != null) ? limit : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit 은 1~" + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+        String pattern = (keyword != null && !keyword.trim().isEmpty()) ? escapeLike(keyword) : null;
+        boolean recruiting = "recruiting".equals(status);
+        boolean publicOnly = "public".equals(type);
+        boolean first = (cursor == null || cursor.isBlank());
+        Pageable page = PageRequest.of(0, size + 1);
+
+        List<Object[]> rows;
+        try {
+            switch (order) {
+                case START_DATE -> {
+                    // 시작일 있는 그룹을 다 읽고 나면 시작일 없는 그룹을 id 순으로 이어서 (커서의 날짜가 null 이면 뒷부분 안에서 이어 읽음)
+                    String[] after = first ? null : PageCursor.decode(cursor, order.name(), 2);
+                    boolean inUndated = !first && "null".equals(after[0]);
+                    rows = new ArrayList<>();
+                    if (!inUndated) {
+                        rows.addAll(groupRepository.findListPageByStartDate(pattern, recruiting, publicOnly,
+                                first ? null : LocalDate.parse(after[0]), first ? null : Long.parseLong(after[1]), page));
+                    }
+                    if (rows.size() <= size) {
+                        rows.addAll(groupRepository.findListPageWithoutStartDate(pattern, recruiting, publicOnly,
+                                inUndated ? Long.parseLong(after[1]) : null, PageRequest.of(0, size + 1 - rows.size())));
+                    }
+                }
+                case SEATS -> {
+                    String[] after = first ? null : PageCursor.decode(cursor, order.name(), 2);
+                    rows = groupRepository.findListPageBySeats(pattern, recruiting, publicOnly,
+                            first ? null : Integer.parseInt(after[0]), first ? null : Long.parseLong(after[1]), page);
+                }
+                default -> {
+                    String[] after = first ? null : PageCursor.decode(cursor, order.name(), 1);
+                    rows = groupRepository.findListPageNewest(pattern, recruiting, publicOnly,
+                            first ? null : Long.parseLong(after[0]), page);
+                }
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw PageCursor.invalid();
+        }
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Object[] last = rows.get(size - 1);
+            nextCursor = switch (order) {
+                case START_DATE -> PageCursor.encode(order.name(), last[9], last[0]);
+                case SEATS -> PageCursor.encode(order.name(), last[10], last[0]);
+                default -> PageCursor.encode(order.name(), last[0]);
+            };
+        }
+        return new GroupDto.Page(rows.stream().map(GroupService::toListResponse).collect(Collectors.toList()), nextCursor);
+    }
+
+    // RunningGroupRepository.LIST_SELECT 한 행 → 목록 응답
+    private static GroupDto.Response toListResponse(Object[] row) {
+        return new GroupDto.Response(
+                (Long) row[0],
+                (String) row[1],
+                (String) row[2],
+                (Boolean) row[3],
+                (String) row[4],
+                (Integer) row[5],
+                (String) row[6],
+                (Integer) row[7],
+                (Long) row[8],
+                false
+        );
+    }
+
+    // 검색어에 든 % _ 는 글자 그대로 찾음 (예전 Containing 검색과 같은 동작)
+    private static String escapeLike(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     @Transactional(readOnly = true)
     public GroupDto.DetailResponse getGroupDetail(String email, Long groupId) {
         RunningGroup group = groupRepository.findById(groupId).orElseThrow(() -> new IllegalArgumentException("그룹 없음"));
@@ -233,6 +372,7 @@ public class GroupService {
 
         if (!group.getOwner().getId().equals(user.getId())) throw new IllegalArgumentException("방장만 수정할 수 있습니다.");
         group.updateInfo(request.getGroupName(), request.getDescription());
+        groupSearchIndex.indexAfterCommit(group);
     }
 
     @Transactional
@@ -248,6 +388,11 @@ public class GroupService {
 
         List<RunRecord> groupRecords = runRecordRepository.findAllByRunningGroup(group);
         runRecordRepository.deleteAll(groupRecords);
+        leaderboardService.evictAfterCommit(List.of(groupId));
+        recordStatsService.groupDeleted(groupId, groupRecords.stream()
+                .filter(r -> r.getCourse() != null)
+                .map(r -> r.getCourse().getId())
+                .collect(Collectors.toSet()));
 
         userGroupRepository.deleteByRunningGroup(group);
 
@@ -262,6 +407,7 @@ public class GroupService {
         }
 
         groupRepository.delete(group);
+        groupSearchIndex.removeAfterCommit(groupId);
     }
 
     @Transactional(readOnly = true)
@@ -293,7 +439,7 @@ public class GroupService {
                     return new GroupDto.Response(
                             g.getId(), g.getGroupName(), g.getDescription(), g.isSecret(),
                             g.getOwner().getNickname(), g.getMaxPeople(), g.getTags(),
-                            userGroupRepository.countByGroupId(g.getId()),
+                            g.getMemberCount(),
                             (g.getCourse() != null ? g.getCourse().getId() : null),
                             g.getOwner().getId().equals(user.getId())
                     );
@@ -309,5 +455,6 @@ public class GroupService {
         UserGroup ug = userGroupRepository.findByUserAndRunningGroup(user, group)
                 .orElseThrow(() -> new IllegalArgumentException("가입되지 않은 그룹"));
         userGroupRepository.delete(ug);
+        groupRepository.decrementMemberCount(groupId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package runtogether.server.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Idempotency-Key 중복 요청 제거용 저장소
+//
+// 모바일 네트워크가 불안정하면 앱이 같은 기록 저장 요청을 여러 번 재전송합니다.
+// 같은 키로 들어온 요청은 처음 한 번만 실제로 실행하고, 나머지는 (동시에 들어왔더라도) 그 결과를 기다렸다가 그대로 돌려줍니다.
+//  - 결과는 ttl 동안만 기억하고, 보관 개수가 max-entries 를 넘으면 오래된/끝난 것부터 정리 (메모리 상한)
+//  - 실행이 실패하거나 결과가 null 이면 기억하지 않음 → 같은 키로 다시 시도 가능
+@Component
+public class IdempotencyStore {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(@Value("${runtogether.idempotency.ttl-seconds:600}") long ttlSeconds,
+                            @Value("${runtogether.idempotency.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> action) {
+        long now = System.currentTimeMillis();
+        Entry mine = new Entry(now + ttlMillis);
+        Entry winner = entries.compute(key, (k, old) -> (old == null || old.isExpired(now)) ? mine : old);
+
+        if (winner != mine) {
+            // 같은 키의 요청이 이미 처리 중이거나 끝났음 → 그 결과를 공유
+            try {
+                return (T) winner.result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                throw e;
+            }
+        }
+
+        evictIfFull(now);
+        try {
+            T result = action.get();
+            if (result == null) entries.remove(key, mine);
+            mine.result.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            entries.remove(key, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void evictIfFull(long now) {
+        if (entries.size() <= maxEntries) return;
+
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        // 만료된 것을 지워도 넘치면, 이미 끝난 항목부터 상한 아래로 내려갈 때까지 정리
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            if (it.next().result.isDone()) it.remove();
+        }
+    }
+
+    private static class Entry {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final long expiresAt;
+
+        Entry(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return result.isDone() && now > expiresAt;
+        }
+    }
+}
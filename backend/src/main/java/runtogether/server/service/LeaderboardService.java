@@ -0,0 +1,388 @@
+package runtogether.server.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import runtogether.server.domain.RunRecord;
+import runtogether.server.repository.RunRecordRepository;
+import runtogether.server.util.LapSplits;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 그룹별 시간순 리더보드
+//
+// 앱의 랭킹 카드가 화면마다 10초씩 랭킹을 다시 불러서, 매번 그룹 기록 전체를 DB 에서 정렬해 오던 부분을 대체합니다.
+//  - 그룹을 처음 조회할 때 DB 에서 한 번 읽어 LeaderboardStore 에 올리고(warm-up), 이후 top-N / 내 순위 / 전체 인원은 저장소에서 O(log n)
+//  - 기록이 저장/갱신되면 트랜잭션이 커밋된 뒤에만 반영 (롤백된 기록이 순위에 끼지 않음)
+//  - 기록이 지워지는 경우(그룹 삭제, 회원 탈퇴)는 해당 그룹을 통째로 비우고 다음 조회 때 다시 읽음
+//  - 이 서버에서 올린 그룹은 주기적으로(verify-millis) DB 와 비교해서 어긋나 있으면 다시 만듦
+//    (Redis 재시작/유실, 커밋 후 반영 전에 서버가 죽은 경우, DB 를 직접 고친 경우 등)
+//
+// 구간(km)별 랭킹도 km 마다 board 를 하나씩 두고 관리합니다. (lapTime, recordId 순)
+// 앱에서 1km ~ 10km 를 넘겨볼 때마다 Lap/RunRecord/User 조인을 하던 것을 한 번 warm-up 후 저장소 조회로 대체합니다.
+//
+// 순위(점수)는 저장소(서버 한 대면 메모리, 여러 대면 Redis)에, 닉네임/프로필 같은 표시용 정보(Entry)는 서버마다 캐시에 둡니다.
+// 다른 서버가 갱신한 기록은 캐시의 시간이 저장소 점수와 달라지므로 그때 DB 에서 다시 읽어 맞춥니다.
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    // runTimeSeconds 가 없는(백필 전) 기록은 맨 뒤 (시간이 같으면 recordId 순)
+    static final int UNKNOWN_TIME = Integer.MAX_VALUE;
+
+    // 서버마다 들고 있는 표시용 정보(Entry) 최대 개수 (오래 안 본 것부터 잊고, 필요하면 DB 에서 다시 읽음)
+    private static final int ENTRY_CAPACITY = 100_000;
+
+    private final RunRecordRepository recordRepository;
+    private final ResultsVersionService resultsVersionService;
+    private final LeaderboardStore store;
+
+    // recordId → 표시용 정보 (LRU, 순회할 때는 entries 로 synchronized)
+    private final Map<Long, Entry> entries = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > ENTRY_CAPACITY;
+        }
+    });
+    // 같은 그룹을 여러 요청이 동시에 warm-up 하지 않도록 (서버끼리 겹친 load 는 저장소가 흡수)
+    private final Map<Long, Object> loadLocks = new ConcurrentHashMap<>();
+
+    // from 번째부터 to 번째(제외)까지, 0부터 시작 (km 가 null 이면 전체 기록 순위, 아니면 해당 km 구간 순위)
+    // 전체 목록을 만들지 않고 저장소에서 해당 구간만 꺼내므로 그룹 인원과 상관없이 응답 크기/시간이 일정
+    public List<Ranked> window(Long groupId, Integer km, int from, int to) {
+        String board = ensureLoaded(groupId, km);
+        return toRanked(groupId, km, store.range(board, from, to));
+    }
+
+    // 유저의 가장 좋은 기록 위아래 radius 명씩 (기록이 없으면 빈 목록)
+    public List<Ranked> aroundUser(Long groupId, Integer km, String email, int radius) {
+        Long best = bestRecordOf(groupId, km, email);
+        if (best == null) return new ArrayList<>();
+        return toRanked(groupId, km, store.around(board(groupId, km), best, radius));
+    }
+
+    // 1부터 시작하는 순위 (같은 시간이면 같은 순위, 기록이 없으면 -1)
+    public int rankOf(Long groupId, Long recordId) {
+        String board = ensureLoaded(groupId, null);
+        Integer score = store.score(board, recordId);
+        return (score != null) ? (int) store.countLessThan(board, score) + 1 : -1;
+    }
+
+    public int size(Long groupId) {
+        return (int) store.count(ensureLoaded(groupId, null));
+    }
+
+    // 모든 km 구간 랭킹을 한 번에 (km 오름차순, 구간마다 앞에서부터 limit 명, null 이면 전체)
+    public SortedMap<Integer, List<Ranked>> allSections(Long groupId, Integer limit) {
+        ensureSectionsLoaded(groupId);
+        SortedMap<Integer, List<Ranked>> result = new TreeMap<>();
+        for (int km : kms(groupId)) {
+            List<LeaderboardStore.Scored> rows = store.range(sectionBoard(groupId, km), 0, (limit == null) ? Integer.MAX_VALUE : limit);
+            List<Ranked> top = toRanked(groupId, km, rows);
+            if (!top.isEmpty()) result.put(km, top);
+        }
+        return result;
+    }
+
+    // 기록 저장/갱신 후 호출 (트랜잭션 안이면 커밋된 뒤에 반영)
+    public void recordSaved(RunRecord record) {
+        if (record.getRunningGroup() == null) return;
+
+        // 커밋 이후에는 지연 로딩을 할 수 없으므로 필요한 값은 지금 꺼내 둠
+        Long groupId = record.getRunningGroup().getId();
+        Entry entry = new Entry(
+                record.getId(),
+                groupId,
+                (record.getRunTimeSeconds() != null) ? record.getRunTimeSeconds() : UNKNOWN_TIME,
+                record.getRunTime(),
+                record.getUser().getEmail(),
+                record.getUser().getNickname(),
+                record.getUser().getProfileImageUrl()
+        );
+        afterCommit(() -> {
+            // 아직 warm-up 전인 그룹이어도 바로 넣음 (load 는 이미 있는 값을 덮지 않으므로 어느 쪽이 먼저여도 결과가 같음)
+            entries.put(entry.recordId, entry);
+            store.improve(totalBoard(groupId), entry.recordId, entry.seconds);
+            resultsVersionService.bump(groupId);
+        });
+    }
+
+    // 구간 기록 저장 후 호출 (그 기록의 예전 구간 기록은 빠지고 새 값으로 바뀜)
+    public void lapsSaved(RunRecord record, LapSplits laps) {
+        if (record.getRunningGroup() == null) return;
+        Long groupId = record.getRunningGroup().getId();
+        Long recordId = record.getId();
+        afterCommit(() -> {
+            for (int km : kms(groupId)) {
+                store.remove(sectionBoard(groupId, km), recordId);
+            }
+            for (int i = 0; i < laps.size(); i++) {
+                store.put(sectionBoard(groupId, laps.km(i)), recordId, laps.time(i));
+                store.put(kmsBoard(groupId), laps.km(i), laps.km(i));
+            }
+            resultsVersionService.bump(groupId);
+        });
+    }
+
+    // 기록이 지워진 그룹은 커밋 뒤에 비워서 다음 조회 때 DB 에서 다시 읽게 함
+    public void evictAfterCommit(Collection<Long> groupIds) {
+        List<Long> ids = new ArrayList<>(groupIds);
+        afterCommit(() -> ids.forEach(id -> {
+            deleteBoards(id);
+            resultsVersionService.bump(id);
+        }));
+    }
+
+    // 닉네임/프로필 사진이 바뀌면 이미 캐시에 있는 항목도 같이 바꿈
+    public void profileChanged(String email, String nickname, String profileImageUrl) {
+        afterCommit(() -> {
+            synchronized (entries) {
+                for (Entry entry : entries.values()) {
+                    if (!entry.email.equals(email)) continue;
+                    entry.nickname = nickname;
+                    entry.profileImageUrl = profileImageUrl;
+                }
+            }
+            resultsVersionService.bumpAll();
+        });
+    }
+
+    // 이 서버에서 조회한 적 있는 그룹을 모두 검사하고 다시 만든 그룹 수를 돌려줌
+    @Scheduled(fixedDelayString = "${runtogether.leaderboard.verify-millis:600000}",
+            initialDelayString = "${runtogether.leaderboard.verify-millis:600000}")
+    public int verifyLoaded() {
+        int rebuilt = 0;
+        for (Long groupId : new ArrayList<>(loadLocks.keySet())) {
+            try {
+                if (!verify(groupId)) rebuilt++;
+            } catch (Exception e) {
+                System.err.println("❌ 리더보드 검사 실패 (그룹 " + groupId + "): " + e.getMessage());
+            }
+        }
+        if (rebuilt > 0) System.out.println("리더보드 " + rebuilt + "개 그룹을 DB 기준으로 다시 만듦");
+        return rebuilt;
+    }
+
+    // DB 와 리더보드 비교 (다르면 다시 만들고 false)
+    public boolean verify(Long groupId) {
+        String board = totalBoard(groupId);
+        if (!store.isLoaded(board)) return true; // 아직 안 올라간 그룹은 다음 조회 때 DB 에서 읽음
+
+        Map<Long, Integer> expected = new HashMap<>();
+        for (Object[] row : recordRepository.findLeaderboardRows(groupId)) {
+            expected.put((Long) row[0], (row[1] != null) ? (Integer) row[1] : UNKNOWN_TIME);
+        }
+
+        List<LeaderboardStore.Scored> actual = store.range(board, 0, Integer.MAX_VALUE);
+        boolean consistent = expected.size() == actual.size()
+                && actual.stream().allMatch(s -> Objects.equals(expected.get(s.member()), s.score()));
+
+        if (!consistent) rebuild(groupId);
+        return consistent;
+    }
+
+    public void rebuild(Long groupId) {
+        deleteBoards(groupId);
+        ensureLoaded(groupId, null);
+        resultsVersionService.bump(groupId);
+    }
+
+    // 해당 board 가 warm-up 되어 있지 않으면 DB 에서 읽어 올리고 board 이름을 돌려줌
+    private String ensureLoaded(Long groupId, Integer km) {
+        if (km != null) {
+            ensureSectionsLoaded(groupId);
+            return sectionBoard(groupId, km);
+        }
+        String board = totalBoard(groupId);
+        if (store.isLoaded(board)) return board;
+        synchronized (loadLocks.computeIfAbsent(groupId, id -> new Object())) {
+            if (!store.isLoaded(board)) load(groupId, board);
+        }
+        return board;
+    }
+
+    // 구간 기록은 처음 구간 랭킹을 볼 때 한 번 읽음 (kms board 의 loaded 표시로 판단)
+    private void ensureSectionsLoaded(Long groupId) {
+        String kmsBoard = kmsBoard(groupId);
+        if (store.isLoaded(kmsBoard)) return;
+        synchronized (loadLocks.computeIfAbsent(groupId, id -> new Object())) {
+            if (!store.isLoaded(kmsBoard)) loadSections(groupId);
+        }
+    }
+
+    private void load(Long groupId, String board) {
+        List<Object[]> rows = recordRepository.findLeaderboardRows(groupId);
+        long[] members = new long[rows.size()];
+        int[] scores = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            Entry entry = toEntry(groupId, rows.get(i));
+            entries.putIfAbsent(entry.recordId, entry);
+            members[i] = entry.recordId;
+            scores[i] = entry.seconds;
+        }
+        store.load(board, members, scores);
+    }
+
+    private void loadSections(Long groupId) {
+        Map<Integer, List<Object[]>> rowsByKm = new TreeMap<>();
+        for (Object[] row : recordRepository.findSectionRows(groupId)) {
+            rowsByKm.computeIfAbsent((Integer) row[1], km -> new ArrayList<>()).add(row);
+        }
+
+        long[] kms = new long[rowsByKm.size()];
+        int[] kmScores = new int[rowsByKm.size()];
+        int k = 0;
+        for (Map.Entry<Integer, List<Object[]>> e : rowsByKm.entrySet()) {
+            List<Object[]> rows = e.getValue();
+            long[] members = new long[rows.size()];
+            int[] scores = new int[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                members[i] = (Long) rows.get(i)[0];
+                scores[i] = (Integer) rows.get(i)[2];
+            }
+            store.load(sectionBoard(groupId, e.getKey()), members, scores);
+            kms[k] = e.getKey();
+            kmScores[k++] = e.getKey();
+        }
+        // km 목록은 마지막에 표시 (중간에 실패하면 다음 조회 때 다시 읽음)
+        store.load(kmsBoard(groupId), kms, kmScores);
+    }
+
+    private void deleteBoards(Long groupId) {
+        for (int km : kms(groupId)) store.delete(sectionBoard(groupId, km));
+        store.delete(kmsBoard(groupId));
+        store.delete(totalBoard(groupId));
+        synchronized (entries) {
+            entries.values().removeIf(entry -> groupId.equals(entry.groupId));
+        }
+    }
+
+    private List<Integer> kms(Long groupId) {
+        List<Integer> kms = new ArrayList<>();
+        for (LeaderboardStore.Scored s : store.range(kmsBoard(groupId), 0, Integer.MAX_VALUE)) {
+            kms.add((int) s.member());
+        }
+        return kms;
+    }
+
+    // 유저가 이 그룹에 남긴 기록 중 해당 board 에서 가장 앞선 기록 (없으면 null)
+    private Long bestRecordOf(Long groupId, Integer km, String email) {
+        if (email == null) return null;
+        String board = ensureLoaded(groupId, km);
+
+        Long best = null;
+        long bestPosition = Long.MAX_VALUE;
+        for (Long recordId : recordRepository.findIdsByGroupAndEmail(groupId, email)) {
+            long position = store.rank(board, recordId);
+            if (position >= 0 && position < bestPosition) {
+                best = recordId;
+                bestPosition = position;
+            }
+        }
+        return best;
+    }
+
+    private List<Ranked> toRanked(Long groupId, Integer km, List<LeaderboardStore.Scored> rows) {
+        // 캐시에 없거나, 전체 기록인데 시간이 저장소와 다르면(다른 서버가 갱신) DB 에서 한 번에 다시 읽음
+        List<Long> missing = new ArrayList<>();
+        for (LeaderboardStore.Scored s : rows) {
+            Entry entry = entries.get(s.member());
+            if (entry == null || (km == null && entry.seconds != s.score())) missing.add(s.member());
+        }
+        if (!missing.isEmpty()) {
+            for (Object[] row : recordRepository.findLeaderboardRowsByIds(missing)) {
+                Entry entry = toEntry(groupId, row);
+                entries.put(entry.recordId, entry);
+            }
+        }
+
+        List<Ranked> result = new ArrayList<>(rows.size());
+        for (LeaderboardStore.Scored s : rows) {
+            Entry entry = entries.get(s.member());
+            if (entry != null) result.add(new Ranked((int) s.position() + 1, entry, s.score()));
+        }
+        return result;
+    }
+
+    // findLeaderboardRows 한 행 → Entry
+    private static Entry toEntry(Long groupId, Object[] row) {
+        return new Entry(
+                (Long) row[0],
+                groupId,
+                (row[1] != null) ? (Integer) row[1] : UNKNOWN_TIME,
+                (String) row[2],
+                (String) row[3],
+                (String) row[4],
+                (String) row[5]
+        );
+    }
+
+    private static String board(Long groupId, Integer km) {
+        return (km == null) ? totalBoard(groupId) : sectionBoard(groupId, km);
+    }
+
+    private static String totalBoard(Long groupId) {
+        return "group:" + groupId;
+    }
+
+    private static String sectionBoard(Long groupId, int km) {
+        return "group:" + groupId + ":km:" + km;
+    }
+
+    // 그 그룹에 구간 기록이 있는 km 목록 (member = score = km)
+    private static String kmsBoard(Long groupId) {
+        return "group:" + groupId + ":kms";
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Getter
+    public static class Entry {
+        private final Long recordId;
+        private final Long groupId;
+        private final int seconds;
+        private final String runTime;
+        private final String email;
+        private volatile String nickname;
+        private volatile String profileImageUrl;
+
+        Entry(Long recordId, Long groupId, int seconds, String runTime, String email, String nickname, String profileImageUrl) {
+            this.recordId = recordId;
+            this.groupId = groupId;
+            this.seconds = seconds;
+            this.runTime = runTime;
+            this.email = email;
+            this.nickname = nickname;
+            this.profileImageUrl = profileImageUrl;
+        }
+    }
+
+    // 순위표 한 줄 (rank 는 1부터, score 는 전체 기록이면 runTimeSeconds, 구간이면 lapTime)
+    @Getter
+    public static class Ranked {
+        private final int rank;
+        private final Entry entry;
+        private final int score;
+
+        Ranked(int rank, Entry entry, int score) {
+            this.rank = rank;
+            this.entry = entry;
+            this.score = score;
+        }
+    }
+}
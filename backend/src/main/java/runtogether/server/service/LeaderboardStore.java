@@ -0,0 +1,60 @@
+package runtogether.server.service;
+
+import java.util.List;
+
+// 순위표 저장소 (이름(board)마다 (score, member) 정렬 집합 하나)
+//
+// LeaderboardService 가 그룹 전체 기록 / km 구간 기록을 board 하나씩으로 나눠 저장합니다.
+//  - memory : 서버 한 대일 때 (MemoryLeaderboardStore, RankTree)
+//  - redis  : 서버가 여러 대일 때 모든 서버가 같은 순위를 보도록 Redis sorted set 에 저장 (RedisLeaderboardStore)
+// runtogether.leaderboard.store 설정으로 고릅니다.
+//
+// 결과 버전(ETag) 카운터도 여기에 둡니다. 서버가 여러 대면 어느 서버에 요청이 가도 같은 ETag 가 나와야 하기 때문입니다.
+//
+// 같은 score 는 member 가 작은 쪽이 앞 (먼저 저장된 기록이 동점 우선), 위치(position)는 0부터.
+// 값은 다른 서버가 동시에 고칠 수 있으므로 load 는 "없는 것만 추가", 기록 갱신은 "더 빠를 때만 교체" 로
+// 어느 순서로 실행돼도 같은 결과가 나오게 되어 있습니다.
+public interface LeaderboardStore {
+
+    // load 가 한 번이라도 끝난 board 인지
+    boolean isLoaded(String board);
+
+    // DB 에서 읽은 값 일괄 등록 후 loaded 표시 (이미 들어 있는 member 는 그 사이 반영된 더 새로운 값이므로 건드리지 않음)
+    void load(String board, long[] members, int[] scores);
+
+    // 없으면 추가, 있으면 score 교체
+    void put(String board, long member, int score);
+
+    // 없으면 추가, 있으면 더 작은(빠른) score 일 때만 교체
+    void improve(String board, long member, int score);
+
+    void remove(String board, long member);
+
+    // board 와 loaded 표시를 같이 지움 (다음 조회 때 DB 에서 다시 읽음)
+    void delete(String board);
+
+    // 없으면 null
+    Integer score(String board, long member);
+
+    // 0부터 시작하는 위치 (없으면 -1)
+    long rank(String board, long member);
+
+    // score 보다 작은 항목 수
+    long countLessThan(String board, int score);
+
+    long count(String board);
+
+    // from 번째부터 to 번째(제외)까지
+    List<Scored> range(String board, long from, long to);
+
+    // member 위아래 radius 개씩 (member 가 없으면 빈 목록)
+    List<Scored> around(String board, long member, int radius);
+
+    // [0] 은 저장소 세대(epoch, 저장소가 새로 시작되거나 비워지면 바뀜), 그 뒤는 names 순서대로 버전 카운터 (없으면 0)
+    long[] versions(String... names);
+
+    void incrementVersion(String name);
+
+    record Scored(long position, long member, int score) {
+    }
+}
@@ -0,0 +1,43 @@
+package runtogether.server.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import runtogether.server.repository.RunningGroupRepository;
+
+// running_groups.member_count 채우기 (컬럼이 새로 생긴 예전 그룹용)
+//
+// 그룹은 만들 때 방장이 바로 가입하므로 인원이 0 인 그룹은 아직 세지 않은 그룹뿐입니다.
+// 그런 그룹만 user_groups 행 수로 한 번에 채우므로 몇 번을 다시 실행해도 안전합니다.
+// open_seats 도 같은 방식으로 아직 -1 (계산 전) 인 그룹만 채웁니다.
+//
+// 모든 빈(스키마를 고치는 EntityManagerFactory 포함)이 만들어진 뒤, 웹 서버가 요청을 받기 전에 돕니다.
+// 요청을 받은 뒤에 돌면 세지 않은 그룹에 가입이 먼저 들어와 인원이 0 → 1 이 되고, 그 그룹은 백필에서 영영 빠집니다.
+@Component
+@RequiredArgsConstructor
+public class MemberCountBackfill implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        run();
+    }
+
+    public void run() {
+        try {
+            int updated = jdbcTemplate.update(
+                    "UPDATE running_groups g SET member_count = " +
+                            "(SELECT COUNT(*) FROM user_groups ug WHERE ug.group_id = g.group_id) " +
+                            "WHERE g.member_count = 0");
+            if (updated > 0) System.out.println("그룹 인원 백필 완료: " + updated + "건");
+
+            int seats = jdbcTemplate.update(
+                    "UPDATE running_groups SET " + RunningGroupRepository.OPEN_SEATS + " WHERE open_seats < 0");
+            if (seats > 0) System.out.println("그룹 남은 자리 백필 완료: " + seats + "건");
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package runtogether.server.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import runtogether.server.util.RankTree;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+// 서버 한 대용 순위표 저장소 (board 마다 RankTree + member → score)
+@Component
+@ConditionalOnProperty(name = "runtogether.leaderboard.store", havingValue = "memory", matchIfMissing = true)
+public class MemoryLeaderboardStore implements LeaderboardStore {
+
+    private final Map<String, Board> boards = new ConcurrentHashMap<>();
+    private final long epoch = System.currentTimeMillis();
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isLoaded(String board) {
+        Board b = boards.get(board);
+        return b != null && b.loaded;
+    }
+
+    @Override
+    public void load(String board, long[] members, int[] scores) {
+        Board b = boards.computeIfAbsent(board, name -> new Board(members.length));
+        b.lock.writeLock().lock();
+        try {
+            for (int i = 0; i < members.length; i++) {
+                if (!b.scores.containsKey(members[i])) b.set(members[i], scores[i]);
+            }
+            b.loaded = true;
+        } finally {
+            b.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(String board, long member, int score) {
+        Board b = boards.computeIfAbsent(board, name -> new Board(16));
+        b.lock.writeLock().lock();
+        try {
+            b.set(member, score);
+        } finally {
+            b.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void improve(String board, long member, int score) {
+        Board b = boards.computeIfAbsent(board, name -> new Board(16));
+        b.lock.writeLock().lock();
+        try {
+            Integer old = b.scores.get(member);
+            if (old == null || score < old) b.set(member, score);
+        } finally {
+            b.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String board, long member) {
+        Board b = boards.get(board);
+        if (b == null) return;
+        b.lock.writeLock().lock();
+        try {
+            Integer old = b.scores.remove(member);
+            if (old != null) b.tree.remove(old, member);
+        } finally {
+            b.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(String board) {
+        boards.remove(board);
+    }
+
+    @Override
+    public Integer score(String board, long member) {
+        return read(board, null, b -> b.scores.get(member));
+    }
+
+    @Override
+    public long rank(String board, long member) {
+        return read(board, -1L, b -> {
+            Integer score = b.scores.get(member);
+            return (score != null) ? (long) b.tree.rank(score, member) : -1L;
+        });
+    }
+
+    @Override
+    public long countLessThan(String board, int score) {
+        return read(board, 0L, b -> (long) b.tree.countLessThan(score));
+    }
+
+    @Override
+    public long count(String board) {
+        return read(board, 0L, b -> (long) b.tree.size());
+    }
+
+    @Override
+    public List<Scored> range(String board, long from, long to) {
+        return read(board, new ArrayList<>(), b -> range(b, from, to));
+    }
+
+    @Override
+    public List<Scored> around(String board, long member, int radius) {
+        return read(board, new ArrayList<>(), b -> {
+            Integer score = b.scores.get(member);
+            if (score == null) return new ArrayList<>();
+            long position = b.tree.rank(score, member);
+            return range(b, position - radius, position + radius + 1);
+        });
+    }
+
+    @Override
+    public long[] versions(String... names) {
+        long[] result = new long[names.length + 1];
+        result[0] = epoch;
+        for (int i = 0; i < names.length; i++) {
+            AtomicLong version = versions.get(names[i]);
+            result[i + 1] = (version != null) ? version.get() : 0;
+        }
+        return result;
+    }
+
+    @Override
+    public void incrementVersion(String name) {
+        versions.computeIfAbsent(name, n -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static List<Scored> range(Board b, long from, long to) {
+        int start = (int) Math.max(from, 0);
+        int end = (int) Math.min(to, b.tree.size());
+        List<Scored> result = new ArrayList<>(Math.max(end - start, 0));
+        b.tree.forEach(start, end, (index, score, id) -> result.add(new Scored(index, id, score)));
+        return result;
+    }
+
+    private <T> T read(String board, T empty, Function<Board, T> reader) {
+        Board b = boards.get(board);
+        if (b == null) return empty;
+        b.lock.readLock().lock();
+        try {
+            return reader.apply(b);
+        } finally {
+            b.lock.readLock().unlock();
+        }
+    }
+
+    private static class Board {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final RankTree tree;
+        private final Map<Long, Integer> scores;
+        private volatile boolean loaded;
+
+        Board(int capacity) {
+            this.tree = new RankTree(capacity);
+            this.scores = new HashMap<>(Math.max(capacity * 4 / 3, 16));
+        }
+
+        // 같은 member 가 있으면 예전 위치를 빼고 새 위치에 넣음
+        void set(long member, int score) {
+            Integer old = scores.put(member, score);
+            if (old != null) tree.remove(old, member);
+            tree.insert(score, member);
+        }
+    }
+}
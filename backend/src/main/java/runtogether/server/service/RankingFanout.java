@@ -0,0 +1,180 @@
+package runtogether.server.service;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 그룹별 구독자에게 이벤트를 뿌려주는 팬아웃 (SSE 등 실제 전송 방식과 무관)
+//
+//  - 이벤트는 구독자마다 크기가 정해진 큐에 넣기만 하고, 실제 전송은 writer 스레드 풀이 구독자 단위로 처리
+//    → 느린 클라이언트 하나 때문에 다른 구독자 전송이 밀리지 않음
+//  - 큐가 가득 찬 구독자(느린 소비자)는 더 기다리지 않고 연결을 끊음 (클라이언트가 다시 연결하면 스냅샷부터 받음)
+//  - 한 구독자의 전송은 동시에 하나만 실행되므로 이벤트 순서가 유지됨
+//  - 전송 한 번이 sendTimeout 보다 오래 걸리면(소켓 쓰기가 막힌 클라이언트) expireStalled 가 그 전송 스레드를 인터럽트하고 끊음
+//    → 막힌 클라이언트 몇 명이 writer 스레드를 전부 붙잡고 있지 않게 함
+//  - sink.close() 는 전송 중이 아닐 때만 부르고, 전송 중이면 전송이 끝난(깨어난) writer 스레드가 직접 닫음
+//    (SseEmitter 는 send / complete 가 같은 락을 쓰므로 막힌 send 를 다른 스레드에서 complete 하면 그 스레드도 같이 막힘)
+public class RankingFanout {
+
+    // 실제 전송 수단 (운영은 SseEmitter, 테스트는 메모리)
+    public interface Sink {
+        void send(String event, String data) throws IOException;
+
+        void close();
+    }
+
+    private final int bufferSize;
+    private final Executor writers;
+    private final Map<Long, Set<Subscription>> subscribers = new ConcurrentHashMap<>();
+
+    public RankingFanout(int bufferSize, Executor writers) {
+        this.bufferSize = bufferSize;
+        this.writers = writers;
+    }
+
+    public Subscription subscribe(Long groupId, Sink sink) {
+        Subscription subscription = new Subscription(groupId, sink, bufferSize);
+        subscribers.computeIfAbsent(groupId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        return subscription;
+    }
+
+    public void unsubscribe(Subscription subscription) {
+        if (!subscription.closed.compareAndSet(false, true)) return;
+        subscribers.computeIfPresent(subscription.groupId, (id, set) -> {
+            set.remove(subscription);
+            return set.isEmpty() ? null : set;
+        });
+
+        boolean sending;
+        synchronized (subscription) {
+            sending = subscription.sender != null;
+            if (sending) subscription.sender.interrupt(); // 막힌 쓰기를 깨움, 닫기는 전송 스레드가 함
+        }
+        if (!sending) closeSink(subscription);
+    }
+
+    // 전송 하나가 timeoutMillis 넘게 끝나지 않는 구독자를 끊음 (주기적으로 호출), 끊은 수 반환
+    public int expireStalled(long timeoutMillis) {
+        long now = System.nanoTime();
+        long timeoutNanos = timeoutMillis * 1_000_000;
+        int expired = 0;
+        for (Set<Subscription> set : subscribers.values()) {
+            for (Subscription subscription : set) {
+                long started = subscription.sendStartedNanos;
+                if (started != 0 && now - started > timeoutNanos) {
+                    unsubscribe(subscription);
+                    expired++;
+                }
+            }
+        }
+        return expired;
+    }
+
+    // 구독자가 있는 그룹 id (변경 확인 대상)
+    public Set<Long> groupIds() {
+        return Collections.unmodifiableSet(subscribers.keySet());
+    }
+
+    public int subscriberCount(Long groupId) {
+        Set<Subscription> set = subscribers.get(groupId);
+        return (set != null) ? set.size() : 0;
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // 그룹 구독자 전체에게 (data 는 한 번만 직렬화해서 모두가 공유)
+    public void publish(Long groupId, String event, String data) {
+        Set<Subscription> set = subscribers.get(groupId);
+        if (set == null) return;
+        Event e = new Event(event, data);
+        for (Subscription subscription : set) {
+            offer(subscription, e);
+        }
+    }
+
+    // 한 구독자에게만 (연결 직후 스냅샷 등)
+    public void send(Subscription subscription, String event, String data) {
+        offer(subscription, new Event(event, data));
+    }
+
+    private void offer(Subscription subscription, Event event) {
+        if (subscription.closed.get()) return;
+        if (!subscription.queue.offer(event)) {
+            unsubscribe(subscription); // 느린 소비자
+            return;
+        }
+        if (subscription.scheduled.compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscription));
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        while (true) {
+            Event event;
+            while ((event = subscription.queue.poll()) != null) {
+                synchronized (subscription) {
+                    if (subscription.closed.get()) break;
+                    subscription.sender = Thread.currentThread();
+                    subscription.sendStartedNanos = System.nanoTime();
+                }
+                boolean failed = false;
+                try {
+                    subscription.sink.send(event.name, event.data);
+                } catch (Exception e) {
+                    failed = true; // 클라이언트가 연결을 끊었거나 전송 시간 초과로 인터럽트됨
+                } finally {
+                    synchronized (subscription) {
+                        subscription.sender = null;
+                        subscription.sendStartedNanos = 0;
+                    }
+                    Thread.interrupted(); // 이 구독자 때문에 걸린 인터럽트가 풀의 다음 작업으로 새지 않게
+                }
+                if (failed) unsubscribe(subscription);
+                if (subscription.closed.get()) break;
+            }
+            if (subscription.closed.get()) {
+                closeSink(subscription);
+                return;
+            }
+            subscription.scheduled.set(false);
+            // 플래그를 내리는 사이에 들어온 이벤트가 있으면 이어서 처리
+            if (subscription.queue.isEmpty() || !subscription.scheduled.compareAndSet(false, true)) return;
+        }
+    }
+
+    private void closeSink(Subscription subscription) {
+        if (subscription.sinkClosed.compareAndSet(false, true)) subscription.sink.close();
+    }
+
+    public static class Subscription {
+        private final Long groupId;
+        private final Sink sink;
+        private final BlockingQueue<Event> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean sinkClosed = new AtomicBoolean();
+        private Thread sender;                    // 지금 전송 중인 writer 스레드 (this 로 동기화)
+        private volatile long sendStartedNanos;   // 전송 시작 시각, 전송 중이 아니면 0
+
+        Subscription(Long groupId, Sink sink, int bufferSize) {
+            this.groupId = groupId;
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        public boolean isClosed() {
+            return closed.get();
+        }
+    }
+
+    private record Event(String name, String data) {
+    }
+}
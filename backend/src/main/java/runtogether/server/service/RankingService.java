@@ -3,70 +3,98 @@ package runtogether.server.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import runtogether.server.domain.Lap;
-import runtogether.server.domain.RunRecord;
-import runtogether.server.repository.RunRecordRepository;
 import runtogether.server.dto.RankingDto;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class RankingService {
 
-    private final RunRecordRepository recordRepository;
+    private final LeaderboardService leaderboardService;
+
+    // 한 번에 돌려줄 수 있는 최대 인원 (top / around / after 공통)
+    private static final int MAX_WINDOW = 200;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int DEFAULT_RADIUS = 5;
 
     // 랭킹 조회 메인 메서드 (★ courseId -> groupId 로 변경됨)
+    // 조회 범위 (리더보드 저장소에서 해당 구간만 꺼냄)
+    //  - top=N              : 1등부터 N명
+    //  - around=me&radius=K : 내 위아래 K명씩
+    //  - after=R&size=S     : R등 다음부터 S명 (응답 마지막 rank 를 다음 after 로 넘기면 이어서 조회)
+    //  - 아무것도 없으면 전체 (기존 앱 호환)
     @Transactional(readOnly = true)
-    public List<RankingDto> getRanking(String email, Long groupId, String type, Integer km) {
-
-        List<RankingDto> result = new ArrayList<>();
+    public List<RankingDto> getRanking(String email, Long groupId, String type, Integer km,
+                                       Integer top, boolean aroundMe, Integer radius, Integer after, Integer size) {
 
+        Integer boardKm;
         if ("TOTAL".equals(type)) {
-            // 1. 시간순 (전체 기록) 랭킹 (★ groupId 기준 조회)
-            List<RunRecord> records = recordRepository.findRankingByTotalTime(groupId);
-
-            for (int i = 0; i < records.size(); i++) {
-                RunRecord r = records.get(i);
-                boolean isMe = r.getUser().getEmail().equals(email);
-
-                result.add(new RankingDto(
-                        i + 1, // 등수 (0부터 시작하니까 +1)
-                        r.getUser().getNickname(),
-                        r.getUser().getProfileImageUrl(),
-                        r.getRunTime(), // "56:42"
-                        isMe
-                ));
-            }
-
+            // 1. 시간순 (전체 기록) 랭킹
+            boardKm = null;
         } else if ("SECTION".equals(type)) {
             // 2. 구간순 (1km, 2km...) 랭킹
-            if (km == null) km = 1; // km 안 보내면 기본 1km로 설정
-
-            // (★ groupId 기준 조회)
-            List<Lap> laps = recordRepository.findRankingBySection(groupId, km);
-
-            for (int i = 0; i < laps.size(); i++) {
-                Lap l = laps.get(i);
-                boolean isMe = l.getRunRecord().getUser().getEmail().equals(email);
-
-                // 초 단위(int)를 "분'초"" 포맷으로 변환 (예: 401초 -> 6'41")
-                String formattedTime = convertSecToTime(l.getLapTime());
-
-                result.add(new RankingDto(
-                        i + 1,
-                        l.getRunRecord().getUser().getNickname(),
-                        l.getRunRecord().getUser().getProfileImageUrl(),
-                        formattedTime,
-                        isMe
-                ));
-            }
+            boardKm = (km != null) ? km : 1; // km 안 보내면 기본 1km로 설정
+        } else {
+            return new ArrayList<>();
+        }
+
+        // 내 기록이 없으면 빈 목록
+        if (aroundMe) {
+            int r = clamp(radius, DEFAULT_RADIUS, MAX_WINDOW / 2);
+            return toRankings(email, boardKm, leaderboardService.aroundUser(groupId, boardKm, email, r));
+        }
+
+        int from = 0;
+        int to = Integer.MAX_VALUE;
+        if (after != null) {
+            from = Math.max(after, 0);
+            to = from + clamp(size, DEFAULT_PAGE_SIZE, MAX_WINDOW);
+        } else if (top != null) {
+            to = clamp(top, DEFAULT_PAGE_SIZE, MAX_WINDOW);
         }
 
+        // (★ groupId 기준, 리더보드 저장소에서 조회)
+        return toRankings(email, boardKm, leaderboardService.window(groupId, boardKm, from, to));
+    }
+
+    // 모든 km 구간 랭킹을 한 번에 (앱에서 구간을 넘겨볼 때 요청 한 번으로 처리)
+    @Transactional(readOnly = true)
+    public Map<Integer, List<RankingDto>> getAllSectionRankings(String email, Long groupId, Integer top) {
+        Map<Integer, List<RankingDto>> result = new LinkedHashMap<>();
+        leaderboardService.allSections(groupId, top)
+                .forEach((km, rows) -> result.put(km, toRankings(email, km, rows)));
+        return result;
+    }
+
+    private List<RankingDto> toRankings(String email, Integer km, List<LeaderboardService.Ranked> rows) {
+        List<RankingDto> result = new ArrayList<>(rows.size());
+        for (LeaderboardService.Ranked row : rows) {
+            LeaderboardService.Entry e = row.getEntry();
+            boolean isMe = e.getEmail().equals(email);
+
+            // 전체 기록은 "56:42", 구간 기록은 초 단위(int)를 "분'초"" 포맷으로 변환 (예: 401초 -> 6'41")
+            String recordValue = (km == null) ? e.getRunTime() : convertSecToTime(row.getScore());
+
+            result.add(new RankingDto(
+                    row.getRank(), // 등수 (1부터)
+                    e.getNickname(),
+                    e.getProfileImageUrl(),
+                    recordValue,
+                    isMe
+            ));
+        }
         return result;
     }
 
+    private static int clamp(Integer value, int defaultValue, int max) {
+        int v = (value != null) ? value : defaultValue;
+        return Math.max(0, Math.min(v, max));
+    }
+
     // [보조] 초 -> "6'41"" 변환 메서드
     private String convertSecToTime(int totalSeconds) {
         int min = totalSeconds / 60;
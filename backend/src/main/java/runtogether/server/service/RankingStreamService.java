@@ -0,0 +1,175 @@
+package runtogether.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import runtogether.server.dto.RankingStreamDto;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 랭킹 실시간 구독 (Server-Sent Events)
+//
+// 보는 사람마다 10초 폴링하던 것을, 그룹별로 구독해 두면 기록이 바뀔 때만 변경분(delta)을 밀어주는 방식으로 바꿉니다.
+//  - 짧은 주기(coalesce-millis)마다 구독자가 있는 그룹의 결과 버전(ResultsVersionService)만 확인
+//    → 그 사이 기록이 여러 개 들어와도 변경분은 한 번으로 합쳐짐
+//  - 변경분은 상위 top 명 기준 entered / moved / left 만 보내고, JSON 은 그룹당 한 번만 만들어 모든 구독자가 공유
+//  - 전송은 RankingFanout 이 구독자별 제한 버퍼 + writer 스레드로 처리 (느린 구독자는 끊음)
+//  - 소켓 쓰기가 send-timeout-millis 넘게 막힌 구독자는 flush 때마다 확인해서 끊음 (writer 스레드를 돌려받음)
+@Service
+public class RankingStreamService {
+
+    private final LeaderboardService leaderboardService;
+    private final ResultsVersionService resultsVersionService;
+    private final ObjectMapper objectMapper;
+
+    private final int topSize;
+    private final long timeoutMillis;
+    private final ExecutorService writers;
+    private final RankingFanout fanout;
+
+    // 그룹별 마지막으로 보낸 상태
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private long lastHeartbeat = System.currentTimeMillis();
+
+    @Value("${runtogether.ranking-stream.heartbeat-millis:20000}")
+    private long heartbeatMillis;
+
+    @Value("${runtogether.ranking-stream.send-timeout-millis:5000}")
+    private long sendTimeoutMillis;
+
+    public RankingStreamService(LeaderboardService leaderboardService,
+                                ResultsVersionService resultsVersionService,
+                                ObjectMapper objectMapper,
+                                @Value("${runtogether.ranking-stream.top:50}") int topSize,
+                                @Value("${runtogether.ranking-stream.buffer:16}") int bufferSize,
+                                @Value("${runtogether.ranking-stream.writers:4}") int writerThreads,
+                                @Value("${runtogether.ranking-stream.timeout-minutes:30}") long timeoutMinutes) {
+        this.leaderboardService = leaderboardService;
+        this.resultsVersionService = resultsVersionService;
+        this.objectMapper = objectMapper;
+        this.topSize = topSize;
+        this.timeoutMillis = timeoutMinutes * 60_000;
+
+        AtomicInteger seq = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, r -> {
+            Thread t = new Thread(r, "ranking-stream-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.fanout = new RankingFanout(bufferSize, writers);
+    }
+
+    @PreDestroy
+    void stop() {
+        writers.shutdownNow();
+    }
+
+    public SseEmitter subscribe(Long groupId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        RankingFanout.Subscription subscription = fanout.subscribe(groupId, new RankingFanout.Sink() {
+            @Override
+            public void send(String event, String data) throws IOException {
+                emitter.send(SseEmitter.event().name(event).data(data));
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(() -> fanout.unsubscribe(subscription));
+        emitter.onTimeout(() -> fanout.unsubscribe(subscription));
+        emitter.onError(e -> fanout.unsubscribe(subscription));
+
+        // 처음에는 현재 상위 랭킹 전체
+        Snapshot current = snapshots.computeIfAbsent(groupId, this::capture);
+        fanout.send(subscription, "snapshot", toJson(new RankingStreamDto.Snapshot(current.version, current.rows)));
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${runtogether.ranking-stream.coalesce-millis:500}")
+    public void flush() {
+        fanout.expireStalled(sendTimeoutMillis);
+
+        for (Long groupId : fanout.groupIds()) {
+            Snapshot previous = snapshots.get(groupId);
+            String version = resultsVersionService.etag(groupId);
+            if (previous != null && previous.version.equals(version)) continue;
+
+            Snapshot current = capture(groupId);
+            snapshots.put(groupId, current);
+            if (previous != null) {
+                RankingStreamDto.Delta delta = diff(previous, current);
+                if (delta != null) fanout.publish(groupId, "delta", toJson(delta));
+            }
+        }
+
+        // 구독자가 없는 그룹 상태는 정리
+        snapshots.keySet().retainAll(fanout.groupIds());
+
+        // 프록시/로드밸런서가 유휴 연결을 끊지 않도록 주기적으로 ping
+        long now = System.currentTimeMillis();
+        if (now - lastHeartbeat >= heartbeatMillis) {
+            lastHeartbeat = now;
+            for (Long groupId : fanout.groupIds()) fanout.publish(groupId, "ping", "{}");
+        }
+    }
+
+    public int subscriberCount() {
+        return fanout.subscriberCount();
+    }
+
+    private Snapshot capture(Long groupId) {
+        String version = resultsVersionService.etag(groupId); // 목록보다 먼저 읽어야 사이에 바뀐 내용을 놓치지 않음
+        List<LeaderboardService.Ranked> top = leaderboardService.window(groupId, null, 0, topSize);
+        List<RankingStreamDto.Row> rows = new ArrayList<>(top.size());
+        for (LeaderboardService.Ranked r : top) {
+            LeaderboardService.Entry e = r.getEntry();
+            rows.add(new RankingStreamDto.Row(r.getRank(), e.getRecordId(), e.getNickname(), e.getProfileImageUrl(), e.getRunTime()));
+        }
+        return new Snapshot(version, rows);
+    }
+
+    // 바뀐 게 없으면 null
+    static RankingStreamDto.Delta diff(Snapshot previous, Snapshot current) {
+        Map<Long, RankingStreamDto.Row> before = new HashMap<>();
+        for (RankingStreamDto.Row row : previous.rows) before.put(row.getRecordId(), row);
+
+        List<RankingStreamDto.Row> entered = new ArrayList<>();
+        List<RankingStreamDto.Moved> moved = new ArrayList<>();
+        for (RankingStreamDto.Row row : current.rows) {
+            RankingStreamDto.Row old = before.remove(row.getRecordId());
+            if (old == null || !Objects.equals(old.getRecordValue(), row.getRecordValue())
+                    || !Objects.equals(old.getNickname(), row.getNickname())
+                    || !Objects.equals(old.getProfileImage(), row.getProfileImage())) {
+                entered.add(row); // 새 기록이거나 내용(기록/프로필)이 바뀜 → 통째로 다시 보냄
+            } else if (old.getRank() != row.getRank()) {
+                moved.add(new RankingStreamDto.Moved(row.getRecordId(), old.getRank(), row.getRank()));
+            }
+        }
+        List<Long> left = new ArrayList<>(before.keySet());
+
+        if (entered.isEmpty() && moved.isEmpty() && left.isEmpty()) return null;
+        return new RankingStreamDto.Delta(current.version, entered, moved, left);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    record Snapshot(String version, List<RankingStreamDto.Row> rows) {
+    }
+}
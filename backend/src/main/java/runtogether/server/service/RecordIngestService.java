@@ -0,0 +1,183 @@
+package runtogether.server.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import runtogether.server.dto.RecordDto;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 기록 저장 비동기 처리 (write-behind)
+//
+// 대회가 끝나는 순간 그룹 전체가 동시에 기록을 올리면 요청마다 유저/코스/그룹 조회 + upsert + 랩 저장을
+// 톰캣 스레드에서 하느라 스레드와 커넥션 풀이 같이 막힙니다.
+// 비동기 모드에서는 요청을 가볍게 검사한 뒤 큐에 넣고 바로 202 + 처리 번호(handle)를 돌려주고,
+// 백그라운드 스레드 하나가 큐에 쌓인 기록을 여러 개씩 묶어 한 트랜잭션으로 저장합니다.
+//  - 큐가 가득 차면 submit 이 null 을 돌려줌 → 컨트롤러가 503 + Retry-After 로 응답 (backpressure)
+//  - 묶음 저장이 실패하면 건별 트랜잭션으로 다시 시도해서, 문제 있는 기록 하나만 FAILED 처리
+//  - 처리 상태는 GET /api/v1/records/ingest/{handle} 로 조회
+//    (처리 중인 건은 큐 크기만큼만 생기므로 따로 두고, 끝난 건만 최근 statusCapacity 개를 기억 → 처리 중인 건은 잊지 않음)
+//  - 종료할 때는 쓰기 스레드가 하던 묶음을 마치고 남은 큐까지 직접 비운 뒤 끝남
+@Service
+@RequiredArgsConstructor
+public class RecordIngestService {
+
+    public static final String PENDING = "PENDING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    private final RecordService recordService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${runtogether.ingest.queue-capacity:1000}")
+    private int queueCapacity;
+
+    // 한 트랜잭션에 묶어서 저장할 최대 기록 수
+    @Value("${runtogether.ingest.max-batch:50}")
+    private int maxBatch;
+
+    // 상태 조회용으로 기억해 둘 최근 처리 완료 건수 (오래된 것부터 잊음)
+    @Value("${runtogether.ingest.status-capacity:10000}")
+    private int statusCapacity;
+
+    private BlockingQueue<Job> queue;
+    private Map<String, Ticket> pending;   // 큐에 있거나 저장 중인 건
+    private Map<String, Ticket> finished;  // DONE / FAILED, 최근 것만
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        pending = new ConcurrentHashMap<>();
+        finished = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Ticket> eldest) {
+                return size() > statusCapacity;
+            }
+        });
+
+        running = true;
+        writer = new Thread(this::writeLoop, "record-ingest-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // 인터럽트하지 않음: 저장 중인 묶음의 JDBC 작업이 끊기지 않게 하고, 남은 큐는 쓰기 스레드가 비움
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        if (writer.isAlive()) {
+            System.err.println("❌ 기록 저장 스레드가 아직 끝나지 않음 (남은 기록 " + queue.size() + "건)");
+        }
+    }
+
+    // 큐에 넣고 처리 번호 반환 (큐가 가득 차 있으면 null)
+    public String submit(String email, RecordDto.Request request) {
+        recordService.validateRequest(request);
+        if (!running) return null; // 종료 중에는 받지 않음
+
+        String handle = UUID.randomUUID().toString();
+        Ticket ticket = new Ticket(email);
+        pending.put(handle, ticket);
+
+        if (!queue.offer(new Job(handle, email, request, ticket))) {
+            pending.remove(handle);
+            return null;
+        }
+        return handle;
+    }
+
+    // 본인이 올린 건만 조회 가능 (없거나 남의 것이면 null)
+    public RecordDto.IngestResponse getStatus(String email, String handle) {
+        // 끝난 건은 finished 에 먼저 넣고 pending 에서 빼므로 이 순서로 보면 중간에 사라지지 않음
+        Ticket ticket = pending.get(handle);
+        if (ticket == null) ticket = finished.get(handle);
+        if (ticket == null || !ticket.email.equals(email)) return null;
+        return new RecordDto.IngestResponse(handle, ticket.status, ticket.recordId, ticket.message);
+    }
+
+    private void writeLoop() {
+        List<Job> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Job first = running ? queue.poll(200, TimeUnit.MILLISECONDS) : queue.poll();
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                e.printStackTrace();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<Job> batch) {
+        try {
+            Map<Job, Long> saved = transactionTemplate.execute(status -> {
+                Map<Job, Long> ids = new LinkedHashMap<>();
+                for (Job job : batch) {
+                    ids.put(job, recordService.createRecord(job.email, job.request));
+                }
+                return ids;
+            });
+            saved.forEach((job, recordId) -> {
+                job.ticket.done(recordId);
+                finish(job);
+            });
+        } catch (Exception batchError) {
+            // 어떤 기록 때문에 묶음 전체가 롤백됨 → 한 건씩 따로 저장해서 실패한 건만 골라냄
+            for (Job job : batch) {
+                try {
+                    Long recordId = transactionTemplate.execute(status -> recordService.createRecord(job.email, job.request));
+                    job.ticket.done(recordId);
+                } catch (Exception e) {
+                    job.ticket.fail(e.getMessage());
+                }
+                finish(job);
+            }
+        }
+    }
+
+    private void finish(Job job) {
+        finished.put(job.handle, job.ticket);
+        pending.remove(job.handle);
+    }
+
+    private record Job(String handle, String email, RecordDto.Request request, Ticket ticket) {
+    }
+
+    private static class Ticket {
+        private final String email;
+        private volatile String status = PENDING;
+        private volatile Long recordId;
+        private volatile String message;
+
+        Ticket(String email) {
+            this.email = email;
+        }
+
+        void done(Long recordId) {
+            this.recordId = recordId;
+            this.status = DONE;
+        }
+
+        void fail(String message) {
+            this.message = message;
+            this.status = FAILED;
+        }
+    }
+}
@@ -1,18 +1,23 @@
 package runtogether.server.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import runtogether.server.domain.*;
 import runtogether.server.dto.LapDto;
 import runtogether.server.dto.RecordDto;
-import runtogether.server.dto.ReplayDto;
 import runtogether.server.repository.*;
+import runtogether.server.util.LapSplits;
+import runtogether.server.util.RouteCodec;
+import runtogether.server.util.RouteJsonReader;
+import runtogether.server.util.RouteSimplifier;
+import runtogether.server.util.RouteTrack;
+import runtogether.server.util.RunTimes;
+import runtogether.server.util.SplitCalculator;
 
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,22 +28,44 @@ public class RecordService {
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
     private final RunningGroupRepository runningGroupRepository;
-    private final RoutePointRepository routePointRepository;
-    private final LapRepository lapRepository;
+    private final RecordBulkWriter bulkWriter;
+    private final RouteSimplifier routeSimplifier;
+    private final LeaderboardService leaderboardService;
+    private final RecordStatsService recordStatsService;
+    private final ReplayBundleCache replayBundleCache;
+
+    // 0. DB 를 거치지 않는 기본 검사 (비동기 저장 시 접수 단계에서 바로 걸러내기 위함)
+    public void validateRequest(RecordDto.Request request) {
+        if (request.getCourseId() == null) {
+            throw new IllegalArgumentException("코스 없음");
+        }
+        if (request.getGroupId() == null) {
+            throw new IllegalArgumentException("대회(그룹) ID가 없습니다. 혼자 뛰기는 불가능합니다.");
+        }
+    }
 
     // 1. 기록 저장하기
     @Transactional
     public Long createRecord(String email, RecordDto.Request request) {
+        return saveRecord(email, request, () -> encodeRoute(request.getRouteData()));
+    }
+
+    // 1-1. 경로가 이미 인코딩되어 있는 기록 저장 (러닝 세션 종료 시 - 경로를 다시 파싱하지 않음)
+    @Transactional
+    public Long createRecordWithRoute(String email, RecordDto.Request request, byte[] routeBlob) {
+        return saveRecord(email, request, () -> routeBlob);
+    }
+
+    // 경로 인코딩은 실제로 저장할 때(신규 또는 기록 갱신)만 수행
+    private Long saveRecord(String email, RecordDto.Request request, Supplier<byte[]> routeBlob) {
+        validateRequest(request);
+
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("유저 없음"));
 
         Course course = courseRepository.findById(request.getCourseId())
                 .orElseThrow(() -> new IllegalArgumentException("코스 없음"));
 
-        if (request.getGroupId() == null) {
-            throw new IllegalArgumentException("대회(그룹) ID가 없습니다. 혼자 뛰기는 불가능합니다.");
-        }
-
         RunningGroup runningGroup = runningGroupRepository.findById(request.getGroupId())
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 그룹입니다."));
 
@@ -48,10 +75,13 @@ public class RecordService {
 
         if (existingRecordOpt.isPresent()) {
             RunRecord existingRecord = existingRecordOpt.get();
-            int oldSeconds = parseTimeToSeconds(existingRecord.getRunTime());
+            int oldSeconds = runTimeSecondsOf(existingRecord);
             int newSeconds = parseTimeToSeconds(request.getRunTime());
 
             if (newSeconds < oldSeconds) {
+                boolean hasLegacyPoints = existingRecord.getRouteBlob() == null;
+                Integer oldTimeSeconds = existingRecord.getRunTimeSeconds();
+                Integer oldPaceSeconds = existingRecord.getPaceSecondsPerKm();
                 existingRecord.updateRecord(
                         request.getRunTime(),
                         request.getDistance(),
@@ -59,10 +89,15 @@ public class RecordService {
                         request.getCalories(),
                         request.getHeartRate(),
                         request.getSectionJson(),
-                        request.getRouteData()
+                        routeBlob.get()
                 );
-                lapRepository.deleteByRunRecord(existingRecord);
-                saveLaps(existingRecord, request.getSectionJson());
+                RouteTrack track = decodeTrack(existingRecord);
+                applySimplifiedRoutes(existingRecord, track);
+                bulkWriter.deleteLaps(existingRecord.getId());
+                if (hasLegacyPoints) bulkWriter.deleteRoutePoints(existingRecord.getId());
+                saveLaps(existingRecord, track, newSeconds, request.getSectionJson());
+                recordStatsService.recordImproved(runningGroup.getId(), course.getId(), oldTimeSeconds, oldPaceSeconds,
+                        existingRecord.getRunTimeSeconds(), existingRecord.getPaceSecondsPerKm());
                 savedRecord = existingRecord;
             } else {
                 return existingRecord.getId();
@@ -79,51 +114,64 @@ public class RecordService {
                     request.getCalories(),
                     request.getHeartRate(),
                     request.getSectionJson(),
-                    request.getRouteData(),
+                    routeBlob.get(),
                     "페이스가 안정적이었어요!",
                     request.getEndTime()
             );
+            RouteTrack track = decodeTrack(newRecord);
+            applySimplifiedRoutes(newRecord, track);
             savedRecord = recordRepository.save(newRecord);
-            saveLaps(savedRecord, request.getSectionJson());
+            recordStatsService.recordAdded(runningGroup.getId(), course.getId(), savedRecord.getRunTimeSeconds(), savedRecord.getPaceSecondsPerKm());
+            saveLaps(savedRecord, track, parseTimeToSeconds(request.getRunTime()), request.getSectionJson());
         }
 
-        saveRoutePoints(savedRecord, request.getRouteData());
+        leaderboardService.recordSaved(savedRecord);
+        replayBundleCache.invalidateAfterCommit(runningGroup.getId()); // 이 그룹의 미리 만든 리플레이는 버림
         return savedRecord.getId();
     }
 
-    private void saveLaps(RunRecord record, String sectionJson) {
-        if (sectionJson == null || sectionJson.isEmpty()) return;
+    // 저장할 원본 경로를 한 번만 풀어서 단순화 경로와 구간 기록 계산에 같이 사용
+    private RouteTrack decodeTrack(RunRecord record) {
+        if (record.getRouteBlob() == null) return null;
+        try {
+            return RouteCodec.decode(record.getRouteBlob());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    // 저장된 원본 경로로 화면용 단순화 경로(MEDIUM, LOW)를 만들어 같이 저장
+    private void applySimplifiedRoutes(RunRecord record, RouteTrack track) {
+        if (track == null) return;
+        record.updateSimplifiedRoutes(
+                RouteCodec.encode(routeSimplifier.simplify(track, RouteDetail.MEDIUM)),
+                RouteCodec.encode(routeSimplifier.simplify(track, RouteDetail.LOW))
+        );
+    }
+
+    // ★ 구간 기록은 서버가 경로로 직접 계산 (앱이 보내는 sectionJson 은 비어 있거나 믿을 수 없음)
+    // 경로가 없거나 1km 가 안 되는 경우에만 앱이 보낸 sectionJson 을 사용
+    // 저장한 구간 기록은 구간 리더보드에도 반영 (커밋 이후)
+    private void saveLaps(RunRecord record, RouteTrack track, int runSeconds, String sectionJson) {
+        LapSplits laps = computeLaps(track, runSeconds, sectionJson);
+        bulkWriter.insertLaps(record.getId(), laps);
+        leaderboardService.lapsSaved(record, laps);
+    }
+
+    private LapSplits computeLaps(RouteTrack track, int runSeconds, String sectionJson) {
+        // parseTimeToSeconds 는 형식 오류일 때 999999 를 돌려주므로 시간 정보 없음으로 취급
+        int totalSeconds = (runSeconds >= 999999) ? 0 : runSeconds;
+        LapSplits laps = (track != null) ? SplitCalculator.computeKmSplits(track, totalSeconds) : null;
+        if (laps != null && !laps.isEmpty()) return laps;
+
+        if (sectionJson == null || sectionJson.isEmpty()) return new LapSplits();
 
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            List<Map<String, Object>> lapMaps = mapper.readValue(sectionJson, new TypeReference<List<Map<String, Object>>>() {});
-            List<Lap> laps = new ArrayList<>();
-
-            for (Map<String, Object> map : lapMaps) {
-                int km = Integer.parseInt(String.valueOf(map.get("km")));
-                String paceStr = String.valueOf(map.get("pace"));
-
-                double lapPace = 0.0;
-                int lapTime = 0;
-
-                try {
-                    if (paceStr.contains("'")) {
-                        String cleanPace = paceStr.replace("''", "").replace("\"", "");
-                        String[] parts = cleanPace.split("'");
-                        double min = Double.parseDouble(parts[0]);
-                        double sec = Double.parseDouble(parts[1]);
-                        lapPace = min + (sec / 100.0);
-                        lapTime = (int) (min * 60 + sec);
-                    }
-                } catch (Exception e) {
-                    lapPace = 0.0;
-                    lapTime = 0;
-                }
-                laps.add(new Lap(record, km, lapPace, lapTime));
-            }
-            lapRepository.saveAll(laps);
+            return RouteJsonReader.readLaps(sectionJson);
         } catch (Exception e) {
             e.printStackTrace();
+            return new LapSplits();
         }
     }
 
@@ -152,7 +200,7 @@ public class RecordService {
                 .orElseThrow(() -> new IllegalArgumentException("그룹이 없습니다."));
 
         // 여기서 시간순(RunTime Asc) 1등 기록을 가져옵니다!
-        RunRecord record = recordRepository.findTopByUserAndRunningGroupOrderByRunTimeAsc(user, group)
+        RunRecord record = recordRepository.findTopByUserAndRunningGroupOrderByRunTimeSecondsAsc(user, group)
                 .orElse(null);
 
         if (record == null) return null;
@@ -160,42 +208,22 @@ public class RecordService {
     }
 
     // 헬퍼 함수들
+    // 기록 시간 비교용 초 (형식이 잘못된 기록은 가장 느린 것으로 취급)
     private int parseTimeToSeconds(String timeStr) {
-        if (timeStr == null || timeStr.isEmpty()) return 999999;
-        try {
-            String[] parts = timeStr.split(":");
-            int h = 0, m = 0, s = 0;
-            if (parts.length == 3) {
-                h = Integer.parseInt(parts[0]);
-                m = Integer.parseInt(parts[1]);
-                s = Integer.parseInt(parts[2]);
-            } else if (parts.length == 2) {
-                m = Integer.parseInt(parts[0]);
-                s = Integer.parseInt(parts[1]);
-            }
-            return h * 3600 + m * 60 + s;
-        } catch (Exception e) {
-            return 999999;
-        }
+        Integer seconds = RunTimes.durationSeconds(timeStr);
+        return (seconds != null) ? seconds : 999999;
     }
 
-    private int parsePaceToSeconds(String pace) {
-        if (pace == null || !pace.contains("'")) return 0;
-        try {
-            String[] parts = pace.replace("''", "").replace("\"", "").split("'");
-            int m = Integer.parseInt(parts[0]);
-            int s = Integer.parseInt(parts[1]);
-            return m * 60 + s;
-        } catch (Exception e) {
-            return 0;
-        }
+    private int runTimeSecondsOf(RunRecord record) {
+        // 백필 전 예전 기록은 문자열에서 계산
+        return (record.getRunTimeSeconds() != null) ? record.getRunTimeSeconds() : parseTimeToSeconds(record.getRunTime());
     }
 
     @Transactional(readOnly = true)
-    public RecordDto.DetailResponse getRecordDetail(String email, Long recordId) {
+    public RecordDto.DetailResponse getRecordDetail(String email, Long recordId, RouteDetail detail) {
         RunRecord record = recordRepository.findById(recordId)
                 .orElseThrow(() -> new IllegalArgumentException("기록 없음"));
-        return convertToDetailResponse(record);
+        return convertToDetailResponse(record, detail);
     }
 
     @Transactional(readOnly = true)
@@ -206,40 +234,48 @@ public class RecordService {
         return convertToDetailResponse(record);
     }
 
-    @Transactional(readOnly = true)
-    public List<ReplayDto> getReplayData(Long groupId, Long currentUserId) {
-        List<RunRecord> records = recordRepository.findByRunningGroupId(groupId);
-        return records.stream().map(record -> {
-            List<ReplayDto.PointDto> path = record.getRoutePoints().stream()
-                    .map(p -> ReplayDto.PointDto.builder()
-                            .lat(p.getLatitude()).lng(p.getLongitude()).time(p.getElapsedSeconds()).build())
-                    .collect(Collectors.toList());
-            String nickname = (record.getUser() != null) ? record.getUser().getNickname() : "알 수 없음";
-            boolean isMe = (record.getUser() != null) && record.getUser().getId().equals(currentUserId);
-            return ReplayDto.builder().runRecordId(record.getId()).nickname(nickname).isMe(isMe).path(path).build();
-        }).collect(Collectors.toList());
+    // 프론트가 보낸 경로 JSON([{lat, lng, time?}, ...])을 압축 바이너리로 변환
+    private byte[] encodeRoute(String routeDataJson) {
+        if (routeDataJson == null || routeDataJson.isEmpty()) return null;
+        try {
+            return RouteCodec.encode(RouteJsonReader.readRoute(routeDataJson));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
     }
 
-    private void saveRoutePoints(RunRecord record, String routeDataJson) {
-        if (routeDataJson == null || routeDataJson.isEmpty()) return;
-        ObjectMapper mapper = new ObjectMapper();
+    // 상세 화면용 경로 목록 (BLOB 우선, 없으면 구버전 JSON)
+    private List<Map<String, Object>> decodeRouteList(RunRecord record, RouteDetail detail) {
+        RouteTrack track;
         try {
-            List<Map<String, Object>> points = mapper.readValue(routeDataJson, new TypeReference<List<Map<String, Object>>>() {});
-            List<RoutePoint> entities = new ArrayList<>();
-            for (Map<String, Object> p : points) {
-                double lat = Double.parseDouble(String.valueOf(p.get("lat")));
-                double lng = Double.parseDouble(String.valueOf(p.get("lng")));
-                Object timeObj = p.get("time");
-                int time = (timeObj != null) ? Integer.parseInt(String.valueOf(timeObj)) : 0;
-                entities.add(new RoutePoint(record, lat, lng, time));
+            if (record.getRouteBlob() != null) {
+                track = RouteCodec.decode(record.getRouteBlob(detail));
+            } else if (record.getRouteData() != null) {
+                track = routeSimplifier.simplify(RouteJsonReader.readRoute(record.getRouteData()), detail);
+            } else {
+                return List.of();
             }
-            routePointRepository.saveAll(entities);
         } catch (Exception e) {
-            e.printStackTrace();
+            return List.of(); // 깨진 데이터는 빈 경로로 취급
+        }
+
+        List<Map<String, Object>> routeList = new ArrayList<>(track.size());
+        for (int i = 0; i < track.size(); i++) {
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("lat", track.lat(i));
+            point.put("lng", track.lng(i));
+            point.put("time", track.time(i));
+            routeList.add(point);
         }
+        return routeList;
     }
 
     private RecordDto.DetailResponse convertToDetailResponse(RunRecord record) {
+        return convertToDetailResponse(record, RouteDetail.FULL);
+    }
+
+    private RecordDto.DetailResponse convertToDetailResponse(RunRecord record, RouteDetail detail) {
         RunningGroup currentGroup = record.getRunningGroup();
 
         int totalRunners = 1;
@@ -251,21 +287,18 @@ public class RecordService {
         if (currentGroup != null) {
             groupName = currentGroup.getGroupName();
 
-            // 순위 계산
-            totalRunners = recordRepository.countByRunningGroup(currentGroup);
-            String myRunTime = record.getRunTime() != null ? record.getRunTime() : "00:00";
-            myRank = recordRepository.countByRunningGroupAndRunTimeLessThan(currentGroup, myRunTime) + 1;
+            // 인원 수 / 평균 페이스는 그룹 집계 행 하나로 계산 (그룹 기록을 읽지 않음)
+            GroupStats stats = recordStatsService.group(currentGroup.getId());
+            totalRunners = stats.getRecordCount();
+
+            // 순위는 메모리 리더보드 (아직 반영 전인 기록이면 집계의 시간 분포로 근사)
+            myRank = leaderboardService.rankOf(currentGroup.getId(), record.getId());
+            if (myRank < 0) myRank = stats.countFasterThan(runTimeSecondsOf(record)) + 1;
+            totalRunners = Math.max(totalRunners, myRank);
 
             // 평균 페이스 계산
-            List<RunRecord> groupRecords = recordRepository.findAllByRunningGroup(currentGroup);
-            int myPaceSeconds = parsePaceToSeconds(record.getAveragePace());
-            double totalPaceSeconds = 0;
-            int validCount = 0;
-            for (RunRecord r : groupRecords) {
-                int p = parsePaceToSeconds(r.getAveragePace());
-                if (p > 0) { totalPaceSeconds += p; validCount++; }
-            }
-            int groupAvgSeconds = (validCount > 0) ? (int) (totalPaceSeconds / validCount) : 0;
+            int myPaceSeconds = (record.getPaceSecondsPerKm() != null) ? record.getPaceSecondsPerKm() : 0;
+            int groupAvgSeconds = stats.averagePaceSeconds();
             groupAvgPace = (groupAvgSeconds > 0) ? formatSecondsToPace(groupAvgSeconds) : "-'--''";
 
             if (groupAvgSeconds > 0 && myPaceSeconds > 0) {
@@ -277,13 +310,7 @@ public class RecordService {
         }
 
         List<LapDto> lapList = record.getLaps().stream().map(LapDto::new).collect(Collectors.toList());
-        ObjectMapper mapper = new ObjectMapper();
-        List<Map<String, Object>> routeList;
-        try {
-            if (record.getRouteData() != null) {
-                routeList = mapper.readValue(record.getRouteData(), new TypeReference<List<Map<String, Object>>>() {});
-            } else { routeList = List.of(); }
-        } catch (Exception e) { routeList = List.of(); }
+        List<Map<String, Object>> routeList = decodeRouteList(record, detail);
 
         String formattedEndTime = (record.getEndTime() != null)
                 ? record.getEndTime().format(DateTimeFormatter.ofPattern("h:mm a")) : "-";
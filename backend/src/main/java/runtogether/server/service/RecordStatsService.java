@@ -0,0 +1,118 @@
+package runtogether.server.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import runtogether.server.domain.CourseStats;
+import runtogether.server.domain.GroupStats;
+import runtogether.server.domain.RecordStats;
+import runtogether.server.repository.CourseStatsRepository;
+import runtogether.server.repository.GroupStatsRepository;
+import runtogether.server.repository.RunRecordRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+// 기록 집계 관리 (그룹별 GroupStats + 코스별 CourseStats)
+//
+// 기록이 저장/갱신/삭제되는 트랜잭션 안에서 같이 호출됩니다. (호출한 쪽 트랜잭션에 참여)
+// 집계 행은 비관적 락으로 잡고 고치므로 같은 그룹/코스에 기록이 동시에 몰려도 개수/합계가 어긋나지 않습니다.
+// 락 순서는 항상 그룹 → 코스 (서로 다른 순서로 잡다가 교착되지 않도록)
+// 집계 행이 처음 생기는 그룹/코스는 그 시점까지의 DB 기록으로 한 번 채운 뒤부터 증분 반영합니다.
+@Service
+@RequiredArgsConstructor
+public class RecordStatsService {
+
+    private final GroupStatsRepository groupStatsRepository;
+    private final CourseStatsRepository courseStatsRepository;
+    private final RunRecordRepository recordRepository;
+
+    @Transactional
+    public void recordAdded(Long groupId, Long courseId, Integer timeSeconds, Integer paceSeconds) {
+        for (RecordStats stats : lock(groupId, courseId)) {
+            if (stats != null) stats.add(timeSeconds, paceSeconds);
+        }
+    }
+
+    @Transactional
+    public void recordImproved(Long groupId, Long courseId, Integer oldTimeSeconds, Integer oldPaceSeconds,
+                               Integer newTimeSeconds, Integer newPaceSeconds) {
+        for (RecordStats stats : lock(groupId, courseId)) {
+            if (stats == null) continue;
+            stats.remove(oldTimeSeconds, oldPaceSeconds);
+            stats.add(newTimeSeconds, newPaceSeconds);
+        }
+    }
+
+    // 기록을 지우기 전에 호출 (새로 채운 집계에도 지울 기록이 들어 있으므로 항상 빼야 함)
+    @Transactional
+    public void recordRemoved(Long groupId, Long courseId, Integer timeSeconds, Integer paceSeconds) {
+        lock(groupId, courseId);
+        if (groupId != null) {
+            groupStatsRepository.findById(groupId).ifPresent(stats -> stats.remove(timeSeconds, paceSeconds));
+        }
+        if (courseId != null) {
+            courseStatsRepository.findById(courseId).ifPresent(stats -> stats.remove(timeSeconds, paceSeconds));
+        }
+    }
+
+    // 그룹 기록을 한꺼번에 지울 때: 그룹 행은 삭제, 기록이 걸린 코스 행도 지워서 다음 기록 때 DB 기준으로 다시 채우게 함
+    @Transactional
+    public void groupDeleted(Long groupId, Collection<Long> courseIds) {
+        groupStatsRepository.deleteById(groupId);
+        for (Long courseId : courseIds) {
+            if (courseId != null) courseStatsRepository.deleteById(courseId);
+        }
+    }
+
+    // 조회용 (집계 행이 아직 없는 그룹은 기록 컬럼 두 개만 읽어서 임시로 계산, 저장하지 않음)
+    @Transactional(readOnly = true)
+    public GroupStats group(Long groupId) {
+        return groupStatsRepository.findById(groupId).orElseGet(() -> {
+            GroupStats stats = new GroupStats(groupId);
+            fill(stats, recordRepository.findStatsRows(groupId));
+            return stats;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public CourseStats course(Long courseId) {
+        return courseStatsRepository.findById(courseId).orElseGet(() -> {
+            CourseStats stats = new CourseStats(courseId);
+            fill(stats, recordRepository.findCourseStatsRows(courseId));
+            return stats;
+        });
+    }
+
+    // [그룹 집계, 코스 집계] 를 잠그고 반환. 방금 DB 기록으로 새로 채운 경우에는 이번 변경도 이미 들어가 있으므로 null
+    private RecordStats[] lock(Long groupId, Long courseId) {
+        RecordStats[] locked = new RecordStats[2];
+        if (groupId != null) {
+            groupStatsRepository.insertIfAbsent(groupId);
+            GroupStats stats = groupStatsRepository.findForUpdate(groupId)
+                    .orElseThrow(() -> new IllegalStateException("그룹 통계 행을 만들 수 없습니다: " + groupId));
+            locked[0] = initialized(stats, () -> recordRepository.findStatsRows(groupId));
+        }
+        if (courseId != null) {
+            courseStatsRepository.insertIfAbsent(courseId);
+            CourseStats stats = courseStatsRepository.findForUpdate(courseId)
+                    .orElseThrow(() -> new IllegalStateException("코스 통계 행을 만들 수 없습니다: " + courseId));
+            locked[1] = initialized(stats, () -> recordRepository.findCourseStatsRows(courseId));
+        }
+        return locked;
+    }
+
+    private RecordStats initialized(RecordStats stats, Supplier<List<Object[]>> rows) {
+        if (stats.isInitialized()) return stats;
+        fill(stats, rows.get());
+        stats.markInitialized();
+        return null;
+    }
+
+    private void fill(RecordStats stats, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            stats.add((Integer) row[0], (Integer) row[1]);
+        }
+    }
+}
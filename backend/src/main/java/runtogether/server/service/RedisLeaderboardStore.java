@@ -0,0 +1,193 @@
+package runtogether.server.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import runtogether.server.util.RespClient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 서버 여러 대용 순위표 저장소 (Redis sorted set)
+//
+//  - board 하나 = sorted set 하나 (key = prefix + board), loaded 표시는 key + ":loaded"
+//  - member 는 recordId 를 19자리로 0을 채운 문자열 → Redis 의 동점 정렬(사전순)이 recordId 순서와 같아짐
+//  - load 는 ZADD NX (이미 있는 값 유지), 기록 갱신은 ZADD LT (더 빠를 때만 교체, Redis 6.2 이상)
+//  - 버전 카운터는 prefix + "version:" + name 에 INCR, 세대(epoch)는 prefix + "epoch" (없으면 처음 본 서버가 SET NX)
+//    → 조회는 MGET 한 번이라 모든 서버가 같은 ETag 를 만들고, Redis 가 비워져 카운터가 0이 돼도 세대가 바뀌어 예전 ETag 와 겹치지 않음
+@Component
+@ConditionalOnProperty(name = "runtogether.leaderboard.store", havingValue = "redis")
+public class RedisLeaderboardStore implements LeaderboardStore {
+
+    // ZADD 한 번에 넣을 항목 수 (load)
+    private static final int LOAD_CHUNK = 500;
+
+    private final RespClient client;
+    private final String prefix;
+
+    @Autowired
+    public RedisLeaderboardStore(@Value("${runtogether.leaderboard.redis.host:localhost}") String host,
+                                 @Value("${runtogether.leaderboard.redis.port:6379}") int port,
+                                 @Value("${runtogether.leaderboard.redis.pool-size:8}") int poolSize,
+                                 @Value("${runtogether.leaderboard.redis.timeout-millis:2000}") int timeoutMillis,
+                                 @Value("${runtogether.leaderboard.redis.key-prefix:runtogether:lb:}") String prefix) {
+        this(new RespClient(host, port, poolSize, timeoutMillis), prefix);
+    }
+
+    RedisLeaderboardStore(RespClient client, String prefix) {
+        this.client = client;
+        this.prefix = prefix;
+    }
+
+    @PreDestroy
+    void close() {
+        client.close();
+    }
+
+    @Override
+    public boolean isLoaded(String board) {
+        return Long.valueOf(1).equals(client.call("EXISTS", loadedKey(board)));
+    }
+
+    @Override
+    public void load(String board, long[] members, int[] scores) {
+        List<String[]> commands = new ArrayList<>();
+        for (int start = 0; start < members.length; start += LOAD_CHUNK) {
+            int end = Math.min(start + LOAD_CHUNK, members.length);
+            String[] command = new String[3 + (end - start) * 2];
+            command[0] = "ZADD";
+            command[1] = key(board);
+            command[2] = "NX";
+            int k = 3;
+            for (int i = start; i < end; i++) {
+                command[k++] = Integer.toString(scores[i]);
+                command[k++] = member(members[i]);
+            }
+            commands.add(command);
+        }
+        commands.add(new String[]{"SET", loadedKey(board), "1"});
+        client.pipeline(commands);
+    }
+
+    @Override
+    public void put(String board, long member, int score) {
+        client.call("ZADD", key(board), Integer.toString(score), member(member));
+    }
+
+    @Override
+    public void improve(String board, long member, int score) {
+        client.call("ZADD", key(board), "LT", Integer.toString(score), member(member));
+    }
+
+    @Override
+    public void remove(String board, long member) {
+        client.call("ZREM", key(board), member(member));
+    }
+
+    @Override
+    public void delete(String board) {
+        client.call("DEL", key(board), loadedKey(board));
+    }
+
+    @Override
+    public Integer score(String board, long member) {
+        Object reply = client.call("ZSCORE", key(board), member(member));
+        return (reply != null) ? (int) Double.parseDouble((String) reply) : null;
+    }
+
+    @Override
+    public long rank(String board, long member) {
+        Object reply = client.call("ZRANK", key(board), member(member));
+        return (reply != null) ? (Long) reply : -1;
+    }
+
+    @Override
+    public long countLessThan(String board, int score) {
+        return (Long) client.call("ZCOUNT", key(board), "-inf", "(" + score);
+    }
+
+    @Override
+    public long count(String board) {
+        return (Long) client.call("ZCARD", key(board));
+    }
+
+    @Override
+    public List<Scored> range(String board, long from, long to) {
+        from = Math.max(from, 0);
+        if (to <= from) return new ArrayList<>();
+        Object reply = client.call("ZRANGE", key(board), Long.toString(from), Long.toString(to - 1), "WITHSCORES");
+        return toScored(reply, from);
+    }
+
+    @Override
+    public List<Scored> around(String board, long member, int radius) {
+        long position = rank(board, member);
+        if (position < 0) return new ArrayList<>();
+        return range(board, position - radius, position + radius + 1);
+    }
+
+    @Override
+    public long[] versions(String... names) {
+        String[] command = new String[names.length + 2];
+        command[0] = "MGET";
+        command[1] = epochKey();
+        for (int i = 0; i < names.length; i++) command[i + 2] = versionKey(names[i]);
+        List<?> values = (List<?>) client.call(command);
+
+        long[] result = new long[names.length + 1];
+        for (int i = 0; i < result.length; i++) {
+            Object value = values.get(i);
+            result[i] = (value != null) ? Long.parseLong((String) value) : 0;
+        }
+        if (values.get(0) == null) result[0] = initEpoch();
+        return result;
+    }
+
+    @Override
+    public void incrementVersion(String name) {
+        client.call("INCR", versionKey(name));
+    }
+
+    // 다른 서버가 동시에 만들어도 먼저 들어간 값 하나로 맞춤
+    private long initEpoch() {
+        List<Object> replies = client.pipeline(List.of(
+                new String[]{"SET", epochKey(), Long.toString(System.currentTimeMillis()), "NX"},
+                new String[]{"GET", epochKey()}));
+        return Long.parseLong((String) replies.get(1));
+    }
+
+    // [member, score, member, score ...] → Scored
+    @SuppressWarnings("unchecked")
+    private static List<Scored> toScored(Object reply, long from) {
+        List<Object> items = (List<Object>) reply;
+        List<Scored> result = new ArrayList<>(items.size() / 2);
+        for (int i = 0; i + 1 < items.size(); i += 2) {
+            result.add(new Scored(from + i / 2,
+                    Long.parseLong((String) items.get(i)),
+                    (int) Double.parseDouble((String) items.get(i + 1))));
+        }
+        return result;
+    }
+
+    private String key(String board) {
+        return prefix + board;
+    }
+
+    private String loadedKey(String board) {
+        return prefix + board + ":loaded";
+    }
+
+    private String versionKey(String name) {
+        return prefix + "version:" + name;
+    }
+
+    private String epochKey() {
+        return prefix + "epoch";
+    }
+
+    private static String member(long id) {
+        return String.format("%019d", id);
+    }
+}
@@ -0,0 +1,152 @@
+package runtogether.server.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+// 미리 직렬화해 둔 그룹 리플레이 응답 (ReplayBundleCache 에 보관)
+//
+// 응답 JSON 은 모두에게 같고 러너마다 "isMe" 값만 요청자에 따라 다릅니다.
+// 그래서 모두 isMe=false 인 JSON 한 벌과 러너별 isMe 값 위치만 들고 있다가, 요청이 오면 내 기록 자리만 true 로 바꿔 씁니다.
+//  - DB 조회 / 직렬화와 모두 isMe=false 인 gzip 은 결과 버전마다 한 번
+//  - 번들에 기록이 없는 요청자(구경하는 사람, 대부분의 요청)에게는 만들어 둔 gzip 을 그대로 보냄
+//  - 기록이 있는 요청자만 내 기록 자리를 바꿔 가며 요청마다 압축
+//  - gzip 을 받지 않는 클라이언트에는 그대로 씀
+public class ReplayBundle {
+
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IS_ME = "\"isMe\":false".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] json;      // [러너0,러너1,...] (모두 isMe=false)
+    private final byte[] gzipped;   // json 을 압축한 것
+    private final String[] emails;
+    private final int[] flagAt;     // 러너별 isMe 값(false) 시작 위치
+    private final long sizeInBytes;
+
+    private ReplayBundle(byte[] json, byte[] gzipped, String[] emails, int[] flagAt) {
+        this.json = json;
+        this.gzipped = gzipped;
+        this.emails = emails;
+        this.flagAt = flagAt;
+        long size = 80 + json.length + gzipped.length + flagAt.length * 4L;
+        for (String email : emails) size += 48 + ((email != null) ? email.length() * 2L : 0);
+        this.sizeInBytes = size;
+    }
+
+    // runnerJson: 러너 하나를 isMe=false 로 직렬화한 JSON 객체 (emails 와 같은 순서)
+    public static ReplayBundle of(List<String> emails, List<byte[]> runnerJson) {
+        int total = 2;
+        for (byte[] runner : runnerJson) total += runner.length + 1;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(total);
+        int[] flagAt = new int[runnerJson.size()];
+
+        out.write('[');
+        for (int i = 0; i < runnerJson.size(); i++) {
+            byte[] runner = runnerJson.get(i);
+            int at = indexOf(runner, IS_ME);
+            if (at < 0) throw new IllegalStateException("리플레이 JSON 에 isMe 가 없습니다.");
+            if (i > 0) out.write(',');
+            flagAt[i] = out.size() + at + IS_ME.length - FALSE.length;
+            out.write(runner, 0, runner.length);
+        }
+        out.write(']');
+        byte[] json = out.toByteArray();
+        return new ReplayBundle(json, gzip(json), emails.toArray(new String[0]), flagAt);
+    }
+
+    // 캐시 메모리 계산용 대략적인 크기
+    public long sizeInBytes() {
+        return sizeInBytes;
+    }
+
+    // email 의 기록만 isMe=true 로 해서 gzip 으로 (gzip=false 면 그대로) 씀
+    public void writeTo(OutputStream out, String email, boolean gzip) throws IOException {
+        if (!gzip) {
+            writeJson(out, email);
+            return;
+        }
+        if (!isRunner(email)) {
+            out.write(gzipped);
+            return;
+        }
+        GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+        writeJson(compressed, email);
+        compressed.finish(); // 응답 스트림은 닫지 않음
+    }
+
+    private void writeJson(OutputStream out, String email) throws IOException {
+        int from = 0;
+        if (email != null) {
+            for (int i = 0; i < emails.length; i++) {
+                if (!email.equals(emails[i])) continue;
+                out.write(json, from, flagAt[i] - from);
+                out.write(TRUE);
+                from = flagAt[i] + FALSE.length;
+            }
+        }
+        out.write(json, from, json.length - from);
+    }
+
+    private boolean isRunner(String email) {
+        if (email == null) return false;
+        for (String runner : emails) {
+            if (email.equals(runner)) return true;
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream compressed = new GZIPOutputStream(out, 8192)) {
+            compressed.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // 메모리 스트림이라 일어나지 않음
+        }
+        return out.toByteArray();
+    }
+
+    // 디스크 보관용 (ReplayBundleCache 의 spill 디렉터리)
+    void writeBinary(DataOutputStream out) throws IOException {
+        out.writeInt(emails.length);
+        for (int i = 0; i < emails.length; i++) {
+            out.writeBoolean(emails[i] != null);
+            if (emails[i] != null) out.writeUTF(emails[i]);
+            out.writeInt(flagAt[i]);
+        }
+        out.writeInt(json.length);
+        out.write(json);
+        out.writeInt(gzipped.length);
+        out.write(gzipped);
+    }
+
+    static ReplayBundle readBinary(DataInputStream in) throws IOException {
+        int runners = in.readInt();
+        String[] emails = new String[runners];
+        int[] flagAt = new int[runners];
+        for (int i = 0; i < runners; i++) {
+            emails[i] = in.readBoolean() ? in.readUTF() : null;
+            flagAt[i] = in.readInt();
+        }
+        byte[] json = in.readNBytes(in.readInt());
+        byte[] gzipped = in.readNBytes(in.readInt());
+        return new ReplayBundle(json, gzipped, emails, flagAt);
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        outer:
+        for (int i = 0; i + pattern.length <= data.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,216 @@
+package runtogether.server.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// 그룹 리플레이 번들 캐시 (키: 그룹 | 결과 버전(ETag) | 경로 밀도 | 형식)
+//
+// 대회가 끝난 직후처럼 같은 그룹 리플레이를 많은 사람이 여는 경우, 요청마다 경로를 읽고 직렬화하지 않고
+// 한 번 만든 ReplayBundle 을 그대로 내보냅니다.
+//  - 메모리는 전체 번들 크기(max-bytes) 기준 LRU
+//  - spill-dir 이 있으면 메모리에서 밀려난 번들을 디스크에 두었다가 다시 요청되면 읽어서 메모리로 올림 (spill-max-bytes 까지, 시작할 때 비움)
+//  - 같은 키를 동시에 요청하면 한 번만 만들고 나머지는 그 결과를 기다림
+//  - 기록이 저장되면 커밋 뒤에 그 그룹 번들을 모두 버림 (결과 버전이 키에 있어서 지우지 않아도 다시 쓰이지는 않지만 메모리를 바로 돌려받음)
+@Component
+public class ReplayBundleCache {
+
+    private final long maxBytes;
+    private final Path spillDir;
+    private final long spillMaxBytes;
+
+    // 접근 순서 LinkedHashMap (가장 오래 안 쓴 것이 맨 앞)
+    private final LinkedHashMap<String, ReplayBundle> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+    private final LinkedHashMap<String, Long> spilled = new LinkedHashMap<>(64, 0.75f, true); // 키 → 파일 크기
+    private long spilledBytes;
+
+    private final Map<String, CompletableFuture<ReplayBundle>> building = new ConcurrentHashMap<>();
+    // 그룹별 무효화 횟수 (만드는 도중에 무효화되면 다 만든 번들을 캐시에 넣지 않음)
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    public ReplayBundleCache(@Value("${runtogether.replay.cache.max-bytes:67108864}") long maxBytes,
+                             @Value("${runtogether.replay.cache.spill-dir:}") String spillDir,
+                             @Value("${runtogether.replay.cache.spill-max-bytes:536870912}") long spillMaxBytes) {
+        this.maxBytes = maxBytes;
+        this.spillDir = spillDir.isBlank() ? null : Path.of(spillDir);
+        this.spillMaxBytes = spillMaxBytes;
+    }
+
+    // 지난 실행에서 남은 파일은 결과 버전(서버 시작 시각 포함)이 달라 다시 쓰일 일이 없으므로 지움
+    @PostConstruct
+    void start() throws IOException {
+        if (spillDir == null) return;
+        Files.createDirectories(spillDir);
+        try (Stream<Path> files = Files.list(spillDir)) {
+            files.filter(f -> f.getFileName().toString().endsWith(".bundle")).forEach(ReplayBundleCache::deleteQuietly);
+        }
+    }
+
+    public ReplayBundle get(Long groupId, String key, Supplier<ReplayBundle> builder) {
+        String fullKey = groupId + "|" + key;
+        ReplayBundle cached = lookup(fullKey);
+        if (cached != null) return cached;
+
+        CompletableFuture<ReplayBundle> mine = new CompletableFuture<>();
+        CompletableFuture<ReplayBundle> winner = building.putIfAbsent(fullKey, mine);
+        if (winner != null) {
+            try {
+                return winner.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                throw e;
+            }
+        }
+
+        try {
+            long generation = generations.getOrDefault(groupId, 0L);
+            ReplayBundle bundle = builder.get();
+            if (generations.getOrDefault(groupId, 0L) == generation) put(fullKey, bundle);
+            mine.complete(bundle);
+            return bundle;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            building.remove(fullKey, mine);
+        }
+    }
+
+    public void invalidate(Long groupId) {
+        generations.merge(groupId, 1L, Long::sum);
+        String prefix = groupId + "|";
+        synchronized (this) {
+            for (Iterator<Map.Entry<String, ReplayBundle>> it = memory.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, ReplayBundle> e = it.next();
+                if (e.getKey().startsWith(prefix)) {
+                    memoryBytes -= e.getValue().sizeInBytes();
+                    it.remove();
+                }
+            }
+            for (Iterator<Map.Entry<String, Long>> it = spilled.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, Long> e = it.next();
+                if (e.getKey().startsWith(prefix)) {
+                    spilledBytes -= e.getValue();
+                    deleteQuietly(fileOf(e.getKey()));
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    // 기록 저장 트랜잭션이 커밋된 뒤에 무효화 (롤백되면 그대로 둠)
+    public void invalidateAfterCommit(Long groupId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(groupId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(groupId);
+            }
+        });
+    }
+
+    synchronized long memoryBytes() {
+        return memoryBytes;
+    }
+
+    private synchronized ReplayBundle lookup(String key) {
+        ReplayBundle bundle = memory.get(key);
+        if (bundle != null || spillDir == null) return bundle;
+
+        Long size = spilled.remove(key);
+        if (size == null) return null;
+        spilledBytes -= size;
+        Path file = fileOf(key);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            bundle = ReplayBundle.readBinary(in);
+        } catch (IOException e) {
+            System.err.println("❌ 리플레이 번들 파일 읽기 실패: " + file + " " + e.getMessage());
+            return null;
+        } finally {
+            deleteQuietly(file);
+        }
+        putInMemory(key, bundle);
+        return bundle;
+    }
+
+    private synchronized void put(String key, ReplayBundle bundle) {
+        if (bundle.sizeInBytes() > maxBytes) return; // 혼자서 상한을 넘는 번들은 보관하지 않음
+        putInMemory(key, bundle);
+    }
+
+    private void putInMemory(String key, ReplayBundle bundle) {
+        ReplayBundle old = memory.put(key, bundle);
+        if (old != null) memoryBytes -= old.sizeInBytes();
+        memoryBytes += bundle.sizeInBytes();
+
+        Iterator<Map.Entry<String, ReplayBundle>> it = memory.entrySet().iterator();
+        while (memoryBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, ReplayBundle> eldest = it.next();
+            if (eldest.getKey().equals(key)) continue;
+            memoryBytes -= eldest.getValue().sizeInBytes();
+            it.remove();
+            spill(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private void spill(String key, ReplayBundle bundle) {
+        if (spillDir == null) return;
+        Path file = fileOf(key);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            bundle.writeBinary(out);
+        } catch (IOException e) {
+            System.err.println("❌ 리플레이 번들 디스크 저장 실패: " + file + " " + e.getMessage());
+            deleteQuietly(file);
+            return;
+        }
+        long size = sizeOf(file);
+        spilled.put(key, size);
+        spilledBytes += size;
+
+        Iterator<Map.Entry<String, Long>> it = spilled.entrySet().iterator();
+        while (spilledBytes > spillMaxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            spilledBytes -= eldest.getValue();
+            deleteQuietly(fileOf(eldest.getKey()));
+            it.remove();
+        }
+    }
+
+    // 키에는 ETag 의 따옴표 등이 들어 있어서 파일 이름으로 쓸 수 있는 문자만 남김
+    private Path fileOf(String key) {
+        return spillDir.resolve(key.replaceAll("[^A-Za-z0-9._-]", "_") + ".bundle");
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package runtogether.server.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import runtogether.server.domain.RouteDetail;
+import runtogether.server.dto.ReplayDto;
+import runtogether.server.repository.ReplayReader;
+import runtogether.server.util.ReplayFrames;
+import runtogether.server.util.ReplayJsonWriter;
+import runtogether.server.util.RouteCodec;
+import runtogether.server.util.RouteTrack;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+// 그룹 리플레이
+// 그룹 기록/경로는 ReplayReader 로 한 번에 읽고(쿼리 1~2번), 경로는 RouteTrack(원시 배열) 그대로 응답 형식으로 옮깁니다.
+// 점 목록 / 열 형식은 결과 버전마다 한 번만 직렬화해서 ReplayBundleCache 에 둡니다. (gzip 은 내보낼 때 요청마다)
+@Service
+@RequiredArgsConstructor
+public class ReplayService {
+
+    // 열 형식 좌표 배율 (RouteCodec 저장 정밀도와 같은 소수점 6자리)
+    static final int COORD_SCALE = 1_000_000;
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final ReplayReader replayReader;
+    private final ReplayBundleCache bundleCache;
+    private final ObjectMapper objectMapper;
+
+    // 프레임 간격 기본값(초), 한 응답의 최대 프레임 수(넘으면 간격을 늘림), 한 번에 계산해서 내보낼 프레임 수
+    @Value("${runtogether.replay.frame-step-seconds:1}")
+    private int defaultStepSeconds;
+    @Value("${runtogether.replay.max-frames:20000}")
+    private int maxFrames;
+    @Value("${runtogether.replay.chunk-frames:120}")
+    private int chunkFrames;
+    // 프레임 계산 병렬도 (0 이면 CPU 코어 수)
+    @Value("${runtogether.replay.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool framePool;
+
+    @PostConstruct
+    void start() {
+        // 프레임이 넘치면 (maxFrames - 1) 로 나눠 간격을 정하므로 2 이상이어야 함
+        if (maxFrames < 2) throw new IllegalArgumentException("runtogether.replay.max-frames 는 2 이상이어야 합니다: " + maxFrames);
+        if (chunkFrames < 1) throw new IllegalArgumentException("runtogether.replay.chunk-frames 는 1 이상이어야 합니다: " + chunkFrames);
+        framePool = new ForkJoinPool((parallelism > 0) ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void stop() {
+        framePool.shutdownNow();
+    }
+
+    // 점 목록 / 열 형식 리플레이 번들 (?format=points|columnar)
+    // etag(결과 버전)가 같으면 한 번 만든 번들을 ReplayBundleCache 에서 그대로 꺼내 씀. isMe 는 내보낼 때 요청자별로 끼움
+    public ReplayBundle getBundle(Long groupId, String etag, RouteDetail detail, boolean columnar, boolean delta) {
+        String key = etag + "|" + detail + "|" + (columnar ? (delta ? "columnar-delta" : "columnar") : "points");
+        return bundleCache.get(groupId, key, () -> buildBundle(groupId, detail, columnar, delta));
+    }
+
+    private ReplayBundle buildBundle(Long groupId, RouteDetail detail, boolean columnar, boolean delta) {
+        List<ReplayReader.Runner> runners = replayReader.readGroup(groupId, detail);
+        List<String> emails = new ArrayList<>(runners.size());
+        List<byte[]> json = new ArrayList<>(runners.size());
+        try {
+            for (ReplayReader.Runner runner : runners) {
+                emails.add(runner.getEmail());
+                json.add(objectMapper.writeValueAsBytes(columnar ? toColumns(runner, delta) : toPoints(runner)));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("리플레이 직렬화 실패", e);
+        }
+        return ReplayBundle.of(emails, json);
+    }
+
+    // 기존 형식 (러너마다 {lat, lng, time} 점 목록), isMe 는 번들에서 채움
+    private static ReplayDto toPoints(ReplayReader.Runner runner) {
+        RouteTrack track = trackOf(runner);
+        List<ReplayDto.PointDto> path = new ArrayList<>(track.size());
+        for (int i = 0; i < track.size(); i++) {
+            path.add(ReplayDto.PointDto.builder()
+                    .lat(track.lat(i)).lng(track.lng(i)).time(track.time(i)).build());
+        }
+        return ReplayDto.builder()
+                .runRecordId(runner.getRecordId())
+                .nickname(nicknameOf(runner))
+                .isMe(false)
+                .path(path)
+                .build();
+    }
+
+    // 열 형식 (러너마다 lat / lng / t 정수 배열, delta 면 차이값)
+    private static ReplayDto.Columns toColumns(ReplayReader.Runner runner, boolean delta) {
+        RouteTrack track = trackOf(runner);
+        int n = track.size();
+        int[] lat = new int[n];
+        int[] lng = new int[n];
+        int[] t = new int[n];
+        int prevLat = 0, prevLng = 0, prevT = 0;
+        for (int i = 0; i < n; i++) {
+            int la = (int) Math.round(track.lat(i) * COORD_SCALE);
+            int ln = (int) Math.round(track.lng(i) * COORD_SCALE);
+            int ti = track.time(i);
+            lat[i] = delta ? la - prevLat : la;
+            lng[i] = delta ? ln - prevLng : ln;
+            t[i] = delta ? ti - prevT : ti;
+            prevLat = la;
+            prevLng = ln;
+            prevT = ti;
+        }
+        return ReplayDto.Columns.builder()
+                .runRecordId(runner.getRecordId())
+                .nickname(nicknameOf(runner))
+                .isMe(false)
+                .scale(COORD_SCALE)
+                .delta(delta)
+                .lat(lat).lng(lng).t(t)
+                .build();
+    }
+
+    // NDJSON (?format=ndjson): 러너 한 명당 한 줄, 모양은 기존 점 목록 형식의 원소와 같음
+    // DB 커서에서 한 명을 읽으면 바로 써서 내보내므로 그룹 크기와 상관없이 메모리에는 한 명분만 있음
+    // 러너 순서는 점 목록 / 열 형식 / 프레임과 같음 (record_id 순)
+    // 대신 전송이 끝날 때까지 커넥션 하나를 계속 씀 (느린 클라이언트 = 오래 잡힌 커넥션, 커넥션 풀 크기를 정할 때 고려)
+    public void streamNdjson(Long groupId, String email, RouteDetail detail, OutputStream out) throws IOException {
+        JsonGenerator g = objectMapper.getFactory().createGenerator(out);
+        g.setRootValueSeparator(null);
+        try {
+            replayReader.streamGroup(groupId, detail, runner -> {
+                try {
+                    ReplayJsonWriter.writeRunner(g, runner.getRecordId(), nicknameOf(runner), isMe(runner, email), trackOf(runner));
+                    g.writeRaw('\n');
+                    g.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // 클라이언트가 끊으면 커서도 바로 닫힘
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        g.close();
+    }
+
+    // 시간축을 맞춘 프레임 (?format=frames)
+    // 기록/경로는 지금 읽고, 프레임 계산과 전송은 돌려준 FrameStream 을 쓸 때 구간 단위로 진행
+    @Transactional(readOnly = true)
+    public FrameStream getFrames(Long groupId, String email, RouteDetail detail, Integer stepSeconds) {
+        List<ReplayReader.Runner> runners = replayReader.readGroup(groupId, detail);
+        List<RouteTrack> tracks = new ArrayList<>(runners.size());
+        for (ReplayReader.Runner runner : runners) tracks.add(timed(runner));
+
+        int step = Math.max(1, Math.min((stepSeconds != null) ? stepSeconds : defaultStepSeconds, 60));
+        ReplayFrames frames = new ReplayFrames(tracks, step);
+        if (frames.frameCount() > maxFrames) {
+            int duration = (frames.frameCount() - 1) * step;
+            frames = new ReplayFrames(tracks, (duration + maxFrames - 2) / (maxFrames - 1));
+        }
+        return new FrameStream(runners, tracks, frames, email);
+    }
+
+    // 프레임 JSON 을 구간(chunkFrames)마다 계산 → 바로 써서 flush
+    // {"step":1,"frameCount":N,"scale":1000000,
+    //  "runners":[{"runRecordId":..,"nickname":..,"isMe":..,"finishSeconds":..}, ...],
+    //  "frames":[[t, lat0, lng0, lat1, lng1, ...], ...]}   (경로가 없는 러너 자리는 null)
+    public class FrameStream {
+        private final List<ReplayReader.Runner> runners;
+        private final List<RouteTrack> tracks;
+        private final ReplayFrames frames;
+        private final String email;
+
+        FrameStream(List<ReplayReader.Runner> runners, List<RouteTrack> tracks, ReplayFrames frames, String email) {
+            this.runners = runners;
+            this.tracks = tracks;
+            this.frames = frames;
+            this.email = email;
+        }
+
+        public void writeTo(OutputStream out) throws IOException {
+            JsonGenerator g = FACTORY.createGenerator(out);
+            g.writeStartObject();
+            g.writeNumberField("step", frames.step());
+            g.writeNumberField("frameCount", frames.frameCount());
+            g.writeNumberField("scale", ReplayFrames.SCALE);
+
+            g.writeArrayFieldStart("runners");
+            for (int r = 0; r < runners.size(); r++) {
+                ReplayReader.Runner runner = runners.get(r);
+                RouteTrack track = tracks.get(r);
+                g.writeStartObject();
+                g.writeNumberField("runRecordId", runner.getRecordId());
+                g.writeStringField("nickname", nicknameOf(runner));
+                g.writeBooleanField("isMe", isMe(runner, email));
+                if (track.isEmpty()) g.writeNullField("finishSeconds");
+                else g.writeNumberField("finishSeconds", track.time(track.size() - 1));
+                g.writeEndObject();
+            }
+            g.writeEndArray();
+
+            g.writeArrayFieldStart("frames");
+            int n = frames.runnerCount();
+            int[][] lat = new int[n][chunkFrames];
+            int[][] lng = new int[n][chunkFrames];
+            for (int from = 0; from < frames.frameCount(); from += chunkFrames) {
+                int to = Math.min(from + chunkFrames, frames.frameCount());
+                frames.compute(from, to, framePool, lat, lng);
+                for (int f = from; f < to; f++) {
+                    g.writeStartArray();
+                    g.writeNumber(f * frames.step());
+                    for (int r = 0; r < n; r++) {
+                        if (frames.hasPath(r)) {
+                            g.writeNumber(lat[r][f - from]);
+                            g.writeNumber(lng[r][f - from]);
+                        } else {
+                            g.writeNull();
+                            g.writeNull();
+                        }
+                    }
+                    g.writeEndArray();
+                }
+                g.flush(); // 계산된 구간부터 바로 전송
+            }
+            g.writeEndArray();
+            g.writeEndObject();
+            g.close();
+        }
+    }
+
+    // 시간 정보가 없는 경로(모든 점이 0초)는 기록 시간(없으면 점마다 1초)에 걸쳐 고르게 배치
+    static RouteTrack timed(ReplayReader.Runner runner) {
+        RouteTrack track = trackOf(runner);
+        int n = track.size();
+        if (n < 2 || track.time(n - 1) > track.time(0)) return track;
+
+        int total = (runner.getRunTimeSeconds() != null && runner.getRunTimeSeconds() > 0) ? runner.getRunTimeSeconds() : n - 1;
+        RouteTrack retimed = new RouteTrack(n);
+        for (int i = 0; i < n; i++) {
+            retimed.add(track.lat(i), track.lng(i), (int) ((long) total * i / (n - 1)));
+        }
+        return retimed;
+    }
+
+    static RouteTrack trackOf(ReplayReader.Runner runner) {
+        if (runner.getRouteBlob() == null) return runner.getLegacyTrack();
+        try {
+            return RouteCodec.decode(runner.getRouteBlob());
+        } catch (Exception e) {
+            return new RouteTrack(4); // 깨진 데이터는 빈 경로로 취급
+        }
+    }
+
+    private static String nicknameOf(ReplayReader.Runner runner) {
+        return (runner.getNickname() != null) ? runner.getNickname() : "알 수 없음";
+    }
+
+    private static boolean isMe(ReplayReader.Runner runner, String email) {
+        return email != null && email.equals(runner.getEmail());
+    }
+}
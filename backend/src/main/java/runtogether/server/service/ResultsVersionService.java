@@ -0,0 +1,47 @@
+package runtogether.server.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+// 그룹별 "결과 버전" (랭킹/리플레이/최고 기록 응답의 ETag)
+//
+// 랭킹 화면은 10초마다 같은 내용을 다시 받아 가는 경우가 대부분이라,
+// 그룹 기록이 바뀔 때만 버전을 올리고 컨트롤러는 If-None-Match 가 현재 버전과 같으면 DB 를 보지 않고 304 로 끝냅니다.
+//  - 버전은 LeaderboardService 가 기록 저장/삭제/프로필 변경을 커밋 이후 반영할 때 올림
+//  - 카운터는 순위표와 같은 LeaderboardStore 에 둠 → redis 모드에서 다른 서버가 올린 버전도 바로 보임 (ETag/SSE/리플레이 묶음 캐시 키)
+//  - ETag 에 저장소 세대(epoch)를 넣어서, 재시작으로 카운터가 0부터 다시 시작해도 예전 ETag 와 겹치지 않음
+//  - 닉네임/프로필 사진 변경처럼 어느 그룹인지 모르는 변경은 전체 세대(global)를 올림
+//  - 요청자마다 내용이 다른 응답(isMe, 내 최고 기록)은 요청자를 섞은 ETag 를 씀 → 한 기기에서 계정을 바꿔도 남의 응답으로 304 가 나지 않음
+@Service
+@RequiredArgsConstructor
+public class ResultsVersionService {
+
+    private static final String GLOBAL = "global";
+
+    private final LeaderboardStore store;
+
+    // 강한 ETag ("epoch-global-group" 형식)
+    public String etag(Long groupId) {
+        long[] v = store.versions(GLOBAL, group(groupId));
+        return "\"" + Long.toString(v[0], 36) + "-" + v[1] + "-" + v[2] + "\"";
+    }
+
+    // 요청자별 강한 ETag ("epoch-global-group-요청자해시" 형식, 이메일은 그대로 넣지 않음)
+    public String etag(Long groupId, String requester) {
+        String base = etag(groupId);
+        String who = (requester != null) ? Integer.toString(requester.hashCode(), 36) : "anon";
+        return base.substring(0, base.length() - 1) + "-" + who + "\"";
+    }
+
+    public void bump(Long groupId) {
+        store.incrementVersion(group(groupId));
+    }
+
+    public void bumpAll() {
+        store.incrementVersion(GLOBAL);
+    }
+
+    private static String group(Long groupId) {
+        return "group:" + groupId;
+    }
+}
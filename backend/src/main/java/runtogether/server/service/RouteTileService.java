@@ -0,0 +1,288 @@
+package runtogether.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import runtogether.server.domain.Course;
+import runtogether.server.domain.RouteDetail;
+import runtogether.server.dto.TileDto;
+import runtogether.server.repository.CourseRepository;
+import runtogether.server.repository.ReplayReader;
+import runtogether.server.util.RouteJsonReader;
+import runtogether.server.util.RouteSimplifier;
+import runtogether.server.util.RouteTiles;
+import runtogether.server.util.RouteTrack;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// 줌/화면 범위에 맞춘 경로 타일 (코스 지도, 그룹 리플레이 궤적)
+//
+// 줌이 낮을 때 원본 경로 전체를 내려주면 화면에는 몇 픽셀짜리 선인데 수 MB 가 전송됩니다.
+//  - 레이어: 코스 경로 하나 또는 그룹의 모든 기록 경로. 줌마다 1px(pixel-tolerance) 오차로 단순화한 경로를 처음 쓸 때 한 번 만들어 둠
+//    (단순화는 RouteSimplifier 가 저장해 둔 LOW / MEDIUM 경로 중 그 오차로 써도 되는 가장 거친 것에서 시작)
+//  - 타일: 레이어를 z/x/y 칸으로 잘라 JSON 바이트로 만든 것. 바이트 기준 LRU 로 보관해서 지도를 움직여도 같은 칸은 캐시에서 바로 나감
+//  - 리플레이 레이어 키에는 결과 버전(ETag)이 들어 있어 새 기록이 생기면 자연스럽게 새로 만들어짐 (예전 것은 LRU 로 밀려남)
+@Service
+public class RouteTileService {
+
+    static final int COORD_SCALE = 1_000_000;
+
+    // 경로가 하나도 걸치지 않은 칸 (캐시에는 이 배열 하나를 같이 씀)
+    private static final byte[] EMPTY = new byte[0];
+
+    private final CourseRepository courseRepository;
+    private final ReplayReader replayReader;
+    private final RouteSimplifier routeSimplifier;
+    private final ObjectMapper objectMapper;
+
+    private final double pixelTolerance;
+    private final double buffer;
+    private final int maxViewportTiles;
+    private final long maxTileBytes;
+    private final long maxLayerPoints;
+
+    // 접근 순서 LinkedHashMap (가장 오래 안 쓴 것이 맨 앞)
+    private final LinkedHashMap<String, Layer> layers = new LinkedHashMap<>(64, 0.75f, true);
+    private long layerPoints;
+    private final LinkedHashMap<String, byte[]> tiles = new LinkedHashMap<>(256, 0.75f, true);
+    private long tileBytes;
+
+    public RouteTileService(CourseRepository courseRepository,
+                            ReplayReader replayReader,
+                            RouteSimplifier routeSimplifier,
+                            ObjectMapper objectMapper,
+                            @Value("${runtogether.tiles.pixel-tolerance:1.0}") double pixelTolerance,
+                            @Value("${runtogether.tiles.buffer:0.03}") double buffer,
+                            @Value("${runtogether.tiles.max-viewport-tiles:64}") int maxViewportTiles,
+                            @Value("${runtogether.tiles.cache.max-bytes:33554432}") long maxTileBytes,
+                            @Value("${runtogether.tiles.cache.max-layer-points:4000000}") long maxLayerPoints) {
+        this.courseRepository = courseRepository;
+        this.replayReader = replayReader;
+        this.routeSimplifier = routeSimplifier;
+        this.objectMapper = objectMapper;
+        this.pixelTolerance = pixelTolerance;
+        this.buffer = buffer;
+        this.maxViewportTiles = maxViewportTiles;
+        this.maxTileBytes = maxTileBytes;
+        this.maxLayerPoints = maxLayerPoints;
+    }
+
+    // 코스 경로 타일 한 칸
+    public byte[] courseTile(Long courseId, int z, int x, int y) {
+        return orEmpty(courseTileOrEmpty(courseId, z, x, y), z, x, y);
+    }
+
+    // 그룹 리플레이 궤적 타일 한 칸 (etag: 그룹 결과 버전)
+    public byte[] groupTile(Long groupId, String etag, int z, int x, int y) {
+        return orEmpty(groupTileOrEmpty(groupId, etag, z, x, y), z, x, y);
+    }
+
+    // 화면 범위에 걸친 타일을 한 번에: {"z":14,"tiles":[{타일}, ...]} (경로가 없는 칸은 뺌)
+    public byte[] courseViewport(Long courseId, int z, double minLat, double minLng, double maxLat, double maxLng) {
+        return viewport(z, minLat, minLng, maxLat, maxLng, (x, y) -> courseTileOrEmpty(courseId, z, x, y));
+    }
+
+    public byte[] groupViewport(Long groupId, String etag, int z, double minLat, double minLng, double maxLat, double maxLng) {
+        return viewport(z, minLat, minLng, maxLat, maxLng, (x, y) -> groupTileOrEmpty(groupId, etag, z, x, y));
+    }
+
+    private byte[] courseTileOrEmpty(Long courseId, int z, int x, int y) {
+        checkTile(z, x, y);
+        RouteDetail detail = detailFor(z, y);
+        return tile("course:" + courseId + ":" + detail, () -> loadCourse(courseId, detail), z, x, y);
+    }
+
+    private byte[] groupTileOrEmpty(Long groupId, String etag, int z, int x, int y) {
+        checkTile(z, x, y);
+        RouteDetail detail = detailFor(z, y);
+        return tile("group:" + groupId + ":" + etag + ":" + detail, () -> loadGroup(groupId, detail), z, x, y);
+    }
+
+    private byte[] viewport(int z, double minLat, double minLng, double maxLat, double maxLng, TileSource source) {
+        checkZoom(z);
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new IllegalArgumentException("minLat/minLng 는 maxLat/maxLng 보다 작아야 합니다.");
+        }
+        int x0 = RouteTiles.tileX(minLng, z), x1 = RouteTiles.tileX(maxLng, z);
+        int y0 = RouteTiles.tileY(maxLat, z), y1 = RouteTiles.tileY(minLat, z); // 위도가 클수록 y 가 작음
+        if ((long) (x1 - x0 + 1) * (y1 - y0 + 1) > maxViewportTiles) {
+            throw new IllegalArgumentException("화면 범위가 너무 넓습니다. 줌을 더 높여 주세요.");
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(("{\"z\":" + z + ",\"tiles\":[").getBytes(StandardCharsets.US_ASCII));
+        boolean first = true;
+        for (int y = y0; y <= y1; y++) {
+            for (int x = x0; x <= x1; x++) {
+                byte[] tile = source.tile(x, y);
+                if (tile == EMPTY) continue;
+                if (!first) out.write(',');
+                out.writeBytes(tile);
+                first = false;
+            }
+        }
+        out.writeBytes("]}".getBytes(StandardCharsets.US_ASCII));
+        return out.toByteArray();
+    }
+
+    private byte[] tile(String layerKey, Supplier<Layer> loader, int z, int x, int y) {
+        String key = layerKey + "/" + z + "/" + x + "/" + y;
+        byte[] cached;
+        synchronized (this) {
+            cached = tiles.get(key);
+        }
+        if (cached == null) {
+            cached = render(layer(layerKey, loader), z, x, y);
+            putTile(key, cached);
+        }
+        return cached;
+    }
+
+    private byte[] render(Layer layer, int z, int x, int y) {
+        List<TileDto.Route> routes = new ArrayList<>();
+        List<RouteTiles.Projected> projected = layer.atZoom(z);
+        for (int i = 0; i < projected.size(); i++) {
+            List<int[]> lines = RouteTiles.clip(projected.get(i), z, x, y, buffer, COORD_SCALE);
+            if (!lines.isEmpty()) routes.add(new TileDto.Route(layer.ids.get(i), lines));
+        }
+        if (routes.isEmpty()) return EMPTY;
+        return toJson(new TileDto.Tile(z, x, y, COORD_SCALE, routes));
+    }
+
+    private byte[] orEmpty(byte[] tile, int z, int x, int y) {
+        return (tile == EMPTY) ? toJson(new TileDto.Tile(z, x, y, COORD_SCALE, List.of())) : tile;
+    }
+
+    private byte[] toJson(TileDto.Tile tile) {
+        try {
+            return objectMapper.writeValueAsBytes(tile);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("타일 직렬화 실패", e);
+        }
+    }
+
+    private Layer layer(String key, Supplier<Layer> loader) {
+        synchronized (this) {
+            Layer layer = layers.get(key);
+            if (layer != null) return layer;
+        }
+        Layer loaded = loader.get(); // DB 조회는 잠금 밖에서 (같은 레이어를 동시에 처음 읽으면 먼저 넣은 쪽을 씀)
+        synchronized (this) {
+            Layer existing = layers.get(key);
+            if (existing != null) return existing;
+            layers.put(key, loaded);
+            layerPoints += loaded.points;
+            Iterator<Map.Entry<String, Layer>> it = layers.entrySet().iterator();
+            while (layerPoints > maxLayerPoints && it.hasNext()) {
+                Map.Entry<String, Layer> eldest = it.next();
+                if (eldest.getKey().equals(key)) continue;
+                layerPoints -= eldest.getValue().points;
+                it.remove();
+            }
+            return loaded;
+        }
+    }
+
+    private synchronized void putTile(String key, byte[] tile) {
+        byte[] old = tiles.put(key, tile);
+        if (old != null) tileBytes -= old.length + key.length();
+        tileBytes += tile.length + key.length();
+        Iterator<Map.Entry<String, byte[]>> it = tiles.entrySet().iterator();
+        while (tileBytes > maxTileBytes && it.hasNext()) {
+            Map.Entry<String, byte[]> eldest = it.next();
+            tileBytes -= eldest.getValue().length + eldest.getKey().length();
+            it.remove();
+        }
+    }
+
+    private Layer loadCourse(Long courseId, RouteDetail detail) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 코스입니다."));
+        String json = course.getPathData(detail);
+        if (json == null) json = course.getPathData(); // 단순화 경로가 아직 없는 코스는 원본
+        RouteTrack track;
+        try {
+            track = (json != null && !json.isEmpty()) ? RouteJsonReader.readRoute(json) : new RouteTrack(4);
+        } catch (Exception e) {
+            track = new RouteTrack(4); // 깨진 데이터는 빈 경로로 취급
+        }
+        return new Layer(List.of(courseId), List.of(track));
+    }
+
+    private Layer loadGroup(Long groupId, RouteDetail detail) {
+        List<ReplayReader.Runner> runners = replayReader.readGroup(groupId, detail);
+        List<Long> ids = new ArrayList<>(runners.size());
+        List<RouteTrack> tracks = new ArrayList<>(runners.size());
+        for (ReplayReader.Runner runner : runners) {
+            ids.add(runner.getRecordId());
+            tracks.add(ReplayService.trackOf(runner));
+        }
+        return new Layer(ids, tracks);
+    }
+
+    // 타일 가운데 위도에서 1px 오차로 써도 되는 가장 거친 저장 경로
+    private RouteDetail detailFor(int z, int y) {
+        double centerLat = Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * (y + 0.5) / (1L << z)))));
+        return routeSimplifier.coarsestFor(RouteTiles.metersPerPixel(centerLat, z) * pixelTolerance);
+    }
+
+    private static void checkZoom(int z) {
+        if (z < 0 || z > RouteTiles.MAX_ZOOM) {
+            throw new IllegalArgumentException("z 는 0 ~ " + RouteTiles.MAX_ZOOM + " 사이여야 합니다.");
+        }
+    }
+
+    private static void checkTile(int z, int x, int y) {
+        checkZoom(z);
+        long tiles = 1L << z;
+        if (x < 0 || y < 0 || x >= tiles || y >= tiles) {
+            throw new IllegalArgumentException("타일 좌표가 범위를 벗어났습니다.");
+        }
+    }
+
+    private interface TileSource {
+        byte[] tile(int x, int y);
+    }
+
+    // 경로 묶음 하나 + 줌별 단순화/투영 결과
+    private class Layer {
+        private final List<Long> ids;
+        private final List<RouteTrack> tracks;
+        private final long points;
+        private final double referenceLat;
+        private final Map<Integer, List<RouteTiles.Projected>> zooms = new ConcurrentHashMap<>();
+
+        Layer(List<Long> ids, List<RouteTrack> tracks) {
+            this.ids = ids;
+            this.tracks = tracks;
+            long points = 0;
+            double lat = 0;
+            for (RouteTrack track : tracks) {
+                if (points == 0 && !track.isEmpty()) lat = track.lat(0);
+                points += track.size();
+            }
+            this.points = points;
+            this.referenceLat = lat;
+        }
+
+        List<RouteTiles.Projected> atZoom(int z) {
+            return zooms.computeIfAbsent(z, zoom -> {
+                double tolerance = RouteTiles.metersPerPixel(referenceLat, zoom) * pixelTolerance;
+                List<RouteTiles.Projected> result = new ArrayList<>(tracks.size());
+                for (RouteTrack track : tracks) {
+                    result.add(new RouteTiles.Projected(RouteSimplifier.simplify(track, tolerance)));
+                }
+                return result;
+            });
+        }
+    }
+}
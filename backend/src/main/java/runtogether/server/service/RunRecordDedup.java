@@ -0,0 +1,105 @@
+package runtogether.server.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// 같은 (user, course, group) 기록이 여러 개 있는 예전 데이터 정리 → RunRecord 의 유니크 제약이 만들어질 수 있게 함
+//
+// ddl-auto=update 는 제약을 추가하다 중복 행 때문에 실패하면 경고만 남기고 제약 없이 뜹니다.
+// 그래서 JPA(Hibernate) 가 스키마를 고치기 전에 먼저 돌도록 EntityManagerFactory 가 이 빈에 의존하게 합니다.
+//  - 남기는 기록: 가장 빠른 기록 (시간이 같거나 아직 모르면 먼저 저장된 것) = 재전송 때 RecordService 가 남기는 쪽
+//  - 지우는 기록의 laps / route_point 도 같이 삭제하고, 걸린 그룹/코스 집계 행은 지워서 다음 기록 때 DB 기준으로 다시 채움
+//  - 테이블이 아직 없거나 중복이 없으면 아무것도 안 함 → 몇 번을 다시 실행해도 안전
+@Component
+@RequiredArgsConstructor
+public class RunRecordDedup {
+
+    private static final int CHUNK = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void run() {
+        try {
+            Integer groups = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM (SELECT user_id FROM run_record " +
+                            "WHERE user_id IS NOT NULL AND course_id IS NOT NULL AND running_group_id IS NOT NULL " +
+                            "GROUP BY user_id, course_id, running_group_id HAVING COUNT(*) > 1) d", Integer.class);
+            if (groups == null || groups == 0) return;
+
+            // 자기보다 나은 기록이 같은 키에 하나라도 있으면 지울 기록
+            List<Long> losers = jdbcTemplate.queryForList(
+                    "SELECT r.record_id FROM run_record r WHERE EXISTS (SELECT 1 FROM run_record k " +
+                            "WHERE k.user_id = r.user_id AND k.course_id = r.course_id AND k.running_group_id = r.running_group_id " +
+                            "AND (COALESCE(k.run_time_seconds, 2147483647) < COALESCE(r.run_time_seconds, 2147483647) " +
+                            "OR (COALESCE(k.run_time_seconds, 2147483647) = COALESCE(r.run_time_seconds, 2147483647) " +
+                            "AND k.record_id < r.record_id)))", Long.class);
+
+            Set<Long> groupIds = new LinkedHashSet<>();
+            Set<Long> courseIds = new LinkedHashSet<>();
+            for (List<Long> chunk : chunks(losers)) {
+                String in = placeholders(chunk.size());
+                Object[] ids = chunk.toArray();
+                jdbcTemplate.query("SELECT running_group_id, course_id FROM run_record WHERE record_id IN " + in, rs -> {
+                    groupIds.add(rs.getLong(1));
+                    courseIds.add(rs.getLong(2));
+                }, ids);
+                jdbcTemplate.update("DELETE FROM laps WHERE record_id IN " + in, ids);
+                jdbcTemplate.update("DELETE FROM route_point WHERE run_record_id IN " + in, ids);
+                jdbcTemplate.update("DELETE FROM run_record WHERE record_id IN " + in, ids);
+            }
+            deleteStats("group_stats", "group_id", groupIds);
+            deleteStats("course_stats", "course_id", courseIds);
+
+            System.out.println("중복 기록 정리 완료: " + losers.size() + "건 삭제 (" + groups + "개 키)");
+        } catch (BadSqlGrammarException e) {
+            // 새 DB (테이블이 아직 없음) 이면 정리할 것도 없음
+        } catch (Exception e) {
+            System.err.println("❌ 중복 기록 정리 실패: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void deleteStats(String table, String idColumn, Collection<Long> ids) {
+        for (List<Long> chunk : chunks(ids)) {
+            try {
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE " + idColumn + " IN " + placeholders(chunk.size()), chunk.toArray());
+            } catch (BadSqlGrammarException e) {
+                return; // 집계 테이블이 아직 없음
+            }
+        }
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        if (ids.isEmpty()) return Collections.emptyList();
+        List<Long> list = List.copyOf(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += CHUNK) {
+            chunks.add(list.subList(from, Math.min(from + CHUNK, list.size())));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int n) {
+        return "(" + String.join(",", Collections.nCopies(n, "?")) + ")";
+    }
+
+    // Hibernate 가 스키마를 고치기(ddl-auto) 전에 위 정리가 먼저 실행되게 함
+    @Component
+    static class RunBeforeJpa extends EntityManagerFactoryDependsOnPostProcessor {
+        RunBeforeJpa() {
+            super(RunRecordDedup.class);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package runtogether.server.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import runtogether.server.domain.*;
+import runtogether.server.dto.RecordDto;
+import runtogether.server.repository.*;
+import runtogether.server.util.RouteCodec;
+import runtogether.server.util.RouteJsonReader;
+import runtogether.server.util.RouteTrack;
+
+import java.io.IOException;
+
+// 달리는 도중 경로를 조각(chunk)으로 나눠 올리는 러닝 세션
+// 1) 시작: 세션 생성  2) N초마다 조각 업로드: 조각만 인코딩해서 BLOB 뒤에 붙임  3) 종료: 모인 BLOB 을 그대로 기록으로 저장
+// → 결승선에서 경로 전체를 한 번에 올리고 파싱하던 부하를 달리는 동안으로 나눠 줍니다.
+@Service
+@RequiredArgsConstructor
+public class RunSessionService {
+
+    private final RunSessionRepository sessionRepository;
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final RunningGroupRepository runningGroupRepository;
+    private final RecordService recordService;
+    private final RecordBulkWriter bulkWriter;
+
+    // 1. 세션 시작
+    @Transactional
+    public Long openSession(String email, RecordDto.SessionOpenRequest request) {
+        if (request.getGroupId() == null) {
+            throw new IllegalArgumentException("대회(그룹) ID가 없습니다. 혼자 뛰기는 불가능합니다.");
+        }
+        if (request.getCourseId() == null) {
+            throw new IllegalArgumentException("코스 없음");
+        }
+
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("유저 없음"));
+        Course course = courseRepository.findById(request.getCourseId())
+                .orElseThrow(() -> new IllegalArgumentException("코스 없음"));
+        RunningGroup runningGroup = runningGroupRepository.findById(request.getGroupId())
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 그룹입니다."));
+
+        RunSession session = new RunSession(user, course, runningGroup, RouteCodec.emptyRoute());
+        return sessionRepository.save(session).getId();
+    }
+
+    // 2. 경로 조각 붙이기 (같은 번호를 다시 보내면 무시 → 재전송에 안전)
+    @Transactional
+    public int appendChunk(String email, Long sessionId, RecordDto.ChunkRequest request) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("유저 없음"));
+
+        RouteTrack chunk;
+        try {
+            chunk = (request.getRouteData() != null) ? RouteJsonReader.readRoute(request.getRouteData()) : new RouteTrack(4);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("경로 조각 형식이 올바르지 않습니다.");
+        }
+
+        int updated = bulkWriter.appendSessionChunk(sessionId, user.getId(),
+                RouteCodec.encodeBlock(chunk), request.getSeq(), chunk.size());
+        if (updated == 1) return request.getSeq();
+
+        int lastSeq = sessionRepository.findOpenLastSeq(sessionId, user.getId())
+                .orElseThrow(() -> new IllegalArgumentException("진행 중인 러닝 세션이 없습니다."));
+        if (request.getSeq() <= lastSeq) {
+            return lastSeq; // 이미 받은 조각 (재전송)
+        }
+        throw new IllegalArgumentException("경로 조각 순서가 맞지 않습니다. 다음 번호: " + (lastSeq + 1));
+    }
+
+    // 3. 세션 종료 → 기록 저장 (이미 종료된 세션이면 만들어진 기록 ID를 그대로 반환)
+    // 세션 행을 잠근 뒤 읽으므로 동시에 온 종료 재전송은 앞의 종료가 커밋될 때까지 기다렸다가 종료된 세션을 봄
+    @Transactional
+    public Long finishSession(String email, Long sessionId, RecordDto.Request request) {
+        RunSession session = sessionRepository.findForUpdate(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("러닝 세션이 없습니다."));
+        if (!session.getUser().getEmail().equals(email)) {
+            throw new IllegalArgumentException("본인의 러닝 세션만 종료할 수 있습니다.");
+        }
+        if (session.isFinished()) {
+            return session.getRecordId();
+        }
+
+        // 코스/그룹은 세션을 열 때 정한 값을 사용하고, 경로는 요청이 아니라 세션에 모인 것을 사용
+        RecordDto.Request finalRequest = new RecordDto.Request(
+                session.getCourse().getId(),
+                session.getRunningGroup().getId(),
+                request.getRunTime(),
+                request.getDistance(),
+                request.getAveragePace(),
+                request.getCalories(),
+                request.getHeartRate(),
+                request.getSectionJson(),
+                null,
+                request.getStatus(),
+                request.getEndTime()
+        );
+
+        Long recordId = recordService.createRecordWithRoute(email, finalRequest, session.getRouteBlob());
+        session.finish(recordId);
+        return recordId;
+    }
+}
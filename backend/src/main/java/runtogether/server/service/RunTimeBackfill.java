@@ -0,0 +1,106 @@
+package runtogether.server.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import runtogether.server.util.RunTimes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 예전 기록의 runTimeSeconds / paceSecondsPerKm 채우기 (온라인 백필)
+//
+// 서버가 뜬 뒤 백그라운드 스레드에서 record_id 순으로 batch-size 개씩 읽어 숫자 컬럼을 채웁니다.
+//  - 키셋(record_id > 마지막 id) 으로 넘어가므로 OFFSET 처럼 뒤로 갈수록 느려지지 않음
+//  - 묶음마다 짧게 쉬어서 서비스 트래픽과 락/IO 를 나눠 씀
+//  - 이미 채워진 행은 건너뛰므로 몇 번을 다시 실행해도 안전
+//  - 묶음마다 고친 기록의 그룹/코스 집계 행을 지움 (백필 전에 만들어진 집계에는 예전 기록의 시간/페이스가 빠져 있으므로,
+//    다음 기록 때 DB 기준으로 다시 채우게 함)
+@Component
+@RequiredArgsConstructor
+public class RunTimeBackfill {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LeaderboardService leaderboardService;
+
+    @Value("${runtogether.backfill.batch-size:1000}")
+    private int batchSize;
+
+    // 묶음 사이 쉬는 시간 (ms)
+    @Value("${runtogether.backfill.pause-millis:50}")
+    private long pauseMillis;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread worker = new Thread(this::run, "run-time-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    void run() {
+        long lastId = 0;
+        int updated = 0;
+        Set<Long> groupIds = new LinkedHashSet<>();
+        try {
+            while (true) {
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                        "SELECT record_id, running_group_id, course_id, run_time, average_pace FROM run_record " +
+                                "WHERE record_id > ? AND (run_time_seconds IS NULL OR pace_seconds_per_km IS NULL) " +
+                                "ORDER BY record_id LIMIT ?",
+                        lastId, batchSize);
+                if (rows.isEmpty()) break;
+
+                List<Object[]> args = new ArrayList<>(rows.size());
+                Set<Long> batchGroupIds = new LinkedHashSet<>();
+                Set<Long> courseIds = new LinkedHashSet<>();
+                for (Map<String, Object> row : rows) {
+                    lastId = ((Number) row.get("record_id")).longValue();
+                    Integer runTimeSeconds = RunTimes.durationSeconds((String) row.get("run_time"));
+                    Integer paceSeconds = RunTimes.paceSeconds((String) row.get("average_pace"));
+                    if (runTimeSeconds == null && paceSeconds == null) continue; // 형식이 잘못된 기록은 그대로 둠
+                    args.add(new Object[]{runTimeSeconds, paceSeconds, lastId});
+                    Object groupId = row.get("running_group_id");
+                    if (groupId != null) batchGroupIds.add(((Number) groupId).longValue());
+                    Object courseId = row.get("course_id");
+                    if (courseId != null) courseIds.add(((Number) courseId).longValue());
+                }
+
+                if (!args.isEmpty()) {
+                    jdbcTemplate.batchUpdate(
+                            "UPDATE run_record SET run_time_seconds = COALESCE(run_time_seconds, ?), " +
+                                    "pace_seconds_per_km = COALESCE(pace_seconds_per_km, ?) WHERE record_id = ?",
+                            args);
+                    updated += args.size();
+                    deleteStats("group_stats", "group_id", batchGroupIds);
+                    deleteStats("course_stats", "course_id", courseIds);
+                    groupIds.addAll(batchGroupIds);
+                }
+                if (rows.size() < batchSize) break;
+                Thread.sleep(pauseMillis);
+            }
+            if (updated > 0) {
+                // 백필 전에 올라간 리더보드는 예전 기록이 맨 뒤에 있으므로, 고친 기록이 있는 그룹만 다시 읽게 함
+                leaderboardService.evictAfterCommit(groupIds);
+                System.out.println("기록 시간/페이스 백필 완료: " + updated + "건");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void deleteStats(String table, String idColumn, Collection<Long> ids) {
+        if (ids.isEmpty()) return;
+        String placeholders = "(" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")";
+        jdbcTemplate.update("DELETE FROM " + table + " WHERE " + idColumn + " IN " + placeholders, ids.toArray());
+    }
+}
@@ -0,0 +1,76 @@
+package runtogether.server.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import runtogether.server.domain.*;
+import runtogether.server.dto.StatsDto;
+import runtogether.server.repository.CourseRepository;
+import runtogether.server.repository.RunRecordRepository;
+import runtogether.server.repository.RunningGroupRepository;
+import runtogether.server.repository.UserRepository;
+import runtogether.server.util.LogHistogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// 기록 시간 분포 / 백분위 조회
+// 집계 행(GroupStats, CourseStats)의 분포만 읽으므로 기록 수와 상관없이 행 하나 + 내 기록 하나만 조회합니다.
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StatsService {
+
+    private static final int[] PERCENTILES = {10, 25, 50, 75, 90};
+
+    private final RecordStatsService recordStatsService;
+    private final RunRecordRepository recordRepository;
+    private final RunningGroupRepository runningGroupRepository;
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+
+    public StatsDto.Distribution groupDistribution(String email, Long groupId) {
+        RunningGroup group = runningGroupRepository.findById(groupId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 그룹입니다."));
+        Optional<RunRecord> mine = findUser(email)
+                .flatMap(user -> recordRepository.findTopByUserAndRunningGroupOrderByRunTimeSecondsAsc(user, group));
+        return toDistribution(recordStatsService.group(groupId), mine);
+    }
+
+    public StatsDto.Distribution courseDistribution(String email, Long courseId) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new IllegalArgumentException("코스 없음"));
+        Optional<RunRecord> mine = findUser(email)
+                .flatMap(user -> recordRepository.findTopByUserAndCourseOrderByRunTimeSecondsAsc(user, course));
+        return toDistribution(recordStatsService.course(courseId), mine);
+    }
+
+    private Optional<User> findUser(String email) {
+        return (email != null) ? userRepository.findByEmail(email) : Optional.empty();
+    }
+
+    private StatsDto.Distribution toDistribution(RecordStats stats, Optional<RunRecord> mine) {
+        LogHistogram histogram = stats.distribution();
+
+        Map<String, Integer> percentiles = new LinkedHashMap<>();
+        for (int p : PERCENTILES) {
+            percentiles.put("p" + p, histogram.valueAtPercentile(p));
+        }
+
+        List<StatsDto.Bucket> buckets = new ArrayList<>();
+        histogram.forEachBucket((from, to, count) -> buckets.add(new StatsDto.Bucket(from, to, count)));
+
+        // 상위 % = (나보다 빠른 기록 수 + 1) / 전체
+        Integer myTime = mine.map(RunRecord::getRunTimeSeconds).orElse(null);
+        Double myPercentile = null;
+        if (myTime != null && histogram.total() > 0) {
+            double ratio = (histogram.countLessThan(myTime) + 1) * 100.0 / histogram.total();
+            myPercentile = Math.round(Math.min(ratio, 100.0) * 10) / 10.0;
+        }
+
+        return new StatsDto.Distribution(histogram.total(), percentiles, buckets, myTime, myPercentile);
+    }
+}
@@ -11,10 +11,12 @@ import runtogether.server.dto.MyPageDto;
 import runtogether.server.dto.ProfileDto;
 import runtogether.server.dto.SignUpDto;
 import runtogether.server.repository.RunRecordRepository;
+import runtogether.server.repository.RunningGroupRepository;
 import runtogether.server.repository.UserRepository;
 import runtogether.server.util.JwtUtil;
 
 import java.util.UUID;
+import java.util.stream.Collectors;
 import java.io.*;
 
 @Service
@@ -25,6 +27,10 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final RunRecordRepository runRecordRepository;
+    private final RunningGroupRepository runningGroupRepository;
+    private final LeaderboardService leaderboardService;
+    private final RecordStatsService recordStatsService;
+    private final GroupSearchIndex groupSearchIndex;
 
     // ★ 파일 저장 경로 (프로젝트 루트의 uploads 폴더)
     private final String UPLOAD_DIR = System.getProperty("user.dir") + "/uploads/";
@@ -98,6 +104,7 @@ public class UserService {
                 requestDto.getBirthDate(),
                 finalImageUrl
         );
+        leaderboardService.profileChanged(user.getEmail(), nicknameToSave, finalImageUrl);
     }
 
     // ★ [추가] 실제 파일을 서버 로컬에 저장하는 프라이빗 메서드
@@ -193,6 +200,24 @@ public class UserService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 유저입니다."));
 
+        // 기록이 같이 지워지므로 그룹/코스 집계에서 빼고, 해당 그룹 리더보드는 다시 읽게 함
+        user.getRunRecords().forEach(r -> recordStatsService.recordRemoved(
+                (r.getRunningGroup() != null) ? r.getRunningGroup().getId() : null,
+                (r.getCourse() != null) ? r.getCourse().getId() : null,
+                r.getRunTimeSeconds(), r.getPaceSecondsPerKm()));
+        leaderboardService.evictAfterCommit(user.getRunRecords().stream()
+                .filter(r -> r.getRunningGroup() != null)
+                .map(r -> r.getRunningGroup().getId())
+                .collect(Collectors.toSet()));
+
+        // 가입 내역이 같이 지워지므로 남의 그룹 인원을 줄임 (내가 만든 그룹은 통째로 지워짐)
+        user.getUserGroups().stream()
+                .map(UserGroup::getRunningGroup)
+                .filter(g -> g.getOwner() == null || !g.getOwner().getId().equals(user.getId()))
+                .forEach(g -> runningGroupRepository.decrementMemberCount(g.getId()));
+        // 내가 만든 그룹은 같이 지워지므로 검색 색인에서도 뺌
+        user.getOwnedGroups().forEach(g -> groupSearchIndex.removeAfterCommit(g.getId()));
+
         // 유저 삭제 (연관된 기록이 있다면 User 엔티티의 Cascade 설정에 따라 같이 삭제됨)
         userRepository.delete(user);
     }
@@ -0,0 +1,56 @@
+package runtogether.server.util;
+
+import java.util.Arrays;
+
+// 구간(1km) 기록을 km / 페이스 / 시간 원시 배열로 들고 있는 컨테이너 (Lap 행으로 저장되기 전 단계)
+public class LapSplits {
+
+    private int[] kms;
+    private double[] paces; // 6.41 형식 (분 + 초/100)
+    private int[] times;    // 초 단위
+    private int size;
+
+    public LapSplits() {
+        this(16);
+    }
+
+    public LapSplits(int capacity) {
+        int cap = Math.max(capacity, 4);
+        this.kms = new int[cap];
+        this.paces = new double[cap];
+        this.times = new int[cap];
+    }
+
+    public void add(int km, double pace, int timeSeconds) {
+        if (size == kms.length) {
+            int newCap = kms.length * 2;
+            kms = Arrays.copyOf(kms, newCap);
+            paces = Arrays.copyOf(paces, newCap);
+            times = Arrays.copyOf(times, newCap);
+        }
+        kms[size] = km;
+        paces[size] = pace;
+        times[size] = timeSeconds;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int km(int index) {
+        return kms[index];
+    }
+
+    public double pace(int index) {
+        return paces[index];
+    }
+
+    public int time(int index) {
+        return times[index];
+    }
+}
@@ -0,0 +1,166 @@
+package runtogether.server.util;
+
+import java.util.Arrays;
+
+// 기록 시간 분포 (HDR 방식 로그 구간, 메모리 고정)
+//
+//  - 0 ~ 63초는 1초 단위, 그 이후는 2의 거듭제곱 구간마다 32칸 → 어느 값이든 오차 1/32(약 3%) 이하
+//    (1시간 기록이면 칸 너비 64초, 2시간이면 128초)
+//  - 약 24일(2^21초)까지 544칸 고정이라 인원이 몇 명이든 메모리가 같음
+//  - 칸 구조가 항상 같아서 두 분포를 칸끼리 더하면 합친 분포가 됨 (merge)
+//  - 저장할 때는 0이 아닌 칸만 varint 로 기록 (보통 수백 바이트)
+public class LogHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;   // 거듭제곱 구간당 칸 수 (32)
+    private static final int LINEAR = SUB_BUCKETS * 2;      // 1초 단위 칸 (0 ~ 63)
+    private static final int FIRST_EXP = 6;                 // 2^6 = 64 부터 로그 구간
+    private static final int MAX_EXP = 20;
+
+    public static final int BUCKETS = LINEAR + (MAX_EXP - FIRST_EXP + 1) * SUB_BUCKETS;
+
+    private final int[] counts = new int[BUCKETS];
+    private long total;
+
+    public void add(int seconds) {
+        counts[index(seconds)]++;
+        total++;
+    }
+
+    public void remove(int seconds) {
+        int i = index(seconds);
+        if (counts[i] > 0) {
+            counts[i]--;
+            total--;
+        }
+    }
+
+    public void merge(LogHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) counts[i] += other.counts[i];
+        total += other.total;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    // seconds 가 속한 칸보다 앞 칸에 있는 기록 수 (같은 칸 안의 순서는 구분하지 않음)
+    public long countLessThan(int seconds) {
+        int b = index(seconds);
+        long sum = 0;
+        for (int i = 0; i < b; i++) sum += counts[i];
+        return sum;
+    }
+
+    // 빠른 순으로 percentile(0~100) 지점의 값 (칸 중앙값, 기록이 없으면 null)
+    public Integer valueAtPercentile(double percentile) {
+        if (total == 0) return null;
+        long target = Math.max(1, (long) Math.ceil(total * Math.min(Math.max(percentile, 0), 100) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) return (lowerBound(i) + upperBound(i)) / 2;
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    // 기록이 있는 가장 앞 칸의 시작 값 (없으면 null)
+    public Integer lowestSeconds() {
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] > 0) return lowerBound(i);
+        }
+        return null;
+    }
+
+    // 기록이 있는 가장 뒤 칸의 끝 값 (없으면 null)
+    public Integer highestSeconds() {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (counts[i] > 0) return upperBound(i);
+        }
+        return null;
+    }
+
+    // 기록이 있는 칸만 앞에서부터 방문
+    public void forEachBucket(BucketVisitor visitor) {
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] > 0) visitor.visit(lowerBound(i), upperBound(i), counts[i]);
+        }
+    }
+
+    @FunctionalInterface
+    public interface BucketVisitor {
+        void visit(int fromSeconds, int toSeconds, int count);
+    }
+
+    // [0이 아닌 칸 수] + 칸마다 (앞 칸과의 번호 차이, 개수) varint
+    public byte[] toBytes() {
+        byte[] buf = new byte[5 + BUCKETS * 8];
+        int pos = writeVarInt(buf, 0, (int) Arrays.stream(counts).filter(c -> c > 0).count());
+        int prev = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] == 0) continue;
+            pos = writeVarInt(buf, pos, i - prev);
+            pos = writeVarInt(buf, pos, counts[i]);
+            prev = i;
+        }
+        return Arrays.copyOf(buf, pos);
+    }
+
+    public static LogHistogram fromBytes(byte[] data) {
+        LogHistogram h = new LogHistogram();
+        if (data == null || data.length == 0) return h;
+
+        int[] pos = {0};
+        int n = readVarInt(data, pos);
+        int index = 0;
+        for (int k = 0; k < n; k++) {
+            index += readVarInt(data, pos);
+            int count = readVarInt(data, pos);
+            if (index < 0 || index >= BUCKETS || count < 0) throw new IllegalArgumentException("손상된 분포 데이터입니다.");
+            h.counts[index] = count;
+            h.total += count;
+        }
+        return h;
+    }
+
+    static int index(int seconds) {
+        if (seconds < LINEAR) return Math.max(seconds, 0);
+        int exp = 31 - Integer.numberOfLeadingZeros(seconds);
+        if (exp > MAX_EXP) return BUCKETS - 1;
+        int sub = (seconds >>> (exp - SUB_BITS)) - SUB_BUCKETS;
+        return LINEAR + (exp - FIRST_EXP) * SUB_BUCKETS + sub;
+    }
+
+    static int lowerBound(int index) {
+        if (index < LINEAR) return index;
+        int exp = FIRST_EXP + (index - LINEAR) / SUB_BUCKETS;
+        int sub = (index - LINEAR) % SUB_BUCKETS;
+        return (SUB_BUCKETS + sub) << (exp - SUB_BITS);
+    }
+
+    static int upperBound(int index) {
+        if (index < LINEAR) return index;
+        int exp = FIRST_EXP + (index - LINEAR) / SUB_BUCKETS;
+        return lowerBound(index) + (1 << (exp - SUB_BITS)) - 1;
+    }
+
+    private static int writeVarInt(byte[] buf, int pos, int v) {
+        while ((v & ~0x7F) != 0) {
+            buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buf[pos++] = (byte) v;
+        return pos;
+    }
+
+    private static int readVarInt(byte[] buf, int[] pos) {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (pos[0] >= buf.length) throw new IllegalArgumentException("손상된 분포 데이터입니다.");
+            byte b = buf[pos[0]++];
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new IllegalArgumentException("손상된 분포 데이터입니다.");
+    }
+}
@@ -0,0 +1,490 @@
+package runtogether.server.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// 그룹 이름/태그/소개 검색용 글자 n-gram 역색인 (메모리 안, 스레드 안전하지 않음 - GroupSearchIndex 가 잠금을 잡고 사용)
+//
+// 한국어는 띄어쓰기/조사 때문에 단어 단위로 자르면 "한강러닝" 과 "한강" 이 이어지지 않아서 글자 단위로 색인합니다.
+//  - 글자는 NFKC + 소문자로 맞추고, 글자/숫자가 아닌 것(공백, 쉼표, # 등)에서 토큰을 나눔 → 태그 "한강,야간" 은 토큰 두 개
+//  - 이름/태그: 토큰마다 1·2·3글자 gram + 토큰 앞 1~3글자(prefix) / 소개: 앞 descriptionChars 글자의 2글자 gram 만 (긴 글이라 메모리 절약)
+//  - 검색어 토큰은 3글자 이상이면 3-gram, 아니면 글자 수 그대로의 gram 을 모두 포함하는 그룹을 찾음 (posting 교집합)
+//  - 순위: 이름이 검색어로 시작 > 이름에 포함 > 태그가 시작 > 태그에 포함 > 소개에 포함, 같은 단계 안에서는 최신(id 가 큰) 그룹 먼저
+//    단계마다 posting 을 뒤에서부터 leapfrog 로 교집합하다가 limit 개가 차면 멈추므로 흔한 글자여도 전체를 훑지 않음
+//  - 문서 번호는 대부분 id 순이지만, 수정된 그룹(다시 넣으면 맨 뒤 번호)이나 늦게 커밋된 그룹은 id 보다 뒤에 있음(밀린 문서)
+//    → 밀리지 않은 문서는 앞의 모든 문서보다 id 가 크므로, 그런 문서가 limit 개 찰 때까지만 더 읽고 id 순으로 정렬함
+//  - 자동완성은 prefix 만 사용, 마지막 글자가 받침 없는 한글이면 받침이 붙는 중인 것으로 보고 "한가" 로 "한강" 도 찾음
+// 그룹 하나를 다시 넣으면 예전 문서는 지운 표시만 하고, 지운 문서가 많아지면 posting 에서 한 번에 걸러냄(compact).
+public final class NgramIndex {
+
+    public static final int NAME = 0;
+    public static final int TAGS = 1;
+    public static final int DESCRIPTION = 2;
+
+    private static final int GRAM = 0;
+    private static final int PREFIX = 1;
+    private static final int OPEN_PREFIX = 2; // 마지막 글자 받침을 뗀 prefix (자동완성용)
+    private static final int MAX_GRAM = 3;
+
+    private static final byte ALIVE = 1;
+    private static final byte SECRET = 2;
+    private static final byte DISPLACED = 4; // 앞 번호 문서 중에 id 가 더 큰 것이 있음
+
+    private static final char HANGUL_FIRST = 0xAC00;
+    private static final char HANGUL_LAST = 0xD7A3;
+
+    private final int descriptionChars;
+
+    // 문서 번호(색인된 순서) → 그룹 id / 상태
+    private long[] ids = new long[1024];
+    private byte[] flags = new byte[1024];
+    private int docCount;
+    private int deadCount;
+    private int displacedCount;
+    private long maxId;
+    private LongIntMap docOf = new LongIntMap(); // 그룹 id → 문서 번호
+
+    // gram 키 → posting 번호, posting 은 문서 번호 오름차순
+    private final LongIntMap postingOf = new LongIntMap();
+    private int[][] postings = new int[1024][];
+    private int[] postingSizes = new int[1024];
+    private int postingCount;
+
+    public NgramIndex(int descriptionChars) {
+        this.descriptionChars = descriptionChars;
+    }
+
+    // 그룹 추가/수정 (이미 있으면 예전 내용은 지우고 새로 넣음)
+    public void put(long id, String name, String tags, String description, boolean secret) {
+        remove(id);
+        int doc = docCount++;
+        if (doc == ids.length) {
+            ids = Arrays.copyOf(ids, doc * 2);
+            flags = Arrays.copyOf(flags, doc * 2);
+        }
+        ids[doc] = id;
+        flags[doc] = (byte) (ALIVE | (secret ? SECRET : 0) | (id < maxId ? DISPLACED : 0));
+        if (id < maxId) displacedCount++;
+        maxId = Math.max(maxId, id);
+        docOf.put(id, doc);
+
+        KeyBuffer keys = new KeyBuffer();
+        for (String token : tokens(name)) addTokenKeys(keys, NAME, token);
+        for (String token : tokens(tags)) addTokenKeys(keys, TAGS, token);
+        String text = normalize(description);
+        if (text.length() > descriptionChars) text = text.substring(0, descriptionChars);
+        for (String token : split(text)) addGrams(keys, DESCRIPTION, token, 2);
+
+        long[] unique = keys.sortedUnique();
+        for (long key : unique) append(key, doc);
+    }
+
+    public boolean remove(long id) {
+        int doc = docOf.remove(id);
+        if (doc < 0) return false;
+        flags[doc] = 0;
+        deadCount++;
+        if (deadCount > 4096 && deadCount > docCount / 4) compact();
+        return true;
+    }
+
+    public int size() {
+        return docCount - deadCount;
+    }
+
+    public boolean contains(long id) {
+        return docOf.get(id) >= 0;
+    }
+
+    // 지금까지 넣은 가장 큰 그룹 id (없으면 0)
+    public long maxId() {
+        return maxId;
+    }
+
+    // 검색 (순위순 그룹 id, publicOnly 면 비밀 그룹 제외)
+    public long[] search(String query, boolean publicOnly, int limit) {
+        List<String> tokens = tokens(query);
+        Collector out = new Collector(limit);
+        if (tokens.isEmpty()) return out.toArray();
+
+        for (int field : new int[]{NAME, TAGS}) {
+            long[] grams = queryGrams(field, tokens);
+            collect(concat(grams, prefixKey(field, PREFIX, tokens.get(0))), publicOnly, out);
+            collect(grams, publicOnly, out);
+        }
+        long[] description = queryGrams(DESCRIPTION, tokens);
+        if (description != null) collect(description, publicOnly, out);
+        return out.toArray();
+    }
+
+    // 자동완성 (이름 → 태그 순으로, 마지막 토큰이 어떤 토큰의 앞부분인 그룹)
+    public long[] complete(String prefix, boolean publicOnly, int limit) {
+        List<String> tokens = tokens(prefix);
+        Collector out = new Collector(limit);
+        if (tokens.isEmpty()) return out.toArray();
+
+        String last = tokens.get(tokens.size() - 1);
+        List<String> before = tokens.subList(0, tokens.size() - 1);
+        for (int field : new int[]{NAME, TAGS}) {
+            long[] keys = before.isEmpty() ? new long[0] : queryGrams(field, before);
+            collect(concat(keys, partialKeys(field, last)), publicOnly, out);
+        }
+        return out.toArray();
+    }
+
+    // 지운 문서를 posting 에서 빼고 문서 번호를 id 순으로 다시 매김 (posting 배열도 크기에 맞게 줄임)
+    public void compact() {
+        int[] renumber = new int[docCount];
+        int alive = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if ((flags[doc] & ALIVE) != 0) {
+                renumber[doc] = alive;
+                ids[alive] = ids[doc];
+                flags[alive] = (byte) (flags[doc] & ~DISPLACED);
+                alive++;
+            } else {
+                renumber[doc] = -1;
+            }
+        }
+        boolean reorder = displacedCount > 0;
+        if (reorder) {
+            // 밀린 문서가 있었으면 id 순으로 정렬해서 번호를 다시 매김 (posting 도 다시 정렬)
+            long[] sorted = new long[alive];
+            for (int doc = 0; doc < alive; doc++) sorted[doc] = ids[doc] << 1 | (flags[doc] & SECRET) >> 1;
+            Arrays.sort(sorted);
+            LongIntMap position = new LongIntMap();
+            for (int doc = 0; doc < alive; doc++) position.put(sorted[doc] >>> 1, doc);
+            for (int doc = 0; doc < renumber.length; doc++) {
+                if (renumber[doc] >= 0) renumber[doc] = position.get(ids[renumber[doc]]);
+            }
+            for (int doc = 0; doc < alive; doc++) {
+                ids[doc] = sorted[doc] >>> 1;
+                flags[doc] = (byte) (ALIVE | ((sorted[doc] & 1) != 0 ? SECRET : 0));
+            }
+        }
+        for (int p = 0; p < postingCount; p++) {
+            int[] list = postings[p];
+            int n = 0;
+            for (int i = 0; i < postingSizes[p]; i++) {
+                int doc = renumber[list[i]];
+                if (doc >= 0) list[n++] = doc;
+            }
+            postings[p] = Arrays.copyOf(list, n);
+            if (reorder) Arrays.sort(postings[p]);
+            postingSizes[p] = n;
+        }
+        LongIntMap rebuilt = new LongIntMap();
+        for (int doc = 0; doc < alive; doc++) rebuilt.put(ids[doc], doc);
+        docOf = rebuilt;
+        docCount = alive;
+        deadCount = 0;
+        displacedCount = 0;
+    }
+
+    // 대략적인 메모리 사용량 (posting + 문서 표 + 해시 표)
+    public long memoryBytes() {
+        long bytes = ids.length * 9L + docOf.memoryBytes() + postingOf.memoryBytes() + postings.length * 12L;
+        for (int p = 0; p < postingCount; p++) bytes += 16 + postings[p].length * 4L;
+        return bytes;
+    }
+
+    private void append(long key, int doc) {
+        int p = postingOf.get(key);
+        if (p < 0) {
+            p = postingCount++;
+            if (p == postings.length) {
+                postings = Arrays.copyOf(postings, p * 2);
+                postingSizes = Arrays.copyOf(postingSizes, p * 2);
+            }
+            postings[p] = new int[2];
+            postingOf.put(key, p);
+        }
+        int size = postingSizes[p];
+        if (size == postings[p].length) postings[p] = Arrays.copyOf(postings[p], Math.max(2, size * 2));
+        postings[p][size] = doc;
+        postingSizes[p] = size + 1;
+    }
+
+    // keys 를 모두 가진 문서를 id 내림차순으로 out 에 추가 (leapfrog 교집합)
+    // 밀리지 않은 문서가 남은 자리만큼 모이면 그 앞 문서는 모두 id 가 더 작으므로 거기서 멈춤
+    private void collect(long[] keys, boolean publicOnly, Collector out) {
+        if (keys == null || keys.length == 0 || out.full()) return;
+        int[] slots = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            slots[i] = postingOf.get(keys[i]);
+            if (slots[i] < 0 || postingSizes[slots[i]] == 0) return;
+        }
+        // 짧은 posting 을 앞에 두면 건너뛰는 폭이 커짐
+        Integer[] order = new Integer[slots.length];
+        for (int i = 0; i < order.length; i++) order[i] = slots[i];
+        Arrays.sort(order, (a, b) -> Integer.compare(postingSizes[a], postingSizes[b]));
+
+        int k = order.length;
+        int[][] lists = new int[k][];
+        int[] pos = new int[k];
+        for (int j = 0; j < k; j++) {
+            lists[j] = postings[order[j]];
+            pos[j] = postingSizes[order[j]] - 1;
+        }
+
+        int needed = out.remaining();
+        int inOrder = 0;
+        List<Integer> hits = new ArrayList<>();
+        int target = Integer.MAX_VALUE;
+        outer:
+        while (inOrder < needed && target >= 0) {
+            for (int j = 0; j < k; j++) {
+                int p = floor(lists[j], pos[j], target);
+                if (p < 0) break outer;
+                pos[j] = p;
+                if (lists[j][p] != target) {
+                    target = lists[j][p];
+                    continue outer;
+                }
+            }
+            byte f = flags[target];
+            if ((f & ALIVE) != 0 && !(publicOnly && (f & SECRET) != 0) && !out.has(target)) {
+                hits.add(target);
+                if ((f & DISPLACED) == 0) inOrder++;
+            }
+            target--;
+        }
+        if (hits.size() > inOrder) hits.sort((a, b) -> Long.compare(ids[b], ids[a]));
+        for (int i = 0; i < hits.size() && !out.full(); i++) out.add(hits.get(i), ids[hits.get(i)]);
+    }
+
+    // list[0..hi] 에서 value 이하인 마지막 위치 (없으면 -1)
+    private static int floor(int[] list, int hi, int value) {
+        if (list[hi] <= value) return hi;
+        int lo = 0;
+        hi--;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (list[mid] <= value) lo = mid + 1;
+            else hi = mid - 1;
+        }
+        return hi;
+    }
+
+    private static void addTokenKeys(KeyBuffer keys, int field, String token) {
+        for (int n = 1; n <= MAX_GRAM; n++) addGrams(keys, field, token, n);
+        for (int n = 1; n <= Math.min(MAX_GRAM, token.length()); n++) {
+            keys.add(key(field, PREFIX, token, 0, n));
+            if (isHangul(token.charAt(n - 1))) keys.add(key(field, OPEN_PREFIX, openLast(token.substring(0, n)), 0, n));
+        }
+    }
+
+    private static void addGrams(KeyBuffer keys, int field, String token, int n) {
+        for (int i = 0; i + n <= token.length(); i++) keys.add(key(field, GRAM, token, i, n));
+    }
+
+    // 검색어 토큰들이 field 에 모두 들어 있는지 볼 gram 들 (소개는 2-gram 만 있어서 1글자 토큰이 있으면 null)
+    private static long[] queryGrams(int field, List<String> tokens) {
+        KeyBuffer keys = new KeyBuffer();
+        for (String token : tokens) {
+            int length = token.length();
+            int n = (field == DESCRIPTION) ? 2 : Math.min(MAX_GRAM, length);
+            if (length < n) return null;
+            addGrams(keys, field, token, n);
+        }
+        return keys.sortedUnique();
+    }
+
+    private static long prefixKey(int field, int kind, String token) {
+        return key(field, kind, token, 0, Math.min(MAX_GRAM, token.length()));
+    }
+
+    // 입력 중인 마지막 토큰 (받침 없는 한글로 끝나면 받침이 더 붙을 수 있다고 보고 그 글자가 들어간 gram 대신 OPEN_PREFIX 사용)
+    private static long[] partialKeys(int field, String token) {
+        boolean open = isOpenHangul(token.charAt(token.length() - 1));
+        if (token.length() <= MAX_GRAM) return new long[]{prefixKey(field, open ? OPEN_PREFIX : PREFIX, token)};
+
+        KeyBuffer keys = new KeyBuffer();
+        keys.add(prefixKey(field, PREFIX, token));
+        int usable = open ? token.length() - 1 : token.length();
+        for (int i = 0; i + MAX_GRAM <= usable; i++) keys.add(key(field, GRAM, token, i, MAX_GRAM));
+        return keys.sortedUnique();
+    }
+
+    // gram 키: [필드 4bit][종류 4bit][글자 수 8bit][글자 16bit × 3]
+    private static long key(int field, int kind, String s, int from, int length) {
+        long key = ((long) field << 60) | ((long) kind << 56) | ((long) length << 48);
+        for (int i = 0; i < length; i++) key |= (long) s.charAt(from + i) << (32 - 16 * i);
+        return key;
+    }
+
+    private static boolean isHangul(char c) {
+        return c >= HANGUL_FIRST && c <= HANGUL_LAST;
+    }
+
+    private static boolean isOpenHangul(char c) {
+        return isHangul(c) && (c - HANGUL_FIRST) % 28 == 0;
+    }
+
+    // 마지막 글자(한글)의 받침을 뗌 ("한강" → "한가")
+    private static String openLast(String s) {
+        char c = s.charAt(s.length() - 1);
+        return s.substring(0, s.length() - 1) + (char) (c - (c - HANGUL_FIRST) % 28);
+    }
+
+    static List<String> tokens(String text) {
+        return split(normalize(text));
+    }
+
+    private static String normalize(String text) {
+        if (text == null) return "";
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> split(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) start = i;
+            if (!word && start >= 0) {
+                tokens.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        if (a == null) return null;
+        long[] all = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, all, a.length, b.length);
+        return all;
+    }
+
+    private static long[] concat(long[] a, long b) {
+        return concat(a, new long[]{b});
+    }
+
+    // 단계별로 찾은 결과 (앞 단계에서 이미 나온 그룹은 건너뜀)
+    private static final class Collector {
+        private final int limit;
+        private final long[] ids;
+        private final Set<Integer> docs = new HashSet<>();
+        private int size;
+
+        Collector(int limit) {
+            this.limit = Math.max(0, limit);
+            this.ids = new long[this.limit];
+        }
+
+        boolean full() {
+            return size >= limit;
+        }
+
+        int remaining() {
+            return limit - size;
+        }
+
+        boolean has(int doc) {
+            return docs.contains(doc);
+        }
+
+        void add(int doc, long id) {
+            if (docs.add(doc)) ids[size++] = id;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+
+    private static final class KeyBuffer {
+        private long[] keys = new long[64];
+        private int size;
+
+        void add(long key) {
+            if (size == keys.length) keys = Arrays.copyOf(keys, size * 2);
+            keys[size++] = key;
+        }
+
+        long[] sortedUnique() {
+            long[] sorted = Arrays.copyOf(keys, size);
+            Arrays.sort(sorted);
+            int n = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (n == 0 || sorted[i] != sorted[n - 1]) sorted[n++] = sorted[i];
+            }
+            return Arrays.copyOf(sorted, n);
+        }
+    }
+
+    // long → int 해시 표 (선형 탐사, 키 0 은 빈 칸 표시라 쓰지 않음 - gram 키는 글자 수가, 그룹 id 는 1 부터라 0 이 없음)
+    private static final class LongIntMap {
+        private long[] keys = new long[16];
+        private int[] values = new int[16];
+        private int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+                if (keys[i] == key) return values[i];
+                if (keys[i] == 0) return -1;
+            }
+        }
+
+        void put(long key, int value) {
+            if (key == 0) throw new IllegalArgumentException("0 은 키로 쓸 수 없습니다.");
+            if ((size + 1) * 4L > keys.length * 3L) resize();
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != 0 && keys[i] != key) i = (i + 1) & mask;
+            if (keys[i] == 0) size++;
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        // 지운 자리 뒤에 밀려 있던 키들을 당겨서 탐사가 끊기지 않게 함 (backward shift)
+        int remove(long key) {
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != key) {
+                if (keys[i] == 0) return -1;
+                i = (i + 1) & mask;
+            }
+            int value = values[i];
+            for (int j = (i + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+                int home = slot(keys[j], mask);
+                boolean stays = (i <= j) ? (i < home && home <= j) : (i < home || home <= j);
+                if (!stays) {
+                    keys[i] = keys[j];
+                    values[i] = values[j];
+                    i = j;
+                }
+            }
+            keys[i] = 0;
+            size--;
+            return value;
+        }
+
+        long memoryBytes() {
+            return keys.length * 12L;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) put(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
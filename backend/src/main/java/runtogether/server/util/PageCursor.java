@@ -0,0 +1,43 @@
+package runtogether.server.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// 목록 페이지 커서 (앞 페이지 마지막 행의 정렬 키 + id 를 담은 불투명 토큰)
+//
+// 클라이언트는 내용을 해석하지 않고 nextCursor 를 그대로 다음 요청의 cursor 로 넘기기만 합니다.
+//  - "종류|키1|키2..." 를 URL 에 그대로 쓸 수 있는 Base64 (패딩 없음) 로 인코딩
+//  - 종류(정렬 이름)가 다른 커서나 깨진 토큰은 IllegalArgumentException
+public final class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private PageCursor() {
+    }
+
+    public static String encode(String kind, Object... keys) {
+        StringBuilder sb = new StringBuilder(kind);
+        for (Object key : keys) sb.append(SEPARATOR).append(key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // kind 로 만든 커서의 키 keyCount 개
+    public static String[] decode(String token, String kind, int keyCount) {
+        String text;
+        try {
+            text = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+        String[] parts = text.split("\\|", -1);
+        if (parts.length != keyCount + 1 || !parts[0].equals(kind)) throw invalid();
+
+        String[] keys = new String[keyCount];
+        System.arraycopy(parts, 1, keys, 0, keyCount);
+        return keys;
+    }
+
+    public static IllegalArgumentException invalid() {
+        return new IllegalArgumentException("잘못된 cursor 입니다.");
+    }
+}
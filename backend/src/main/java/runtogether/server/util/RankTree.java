@@ -0,0 +1,283 @@
+package runtogether.server.util;
+
+import java.util.Arrays;
+
+// 순위 계산용 정렬 트리 (order-statistic treap)
+//
+// (score, id) 오름차순으로 정렬해 두고 노드마다 서브트리 크기를 들고 있어서
+//  - 추가 / 삭제 / "나보다 앞선 개수(rank)" / "k 번째 항목" 이 모두 O(log n)
+//  - 노드를 객체 대신 배열 인덱스로 관리 → 10만 건이어도 객체 10만 개를 만들지 않음
+// 같은 score 는 id 가 작은 쪽이 앞 (먼저 저장된 기록이 동점 우선)
+// thread-safe 하지 않으므로 바깥에서 락을 잡고 사용해야 합니다.
+public class RankTree {
+
+    private static final int NIL = 0; // 0번 칸은 빈 노드 (size 0)
+
+    private int[] scores;
+    private long[] ids;
+    private int[] left;
+    private int[] right;
+    private int[] sizes;
+    private int[] priorities;
+
+    private int root = NIL;
+    private int used = 1;      // 한 번이라도 쓴 칸 수 (0번 포함)
+    private int freeHead = NIL; // 삭제된 칸 재사용 목록 (right 로 연결)
+    private int seed = 0x2545F491;
+
+    // split 결과를 돌려받는 칸 (재귀에서 배열/객체를 만들지 않기 위함)
+    private int splitLeft;
+    private int splitRight;
+
+    public RankTree() {
+        this(16);
+    }
+
+    public RankTree(int capacity) {
+        int cap = Math.max(capacity, 4) + 1;
+        scores = new int[cap];
+        ids = new long[cap];
+        left = new int[cap];
+        right = new int[cap];
+        sizes = new int[cap];
+        priorities = new int[cap];
+    }
+
+    public int size() {
+        return sizes[root];
+    }
+
+    public boolean isEmpty() {
+        return root == NIL;
+    }
+
+    public void clear() {
+        root = NIL;
+        used = 1;
+        freeHead = NIL;
+    }
+
+    // 같은 (score, id) 가 이미 있으면 false
+    public boolean insert(int score, long id) {
+        if (contains(score, id)) return false;
+        int node = allocate(score, id);
+        root = insert(root, node);
+        return true;
+    }
+
+    public boolean remove(int score, long id) {
+        if (!contains(score, id)) return false;
+        root = remove(root, score, id);
+        return true;
+    }
+
+    public boolean contains(int score, long id) {
+        int t = root;
+        while (t != NIL) {
+            int c = compare(score, id, t);
+            if (c == 0) return true;
+            t = (c < 0) ? left[t] : right[t];
+        }
+        return false;
+    }
+
+    // (score, id) 보다 앞에 있는 항목 수 = 0부터 시작하는 순위
+    public int rank(int score, long id) {
+        int r = 0;
+        int t = root;
+        while (t != NIL) {
+            if (compare(score, id, t) > 0) {
+                r += sizes[left[t]] + 1;
+                t = right[t];
+            } else {
+                t = left[t];
+            }
+        }
+        return r;
+    }
+
+    // score 보다 작은 항목 수 (id 와 무관하게 "나보다 빠른 기록 수")
+    public int countLessThan(int score) {
+        return rank(score, Long.MIN_VALUE);
+    }
+
+    public int scoreAt(int index) {
+        return scores[select(index)];
+    }
+
+    public long idAt(int index) {
+        return ids[select(index)];
+    }
+
+    // from 번째부터 to 번째(제외)까지 순서대로 방문 (in-order 순회, 재귀/할당 없음)
+    public void forEach(int from, int to, Visitor visitor) {
+        to = Math.min(to, size());
+        if (from >= to) return;
+
+        int[] stack = new int[64];
+        int depth = 0;
+        int t = root;
+        int skip = from;
+        // from 번째 노드까지 내려가면서 왼쪽으로 꺾은 조상만 스택에 쌓음
+        while (t != NIL) {
+            int leftSize = sizes[left[t]];
+            if (skip < leftSize) {
+                if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+                stack[depth++] = t;
+                t = left[t];
+            } else if (skip == leftSize) {
+                if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+                stack[depth++] = t;
+                break;
+            } else {
+                skip -= leftSize + 1;
+                t = right[t];
+            }
+        }
+
+        for (int index = from; index < to && depth > 0; index++) {
+            int node = stack[--depth];
+            visitor.visit(index, scores[node], ids[node]);
+            for (int c = right[node]; c != NIL; c = left[c]) {
+                if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+                stack[depth++] = c;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(int index, int score, long id);
+    }
+
+    private int select(int index) {
+        if (index < 0 || index >= size()) throw new IndexOutOfBoundsException("index: " + index + ", size: " + size());
+        int t = root;
+        while (true) {
+            int leftSize = sizes[left[t]];
+            if (index < leftSize) {
+                t = left[t];
+            } else if (index == leftSize) {
+                return t;
+            } else {
+                index -= leftSize + 1;
+                t = right[t];
+            }
+        }
+    }
+
+    private int insert(int t, int node) {
+        if (t == NIL) return node;
+        if (priorities[node] > priorities[t]) {
+            split(t, scores[node], ids[node]);
+            left[node] = splitLeft;
+            right[node] = splitRight;
+            update(node);
+            return node;
+        }
+        if (compare(scores[node], ids[node], t) < 0) left[t] = insert(left[t], node);
+        else right[t] = insert(right[t], node);
+        update(t);
+        return t;
+    }
+
+    private int remove(int t, int score, long id) {
+        int c = compare(score, id, t);
+        if (c == 0) {
+            int merged = merge(left[t], right[t]);
+            release(t);
+            return merged;
+        }
+        if (c < 0) left[t] = remove(left[t], score, id);
+        else right[t] = remove(right[t], score, id);
+        update(t);
+        return t;
+    }
+
+    // t 를 (score, id) 보다 작은 쪽(splitLeft) / 크거나 같은 쪽(splitRight) 으로 나눔
+    private void split(int t, int score, long id) {
+        if (t == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+            return;
+        }
+        if (compare(score, id, t) > 0) {
+            split(right[t], score, id);
+            right[t] = splitLeft;
+            update(t);
+            splitLeft = t;
+        } else {
+            split(left[t], score, id);
+            left[t] = splitRight;
+            update(t);
+            splitRight = t;
+        }
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) return b;
+        if (b == NIL) return a;
+        if (priorities[a] > priorities[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private void update(int t) {
+        sizes[t] = sizes[left[t]] + sizes[right[t]] + 1;
+    }
+
+    private int compare(int score, long id, int node) {
+        int c = Integer.compare(score, scores[node]);
+        return (c != 0) ? c : Long.compare(id, ids[node]);
+    }
+
+    private int allocate(int score, long id) {
+        int node;
+        if (freeHead != NIL) {
+            node = freeHead;
+            freeHead = right[node];
+        } else {
+            if (used == scores.length) grow();
+            node = used++;
+        }
+        scores[node] = score;
+        ids[node] = id;
+        left[node] = NIL;
+        right[node] = NIL;
+        sizes[node] = 1;
+        priorities[node] = nextPriority();
+        return node;
+    }
+
+    private void release(int node) {
+        left[node] = NIL;
+        right[node] = freeHead;
+        sizes[node] = 0;
+        freeHead = node;
+    }
+
+    private void grow() {
+        int cap = scores.length + (scores.length >> 1);
+        scores = Arrays.copyOf(scores, cap);
+        ids = Arrays.copyOf(ids, cap);
+        left = Arrays.copyOf(left, cap);
+        right = Arrays.copyOf(right, cap);
+        sizes = Arrays.copyOf(sizes, cap);
+        priorities = Arrays.copyOf(priorities, cap);
+    }
+
+    // xorshift (노드마다 Random 을 부르지 않음)
+    private int nextPriority() {
+        int x = seed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        seed = x;
+        return x;
+    }
+}
@@ -0,0 +1,135 @@
+package runtogether.server.util;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// 리플레이 프레임 생성기 (모든 러너를 같은 시간축에 맞춰 다시 샘플링)
+//
+// 앱이 50ms 타이머마다 러너별 경로를 직접 뒤지던 것을 서버에서 미리 계산합니다.
+//  - 시간축: 0초부터 가장 늦게 끝난 러너까지 step 초 간격
+//  - 각 프레임 시각의 위치는 경과시간 배열을 이진 탐색해서 앞뒤 두 점 사이를 선형 보간
+//    (출발 전이면 첫 점, 도착 후면 마지막 점에 멈춰 있음)
+//  - 좌표는 SCALE(1e6)을 곱한 정수 → 프레임 행렬이 int 배열이라 가볍게 직렬화됨
+//  - 프레임을 구간(chunk) 단위로 계산하고, 구간 안에서는 러너별로 fork/join 병렬 처리
+//    → 구간 하나가 끝날 때마다 바로 내보낼 수 있어서 전체 계산을 기다리지 않고 재생을 시작할 수 있음
+public class ReplayFrames {
+
+    public static final int SCALE = 1_000_000;
+
+    // 한 작업이 맡을 최소 러너 수 (이보다 적으면 더 쪼개지 않음)
+    private static final int RUNNERS_PER_TASK = 8;
+
+    private final List<RouteTrack> tracks;
+    private final int step;
+    private final int frameCount;
+
+    public ReplayFrames(List<RouteTrack> tracks, int stepSeconds) {
+        this.tracks = tracks;
+        this.step = Math.max(stepSeconds, 1);
+        int end = 0;
+        for (RouteTrack track : tracks) {
+            if (!track.isEmpty()) end = Math.max(end, track.time(track.size() - 1));
+        }
+        this.frameCount = end / step + 1;
+    }
+
+    public int step() {
+        return step;
+    }
+
+    public int frameCount() {
+        return frameCount;
+    }
+
+    public int runnerCount() {
+        return tracks.size();
+    }
+
+    // from 번째 프레임부터 to 번째(제외)까지 계산해서 lat[runner][frame - from], lng[runner][frame - from] 에 채움
+    // 경로가 비어 있는 러너는 건드리지 않음 (hasPath 로 확인)
+    public void compute(int from, int to, ForkJoinPool pool, int[][] lat, int[][] lng) {
+        pool.invoke(new Task(0, tracks.size(), from, to, lat, lng));
+    }
+
+    public boolean hasPath(int runner) {
+        return !tracks.get(runner).isEmpty();
+    }
+
+    // 한 러너의 [from, to) 프레임 위치 (프레임이 시간순이므로 첫 프레임만 이진 탐색하고 나머지는 앞으로만 이동)
+    void sample(RouteTrack track, int from, int to, int[] lat, int[] lng) {
+        if (track.isEmpty()) return;
+        int last = track.size() - 1;
+        int i = floorIndex(track, from * step);
+        for (int f = from; f < to; f++) {
+            int t = f * step;
+            while (i < last && track.time(i + 1) <= t) i++;
+
+            int k = f - from;
+            if (i < 0) {
+                lat[k] = scaled(track.lat(0));
+                lng[k] = scaled(track.lng(0));
+            } else if (i == last) {
+                lat[k] = scaled(track.lat(last));
+                lng[k] = scaled(track.lng(last));
+            } else {
+                int t0 = track.time(i);
+                int t1 = track.time(i + 1);
+                double ratio = (t1 > t0) ? (double) (t - t0) / (t1 - t0) : 1.0;
+                lat[k] = scaled(track.lat(i) + (track.lat(i + 1) - track.lat(i)) * ratio);
+                lng[k] = scaled(track.lng(i) + (track.lng(i + 1) - track.lng(i)) * ratio);
+            }
+        }
+    }
+
+    // time(i) <= t 인 가장 큰 i (첫 점보다 이르면 -1)
+    static int floorIndex(RouteTrack track, int t) {
+        int lo = 0, hi = track.size() - 1, found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (track.time(mid) <= t) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static int scaled(double degrees) {
+        return (int) Math.round(degrees * SCALE);
+    }
+
+    // 러너 범위를 반씩 나눠 병렬 계산
+    private class Task extends RecursiveAction {
+        private final int runnerFrom;
+        private final int runnerTo;
+        private final int from;
+        private final int to;
+        private final int[][] lat;
+        private final int[][] lng;
+
+        Task(int runnerFrom, int runnerTo, int from, int to, int[][] lat, int[][] lng) {
+            this.runnerFrom = runnerFrom;
+            this.runnerTo = runnerTo;
+            this.from = from;
+            this.to = to;
+            this.lat = lat;
+            this.lng = lng;
+        }
+
+        @Override
+        protected void compute() {
+            if (runnerTo - runnerFrom <= RUNNERS_PER_TASK) {
+                for (int r = runnerFrom; r < runnerTo; r++) {
+                    sample(tracks.get(r), from, to, lat[r], lng[r]);
+                }
+                return;
+            }
+            int mid = (runnerFrom + runnerTo) >>> 1;
+            invokeAll(new Task(runnerFrom, mid, from, to, lat, lng),
+                    new Task(mid, runnerTo, from, to, lat, lng));
+        }
+    }
+}
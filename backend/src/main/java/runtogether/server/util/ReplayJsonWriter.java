@@ -0,0 +1,30 @@
+package runtogether.server.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+// 리플레이 러너 한 명 → {"runRecordId":..,"nickname":..,"isMe":..,"path":[{"lat":..,"lng":..,"time":..}, ...]}
+// ReplayDto 와 같은 모양이지만 ReplayDto / PointDto 객체를 만들지 않고 RouteTrack 에서 바로 씀 (스트리밍 응답용)
+public final class ReplayJsonWriter {
+
+    private ReplayJsonWriter() {
+    }
+
+    public static void writeRunner(JsonGenerator g, long recordId, String nickname, boolean isMe, RouteTrack track) throws IOException {
+        g.writeStartObject();
+        g.writeNumberField("runRecordId", recordId);
+        g.writeStringField("nickname", nickname);
+        g.writeBooleanField("isMe", isMe);
+        g.writeArrayFieldStart("path");
+        for (int i = 0; i < track.size(); i++) {
+            g.writeStartObject();
+            g.writeNumberField("lat", track.lat(i));
+            g.writeNumberField("lng", track.lng(i));
+            g.writeNumberField("time", track.time(i));
+            g.writeEndObject();
+        }
+        g.writeEndArray();
+        g.writeEndObject();
+    }
+}
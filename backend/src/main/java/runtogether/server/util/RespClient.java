@@ -0,0 +1,205 @@
+package runtogether.server.util;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// 최소한의 Redis 클라이언트 (RESP2 프로토콜, 동기 호출 + 파이프라인)
+//
+// 순위표에 쓰는 명령 몇 개(ZADD / ZRANK / ZRANGE ...)만 필요해서 라이브러리 없이 직접 구현했습니다.
+//  - 연결은 poolSize 개까지만 열고 재사용 (모두 쓰는 중이면 timeoutMillis 까지 기다렸다가 실패, 트래픽이 몰려도 소켓이 늘지 않음)
+//  - 응답 타입: +OK → String, :1 → Long, $ → String(없으면 null), * → List<Object>
+//  - Redis 가 돌려준 오류(-ERR ...)는 IllegalStateException, 연결 오류면 그 연결은 버림
+public class RespClient implements Closeable {
+
+    private final String host;
+    private final int port;
+    private final int timeoutMillis;
+    private final BlockingQueue<Connection> idle;
+    // 빌려 갈 수 있는 연결 수 (쉬는 연결 + 아직 안 연 자리)
+    private final Semaphore permits;
+
+    public RespClient(String host, int port, int poolSize, int timeoutMillis) {
+        this.host = host;
+        this.port = port;
+        this.timeoutMillis = timeoutMillis;
+        this.idle = new ArrayBlockingQueue<>(Math.max(poolSize, 1));
+        this.permits = new Semaphore(Math.max(poolSize, 1));
+    }
+
+    public Object call(String... command) {
+        return pipeline(List.<String[]>of(command)).get(0);
+    }
+
+    // 여러 명령을 한 번에 보내고 응답을 순서대로 받음 (왕복 한 번)
+    public List<Object> pipeline(List<String[]> commands) {
+        Connection connection = borrow();
+        boolean reusable = false;
+        try {
+            for (String[] command : commands) connection.write(command);
+            connection.out.flush();
+
+            List<Object> replies = new ArrayList<>(commands.size());
+            RuntimeException error = null;
+            for (int i = 0; i < commands.size(); i++) {
+                try {
+                    replies.add(connection.read());
+                } catch (ReplyException e) {
+                    if (error == null) error = new IllegalStateException("Redis 오류: " + e.getMessage());
+                    replies.add(null);
+                }
+            }
+            reusable = true;
+            if (error != null) throw error;
+            return replies;
+        } catch (IOException e) {
+            throw new IllegalStateException("Redis 연결 실패: " + host + ":" + port, e);
+        } finally {
+            if (reusable) release(connection);
+            else discard(connection);
+        }
+    }
+
+    @Override
+    public void close() {
+        Connection connection;
+        while ((connection = idle.poll()) != null) connection.closeQuietly();
+    }
+
+    private Connection borrow() {
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Redis 연결 대기 시간 초과: " + host + ":" + port);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Redis 연결 대기 중 인터럽트", e);
+        }
+        Connection connection = idle.poll();
+        if (connection != null) return connection;
+        try {
+            Socket socket = new Socket();
+            socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+            socket.setSoTimeout(timeoutMillis);
+            socket.setTcpNoDelay(true);
+            return new Connection(socket);
+        } catch (IOException e) {
+            permits.release();
+            throw new IllegalStateException("Redis 연결 실패: " + host + ":" + port, e);
+        }
+    }
+
+    private void release(Connection connection) {
+        if (!idle.offer(connection)) connection.closeQuietly();
+        permits.release();
+    }
+
+    // 오류 난 연결은 닫고 자리만 돌려줌 (다음에 빌려 가는 쪽이 새로 엶)
+    private void discard(Connection connection) {
+        connection.closeQuietly();
+        permits.release();
+    }
+
+    // Redis 가 돌려준 오류 응답 (연결은 계속 사용 가능)
+    private static class ReplyException extends Exception {
+        ReplyException(String message) {
+            super(message);
+        }
+    }
+
+    private static class Connection {
+        private final Socket socket;
+        private final BufferedInputStream in;
+        private final BufferedOutputStream out;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new BufferedInputStream(socket.getInputStream(), 8192);
+            this.out = new BufferedOutputStream(socket.getOutputStream(), 8192);
+        }
+
+        // *N\r\n 다음 인자마다 $길이\r\n값\r\n
+        void write(String[] command) throws IOException {
+            writeLine('*', command.length);
+            for (String arg : command) {
+                byte[] bytes = arg.getBytes(StandardCharsets.UTF_8);
+                writeLine('$', bytes.length);
+                out.write(bytes);
+                out.write('\r');
+                out.write('\n');
+            }
+        }
+
+        private void writeLine(char type, int n) throws IOException {
+            out.write(type);
+            out.write(Integer.toString(n).getBytes(StandardCharsets.US_ASCII));
+            out.write('\r');
+            out.write('\n');
+        }
+
+        Object read() throws IOException, ReplyException {
+            int type = in.read();
+            if (type < 0) throw new EOFException("Redis 연결이 끊겼습니다.");
+            String line = readLine();
+            switch (type) {
+                case '+':
+                    return line;
+                case '-':
+                    throw new ReplyException(line);
+                case ':':
+                    return Long.parseLong(line);
+                case '$': {
+                    int length = Integer.parseInt(line);
+                    if (length < 0) return null;
+                    byte[] bytes = in.readNBytes(length);
+                    if (bytes.length < length) throw new EOFException("Redis 연결이 끊겼습니다.");
+                    readLine(); // \r\n
+                    return new String(bytes, StandardCharsets.UTF_8);
+                }
+                case '*': {
+                    int count = Integer.parseInt(line);
+                    if (count < 0) return null;
+                    List<Object> items = new ArrayList<>(count);
+                    ReplyException error = null;
+                    for (int i = 0; i < count; i++) {
+                        try {
+                            items.add(read());
+                        } catch (ReplyException e) {
+                            if (error == null) error = e; // 나머지 항목까지 읽어야 다음 응답이 밀리지 않음
+                            items.add(null);
+                        }
+                    }
+                    if (error != null) throw error;
+                    return items;
+                }
+                default:
+                    throw new IOException("알 수 없는 Redis 응답: " + (char) type);
+            }
+        }
+
+        private String readLine() throws IOException {
+            StringBuilder sb = new StringBuilder();
+            int c;
+            while ((c = in.read()) != '\r') {
+                if (c < 0) throw new EOFException("Redis 연결이 끊겼습니다.");
+                sb.append((char) c);
+            }
+            if (in.read() != '\n') throw new IOException("잘못된 Redis 응답");
+            return sb.toString();
+        }
+
+        void closeQuietly() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package runtogether.server.util;
+
+import java.util.Arrays;
+
+// GPS 경로 <-> 압축 바이너리(BLOB) 변환기
+//
+// [포맷]
+//  - 1바이트 버전 헤더
+//  - 그 뒤로 블록이 1개 이상 이어짐. 블록 = 점 개수(varint) + 점마다 (위도, 경도, 시간) 델타
+//  - 위도/경도는 소수점 6자리 고정소수점(약 11cm 정밀도), 시간은 초 단위 정수
+//  - 델타는 zig-zag 변환 후 varint 로 기록 → 1초 간격 러닝 기록이면 점 하나에 보통 3~4바이트
+//  - 블록마다 첫 점은 0 기준 델타(=절대값)라서, 블록을 뒤에 이어 붙이기만 해도 올바른 경로가 됩니다.
+public final class RouteCodec {
+
+    public static final byte FORMAT_VERSION = 1;
+    private static final double SCALE = 1_000_000.0;
+
+    private RouteCodec() {
+    }
+
+    // 경로 전체를 헤더 + 블록 1개로 인코딩
+    public static byte[] encode(RouteTrack track) {
+        Writer w = new Writer(16 + track.size() * 4);
+        w.writeByte(FORMAT_VERSION);
+        writeBlock(w, track);
+        return w.toByteArray();
+    }
+
+    // 헤더 없이 블록 하나만 인코딩 (이미 저장된 경로 BLOB 뒤에 그대로 이어 붙이는 용도)
+    public static byte[] encodeBlock(RouteTrack track) {
+        Writer w = new Writer(8 + track.size() * 4);
+        writeBlock(w, track);
+        return w.toByteArray();
+    }
+
+    // 점이 하나도 없는 경로 (헤더만 있음) - 여기에 encodeBlock 결과를 계속 이어 붙일 수 있음
+    public static byte[] emptyRoute() {
+        return new byte[]{FORMAT_VERSION};
+    }
+
+    public static RouteTrack decode(byte[] data) {
+        if (data == null || data.length == 0) return new RouteTrack(4);
+        if (data[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 경로 데이터 버전입니다: " + data[0]);
+        }
+
+        Reader r = new Reader(data, 1);
+        // 대부분의 경로는 블록이 1개라서 첫 블록 크기로 용량을 잡으면 재할당이 거의 없습니다.
+        RouteTrack track = null;
+        while (r.hasRemaining()) {
+            int count = r.readVarInt();
+            // 점 하나는 최소 3바이트 → 남은 바이트로 담을 수 없는 개수면 손상 (용량을 잡기 전에 확인해서 거대한 배열 할당을 막음)
+            if (count < 0 || count > r.remaining() / 3) throw new IllegalArgumentException("손상된 경로 데이터입니다.");
+            if (track == null) track = new RouteTrack(count);
+
+            int lat = 0, lng = 0, time = 0;
+            for (int i = 0; i < count; i++) {
+                lat += zigZagDecode(r.readVarInt());
+                lng += zigZagDecode(r.readVarInt());
+                time += zigZagDecode(r.readVarInt());
+                track.add(lat / SCALE, lng / SCALE, time);
+            }
+        }
+        return (track != null) ? track : new RouteTrack(4);
+    }
+
+    private static void writeBlock(Writer w, RouteTrack track) {
+        int n = track.size();
+        w.writeVarInt(n);
+
+        int prevLat = 0, prevLng = 0, prevTime = 0;
+        for (int i = 0; i < n; i++) {
+            int lat = toFixed(track.lat(i));
+            int lng = toFixed(track.lng(i));
+            int time = track.time(i);
+            w.writeVarInt(zigZagEncode(lat - prevLat));
+            w.writeVarInt(zigZagEncode(lng - prevLng));
+            w.writeVarInt(zigZagEncode(time - prevTime));
+            prevLat = lat;
+            prevLng = lng;
+            prevTime = time;
+        }
+    }
+
+    private static int toFixed(double degree) {
+        return (int) Math.round(degree * SCALE);
+    }
+
+    private static int zigZagEncode(int v) {
+        return (v << 1) ^ (v >> 31);
+    }
+
+    private static int zigZagDecode(int v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    // 길이를 미리 알 수 없는 바이트 출력용 (ByteArrayOutputStream 의 동기화 오버헤드 회피)
+    private static final class Writer {
+        private byte[] buf;
+        private int pos;
+
+        Writer(int capacity) {
+            this.buf = new byte[capacity];
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        void writeVarInt(int v) {
+            ensure(5);
+            while ((v & ~0x7F) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        private void ensure(int extra) {
+            if (pos + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + extra));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        boolean hasRemaining() {
+            return pos < buf.length;
+        }
+
+        int remaining() {
+            return buf.length - pos;
+        }
+
+        int readVarInt() {
+            int result = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                if (pos >= buf.length) throw new IllegalArgumentException("손상된 경로 데이터입니다.");
+                byte b = buf[pos++];
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return result;
+            }
+            throw new IllegalArgumentException("손상된 경로 데이터입니다.");
+        }
+    }
+}
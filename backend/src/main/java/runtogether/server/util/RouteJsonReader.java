@@ -0,0 +1,198 @@
+package runtogether.server.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+// 프론트가 보내는 routeData / sectionJson 을 Jackson 스트리밍 파서로 바로 원시 배열에 읽어 들이는 디코더
+//
+// ObjectMapper 로 List<Map<String, Object>> 를 만든 뒤 String.valueOf -> Double.parseDouble 하던 방식은
+// 좌표 하나마다 LinkedHashMap, Double 박싱, 문자열이 여러 개씩 생겼습니다.
+// 여기서는 토큰을 하나씩 읽어서 RouteTrack / LapSplits 배열에 곧바로 채웁니다.
+//
+// 예전 포맷과의 호환(관대한 파싱):
+//  - 숫자가 "37.55" 처럼 문자열로 와도 읽음
+//  - time 이 없으면 0, 모르는 필드는 무시
+//  - 페이스는 "6'41''", "6'41\"" 같은 문자열 또는 6.41 같은 숫자 둘 다 허용
+public final class RouteJsonReader {
+
+    // JsonFactory 는 thread-safe 하고 생성 비용이 크므로 하나만 만들어 공유
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    // 좌표 하나가 JSON 에서 대략 차지하는 글자 수 (배열 초기 용량 추정용)
+    private static final int APPROX_CHARS_PER_POINT = 40;
+
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private RouteJsonReader() {
+    }
+
+    // [{"lat":37.55,"lng":126.98,"time":12}, ...] -> RouteTrack
+    public static RouteTrack readRoute(String json) throws IOException {
+        RouteTrack track = new RouteTrack(json.length() / APPROX_CHARS_PER_POINT + 1);
+
+        // String 을 그대로 넘기면 파서가 전체를 char[] 로 한 번 더 복사하므로 Reader 로 조금씩 읽게 합니다.
+        try (JsonParser p = FACTORY.createParser(new StringReader(json))) {
+            expectArray(p);
+            for (JsonToken t = p.nextToken(); t != JsonToken.END_ARRAY; t = p.nextToken()) {
+                if (t == null) throw new IllegalArgumentException("경로 데이터가 중간에 끊겼습니다.");
+                if (t != JsonToken.START_OBJECT) {
+                    p.skipChildren();
+                    continue;
+                }
+
+                double lat = Double.NaN, lng = Double.NaN, time = 0;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName(); // 필드명은 파서가 intern 해서 재사용 (할당 없음)
+                    JsonToken value = p.nextToken();
+                    switch (field) {
+                        case "lat" -> lat = readDouble(p, value);
+                        case "lng" -> lng = readDouble(p, value);
+                        case "time" -> time = readDouble(p, value);
+                        default -> p.skipChildren();
+                    }
+                }
+
+                if (!Double.isNaN(lat) && !Double.isNaN(lng)) {
+                    track.add(lat, lng, Double.isNaN(time) ? 0 : (int) time);
+                }
+            }
+        }
+        return track;
+    }
+
+    // [{"km":1,"pace":"6'41''"}, ...] -> LapSplits (pace 6.41, time 401초)
+    public static LapSplits readLaps(String json) throws IOException {
+        LapSplits laps = new LapSplits();
+
+        try (JsonParser p = FACTORY.createParser(new StringReader(json))) {
+            expectArray(p);
+            for (JsonToken t = p.nextToken(); t != JsonToken.END_ARRAY; t = p.nextToken()) {
+                if (t == null) throw new IllegalArgumentException("구간 기록 데이터가 중간에 끊겼습니다.");
+                if (t != JsonToken.START_OBJECT) {
+                    p.skipChildren();
+                    continue;
+                }
+
+                double km = Double.NaN;
+                int paceSeconds = 0;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    JsonToken value = p.nextToken();
+                    switch (field) {
+                        case "km" -> km = readDouble(p, value);
+                        case "pace" -> paceSeconds = readPaceSeconds(p, value);
+                        default -> p.skipChildren();
+                    }
+                }
+
+                if (Double.isNaN(km)) continue; // km 이 없는 항목은 저장할 수 없음
+                int min = paceSeconds / 60;
+                int sec = paceSeconds % 60;
+                laps.add((int) km, min + (sec / 100.0), paceSeconds);
+            }
+        }
+        return laps;
+    }
+
+    // "6'41''" / "6'41\"" 형식의 페이스 문자를 초로 변환 (형식이 아니면 -1)
+    public static int parsePaceSeconds(char[] buf, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        int min = 0, sec = 0, digits = 0;
+
+        while (i < end && buf[i] == ' ') i++;
+        for (; i < end && buf[i] >= '0' && buf[i] <= '9'; i++, digits++) min = min * 10 + (buf[i] - '0');
+        if (digits == 0 || i >= end || buf[i] != '\'') return -1;
+        i++;
+
+        digits = 0;
+        for (; i < end && buf[i] >= '0' && buf[i] <= '9'; i++, digits++) sec = sec * 10 + (buf[i] - '0');
+        if (digits == 0) return -1;
+        return min * 60 + sec;
+    }
+
+    // 유효숫자 15자리 이하 + 지수 없는 10진수(GPS 좌표는 전부 여기 해당)를 문자열 생성 없이 변환
+    // 정수 가수와 10^k 가 모두 double 로 정확히 표현되므로 나눗셈 한 번의 결과가 정확히 반올림된 값입니다.
+    // 이 조건을 벗어나면 NaN 을 돌려주고 호출 쪽에서 Jackson 기본 변환을 사용합니다.
+    static double parseShortDecimal(char[] buf, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && buf[i] == '-') {
+            negative = true;
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0, fractionDigits = 0;
+        boolean inFraction = false;
+        for (; i < end; i++) {
+            char c = buf[i];
+            if (c >= '0' && c <= '9') {
+                if (++digits > 15) return Double.NaN;
+                mantissa = mantissa * 10 + (c - '0');
+                if (inFraction) fractionDigits++;
+            } else if (c == '.' && !inFraction) {
+                inFraction = true;
+            } else {
+                return Double.NaN; // 지수 표기(1e-5) 등
+            }
+        }
+        if (digits == 0) return Double.NaN;
+
+        double v = (fractionDigits == 0) ? mantissa : mantissa / POW10[fractionDigits];
+        return negative ? -v : v;
+    }
+
+    private static void expectArray(JsonParser p) throws IOException {
+        if (p.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("JSON 배열 형식이 아닙니다.");
+        }
+    }
+
+    private static double readDouble(JsonParser p, JsonToken value) throws IOException {
+        switch (value) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> {
+                double v = parseShortDecimal(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+                return Double.isNaN(v) ? p.getDoubleValue() : v;
+            }
+            case VALUE_STRING -> {
+                try {
+                    return Double.parseDouble(p.getText().trim());
+                } catch (NumberFormatException e) {
+                    return Double.NaN;
+                }
+            }
+            default -> {
+                p.skipChildren();
+                return Double.NaN;
+            }
+        }
+    }
+
+    private static int readPaceSeconds(JsonParser p, JsonToken value) throws IOException {
+        switch (value) {
+            case VALUE_STRING -> {
+                int seconds = parsePaceSeconds(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+                return Math.max(seconds, 0);
+            }
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> {
+                // 6.41 -> 6분 41초
+                double v = p.getDoubleValue();
+                int min = (int) v;
+                int sec = (int) Math.round((v - min) * 100);
+                return (v > 0) ? min * 60 + sec : 0;
+            }
+            default -> {
+                p.skipChildren();
+                return 0;
+            }
+        }
+    }
+}
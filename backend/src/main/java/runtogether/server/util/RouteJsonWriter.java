@@ -0,0 +1,33 @@
+package runtogether.server.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+// RouteTrack -> [{"lat":..,"lng":..}, ...] JSON 문자열 (Course.pathData 와 같은 형식)
+public final class RouteJsonWriter {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private RouteJsonWriter() {
+    }
+
+    public static String writePath(RouteTrack track) {
+        StringWriter out = new StringWriter(track.size() * 40 + 2);
+        try (JsonGenerator g = FACTORY.createGenerator(out)) {
+            g.writeStartArray();
+            for (int i = 0; i < track.size(); i++) {
+                g.writeStartObject();
+                g.writeNumberField("lat", track.lat(i));
+                g.writeNumberField("lng", track.lng(i));
+                g.writeEndObject();
+            }
+            g.writeEndArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("경로 JSON 변환 실패", e);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,129 @@
+package runtogether.server.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import runtogether.server.domain.RouteDetail;
+
+import java.util.Arrays;
+
+// 경로 단순화 (Douglas–Peucker)
+//
+// 1초마다 찍힌 GPS 좌표를 휴대폰 지도에 전부 그릴 필요는 없어서, 저장할 때 허용 오차(미터)별로
+// 점을 솎아낸 버전을 같이 만들어 둡니다. 직선 구간은 양 끝점만 남고 꺾이는 지점만 유지됩니다.
+//  - MEDIUM: runtogether.route.simplify.medium-meters (기본 4m)
+//  - LOW   : runtogether.route.simplify.low-meters (기본 15m)
+@Component
+public class RouteSimplifier {
+
+    private static final double METERS_PER_DEGREE_LAT = 110_540.0;
+    private static final double METERS_PER_DEGREE_LNG = 111_320.0;
+
+    private final double mediumToleranceMeters;
+    private final double lowToleranceMeters;
+
+    public RouteSimplifier(@Value("${runtogether.route.simplify.medium-meters:4}") double mediumToleranceMeters,
+                           @Value("${runtogether.route.simplify.low-meters:15}") double lowToleranceMeters) {
+        this.mediumToleranceMeters = mediumToleranceMeters;
+        this.lowToleranceMeters = lowToleranceMeters;
+    }
+
+    public RouteTrack simplify(RouteTrack track, RouteDetail detail) {
+        return switch (detail) {
+            case LOW -> simplify(track, lowToleranceMeters);
+            case MEDIUM -> simplify(track, mediumToleranceMeters);
+            case FULL -> track;
+        };
+    }
+
+    // 이 허용 오차(미터)로 다시 단순화할 때 출발점으로 써도 되는 가장 거친 저장 상세도
+    // (저장된 오차가 요청 오차보다 작으면 결과 모양이 같고, 점이 적어서 훨씬 빠름)
+    public RouteDetail coarsestFor(double toleranceMeters) {
+        if (toleranceMeters >= lowToleranceMeters) return RouteDetail.LOW;
+        if (toleranceMeters >= mediumToleranceMeters) return RouteDetail.MEDIUM;
+        return RouteDetail.FULL;
+    }
+
+    // Course.pathData 같은 JSON 경로를 단순화해서 다시 JSON 으로
+    // 형식이 잘못됐거나 읽을 수 있는 점이 하나도 없으면(다른 키 이름 등) null → "[]" 를 저장하지 않고 원본 경로로 대체되게 함
+    public String simplifyJson(String pathJson, RouteDetail detail) {
+        if (pathJson == null || pathJson.isEmpty()) return null;
+        try {
+            RouteTrack track = RouteJsonReader.readRoute(pathJson);
+            if (track.isEmpty()) return null;
+            return RouteJsonWriter.writePath(simplify(track, detail));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // 재귀 대신 구간 스택을 써서 긴 경로(수만 개 점)에서도 스택 오버플로 없이 동작
+    public static RouteTrack simplify(RouteTrack track, double toleranceMeters) {
+        int n = track.size();
+        if (n <= 2 || toleranceMeters <= 0) return track;
+
+        // 위경도를 첫 점 기준 평면 좌표(미터)로 근사 (러닝 코스 범위에서는 오차가 무시할 수준)
+        double cosLat = Math.cos(Math.toRadians(track.lat(0)));
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = (track.lng(i) - track.lng(0)) * METERS_PER_DEGREE_LNG * cosLat;
+            y[i] = (track.lat(i) - track.lat(0)) * METERS_PER_DEGREE_LAT;
+        }
+
+        boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+
+        double tolSq = toleranceMeters * toleranceMeters;
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = n - 1;
+
+        while (top > 0) {
+            int end = stack[--top];
+            int start = stack[--top];
+
+            int farthest = -1;
+            double maxDistSq = tolSq;
+            for (int i = start + 1; i < end; i++) {
+                double d = segmentDistanceSq(x[i], y[i], x[start], y[start], x[end], y[end]);
+                if (d > maxDistSq) {
+                    maxDistSq = d;
+                    farthest = i;
+                }
+            }
+
+            if (farthest < 0) continue;
+            keep[farthest] = true;
+            if (top + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+            if (farthest - start > 1) {
+                stack[top++] = start;
+                stack[top++] = farthest;
+            }
+            if (end - farthest > 1) {
+                stack[top++] = farthest;
+                stack[top++] = end;
+            }
+        }
+
+        int kept = 0;
+        for (boolean k : keep) if (k) kept++;
+        RouteTrack result = new RouteTrack(kept);
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) result.add(track.lat(i), track.lng(i), track.time(i));
+        }
+        return result;
+    }
+
+    private static double segmentDistanceSq(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lenSq = dx * dx + dy * dy;
+        double t = (lenSq == 0) ? 0 : ((px - ax) * dx + (py - ay) * dy) / lenSq;
+        t = Math.max(0, Math.min(1, t));
+        double cx = ax + t * dx - px;
+        double cy = ay + t * dy - py;
+        return cx * cx + cy * cy;
+    }
+}
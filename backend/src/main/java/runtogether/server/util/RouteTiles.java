@@ -0,0 +1,173 @@
+package runtogether.server.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 지도 타일(z/x/y, 웹 메르카토르 256px) 계산과 경로 자르기
+//
+// 줌이 낮으면 화면 1px 이 수십~수백 미터라 원본 GPS 점 대부분이 같은 픽셀에 찍힙니다.
+// 그래서 줌마다 "1px 안의 차이는 버리는" 허용 오차로 단순화한 경로(Projected)를 만들어 두고,
+// 타일 요청이 오면 타일 사각형(+약간의 여유)으로 선분을 잘라 그 안에 있는 조각만 내려줍니다.
+//  - 좌표는 0~1 로 정규화한 메르카토르 좌표로 한 번만 변환해 두고 줌마다 2^z 를 곱해서 사용
+//  - 자르기는 선분마다 Liang–Barsky, 타일 경계를 지나간 지점은 경계 위의 점으로 바뀜
+//  - 잘린 조각은 [lat0, lng0, lat1, lng1, ...] 정수 배열 (scale 을 곱한 값)
+public final class RouteTiles {
+
+    public static final int MAX_ZOOM = 22;
+    public static final int TILE_PIXELS = 256;
+
+    private static final double EARTH_CIRCUMFERENCE_METERS = 40_075_016.686;
+    private static final double MAX_LAT = 85.05112878; // 메르카토르로 그릴 수 있는 한계 위도
+
+    private RouteTiles() {
+    }
+
+    public static double mercatorX(double lng) {
+        return (lng + 180.0) / 360.0;
+    }
+
+    public static double mercatorY(double lat) {
+        double sin = Math.sin(Math.toRadians(Math.max(-MAX_LAT, Math.min(MAX_LAT, lat))));
+        return 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+    }
+
+    static double lngOf(double mercatorX) {
+        return mercatorX * 360.0 - 180.0;
+    }
+
+    static double latOf(double mercatorY) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * mercatorY))));
+    }
+
+    // 해당 위도/줌에서 화면 1px 이 나타내는 거리(미터)
+    public static double metersPerPixel(double lat, int zoom) {
+        return EARTH_CIRCUMFERENCE_METERS * Math.cos(Math.toRadians(lat)) / ((double) TILE_PIXELS * (1L << zoom));
+    }
+
+    public static int tileX(double lng, int zoom) {
+        return clampTile((int) Math.floor(mercatorX(lng) * (1L << zoom)), zoom);
+    }
+
+    public static int tileY(double lat, int zoom) {
+        return clampTile((int) Math.floor(mercatorY(lat) * (1L << zoom)), zoom);
+    }
+
+    private static int clampTile(int tile, int zoom) {
+        return Math.max(0, Math.min((int) (1L << zoom) - 1, tile));
+    }
+
+    // 메르카토르 좌표로 바꾼 경로 하나 (+ 전체 범위, 타일과 겹치지 않으면 바로 건너뜀)
+    public static final class Projected {
+        private final double[] x;
+        private final double[] y;
+        private double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE;
+        private double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+
+        public Projected(RouteTrack track) {
+            int n = track.size();
+            x = new double[n];
+            y = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = mercatorX(track.lng(i));
+                y[i] = mercatorY(track.lat(i));
+                minX = Math.min(minX, x[i]);
+                maxX = Math.max(maxX, x[i]);
+                minY = Math.min(minY, y[i]);
+                maxY = Math.max(maxY, y[i]);
+            }
+        }
+
+        public int size() {
+            return x.length;
+        }
+    }
+
+    // 타일 (zoom, tx, ty) 안쪽 + 가장자리 여유(buffer, 타일 크기 대비 비율)에 걸친 조각들
+    public static List<int[]> clip(Projected route, int zoom, int tx, int ty, double buffer, int scale) {
+        List<int[]> pieces = new ArrayList<>();
+        int n = route.size();
+        if (n == 0) return pieces;
+
+        double tiles = (double) (1L << zoom);
+        double minX = (tx - buffer) / tiles, maxX = (tx + 1 + buffer) / tiles;
+        double minY = (ty - buffer) / tiles, maxY = (ty + 1 + buffer) / tiles;
+        if (route.maxX < minX || route.minX > maxX || route.maxY < minY || route.minY > maxY) return pieces;
+
+        if (n == 1) {
+            pieces.add(new int[]{latE(route.y[0], scale), lngE(route.x[0], scale)});
+            return pieces;
+        }
+
+        Piece current = null;
+        boolean open = false; // 앞 선분이 잘리지 않고 끝점까지 타일 안에 있었는지
+        double[] t = new double[2];
+        for (int i = 0; i + 1 < n; i++) {
+            double x0 = route.x[i], y0 = route.y[i];
+            double dx = route.x[i + 1] - x0, dy = route.y[i + 1] - y0;
+            if (!clipSegment(x0, y0, dx, dy, minX, minY, maxX, maxY, t)) {
+                open = false;
+                continue;
+            }
+            if (!open || t[0] > 0) {
+                if (current != null) pieces.add(current.toArray());
+                current = new Piece();
+                current.add(latE(y0 + t[0] * dy, scale), lngE(x0 + t[0] * dx, scale));
+            }
+            current.add(latE(y0 + t[1] * dy, scale), lngE(x0 + t[1] * dx, scale));
+            open = t[1] >= 1;
+        }
+        if (current != null) pieces.add(current.toArray());
+        return pieces;
+    }
+
+    // Liang–Barsky: 선분 (x0,y0)+(dx,dy)·t 중 사각형 안에 있는 t 구간 [t[0], t[1]]
+    private static boolean clipSegment(double x0, double y0, double dx, double dy,
+                                       double minX, double minY, double maxX, double maxY, double[] t) {
+        double t0 = 0, t1 = 1;
+        double[] p = {-dx, dx, -dy, dy};
+        double[] q = {x0 - minX, maxX - x0, y0 - minY, maxY - y0};
+        for (int k = 0; k < 4; k++) {
+            if (p[k] == 0) {
+                if (q[k] < 0) return false;
+                continue;
+            }
+            double r = q[k] / p[k];
+            if (p[k] < 0) {
+                if (r > t1) return false;
+                if (r > t0) t0 = r;
+            } else {
+                if (r < t0) return false;
+                if (r < t1) t1 = r;
+            }
+        }
+        t[0] = t0;
+        t[1] = t1;
+        return true;
+    }
+
+    private static int latE(double mercatorY, int scale) {
+        return (int) Math.round(latOf(mercatorY) * scale);
+    }
+
+    private static int lngE(double mercatorX, int scale) {
+        return (int) Math.round(lngOf(mercatorX) * scale);
+    }
+
+    // 잘린 조각 하나 (정수로 반올림한 뒤 같은 점이 이어지면 하나만 남김)
+    private static final class Piece {
+        private int[] coords = new int[16];
+        private int size;
+
+        void add(int lat, int lng) {
+            if (size >= 2 && coords[size - 2] == lat && coords[size - 1] == lng) return;
+            if (size + 2 > coords.length) coords = Arrays.copyOf(coords, coords.length * 2);
+            coords[size++] = lat;
+            coords[size++] = lng;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(coords, size);
+        }
+    }
+}
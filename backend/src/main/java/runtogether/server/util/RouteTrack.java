@@ -0,0 +1,57 @@
+package runtogether.server.util;
+
+import java.util.Arrays;
+
+// GPS 경로를 위도/경도/경과시간 세 개의 원시 배열(컬럼)로 들고 있는 컨테이너
+// 점 하나마다 객체를 만들지 않기 때문에 수천~수만 개 좌표도 가볍게 다룰 수 있습니다.
+public class RouteTrack {
+
+    private double[] lats;
+    private double[] lngs;
+    private int[] times;
+    private int size;
+
+    public RouteTrack() {
+        this(64);
+    }
+
+    public RouteTrack(int capacity) {
+        int cap = Math.max(capacity, 4);
+        this.lats = new double[cap];
+        this.lngs = new double[cap];
+        this.times = new int[cap];
+    }
+
+    public void add(double lat, double lng, int elapsedSeconds) {
+        if (size == lats.length) {
+            int newCap = lats.length + (lats.length >> 1);
+            lats = Arrays.copyOf(lats, newCap);
+            lngs = Arrays.copyOf(lngs, newCap);
+            times = Arrays.copyOf(times, newCap);
+        }
+        lats[size] = lat;
+        lngs[size] = lng;
+        times[size] = elapsedSeconds;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double lat(int index) {
+        return lats[index];
+    }
+
+    public double lng(int index) {
+        return lngs[index];
+    }
+
+    public int time(int index) {
+        return times[index];
+    }
+}
@@ -0,0 +1,44 @@
+package runtogether.server.util;
+
+// 기록 시간 / 페이스 문자열 <-> 초 변환
+//
+// 화면에는 "56:42", "1:02:03", "6'52\"" 같은 문자열을 그대로 보여주지만,
+// 순위/비교/평균은 RunRecord 의 정수 컬럼(runTimeSeconds, paceSecondsPerKm)으로 계산합니다.
+// 형식이 잘못된 값은 null (정렬·집계에서 빠짐)
+public final class RunTimes {
+
+    private RunTimes() {
+    }
+
+    // "56:42" -> 3402, "1:02:03" -> 3723
+    public static Integer durationSeconds(String runTime) {
+        if (runTime == null || runTime.isBlank()) return null;
+        String[] parts = runTime.trim().split(":");
+        if (parts.length < 2 || parts.length > 3) return null;
+        try {
+            int seconds = 0;
+            for (String part : parts) {
+                int v = Integer.parseInt(part.trim());
+                if (v < 0) return null;
+                seconds = seconds * 60 + v;
+            }
+            return seconds;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // "6'52\"" / "6'52''" -> 412 (0초 페이스는 측정 실패로 보고 null)
+    public static Integer paceSeconds(String pace) {
+        if (pace == null || !pace.contains("'")) return null;
+        try {
+            String[] parts = pace.replace("''", "").replace("\"", "").split("'");
+            int m = Integer.parseInt(parts[0].trim());
+            int s = Integer.parseInt(parts[1].trim());
+            int seconds = m * 60 + s;
+            return (seconds > 0) ? seconds : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
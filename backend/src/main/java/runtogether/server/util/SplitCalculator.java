@@ -0,0 +1,73 @@
+package runtogether.server.util;
+
+// GPS 경로로 1km 구간 기록(랩)을 서버에서 직접 계산
+//
+// 연속한 두 점 사이 거리를 haversine 으로 더해가다가 km 경계를 넘는 구간에서는
+// 두 점 사이를 선형 보간해서 경계를 지난 정확한 시각을 구합니다. (경로를 한 번만 훑고, 점마다 객체를 만들지 않음)
+//
+// 시간 정보가 없는 경로(앱이 lat/lng 만 보내는 경우)는 전체 기록 시간(runTime)에 걸쳐
+// 점이 같은 간격으로 찍혔다고 보고 시각을 추정합니다.
+public final class SplitCalculator {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000.0;
+    private static final double LAP_METERS = 1000.0;
+    // 부동소수 누적 오차로 경계에 딱 맞게 끝나는 구간을 놓치지 않기 위한 여유 (m)
+    private static final double EPSILON_METERS = 1e-6;
+
+    private SplitCalculator() {
+    }
+
+    // 완주한 km 구간만 반환 (마지막 1km 미만 구간은 제외)
+    public static LapSplits computeKmSplits(RouteTrack track, int totalSeconds) {
+        LapSplits laps = new LapSplits();
+        int n = track.size();
+        if (n < 2) return laps;
+
+        boolean hasTime = track.time(n - 1) > track.time(0);
+        if (!hasTime && totalSeconds <= 0) return laps;
+        double uniformStep = hasTime ? 0 : (double) totalSeconds / (n - 1);
+
+        double covered = 0;          // 지금까지 달린 거리 (m)
+        double nextBoundary = LAP_METERS;
+        long prevLapEnd = 0;         // 직전 km 경계 시각 (초, 반올림)
+        double startTime = hasTime ? track.time(0) : 0;
+
+        double prevLat = track.lat(0), prevLng = track.lng(0);
+        double prevCos = Math.cos(Math.toRadians(prevLat)); // 다음 구간 계산에 재사용 (점마다 cos 한 번)
+        double prevT = startTime;
+        for (int i = 1; i < n; i++) {
+            double lat = track.lat(i), lng = track.lng(i);
+            double cos = Math.cos(Math.toRadians(lat));
+            double t = hasTime ? track.time(i) : i * uniformStep;
+            double segment = haversine(prevLat, prevLng, prevCos, lat, lng, cos);
+
+            while (segment > 0 && covered + segment + EPSILON_METERS >= nextBoundary) {
+                double fraction = Math.min(1.0, (nextBoundary - covered) / segment);
+                long lapEnd = Math.round(prevT + fraction * (t - prevT) - startTime);
+                int lapTime = (int) (lapEnd - prevLapEnd);
+                laps.add((int) (nextBoundary / LAP_METERS), (lapTime / 60) + (lapTime % 60) / 100.0, lapTime);
+
+                prevLapEnd = lapEnd;
+                nextBoundary += LAP_METERS;
+            }
+
+            covered += segment;
+            prevLat = lat;
+            prevLng = lng;
+            prevCos = cos;
+            prevT = t;
+        }
+        return laps;
+    }
+
+    public static double haversine(double lat1, double lng1, double lat2, double lng2) {
+        return haversine(lat1, lng1, Math.cos(Math.toRadians(lat1)), lat2, lng2, Math.cos(Math.toRadians(lat2)));
+    }
+
+    private static double haversine(double lat1, double lng1, double cos1, double lat2, double lng2, double cos2) {
+        double sinLat = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+        double sinLng = Math.sin(Math.toRadians(lng2 - lng1) / 2);
+        double a = sinLat * sinLat + cos1 * cos2 * sinLng * sinLng;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
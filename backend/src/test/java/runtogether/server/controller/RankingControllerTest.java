@@ -0,0 +1,153 @@
+package runtogether.server.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import runtogether.server.domain.Course;
+import runtogether.server.domain.RunningGroup;
+import runtogether.server.domain.User;
+import runtogether.server.dto.RecordDto;
+import runtogether.server.repository.CourseRepository;
+import runtogether.server.repository.RunningGroupRepository;
+import runtogether.server.repository.UserRepository;
+import runtogether.server.service.RankingStreamService;
+import runtogether.server.service.RecordService;
+import runtogether.server.service.ResultsVersionService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// 랭킹 조건부 GET: 같은 요청을 ETag 와 함께 다시 보내면 304, 다른 사람/바뀐 결과면 200
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class RankingControllerTest {
+
+	@Autowired MockMvc mockMvc;
+	@Autowired UserRepository userRepository;
+	@Autowired RunningGroupRepository runningGroupRepository;
+	@Autowired ResultsVersionService resultsVersionService;
+	@Autowired RankingStreamService rankingStreamService;
+	@Autowired RecordService recordService;
+	@Autowired CourseRepository courseRepository;
+
+	private String me;
+	private String other;
+	private Long groupId;
+
+	@BeforeEach
+	void setUp() {
+		me = saveUser();
+		other = saveUser();
+		User owner = userRepository.findByEmail(me).orElseThrow();
+		groupId = runningGroupRepository.save(new RunningGroup("조건부 GET", "", false, true, 10, "", owner, null, null)).getId();
+	}
+
+	@Test
+	void secondIdenticalGetReturns304() throws Exception {
+		String url = "/api/v1/groups/" + groupId + "/rankings";
+		MvcResult first = mockMvc.perform(get(url).with(as(me)))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, ResultsCaching.CACHE_CONTROL))
+				.andReturn();
+		List<String> etags = first.getResponse().getHeaders(HttpHeaders.ETAG);
+		assertEquals(1, etags.size());
+		assertTrue(first.getResponse().getHeaders(HttpHeaders.VARY).contains(HttpHeaders.AUTHORIZATION));
+		String etag = etags.get(0);
+
+		mockMvc.perform(get(url).with(as(me)).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, ResultsCaching.CACHE_CONTROL))
+				.andExpect(content().string(""));
+
+		// isMe 가 다르므로 다른 사람은 같은 ETag 로 304 를 받으면 안 됨
+		mockMvc.perform(get(url).with(as(other)).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk());
+
+		// 그룹 결과가 바뀌면 다시 200
+		resultsVersionService.bump(groupId);
+		mockMvc.perform(get(url).with(as(me)).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void sectionRankingsAndBestRecordAlsoRevalidate() throws Exception {
+		for (String url : new String[]{"/api/v1/groups/" + groupId + "/rankings/sections",
+				"/api/v1/groups/" + groupId + "/records/best"}) {
+			String etag = resultsVersionService.etag(groupId, me);
+			mockMvc.perform(get(url).with(as(me)).header(HttpHeaders.IF_NONE_MATCH, etag))
+					.andExpect(status().isNotModified())
+					.andExpect(header().string(HttpHeaders.CACHE_CONTROL, ResultsCaching.CACHE_CONTROL));
+		}
+	}
+
+	// user-010 때의 limit 파라미터는 top 의 별칭으로 계속 동작
+	@Test
+	void limitIsStillAcceptedAsAliasForTop() throws Exception {
+		Long courseId = courseRepository.save(new Course("한강 2km", 2.0, 12, null, "", null, null,
+				runningGroupRepository.findById(groupId).orElseThrow(), false)).getId();
+		String[] runners = {me, other, saveUser()};
+		for (int i = 0; i < runners.length; i++) {
+			recordService.createRecord(runners[i], new RecordDto.Request(courseId, groupId, "00:1" + i + ":00",
+					2.0, "5'00''", 100, 150, null, null, null, null));
+		}
+
+		String url = "/api/v1/groups/" + groupId + "/rankings";
+		mockMvc.perform(get(url).param("limit", "2").with(as(me)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2));
+		mockMvc.perform(get(url).param("limit", "2").param("top", "1").with(as(me)))
+				.andExpect(jsonPath("$.length()").value(1));
+		mockMvc.perform(get(url).with(as(me)))
+				.andExpect(jsonPath("$.length()").value(3));
+	}
+
+	// SSE 로 실제 응답에 snapshot 이벤트가 써지고, 연결이 끝나면 구독이 정리됨
+	@Test
+	void streamWritesSnapshotEventOverSse() throws Exception {
+		int before = rankingStreamService.subscriberCount();
+		MvcResult result = mockMvc.perform(get("/api/v1/groups/" + groupId + "/rankings/stream").with(as(me)))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		assertEquals(before + 1, rankingStreamService.subscriberCount());
+
+		long deadline = System.currentTimeMillis() + 5000;
+		String body = "";
+		while (!body.contains("\n\n") && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+			body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+		}
+		assertTrue(result.getResponse().getContentType().startsWith("text/event-stream"));
+		assertTrue(body.startsWith("event:snapshot\ndata:{"), body);
+		assertTrue(body.contains("\"entries\":[]"), body);
+
+		result.getRequest().getAsyncContext().complete(); // 클라이언트가 연결을 끊음
+		deadline = System.currentTimeMillis() + 5000;
+		while (rankingStreamService.subscriberCount() > before && System.currentTimeMillis() < deadline) Thread.sleep(10);
+		assertEquals(before, rankingStreamService.subscriberCount());
+	}
+
+	private String saveUser() {
+		String name = UUID.randomUUID().toString().substring(0, 8);
+		return userRepository.save(new User(name + "@test.com", "pw", "러너" + name)).getEmail();
+	}
+
+	private static RequestPostProcessor as(String email) {
+		return authentication(new UsernamePasswordAuthenticationToken(email, null, List.of()));
+	}
+}
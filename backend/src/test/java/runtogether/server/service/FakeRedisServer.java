@@ -0,0 +1,249 @@
+package runtogether.server.service;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 테스트용 Redis 대역 (RedisLeaderboardStore 가 쓰는 명령만, RESP2)
+// 포트 0 으로 열어서 테스트마다 빈 포트를 받고, 연결마다 스레드 하나
+class FakeRedisServer implements Closeable {
+
+	private final ServerSocket serverSocket;
+	private final Map<String, SortedSet> sortedSets = new ConcurrentHashMap<>();
+	private final Map<String, String> strings = new ConcurrentHashMap<>();
+	private final AtomicInteger accepted = new AtomicInteger();
+
+	FakeRedisServer() throws IOException {
+		serverSocket = new ServerSocket(0);
+		Thread acceptor = new Thread(this::acceptLoop, "fake-redis");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	int port() {
+		return serverSocket.getLocalPort();
+	}
+
+	// 지금까지 받은 연결 수
+	int connections() {
+		return accepted.get();
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+	}
+
+	private void acceptLoop() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				accepted.incrementAndGet();
+				Thread t = new Thread(() -> serve(socket), "fake-redis-conn");
+				t.setDaemon(true);
+				t.start();
+			} catch (IOException e) {
+				return;
+			}
+		}
+	}
+
+	private void serve(Socket socket) {
+		try (socket) {
+			BufferedInputStream in = new BufferedInputStream(socket.getInputStream());
+			BufferedOutputStream out = new BufferedOutputStream(socket.getOutputStream());
+			while (true) {
+				List<String> command = readCommand(in);
+				if (command == null) return;
+				Object reply;
+				try {
+					synchronized (this) {
+						reply = execute(command);
+					}
+				} catch (RuntimeException e) {
+					reply = new IllegalStateException("ERR " + e.getMessage());
+				}
+				write(out, reply);
+				if (in.available() == 0) out.flush(); // 파이프라인이면 다 읽은 뒤 한 번에
+			}
+		} catch (IOException ignored) {
+		}
+	}
+
+	private Object execute(List<String> c) {
+		String name = c.get(0).toUpperCase();
+		switch (name) {
+			case "EXISTS":
+				return (long) (strings.containsKey(c.get(1)) || sortedSets.containsKey(c.get(1)) ? 1 : 0);
+			case "SET":
+				if (c.size() > 3 && c.get(3).equals("NX")) {
+					return (strings.putIfAbsent(c.get(1), c.get(2)) == null) ? "OK" : null;
+				}
+				strings.put(c.get(1), c.get(2));
+				return "OK";
+			case "GET":
+				return strings.get(c.get(1));
+			case "MGET": {
+				List<Object> result = new ArrayList<>();
+				for (String key : c.subList(1, c.size())) result.add(strings.get(key));
+				return result;
+			}
+			case "INCR": {
+				long value = Long.parseLong(strings.getOrDefault(c.get(1), "0")) + 1;
+				strings.put(c.get(1), Long.toString(value));
+				return value;
+			}
+			case "DEL": {
+				long removed = 0;
+				for (String key : c.subList(1, c.size())) {
+					if (strings.remove(key) != null | sortedSets.remove(key) != null) removed++;
+				}
+				return removed;
+			}
+			case "ZADD": {
+				SortedSet set = sortedSets.computeIfAbsent(c.get(1), k -> new SortedSet());
+				int i = 2;
+				boolean nx = false, lt = false;
+				while (c.get(i).equals("NX") || c.get(i).equals("LT")) {
+					if (c.get(i).equals("NX")) nx = true;
+					else lt = true;
+					i++;
+				}
+				long added = 0;
+				for (; i + 1 < c.size(); i += 2) {
+					double score = Double.parseDouble(c.get(i));
+					String member = c.get(i + 1);
+					Double old = set.scores.get(member);
+					if (old == null) added++;
+					if (old != null && (nx || (lt && score >= old))) continue;
+					set.put(member, score);
+				}
+				return added;
+			}
+			case "ZREM": {
+				SortedSet set = sortedSets.get(c.get(1));
+				long removed = (set != null && set.remove(c.get(2))) ? 1 : 0;
+				if (set != null && set.scores.isEmpty()) sortedSets.remove(c.get(1));
+				return removed;
+			}
+			case "ZSCORE": {
+				SortedSet set = sortedSets.get(c.get(1));
+				Double score = (set != null) ? set.scores.get(c.get(2)) : null;
+				return (score != null) ? formatScore(score) : null;
+			}
+			case "ZRANK": {
+				SortedSet set = sortedSets.get(c.get(1));
+				if (set == null || !set.scores.containsKey(c.get(2))) return null;
+				return (long) set.order.headSet(new Item(set.scores.get(c.get(2)), c.get(2))).size();
+			}
+			case "ZCARD": {
+				SortedSet set = sortedSets.get(c.get(1));
+				return (long) ((set != null) ? set.scores.size() : 0);
+			}
+			case "ZCOUNT": {
+				SortedSet set = sortedSets.get(c.get(1));
+				if (set == null) return 0L;
+				double max = Double.parseDouble(c.get(3).substring(1)); // "-inf" ~ "(score" 만 사용
+				return set.order.stream().filter(item -> item.score < max).count();
+			}
+			case "ZRANGE": {
+				SortedSet set = sortedSets.get(c.get(1));
+				List<Object> result = new ArrayList<>();
+				if (set == null) return result;
+				long start = Long.parseLong(c.get(2));
+				long stop = Long.parseLong(c.get(3));
+				long index = 0;
+				for (Item item : set.order) {
+					if (index >= start && index <= stop) {
+						result.add(item.member);
+						result.add(formatScore(item.score));
+					}
+					index++;
+				}
+				return result;
+			}
+			default:
+				throw new IllegalArgumentException("unknown command '" + name + "'");
+		}
+	}
+
+	private static String formatScore(double score) {
+		return (score == Math.rint(score)) ? Long.toString((long) score) : Double.toString(score);
+	}
+
+	private static List<String> readCommand(InputStream in) throws IOException {
+		int type = in.read();
+		if (type < 0) return null;
+		int count = Integer.parseInt(readLine(in));
+		List<String> args = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			in.read(); // '$'
+			int length = Integer.parseInt(readLine(in));
+			args.add(new String(in.readNBytes(length), StandardCharsets.UTF_8));
+			readLine(in);
+		}
+		return args;
+	}
+
+	private static String readLine(InputStream in) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		int b;
+		while ((b = in.read()) != '\r') {
+			if (b < 0) throw new EOFException();
+			sb.append((char) b);
+		}
+		in.read();
+		return sb.toString();
+	}
+
+	private static void write(OutputStream out, Object reply) throws IOException {
+		if (reply == null) {
+			out.write("$-1\r\n".getBytes(StandardCharsets.US_ASCII));
+		} else if (reply instanceof IllegalStateException e) {
+			out.write(("-" + e.getMessage() + "\r\n").getBytes(StandardCharsets.UTF_8));
+		} else if (reply instanceof Long n) {
+			out.write((":" + n + "\r\n").getBytes(StandardCharsets.US_ASCII));
+		} else if (reply.equals("OK")) {
+			out.write("+OK\r\n".getBytes(StandardCharsets.US_ASCII));
+		} else if (reply instanceof String s) {
+			byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+			out.write(("$" + bytes.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+			out.write(bytes);
+			out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+		} else if (reply instanceof List<?> items) {
+			out.write(("*" + items.size() + "\r\n").getBytes(StandardCharsets.US_ASCII));
+			for (Object item : items) write(out, item);
+		}
+	}
+
+	// 점수 오름차순, 같으면 member 사전순 (Redis 와 같은 규칙)
+	private record Item(double score, String member) implements Comparable<Item> {
+		@Override
+		public int compareTo(Item o) {
+			int c = Double.compare(score, o.score);
+			return (c != 0) ? c : member.compareTo(o.member);
+		}
+	}
+
+	private static class SortedSet {
+		private final Map<String, Double> scores = new HashMap<>();
+		private final TreeSet<Item> order = new TreeSet<>();
+
+		void put(String member, double score) {
+			Double old = scores.put(member, score);
+			if (old != null) order.remove(new Item(old, member));
+			order.add(new Item(score, member));
+		}
+
+		boolean remove(String member) {
+			Double old = scores.remove(member);
+			if (old == null) return false;
+			order.remove(new Item(old, member));
+			return true;
+		}
+	}
+}
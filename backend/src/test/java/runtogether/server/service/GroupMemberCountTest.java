@@ -0,0 +1,177 @@
+package runtogether.server.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import runtogether.server.domain.RunningGroup;
+import runtogether.server.domain.User;
+import runtogether.server.domain.UserGroup;
+import runtogether.server.repository.RunningGroupRepository;
+import runtogether.server.repository.UserGroupRepository;
+import runtogether.server.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// running_groups.member_count / open_seats 가 가입, 탈퇴, 회원 탈퇴, 백필에서 user_groups 행 수와 맞는지 (메모리 DB)
+@SpringBootTest
+@ActiveProfiles("h2")
+class GroupMemberCountTest {
+
+	@Autowired GroupService groupService;
+	@Autowired UserService userService;
+	@Autowired MemberCountBackfill memberCountBackfill;
+	@Autowired UserRepository userRepository;
+	@Autowired RunningGroupRepository runningGroupRepository;
+	@Autowired UserGroupRepository userGroupRepository;
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired TransactionTemplate transactionTemplate;
+
+	// 두 가입 경로(id + 코드, 코드만)로 동시에 몰려도 정원까지만 가입
+	@Test
+	void concurrentJoinsNeverExceedCapacity() throws Exception {
+		Long groupId = saveGroup(saveUser(), true, 5);
+		String code = runningGroupRepository.findById(groupId).orElseThrow().getAccessCode();
+		List<String> joiners = new ArrayList<>();
+		for (int i = 0; i < 12; i++) joiners.add(saveUser());
+
+		int succeeded = race(joiners.size(), i -> {
+			if (i % 2 == 0) groupService.joinGroup(joiners.get(i), groupId, code);
+			else groupService.joinGroupByAccessCode(joiners.get(i), code);
+		});
+
+		assertEquals(4, succeeded); // 방장 포함 5명
+		assertCounts(groupId, 5, 0);
+	}
+
+	// 저장소 UPDATE 만 동시에: 정원까지만 1 을 돌려줌
+	@Test
+	void concurrentIncrementsStopAtCapacity() throws Exception {
+		Long groupId = saveGroup(saveUser(), false, 10);
+
+		int succeeded = race(20, i -> {
+			Integer updated = transactionTemplate.execute(status -> runningGroupRepository.incrementMemberCount(groupId));
+			if (updated == 0) throw new IllegalArgumentException("정원 초과");
+		});
+
+		assertEquals(9, succeeded);
+		RunningGroup group = runningGroupRepository.findById(groupId).orElseThrow();
+		assertEquals(10, group.getMemberCount());
+		assertEquals(0, group.getOpenSeats());
+	}
+
+	@Test
+	void leavingDecrementsCount() {
+		Long groupId = saveGroup(saveUser(), false, 5);
+		String member = saveUser();
+		groupService.joinGroup(member, groupId, null);
+		assertCounts(groupId, 2, 3);
+
+		groupService.leaveGroup(member, groupId);
+		assertCounts(groupId, 1, 4);
+
+		// 정원 없는 그룹은 남은 자리가 계속 최댓값
+		Long unlimited = saveGroup(saveUser(), false, null);
+		groupService.joinGroup(member, unlimited, null);
+		groupService.leaveGroup(member, unlimited);
+		assertCounts(unlimited, 1, Integer.MAX_VALUE);
+	}
+
+	// 회원 탈퇴: 가입만 한 그룹은 인원이 줄고, 방장인 그룹은 통째로 지워짐
+	@Test
+	void withdrawalDecrementsOnlyNonOwnedGroups() {
+		String leaving = saveUser();
+		String other = saveUser();
+		Long owned = saveGroup(leaving, false, 5);
+		Long joined = saveGroup(other, false, 5);
+		groupService.joinGroup(other, owned, null);
+		groupService.joinGroup(leaving, joined, null);
+		assertCounts(joined, 2, 3);
+
+		userService.withdrawUser(leaving);
+
+		assertCounts(joined, 1, 4);
+		assertFalse(runningGroupRepository.findById(owned).isPresent());
+	}
+
+	// 세지 않은(0) 인원과 계산 전(-1) 남은 자리만 채우고, 다시 돌려도 그대로
+	@Test
+	void memberCountBackfillIsIdempotent() {
+		Long limited = saveGroup(saveUser(), false, 5);
+		Long unlimited = saveGroup(saveUser(), false, null);
+		for (Long groupId : List.of(limited, unlimited)) {
+			groupService.joinGroup(saveUser(), groupId, null);
+			groupService.joinGroup(saveUser(), groupId, null);
+			jdbcTemplate.update("UPDATE running_groups SET member_count = 0, open_seats = -1 WHERE group_id = ?", groupId);
+		}
+
+		memberCountBackfill.run();
+		assertCounts(limited, 3, 2);
+		assertCounts(unlimited, 3, Integer.MAX_VALUE);
+
+		memberCountBackfill.run();
+		assertCounts(limited, 3, 2);
+		assertCounts(unlimited, 3, Integer.MAX_VALUE);
+	}
+
+	// task 를 threads 개 동시에 시작해서 예외 없이 끝난 수 (정원 초과 외의 예외는 실패)
+	private static int race(int threads, IntTask task) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> results = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			int index = i;
+			results.add(pool.submit(() -> {
+				start.await();
+				try {
+					task.run(index);
+					return true;
+				} catch (IllegalArgumentException e) {
+					assertTrue(e.getMessage().contains("정원"), e.getMessage());
+					return false;
+				}
+			}));
+		}
+		start.countDown();
+		int succeeded = 0;
+		for (Future<Boolean> result : results) {
+			if (result.get(30, TimeUnit.SECONDS)) succeeded++;
+		}
+		pool.shutdown();
+		return succeeded;
+	}
+
+	private void assertCounts(Long groupId, int members, int openSeats) {
+		RunningGroup group = runningGroupRepository.findById(groupId).orElseThrow();
+		assertEquals(members, group.getMemberCount(), "member_count");
+		assertEquals(openSeats, group.getOpenSeats(), "open_seats");
+		assertEquals(members, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM user_groups WHERE group_id = ?", Integer.class, groupId), "user_groups 행 수");
+	}
+
+	// 방장이 바로 가입된 그룹 (GroupService.createGroup 과 같은 상태)
+	private Long saveGroup(String ownerEmail, boolean secret, Integer maxPeople) {
+		return transactionTemplate.execute(status -> {
+			User owner = userRepository.findByEmail(ownerEmail).orElseThrow();
+			RunningGroup group = runningGroupRepository.save(new RunningGroup("인원 테스트", "", secret, true, maxPeople, "", owner, null, null));
+			userGroupRepository.save(new UserGroup(owner, group));
+			return group.getId();
+		});
+	}
+
+	private String saveUser() {
+		String name = UUID.randomUUID().toString().substring(0, 8);
+		return userRepository.save(new User(name + "@test.com", "pw", "러너" + name)).getEmail();
+	}
+
+	private interface IntTask {
+		void run(int index);
+	}
+}
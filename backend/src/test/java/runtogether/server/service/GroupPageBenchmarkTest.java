@@ -0,0 +1,121 @@
+package runtogether.server.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import runtogether.server.dto.GroupDto;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 그룹 목록 keyset 페이지 벤치마크 (로컬 MySQL, 기본 테스트에서는 실행 안 함)
+//
+// 실행: BENCHMARK_GROUPS=1000000 ./gradlew test --tests '*GroupPageBenchmarkTest'
+//  - tags = '__bench__' 인 그룹을 BENCHMARK_GROUPS 개가 될 때까지 채우고, 끝나면 모두 지움 (중간에 멈춰 남은 행은 다음 실행이 이어서 씀)
+//  - 정렬마다 1페이지와 500페이지를 여러 번 읽어 중앙값을 비교하고, 500페이지가 같은 위치를 OFFSET 으로 읽는 것보다 빠른지 확인
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_GROUPS", matches = "\\d+")
+class GroupPageBenchmarkTest {
+
+	private static final String TAG = "__bench__";
+	private static final int CHUNK = 1000; // 재귀 CTE 기본 깊이(cte_max_recursion_depth) 안에서 한 번에 넣는 행 수
+	private static final int LIMIT = 20;
+	private static final int FAR_PAGE = 500;
+	private static final int RUNS = 15;
+
+	@Autowired
+	private GroupService groupService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeAll
+	void seed() {
+		long target = Long.parseLong(System.getenv("BENCHMARK_GROUPS"));
+		long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM running_groups WHERE tags = ?", Long.class, TAG);
+
+		for (long base = existing; base < target; base += CHUNK) {
+			// 정원 5~24명, 인원 1~5명, 10개 중 1개는 비밀 그룹, 시작일은 1년 안에 고르게
+			jdbcTemplate.update(
+					"INSERT INTO running_groups (group_name, description, is_secret, is_searchable, max_people, " +
+							"member_count, open_seats, tags, start_date) " +
+							"WITH RECURSIVE seq (n) AS (SELECT ? + 1 UNION ALL SELECT n + 1 FROM seq WHERE n < ?) " +
+							"SELECT CONCAT('bench ', n), 'benchmark', n % 10 = 0, true, 5 + n % 20, " +
+							"1 + n % 5, 5 + n % 20 - (1 + n % 5), ?, DATE_ADD('2026-01-01', INTERVAL n % 365 DAY) FROM seq",
+					base, Math.min(base + CHUNK, target), TAG);
+		}
+	}
+
+	// 한 번에 지우면 트랜잭션이 너무 커지므로 나눠서 지움
+	@AfterAll
+	void cleanUp() {
+		int deleted;
+		do {
+			deleted = jdbcTemplate.update("DELETE FROM running_groups WHERE tags = ? LIMIT " + CHUNK * 10, TAG);
+		} while (deleted > 0);
+	}
+
+	@Test
+	void newestPageCostDoesNotGrowWithDepth() {
+		measure("newest", "group_id DESC");
+	}
+
+	@Test
+	void startDatePageCostDoesNotGrowWithDepth() {
+		measure("start_date", "start_date, group_id");
+	}
+
+	@Test
+	void seatsPageCostDoesNotGrowWithDepth() {
+		measure("seats", "open_seats DESC, group_id DESC");
+	}
+
+	private void measure(String sort, String orderBy) {
+		// 500페이지 커서까지 따라가면서 페이지끼리 겹치는 그룹이 없는지 확인
+		Set<Long> seen = new HashSet<>();
+		String cursor = null;
+		for (int page = 1; page < FAR_PAGE; page++) {
+			GroupDto.Page result = groupService.getGroupPage(null, null, null, sort, cursor, LIMIT);
+			assertEquals(LIMIT, result.getGroups().size());
+			for (GroupDto.Response group : result.getGroups()) assertTrue(seen.add(group.getId()), "겹친 그룹: " + group.getId());
+			cursor = result.getNextCursor();
+			assertNotNull(cursor);
+		}
+
+		String farCursor = cursor;
+		long firstNanos = median(() -> groupService.getGroupPage(null, null, null, sort, null, LIMIT));
+		long farNanos = median(() -> groupService.getGroupPage(null, null, null, sort, farCursor, LIMIT));
+		long offsetNanos = median(() -> jdbcTemplate.queryForList(
+				"SELECT group_id FROM running_groups ORDER BY " + orderBy + " LIMIT ? OFFSET ?",
+				LIMIT, (FAR_PAGE - 1) * LIMIT));
+
+		String timings = String.format("%s 1페이지 %.2f ms, %d페이지 %.2f ms, OFFSET %.2f ms",
+				sort, firstNanos / 1e6, FAR_PAGE, farNanos / 1e6, offsetNanos / 1e6);
+
+		// 깊은 페이지도 첫 페이지와 같은 비용 (측정 잡음 여유 3배 + 5ms)
+		assertTrue(farNanos <= firstNanos * 3 + 5_000_000L, "깊은 페이지가 너무 느림: " + timings);
+		// 같은 위치를 OFFSET 으로 읽으면 앞의 행을 모두 건너뛰어야 하므로 keyset 이 더 빨라야 함
+		assertTrue(farNanos < offsetNanos, "OFFSET 보다 느림: " + timings);
+	}
+
+	private static long median(Runnable query) {
+		query.run(); // 워밍업
+		long[] nanos = new long[RUNS];
+		for (int i = 0; i < RUNS; i++) {
+			long start = System.nanoTime();
+			query.run();
+			nanos[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(nanos);
+		return nanos[RUNS / 2];
+	}
+}
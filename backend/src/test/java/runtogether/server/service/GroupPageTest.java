@@ -0,0 +1,56 @@
+package runtogether.server.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import runtogether.server.domain.RunningGroup;
+import runtogether.server.domain.User;
+import runtogether.server.dto.GroupDto;
+import runtogether.server.repository.RunningGroupRepository;
+import runtogether.server.repository.UserRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 시작일 순 목록 페이지: 시작일 없는 그룹도 빠지지 않고 맨 뒤에 id 순으로, 커서를 따라가도 겹치거나 빠지는 그룹이 없는지 (메모리 DB)
+@SpringBootTest
+@ActiveProfiles("h2")
+class GroupPageTest {
+
+	@Autowired GroupService groupService;
+	@Autowired UserRepository userRepository;
+	@Autowired RunningGroupRepository runningGroupRepository;
+
+	@Test
+	void startDateOrderPutsUndatedGroupsLast() {
+		String tag = UUID.randomUUID().toString().substring(0, 8);
+		String name = UUID.randomUUID().toString().substring(0, 8);
+		User owner = userRepository.save(new User(name + "@test.com", "pw", "러너" + name));
+
+		LocalDate day = LocalDate.of(2026, 5, 1);
+		LocalDate[] dates = {day.plusDays(2), null, day, day.plusDays(2), null, day.plusDays(1), null};
+		Long[] ids = new Long[dates.length];
+		for (int i = 0; i < dates.length; i++) {
+			ids[i] = runningGroupRepository.save(new RunningGroup("페이지 " + i, "", false, true, 10, tag, owner, dates[i], dates[i])).getId();
+		}
+		// 시작일 순 (같은 날이면 id 순), 그 뒤에 시작일 없는 그룹 id 순
+		List<Long> expected = List.of(ids[2], ids[5], ids[0], ids[3], ids[1], ids[4], ids[6]);
+
+		for (int limit : new int[]{1, 2, 3, 4, 7, 10}) {
+			List<Long> actual = new ArrayList<>();
+			String cursor = null;
+			do {
+				GroupDto.Page page = groupService.getGroupPage(tag, null, null, "start_date", cursor, limit);
+				assertTrue(page.getGroups().size() <= limit);
+				page.getGroups().forEach(g -> actual.add(g.getId()));
+				cursor = page.getNextCursor();
+			} while (cursor != null);
+			assertEquals(expected, actual, "limit " + limit);
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package runtogether.server.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import runtogether.server.domain.RunningGroup;
+import runtogether.server.domain.User;
+import runtogether.server.repository.RunningGroupRepository;
+import runtogether.server.repository.UserRepository;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 검색 색인: 메모리 DB 에서도 만들어지고, 다른 서버에서 만든 그룹은 refresh 로, 회원 탈퇴로 지워진 그룹은 커밋 후에 반영되는지
+@SpringBootTest
+@ActiveProfiles("h2")
+class GroupSearchIndexTest {
+
+	@Autowired GroupSearchIndex groupSearchIndex;
+	@Autowired UserService userService;
+	@Autowired UserRepository userRepository;
+	@Autowired RunningGroupRepository runningGroupRepository;
+
+	// 색인을 거치지 않고 DB 에만 넣은 그룹 (다른 서버에서 만든 것과 같음)
+	@Test
+	void refreshPicksUpGroupsCreatedElsewhere() {
+		groupSearchIndex.rebuild();
+		String keyword = keyword();
+		Long groupId = runningGroupRepository.save(new RunningGroup(keyword + " 모임", "", false, true, 10, "", saveUser(), null, null)).getId();
+		assertArrayEquals(new long[0], groupSearchIndex.search(keyword, false, 10));
+
+		groupSearchIndex.refresh();
+		assertArrayEquals(new long[]{groupId}, groupSearchIndex.search(keyword, false, 10));
+	}
+
+	@Test
+	void withdrawalRemovesOwnedGroups() {
+		groupSearchIndex.rebuild();
+		String keyword = keyword();
+		User owner = saveUser();
+		RunningGroup group = runningGroupRepository.save(new RunningGroup(keyword + " 모임", "", false, true, 10, "", owner, null, null));
+		groupSearchIndex.indexAfterCommit(group);
+		assertArrayEquals(new long[]{group.getId()}, groupSearchIndex.search(keyword, false, 10));
+
+		userService.withdrawUser(owner.getEmail());
+
+		assertFalse(runningGroupRepository.findById(group.getId()).isPresent());
+		assertArrayEquals(new long[0], groupSearchIndex.search(keyword, false, 10));
+	}
+
+	// 다른 테스트의 그룹과 겹치지 않는 검색어 (영문 소문자만)
+	private static String keyword() {
+		return "kw" + UUID.randomUUID().toString().replaceAll("[^a-f]", "");
+	}
+
+	private User saveUser() {
+		String name = UUID.randomUUID().toString().substring(0, 8);
+		return userRepository.save(new User(name + "@test.com", "pw", "러너" + name));
+	}
+}
@@ -0,0 +1,60 @@
+package runtogether.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+	@Test
+	void concurrentIdenticalSubmissionsWriteOnce() throws Exception {
+		IdempotencyStore store = new IdempotencyStore(600, 10000);
+		AtomicInteger writes = new AtomicInteger();
+		int clients = 50;
+
+		ExecutorService pool = Executors.newFixedThreadPool(clients);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Long>> results = new ArrayList<>();
+		for (int i = 0; i < clients; i++) {
+			results.add(pool.submit(() -> {
+				start.await();
+				return store.execute("runner@test.com:retry-key", () -> {
+					writes.incrementAndGet();
+					sleep(50); // 기록 저장(트랜잭션)이 도는 동안 나머지 재시도가 들어오도록
+					return 42L;
+				});
+			}));
+		}
+		start.countDown();
+
+		for (Future<Long> result : results) {
+			assertEquals(42L, result.get(10, TimeUnit.SECONDS));
+		}
+		pool.shutdown();
+		assertEquals(1, writes.get());
+	}
+
+	@Test
+	void failedSubmissionCanBeRetried() {
+		IdempotencyStore store = new IdempotencyStore(600, 10000);
+
+		assertThrows(IllegalArgumentException.class, () -> store.execute("k", () -> {
+			throw new IllegalArgumentException("코스 없음");
+		}));
+		assertEquals(7L, store.execute("k", () -> 7L));
+		assertEquals(7L, store.execute("k", () -> 8L));
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package runtogether.server.service;
+
+import org.junit.jupiter.api.Test;
+import runtogether.server.util.RespClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardStoreTest {
+
+	// 두 저장소가 같은 규칙을 따르는지 (동점은 member 순, load 는 있는 값 유지, improve 는 더 빠를 때만)
+	@Test
+	void memoryAndRedisFollowTheSameContract() throws Exception {
+		checkContract(new MemoryLeaderboardStore());
+		try (FakeRedisServer server = new FakeRedisServer();
+			 RespClient client = new RespClient("localhost", server.port(), 4, 2000)) {
+			checkContract(new RedisLeaderboardStore(client, "test:"));
+		}
+	}
+
+	// 무작위 추가/갱신/삭제 후 두 저장소의 순위/구간 조회 결과가 같은지
+	@Test
+	void redisStoreMatchesMemoryStoreUnderRandomUpdates() throws Exception {
+		try (FakeRedisServer server = new FakeRedisServer();
+			 RespClient client = new RespClient("localhost", server.port(), 4, 2000)) {
+			LeaderboardStore memory = new MemoryLeaderboardStore();
+			LeaderboardStore redis = new RedisLeaderboardStore(client, "test:");
+			Random random = new Random(3);
+
+			for (int i = 0; i < 3_000; i++) {
+				long member = 1 + random.nextInt(500);
+				int score = 1500 + random.nextInt(300); // 동점 많음
+				switch (random.nextInt(4)) {
+					case 0, 1 -> {
+						memory.improve("g", member, score);
+						redis.improve("g", member, score);
+					}
+					case 2 -> {
+						memory.put("g", member, score);
+						redis.put("g", member, score);
+					}
+					default -> {
+						memory.remove("g", member);
+						redis.remove("g", member);
+					}
+				}
+			}
+
+			assertEquals(memory.count("g"), redis.count("g"));
+			assertEquals(memory.range("g", 0, Integer.MAX_VALUE), redis.range("g", 0, Integer.MAX_VALUE));
+			for (long member = 1; member <= 500; member += 7) {
+				assertEquals(memory.rank("g", member), redis.rank("g", member));
+				assertEquals(memory.around("g", member, 3), redis.around("g", member, 3));
+			}
+			assertEquals(memory.countLessThan("g", 1650), redis.countLessThan("g", 1650));
+		}
+	}
+
+	// 서버 두 대가 같은 Redis 를 쓰면 한쪽에서 올린 버전이 다른 쪽 ETag 에도 바로 보여야 함
+	@Test
+	void resultsVersionIsSharedBetweenServers() throws Exception {
+		try (FakeRedisServer server = new FakeRedisServer();
+			 RespClient clientA = new RespClient("localhost", server.port(), 2, 2000);
+			 RespClient clientB = new RespClient("localhost", server.port(), 2, 2000)) {
+			ResultsVersionService a = new ResultsVersionService(new RedisLeaderboardStore(clientA, "test:"));
+			ResultsVersionService b = new ResultsVersionService(new RedisLeaderboardStore(clientB, "test:"));
+			assertEquals(a.etag(1L), b.etag(1L));
+
+			String before = b.etag(1L);
+			a.bump(1L);
+			assertNotEquals(before, b.etag(1L));
+			assertEquals(a.etag(1L), b.etag(1L));
+			assertEquals(a.etag(2L, "me@test.com"), b.etag(2L, "me@test.com"));
+
+			String other = b.etag(2L);
+			a.bumpAll();
+			assertNotEquals(other, b.etag(2L));
+		}
+	}
+
+	@Test
+	void memoryVersionsStartAtZeroAndCountUp() {
+		LeaderboardStore store = new MemoryLeaderboardStore();
+		long[] before = store.versions("a", "b");
+		assertEquals(0L, before[1]);
+		store.incrementVersion("a");
+		store.incrementVersion("a");
+		long[] after = store.versions("a", "b");
+		assertEquals(before[0], after[0]);
+		assertEquals(2L, after[1]);
+		assertEquals(0L, after[2]);
+	}
+
+	// 요청이 몰려도 poolSize 개보다 많은 소켓을 열지 않음 (빈 연결이 날 때까지 기다림)
+	@Test
+	void clientNeverOpensMoreThanPoolSizeConnections() throws Exception {
+		try (FakeRedisServer server = new FakeRedisServer();
+			 RespClient client = new RespClient("localhost", server.port(), 2, 5000)) {
+			LeaderboardStore store = new RedisLeaderboardStore(client, "test:");
+			ExecutorService pool = Executors.newFixedThreadPool(16);
+			List<Future<?>> results = new ArrayList<>();
+			for (int t = 0; t < 16; t++) {
+				long member = t;
+				results.add(pool.submit(() -> {
+					for (int i = 0; i < 100; i++) store.put("g", member, i);
+				}));
+			}
+			for (Future<?> result : results) result.get(30, TimeUnit.SECONDS);
+			pool.shutdown();
+
+			assertEquals(16L, store.count("g"));
+			assertTrue(server.connections() <= 2, "열린 연결 " + server.connections());
+		}
+	}
+
+	private static void checkContract(LeaderboardStore store) {
+		assertFalse(store.isLoaded("g"));
+		assertEquals(0L, store.count("g"));
+		assertEquals(-1L, store.rank("g", 1));
+
+		// 커밋된 기록이 load 보다 먼저 반영된 경우: load 가 더 느린 예전 값으로 덮으면 안 됨
+		store.improve("g", 2, 3000);
+		store.load("g", new long[]{1, 2, 3, 4}, new int[]{3600, 3300, 3000, 4000});
+		assertTrue(store.isLoaded("g"));
+		assertEquals(Integer.valueOf(3000), store.score("g", 2));
+
+		// 동점(3000)은 member 가 작은 2 가 앞
+		List<LeaderboardStore.Scored> top = store.range("g", 0, 2);
+		assertEquals(new LeaderboardStore.Scored(0, 2, 3000), top.get(0));
+		assertEquals(new LeaderboardStore.Scored(1, 3, 3000), top.get(1));
+		assertEquals(2L, store.rank("g", 1));
+		assertEquals(0L, store.countLessThan("g", 3000));
+		assertEquals(2L, store.countLessThan("g", 3001));
+
+		// improve 는 더 빠를 때만, put 은 항상 교체
+		store.improve("g", 4, 4200);
+		assertEquals(Integer.valueOf(4000), store.score("g", 4));
+		store.improve("g", 4, 2900);
+		assertEquals(0L, store.rank("g", 4));
+		store.put("g", 4, 5000);
+		assertEquals(3L, store.rank("g", 4));
+
+		// around 는 앞뒤가 모자라면 있는 만큼만
+		List<LeaderboardStore.Scored> around = store.around("g", 2, 1);
+		assertEquals(2, around.size());
+		assertEquals(0L, around.get(0).position());
+		assertTrue(store.around("g", 99, 1).isEmpty());
+
+		store.remove("g", 3);
+		assertEquals(3L, store.count("g"));
+		assertEquals(3, store.range("g", 0, Integer.MAX_VALUE).size());
+
+		store.delete("g");
+		assertFalse(store.isLoaded("g"));
+		assertEquals(0L, store.count("g"));
+	}
+}
@@ -0,0 +1,75 @@
+package runtogether.server.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import runtogether.server.domain.Course;
+import runtogether.server.domain.RunningGroup;
+import runtogether.server.domain.User;
+import runtogether.server.dto.RecordDto;
+import runtogether.server.repository.CourseRepository;
+import runtogether.server.repository.RunningGroupRepository;
+import runtogether.server.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 주기 검사: 저장소와 DB 가 어긋난 리더보드를 찾아 DB 기준으로 다시 만드는지 (메모리 DB)
+@SpringBootTest
+@ActiveProfiles("h2")
+class LeaderboardVerifyTest {
+
+	@Autowired LeaderboardService leaderboardService;
+	@Autowired LeaderboardStore store;
+	@Autowired RecordService recordService;
+	@Autowired UserRepository userRepository;
+	@Autowired CourseRepository courseRepository;
+	@Autowired RunningGroupRepository runningGroupRepository;
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired TransactionTemplate transactionTemplate;
+
+	@Test
+	void driftedBoardIsRebuiltFromDatabase() {
+		Long[] group = new Long[2];
+		transactionTemplate.executeWithoutResult(status -> {
+			User owner = saveUser();
+			RunningGroup saved = runningGroupRepository.save(new RunningGroup("검사 그룹", "", false, true, 10, "", owner, null, null));
+			group[0] = saved.getId();
+			group[1] = courseRepository.save(new Course("한강 5km", 5.0, 30, null, "", null, null, saved, false)).getId();
+		});
+		Long groupId = group[0];
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			ids.add(recordService.createRecord(saveUser().getEmail(), new RecordDto.Request(group[1], groupId, "00:2" + i + ":00",
+					5.0, "5'00''", 300, 150, null, null, null, null)));
+		}
+		assertEquals(ids, window(groupId));
+		assertTrue(leaderboardService.verify(groupId)); // 맞으면 그대로
+
+		// 저장소에서 기록 하나가 빠지고, DB 에서는 마지막 기록이 1등이 됨 (커밋 후 반영을 놓친 경우)
+		String board = "group:" + groupId;
+		store.remove(board, ids.get(1));
+		jdbcTemplate.update("UPDATE run_record SET run_time = '00:15:00', run_time_seconds = 900 WHERE record_id = ?", ids.get(3));
+		assertEquals(List.of(ids.get(0), ids.get(2), ids.get(3)), window(groupId));
+
+		assertTrue(leaderboardService.verifyLoaded() >= 1);
+		assertEquals(List.of(ids.get(3), ids.get(0), ids.get(1), ids.get(2)), window(groupId));
+		assertEquals(1, leaderboardService.rankOf(groupId, ids.get(3)));
+		assertTrue(leaderboardService.verify(groupId));
+	}
+
+	private List<Long> window(Long groupId) {
+		return leaderboardService.window(groupId, null, 0, 10).stream().map(r -> r.getEntry().getRecordId()).toList();
+	}
+
+	private User saveUser() {
+		String name = UUID.randomUUID().toString().substring(0, 8);
+		return userRepository.save(new User(name + "@test.com", "pw", "러너" + name));
+	}
+}
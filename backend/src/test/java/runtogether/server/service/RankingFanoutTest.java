@@ -0,0 +1,159 @@
+package runtogether.server.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankingFanoutTest {
+
+	// 구독자 1만 명: 모든 변경분이 빠짐없이, 구독자마다 보낸 순서대로 도착
+	@Test
+	void deliversEveryEventInOrderToManySubscribers() throws Exception {
+		int subscribers = 10_000;
+		int events = 20;
+		ExecutorService writers = Executors.newFixedThreadPool(4);
+		RankingFanout fanout = new RankingFanout(16, writers);
+
+		LongAdder delivered = new LongAdder();
+		AtomicInteger outOfOrder = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(subscribers);
+		for (int i = 0; i < subscribers; i++) {
+			fanout.subscribe(1L, new RankingFanout.Sink() {
+				private int expected = 0;
+
+				@Override
+				public void send(String event, String data) {
+					if (Integer.parseInt(data) != expected++) outOfOrder.incrementAndGet();
+					delivered.increment();
+					if (expected == events) done.countDown();
+				}
+
+				@Override
+				public void close() {
+				}
+			});
+		}
+		assertEquals(subscribers, fanout.subscriberCount(1L));
+
+		for (int e = 0; e < events; e++) {
+			fanout.publish(1L, "delta", String.valueOf(e));
+			Thread.sleep(5); // 변경분은 coalesce 주기마다 하나씩 나감
+		}
+		assertTrue(done.await(30, TimeUnit.SECONDS));
+		writers.shutdown();
+
+		assertEquals((long) subscribers * events, delivered.sum());
+		assertEquals(0, outOfOrder.get());
+		assertEquals(subscribers, fanout.subscriberCount(1L));
+	}
+
+	// 전송이 막힌 구독자는 버퍼가 차면 끊기고, 나머지 구독자는 영향을 받지 않음
+	@Test
+	void dropsSlowConsumerWithoutBlockingOthers() throws Exception {
+		ExecutorService writers = Executors.newFixedThreadPool(2);
+		RankingFanout fanout = new RankingFanout(4, writers);
+
+		BlockingSink slowSink = new BlockingSink();
+		RankingFanout.Subscription slow = fanout.subscribe(1L, slowSink);
+
+		List<String> fastReceived = new CopyOnWriteArrayList<>();
+		fanout.subscribe(1L, new RankingFanout.Sink() {
+			@Override
+			public void send(String event, String data) {
+				fastReceived.add(data);
+			}
+
+			@Override
+			public void close() {
+			}
+		});
+
+		List<String> sent = new ArrayList<>();
+		for (int e = 0; e < 10; e++) {
+			sent.add(String.valueOf(e));
+			fanout.publish(1L, "delta", String.valueOf(e));
+			Thread.sleep(2);
+		}
+
+		assertTrue(slow.isClosed());
+		assertEquals(1, fanout.subscriberCount(1L));
+		// 막혀 있던 전송이 인터럽트로 풀린 뒤 writer 스레드가 닫음
+		assertTrue(slowSink.closed.await(5, TimeUnit.SECONDS));
+		assertTrue(slowSink.closedBy.startsWith("pool-"));
+
+		long deadline = System.currentTimeMillis() + 5000;
+		while (fastReceived.size() < sent.size() && System.currentTimeMillis() < deadline) Thread.sleep(5);
+		assertEquals(sent, fastReceived);
+		writers.shutdown();
+	}
+
+	// writer 가 하나뿐일 때 소켓 쓰기가 막힌 구독자: 시간 초과로 끊어야 다른 구독자에게 전송이 이어짐
+	@Test
+	void stalledSendIsInterruptedAndFreesWriter() throws Exception {
+		ExecutorService writers = Executors.newSingleThreadExecutor();
+		RankingFanout fanout = new RankingFanout(16, writers);
+
+		BlockingSink stalledSink = new BlockingSink();
+		RankingFanout.Subscription stalled = fanout.subscribe(1L, stalledSink);
+		fanout.send(stalled, "snapshot", "{}");
+		assertTrue(stalledSink.entered.await(5, TimeUnit.SECONDS)); // 유일한 writer 가 막힘
+
+		LinkedBlockingQueue<String> received = new LinkedBlockingQueue<>();
+		fanout.subscribe(1L, new RankingFanout.Sink() {
+			@Override
+			public void send(String event, String data) {
+				received.add(data);
+			}
+
+			@Override
+			public void close() {
+			}
+		});
+		fanout.publish(1L, "delta", "1");
+		assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+
+		assertEquals(0, fanout.expireStalled(60_000));
+		assertEquals(1, fanout.expireStalled(50));
+		assertTrue(stalledSink.closed.await(5, TimeUnit.SECONDS));
+		assertEquals(1, stalledSink.closeCount.get());
+		assertTrue(stalled.isClosed());
+
+		assertEquals("1", received.poll(5, TimeUnit.SECONDS));
+		fanout.publish(1L, "delta", "2");
+		assertEquals("2", received.poll(5, TimeUnit.SECONDS)); // 인터럽트가 다음 작업으로 새지 않음
+		assertEquals(1, fanout.subscriberCount(1L));
+		writers.shutdown();
+	}
+
+	// 쓰기가 막힌 클라이언트 흉내 (Tomcat 의 블로킹 쓰기처럼 인터럽트되면 IOException)
+	private static class BlockingSink implements RankingFanout.Sink {
+		final CountDownLatch entered = new CountDownLatch(1);
+		final CountDownLatch closed = new CountDownLatch(1);
+		final AtomicInteger closeCount = new AtomicInteger();
+		volatile String closedBy;
+
+		@Override
+		public void send(String event, String data) throws IOException {
+			entered.countDown();
+			try {
+				new CountDownLatch(1).await();
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+		}
+
+		@Override
+		public void close() {
+			closedBy = Thread.currentThread().getName();
+			closeCount.incrementAndGet();
+			closed.countDown();
+		}
+	}
+}
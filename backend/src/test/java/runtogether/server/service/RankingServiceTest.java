@@ -0,0 +1,126 @@
+package runtogether.server.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import runtogether.server.dto.RankingDto;
+import runtogether.server.repository.RunRecordRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// 랭킹 조회 범위 (top / around=me / after) 의 경계
+class RankingServiceTest {
+
+	private static final Long GROUP = 1L;
+	private static final int RUNNERS = 10;
+
+	private RankingService rankingService;
+
+	// 기록 id i 는 runner{i} 의 기록, i 가 작을수록 빠름 (구간 기록도 같은 순서)
+	@BeforeEach
+	void setUp() {
+		RunRecordRepository repository = mock(RunRecordRepository.class);
+		List<Object[]> rows = new ArrayList<>();
+		List<Object[]> laps = new ArrayList<>();
+		for (long id = 1; id <= RUNNERS; id++) {
+			int seconds = 1800 + (int) id * 10;
+			rows.add(new Object[]{id, seconds, "00:" + (seconds / 60) + ":" + String.format("%02d", seconds % 60),
+					email(id), "러너" + id, null});
+			laps.add(new Object[]{id, 1, 300 + (int) id});
+		}
+		when(repository.findLeaderboardRows(GROUP)).thenReturn(rows);
+		when(repository.findSectionRows(GROUP)).thenReturn(laps);
+		when(repository.findLeaderboardRowsByIds(anyCollection())).thenAnswer(inv -> {
+			Collection<Long> ids = inv.getArgument(0);
+			return rows.stream().filter(row -> ids.contains((Long) row[0])).toList();
+		});
+		when(repository.findIdsByGroupAndEmail(eq(GROUP), anyString())).thenAnswer(inv -> {
+			String email = inv.getArgument(1);
+			for (long id = 1; id <= RUNNERS; id++) if (email(id).equals(email)) return List.of(id);
+			return List.of();
+		});
+
+		LeaderboardStore store = new MemoryLeaderboardStore();
+		LeaderboardService leaderboardService = new LeaderboardService(repository, new ResultsVersionService(store), store);
+		rankingService = new RankingService(leaderboardService);
+	}
+
+	@Test
+	void aroundMeIsClippedAtTheTop() {
+		List<RankingDto> rows = around(email(1), 3);
+		assertRanks(rows, 1, 2, 3, 4);
+		assertTrue(rows.get(0).isMe());
+		assertFalse(rows.get(1).isMe());
+
+		assertRanks(around(email(2), 3), 1, 2, 3, 4, 5);
+	}
+
+	@Test
+	void aroundMeIsClippedAtTheBottom() {
+		List<RankingDto> rows = around(email(RUNNERS), 3);
+		assertRanks(rows, 7, 8, 9, 10);
+		assertTrue(rows.get(3).isMe());
+
+		assertRanks(around(email(RUNNERS - 1), 3), 6, 7, 8, 9, 10);
+	}
+
+	@Test
+	void aroundMeWorksForSectionRanking() {
+		List<RankingDto> rows = rankingService.getRanking(email(5), GROUP, "SECTION", 1, null, true, 1, null, null);
+		assertRanks(rows, 4, 5, 6);
+		assertEquals("5'05\"", rows.get(1).getRecordValue());
+		assertTrue(rows.get(1).isMe());
+	}
+
+	// 기록이 없는 사람: 내 주변은 빈 목록, 다른 조회는 isMe 없이 그대로
+	@Test
+	void userWithoutRecordGetsEmptyAroundAndNoIsMe() {
+		assertTrue(around("nobody@test.com", 5).isEmpty());
+		assertTrue(rankingService.getRanking(null, GROUP, "TOTAL", null, null, true, 5, null, null).isEmpty());
+
+		List<RankingDto> top = rankingService.getRanking("nobody@test.com", GROUP, "TOTAL", null, 3, false, null, null, null);
+		assertRanks(top, 1, 2, 3);
+		assertTrue(top.stream().noneMatch(RankingDto::isMe));
+	}
+
+	@Test
+	void afterContinuesFromRankAndStopsAtTheEnd() {
+		assertRanks(after(0, 3), 1, 2, 3);
+		assertRanks(after(3, 3), 4, 5, 6);
+		assertRanks(after(8, 5), 9, 10);
+		assertTrue(after(RUNNERS, 5).isEmpty());
+		assertTrue(after(1000, 5).isEmpty());
+		assertRanks(after(-5, 2), 1, 2); // 음수는 처음부터
+	}
+
+	@Test
+	void topAndFullBoard() {
+		assertRanks(rankingService.getRanking(email(1), GROUP, "TOTAL", null, 2, false, null, null, null), 1, 2);
+		assertEquals(RUNNERS, rankingService.getRanking(email(1), GROUP, "TOTAL", null, 100, false, null, null, null).size());
+		assertEquals(RUNNERS, rankingService.getRanking(email(1), GROUP, "TOTAL", null, null, false, null, null, null).size());
+		assertTrue(rankingService.getRanking(email(1), GROUP, "UNKNOWN", null, null, false, null, null, null).isEmpty());
+	}
+
+	private List<RankingDto> around(String email, int radius) {
+		return rankingService.getRanking(email, GROUP, "TOTAL", null, null, true, radius, null, null);
+	}
+
+	private List<RankingDto> after(int after, int size) {
+		return rankingService.getRanking(email(1), GROUP, "TOTAL", null, null, false, null, after, size);
+	}
+
+	private static String email(long id) {
+		return "runner" + id + "@test.com";
+	}
+
+	private static void assertRanks(List<RankingDto> rows, int... ranks) {
+		assertArrayEquals(ranks, rows.stream().mapToInt(RankingDto::getRank).toArray());
+	}
+}
@@ -0,0 +1,146 @@
+package runtogether.server.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import runtogether.server.domain.Course;
+import runtogether.server.domain.RunRecord;
+import runtogether.server.domain.RunningGroup;
+import runtogether.server.domain.User;
+import runtogether.server.dto.RecordDto;
+import runtogether.server.repository.CourseRepository;
+import runtogether.server.repository.RunRecordRepository;
+import runtogether.server.repository.RunningGroupRepository;
+import runtogether.server.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 같은 Idempotency-Key 로 재전송된 기록 저장이 RunRecord / 랩 / 경로를 한 벌만 남기는지 (메모리 DB)
+@SpringBootTest
+@ActiveProfiles("h2")
+class RecordIdempotencyTest {
+
+	private static final String ROUTE = "[{\"lat\":37.5000,\"lng\":127.0000,\"time\":0},{\"lat\":37.5050,\"lng\":127.0050,\"time\":200}," +
+			"{\"lat\":37.5100,\"lng\":127.0100,\"time\":400},{\"lat\":37.5150,\"lng\":127.0150,\"time\":600}]";
+	private static final String LAPS = "[{\"km\":1,\"pace\":\"5'00''\"},{\"km\":2,\"pace\":\"5'10''\"}]";
+
+	@Autowired RecordService recordService;
+	@Autowired IdempotencyStore idempotencyStore;
+	@Autowired RunRecordDedup runRecordDedup;
+	@Autowired UserRepository userRepository;
+	@Autowired CourseRepository courseRepository;
+	@Autowired RunningGroupRepository runningGroupRepository;
+	@Autowired RunRecordRepository recordRepository;
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired TransactionTemplate transactionTemplate;
+
+	@Test
+	void retriedSubmissionWithSameKeyWritesOneRecord() throws Exception {
+		Fixture f = fixture();
+		RecordDto.Request request = request(f, "00:10:00");
+		String key = f.email + ":" + UUID.randomUUID();
+
+		int clients = 8;
+		ExecutorService pool = Executors.newFixedThreadPool(clients);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Long>> results = new ArrayList<>();
+		for (int i = 0; i < clients; i++) {
+			results.add(pool.submit(() -> {
+				start.await();
+				return idempotencyStore.execute(key, () -> recordService.createRecord(f.email, request));
+			}));
+		}
+		start.countDown();
+		HashSet<Long> ids = new HashSet<>();
+		for (Future<Long> result : results) ids.add(result.get(30, TimeUnit.SECONDS));
+		pool.shutdown();
+
+		// 한참 뒤 같은 키로 다시 온 재전송도 같은 결과
+		ids.add(idempotencyStore.execute(key, () -> recordService.createRecord(f.email, request)));
+
+		assertEquals(1, ids.size());
+		Long recordId = ids.iterator().next();
+		assertEquals(1, countRecords(f));
+		int laps = count("SELECT COUNT(*) FROM laps WHERE record_id = ?", recordId);
+		assertTrue(laps > 0);
+		assertEquals(0, count("SELECT COUNT(*) FROM route_point WHERE run_record_id = ?", recordId)); // 경로는 BLOB 하나
+		assertNotNull(recordRepository.findById(recordId).orElseThrow().getRouteBlob());
+
+		// 키 없이 같은 기록이 다시 와도 (느린 기록이므로) 새로 쓰지 않음
+		assertEquals(recordId, recordService.createRecord(f.email, request(f, "00:11:00")));
+		assertEquals(1, countRecords(f));
+		assertEquals(laps, count("SELECT COUNT(*) FROM laps WHERE record_id = ?", recordId));
+	}
+
+	// 유니크 제약이 생기기 전에 쌓인 중복 기록: 가장 빠른 것만 남기고 랩까지 정리
+	@Test
+	void dedupKeepsFastestRecordBeforeUniqueConstraint() {
+		Fixture f = fixture();
+		String constraint = jdbcTemplate.queryForObject(
+				"SELECT constraint_name FROM information_schema.table_constraints " +
+						"WHERE table_name = 'run_record' AND constraint_type = 'UNIQUE'", String.class);
+		jdbcTemplate.execute("ALTER TABLE run_record DROP CONSTRAINT \"" + constraint + "\"");
+		try {
+			Long slow = saveRaw(f, "00:12:00");
+			Long fast = saveRaw(f, "00:10:00");
+			Long sameTimeLater = saveRaw(f, "00:10:00");
+			jdbcTemplate.update("INSERT INTO laps (record_id, lap_km, lap_pace, lap_time) VALUES (?, 1, 6.0, 360)", slow);
+			jdbcTemplate.update("INSERT INTO laps (record_id, lap_km, lap_pace, lap_time) VALUES (?, 1, 5.0, 300)", fast);
+
+			runRecordDedup.run();
+			runRecordDedup.run(); // 다시 돌려도 그대로
+
+			assertEquals(1, countRecords(f));
+			assertTrue(recordRepository.findById(fast).isPresent());
+			assertFalse(recordRepository.findById(slow).isPresent());
+			assertFalse(recordRepository.findById(sameTimeLater).isPresent());
+			assertEquals(0, count("SELECT COUNT(*) FROM laps WHERE record_id = ?", slow));
+			assertEquals(1, count("SELECT COUNT(*) FROM laps WHERE record_id = ?", fast));
+		} finally {
+			jdbcTemplate.execute("ALTER TABLE run_record ADD CONSTRAINT \"" + constraint + "\" UNIQUE (user_id, course_id, running_group_id)");
+		}
+	}
+
+	private Long saveRaw(Fixture f, String runTime) {
+		return transactionTemplate.execute(status -> recordRepository.save(new RunRecord(
+				userRepository.getReferenceById(f.userId), courseRepository.getReferenceById(f.courseId),
+				runningGroupRepository.getReferenceById(f.groupId), runTime, 2.0, "5'00''", 100, 150,
+				LAPS, null, null, null)).getId());
+	}
+
+	private Fixture fixture() {
+		return transactionTemplate.execute(status -> {
+			String name = UUID.randomUUID().toString().substring(0, 8);
+			String email = name + "@test.com";
+			User user = userRepository.save(new User(email, "pw", "러너" + name));
+			RunningGroup group = runningGroupRepository.save(new RunningGroup("테스트 그룹", "", false, true, 10, "", user, null, null));
+			Course course = courseRepository.save(new Course("한강 2km", 2.0, 12, null, "", null, null, group, false));
+			return new Fixture(email, user.getId(), group.getId(), course.getId());
+		});
+	}
+
+	private RecordDto.Request request(Fixture f, String runTime) {
+		return new RecordDto.Request(f.courseId, f.groupId, runTime, 2.0, "5'00''", 120, 150, LAPS, ROUTE, null, null);
+	}
+
+	private int countRecords(Fixture f) {
+		return count("SELECT COUNT(*) FROM run_record WHERE user_id = ? AND course_id = ? AND running_group_id = ?",
+				f.userId, f.courseId, f.groupId);
+	}
+
+	private int count(String sql, Object... args) {
+		return jdbcTemplate.queryForObject(sql, Integer.class, args);
+	}
+
+	private record Fixture(String email, Long userId, Long groupId, Long courseId) {
+	}
+}
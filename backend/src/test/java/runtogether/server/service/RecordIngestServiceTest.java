@@ -0,0 +1,119 @@
+package runtogether.server.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import runtogether.server.dto.RecordDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RecordIngestServiceTest {
+
+	private static final String EMAIL = "runner@test.com";
+
+	// 처리 완료 건이 status-capacity 를 넘겨도 아직 처리 중인 건은 조회 가능해야 함
+	@Test
+	void keepsPendingTicketsWhenStatusCapacityIsExceeded() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch writing = new CountDownLatch(1);
+		AtomicLong ids = new AtomicLong();
+		RecordService recordService = mock(RecordService.class);
+		when(recordService.createRecord(anyString(), any())).thenAnswer(inv -> {
+			writing.countDown();
+			release.await();
+			return ids.incrementAndGet();
+		});
+		RecordIngestService service = newService(recordService, 100, 1, 2);
+
+		List<String> handles = new ArrayList<>();
+		for (int i = 0; i < 10; i++) handles.add(service.submit(EMAIL, new RecordDto.Request()));
+		assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+		for (String handle : handles) {
+			assertEquals(RecordIngestService.PENDING, service.getStatus(EMAIL, handle).getStatus());
+		}
+		assertNull(service.getStatus("other@test.com", handles.get(0)));
+
+		release.countDown();
+		service.stop();
+
+		// 끝난 건은 최근 2건만 기억
+		assertNull(service.getStatus(EMAIL, handles.get(0)));
+		RecordDto.IngestResponse last = service.getStatus(EMAIL, handles.get(9));
+		assertEquals(RecordIngestService.DONE, last.getStatus());
+		assertEquals(10L, last.getRecordId());
+	}
+
+	// 종료 시 쓰기 스레드가 하던 묶음을 끝낸 뒤 남은 큐를 직접 비움 (다른 스레드와 동시에 저장하지 않음)
+	@Test
+	void stopWritesQueuedRecordsFromWriterThreadOnly() throws Exception {
+		List<String> writers = new ArrayList<>();
+		CountDownLatch writing = new CountDownLatch(1);
+		RecordService recordService = mock(RecordService.class);
+		when(recordService.createRecord(anyString(), any())).thenAnswer(inv -> {
+			synchronized (writers) {
+				writers.add(Thread.currentThread().getName());
+			}
+			writing.countDown();
+			Thread.sleep(20);
+			return 1L;
+		});
+		RecordIngestService service = newService(recordService, 100, 5, 100);
+
+		List<String> handles = new ArrayList<>();
+		for (int i = 0; i < 30; i++) handles.add(service.submit(EMAIL, new RecordDto.Request()));
+		assertTrue(writing.await(5, TimeUnit.SECONDS));
+		service.stop();
+
+		assertEquals(30, writers.size());
+		assertTrue(writers.stream().allMatch("record-ingest-writer"::equals));
+		for (String handle : handles) {
+			assertEquals(RecordIngestService.DONE, service.getStatus(EMAIL, handle).getStatus());
+		}
+		assertNull(service.submit(EMAIL, new RecordDto.Request())); // 종료 후에는 받지 않음
+	}
+
+	@Test
+	void failedRecordOnlyFailsItsOwnTicket() throws Exception {
+		RecordService recordService = mock(RecordService.class);
+		RecordDto.Request bad = new RecordDto.Request();
+		when(recordService.createRecord(anyString(), any())).thenAnswer(inv -> {
+			if (inv.getArgument(1) == bad) throw new IllegalArgumentException("코스를 찾을 수 없습니다.");
+			return 7L;
+		});
+		RecordIngestService service = newService(recordService, 100, 50, 100);
+
+		String ok = service.submit(EMAIL, new RecordDto.Request());
+		String failed = service.submit(EMAIL, bad);
+		service.stop();
+
+		assertEquals(RecordIngestService.DONE, service.getStatus(EMAIL, ok).getStatus());
+		RecordDto.IngestResponse response = service.getStatus(EMAIL, failed);
+		assertEquals(RecordIngestService.FAILED, response.getStatus());
+		assertEquals("코스를 찾을 수 없습니다.", response.getMessage());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static RecordIngestService newService(RecordService recordService, int queueCapacity, int maxBatch, int statusCapacity) {
+		// 트랜잭션 없이 콜백만 실행 (롤백은 흉내 내지 않음)
+		TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+		when(transactionTemplate.execute(any())).thenAnswer(inv -> ((TransactionCallback<Object>) inv.getArgument(0)).doInTransaction(null));
+
+		RecordIngestService service = new RecordIngestService(recordService, transactionTemplate);
+		ReflectionTestUtils.setField(service, "queueCapacity", queueCapacity);
+		ReflectionTestUtils.setField(service, "maxBatch", maxBatch);
+		ReflectionTestUtils.setField(service, "statusCapacity", statusCapacity);
+		service.start();
+		return service;
+	}
+}
@@ -0,0 +1,195 @@
+package runtogether.server.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import runtogether.server.domain.Course;
+import runtogether.server.domain.GroupStats;
+import runtogether.server.domain.RecordStats;
+import runtogether.server.domain.RunRecord;
+import runtogether.server.domain.RunningGroup;
+import runtogether.server.domain.User;
+import runtogether.server.dto.RecordDto;
+import runtogether.server.repository.CourseRepository;
+import runtogether.server.repository.CourseStatsRepository;
+import runtogether.server.repository.GroupStatsRepository;
+import runtogether.server.repository.RunRecordRepository;
+import runtogether.server.repository.RunningGroupRepository;
+import runtogether.server.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 그룹/코스 집계: 처음 한 번 DB 기록으로 채우고, 그 뒤로는 기록 저장/갱신/삭제마다 정확히 맞게 고쳐지는지 (메모리 DB)
+@SpringBootTest
+@ActiveProfiles("h2")
+class RecordStatsServiceTest {
+
+	@Autowired RecordStatsService recordStatsService;
+	@Autowired RecordService recordService;
+	@Autowired GroupStatsRepository groupStatsRepository;
+	@Autowired CourseStatsRepository courseStatsRepository;
+	@Autowired UserRepository userRepository;
+	@Autowired CourseRepository courseRepository;
+	@Autowired RunningGroupRepository runningGroupRepository;
+	@Autowired RunRecordRepository recordRepository;
+	@Autowired TransactionTemplate transactionTemplate;
+
+	// 집계 행이 없던 그룹에 기록이 오면 기존 기록 + 이번 기록으로 한 번만 채움 (이번 기록을 두 번 더하지 않음)
+	@Test
+	void firstWriteFillsFromExistingRecords() {
+		Fixture f = fixture();
+		transactionTemplate.executeWithoutResult(status -> {
+			saveRecord(f, "00:30:00", "6'00''");
+			saveRecord(f, "00:25:00", "5'00''");
+		});
+		assertTrue(groupStatsRepository.findById(f.groupId).isEmpty());
+
+		// 읽기만 하면 임시로 계산하고 저장하지 않음
+		assertStats(recordStatsService.group(f.groupId), 2, 660, 2, 1500, 1800);
+		assertTrue(groupStatsRepository.findById(f.groupId).isEmpty());
+
+		recordService.createRecord(saveUser().getEmail(), request(f, "00:20:00", "4'00''"));
+
+		assertStats(stored(f.groupId), 3, 900, 3, 1200, 1800);
+		assertStats(courseStatsRepository.findById(f.courseId).orElseThrow(), 3, 900, 3, 1200, 1800);
+		assertTrue(stored(f.groupId).isInitialized());
+	}
+
+	// 집계 행이 없는 그룹에 첫 기록들이 동시에 와도 행은 하나, 개수/합계는 정확히 인원 수만큼
+	@Test
+	void concurrentFirstWritesInitializeOnce() throws Exception {
+		Fixture f = fixture();
+		int runners = 8;
+		List<String> emails = new ArrayList<>();
+		for (int i = 0; i < runners; i++) emails.add(saveUser().getEmail());
+
+		ExecutorService pool = Executors.newFixedThreadPool(runners);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Long>> results = new ArrayList<>();
+		for (int i = 0; i < runners; i++) {
+			String email = emails.get(i);
+			String runTime = "00:2" + i + ":00";
+			results.add(pool.submit(() -> {
+				start.await();
+				return recordService.createRecord(email, request(f, runTime, "5'00''"));
+			}));
+		}
+		start.countDown();
+		for (Future<Long> result : results) result.get(30, TimeUnit.SECONDS);
+		pool.shutdown();
+
+		assertStats(stored(f.groupId), runners, 300L * runners, runners, 1200, 1200 + 60 * (runners - 1));
+		assertStats(courseStatsRepository.findById(f.courseId).orElseThrow(), runners, 300L * runners, runners,
+				1200, 1200 + 60 * (runners - 1));
+	}
+
+	// 증분으로 고친 집계 = 같은 기록들로 처음부터 다시 계산한 집계
+	@Test
+	void improvedAndRemovedRecordsKeepStatsExact() {
+		Fixture f = fixture();
+		String fast = saveUser().getEmail();
+		String slow = saveUser().getEmail();
+		recordService.createRecord(fast, request(f, "00:25:00", "5'00''"));
+		Long slowId = recordService.createRecord(slow, request(f, "00:40:00", "8'00''"));
+		recordService.createRecord(saveUser().getEmail(), request(f, "00:30:00", "측정 실패")); // 페이스 없는 기록은 평균에서 빠짐
+		assertStats(stored(f.groupId), 3, 780, 2, 1500, 2400);
+
+		// 가장 느린 기록이 빨라지면 최대값이 다음 기록이 든 분포 칸으로 내려옴 (칸 경계라서 근사값)
+		recordService.createRecord(slow, request(f, "00:22:00", "4'24''"));
+		assertStats(stored(f.groupId), 3, 564, 2, 1320, null);
+		assertNear(1800, stored(f.groupId).getMaxTimeSeconds());
+		assertArrayEquals(rebuilt(f.groupId).getHistogram(), stored(f.groupId).getHistogram());
+
+		// 가장 빠른 기록이 지워지면 최소값이 다음 기록이 든 칸으로 올라감
+		transactionTemplate.executeWithoutResult(status -> {
+			RunRecord record = recordRepository.findById(slowId).orElseThrow();
+			recordStatsService.recordRemoved(f.groupId, f.courseId, record.getRunTimeSeconds(), record.getPaceSecondsPerKm());
+			recordRepository.delete(record);
+		});
+		RecordStats stats = stored(f.groupId);
+		assertStats(stats, 2, 300, 1, null, null);
+		assertNear(1500, stats.getMinTimeSeconds());
+		assertNear(1800, stats.getMaxTimeSeconds());
+		assertEquals(1, stats.countFasterThan(1800));
+		assertEquals(300, stats.averagePaceSeconds());
+		assertStats(courseStatsRepository.findById(f.courseId).orElseThrow(), 2, 300, 1, null, null);
+		assertArrayEquals(rebuilt(f.groupId).getHistogram(), stats.getHistogram());
+	}
+
+	// 그룹 삭제: 그룹/코스 집계 행을 지워서 다음에 DB 기준으로 다시 채우게 함
+	@Test
+	void groupDeletedDropsGroupAndCourseRows() {
+		Fixture f = fixture();
+		recordService.createRecord(saveUser().getEmail(), request(f, "00:25:00", "5'00''"));
+		assertTrue(groupStatsRepository.findById(f.groupId).isPresent());
+		assertTrue(courseStatsRepository.findById(f.courseId).isPresent());
+
+		transactionTemplate.executeWithoutResult(status -> recordStatsService.groupDeleted(f.groupId, Set.of(f.courseId)));
+
+		assertTrue(groupStatsRepository.findById(f.groupId).isEmpty());
+		assertTrue(courseStatsRepository.findById(f.courseId).isEmpty());
+		// 남아 있는 기록으로 다시 채움
+		recordService.createRecord(saveUser().getEmail(), request(f, "00:35:00", "7'00''"));
+		assertStats(stored(f.groupId), 2, 720, 2, 1500, 2100);
+	}
+
+	// 지금 DB 기록으로 처음부터 계산한 집계 (저장하지 않음)
+	private GroupStats rebuilt(Long groupId) {
+		GroupStats stats = new GroupStats(groupId);
+		for (Object[] row : recordRepository.findStatsRows(groupId)) stats.add((Integer) row[0], (Integer) row[1]);
+		return stats;
+	}
+
+	private RecordStats stored(Long groupId) {
+		return groupStatsRepository.findById(groupId).orElseThrow();
+	}
+
+	// min / max 가 null 이면 근사값이라 따로 확인
+	private static void assertStats(RecordStats stats, int count, long paceSum, int paceCount, Integer min, Integer max) {
+		assertEquals(count, stats.getRecordCount(), "recordCount");
+		assertEquals(paceSum, stats.getPaceSum(), "paceSum");
+		assertEquals(paceCount, stats.getPaceCount(), "paceCount");
+		if (min != null) assertEquals(min, stats.getMinTimeSeconds(), "min");
+		if (max != null) assertEquals(max, stats.getMaxTimeSeconds(), "max");
+		assertEquals(count, stats.distribution().total(), "histogram");
+	}
+
+	// 분포 칸 하나 폭 안쪽 (거듭제곱 구간당 32칸)
+	private static void assertNear(int expected, Integer actual) {
+		assertNotNull(actual);
+		assertTrue(Math.abs(actual - expected) <= expected / 32, expected + " 근처여야 함: " + actual);
+	}
+
+	private void saveRecord(Fixture f, String runTime, String pace) {
+		recordRepository.save(new RunRecord(saveUser(), courseRepository.getReferenceById(f.courseId),
+				runningGroupRepository.getReferenceById(f.groupId), runTime, 5.0, pace, 300, 150, null, null, null, null));
+	}
+
+	private static RecordDto.Request request(Fixture f, String runTime, String pace) {
+		return new RecordDto.Request(f.courseId, f.groupId, runTime, 5.0, pace, 300, 150, null, null, null, null);
+	}
+
+	private User saveUser() {
+		String name = UUID.randomUUID().toString().substring(0, 8);
+		return userRepository.save(new User(name + "@test.com", "pw", "러너" + name));
+	}
+
+	private Fixture fixture() {
+		return transactionTemplate.execute(status -> {
+			RunningGroup group = runningGroupRepository.save(new RunningGroup("집계 그룹", "", false, true, 20, "", saveUser(), null, null));
+			Course course = courseRepository.save(new Course("한강 5km", 5.0, 30, null, "", null, null, group, false));
+			return new Fixture(group.getId(), course.getId());
+		});
+	}
+
+	private record Fixture(Long groupId, Long courseId) {
+	}
+}
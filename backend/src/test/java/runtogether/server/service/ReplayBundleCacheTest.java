@@ -0,0 +1,138 @@
+package runtogether.server.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import runtogether.server.dto.ReplayDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayBundleCacheTest {
+
+	// 요청자마다 isMe 만 바꾼 gzip 이 올바르게 풀리고, 압축 안 한 응답과 같은지
+	@Test
+	void bundleSetsIsMePerRequester() throws Exception {
+		ReplayBundle bundle = bundle(3);
+
+		assertEquals("[{\"id\":0,\"isMe\":false,\"path\":[0]},{\"id\":1,\"isMe\":true,\"path\":[1]},{\"id\":2,\"isMe\":false,\"path\":[2]}]",
+				gunzip(bundle, "runner1@test.com"));
+		assertEquals("[{\"id\":0,\"isMe\":false,\"path\":[0]},{\"id\":1,\"isMe\":false,\"path\":[1]},{\"id\":2,\"isMe\":false,\"path\":[2]}]",
+				gunzip(bundle, null));
+
+		ByteArrayOutputStream plain = new ByteArrayOutputStream();
+		bundle.writeTo(plain, "runner2@test.com", false);
+		assertEquals(gunzip(bundle, "runner2@test.com"), plain.toString(StandardCharsets.UTF_8));
+	}
+
+	// 기록이 없는 요청자는 미리 압축해 둔 바이트를 그대로 받음 (요청마다 다시 압축하지 않음)
+	@Test
+	void spectatorsGetPrecompressedBytes() throws Exception {
+		ReplayBundle bundle = bundle(3);
+		byte[] anonymous = gzipped(bundle, null);
+		assertArrayEquals(anonymous, gzipped(bundle, "spectator@test.com"));
+		assertArrayEquals(anonymous, gzipped(bundle, "spectator@test.com"));
+		assertEquals(gunzip(bundle, null), gunzip(bundle, "spectator@test.com"));
+		assertNotEquals(gunzip(bundle, null), gunzip(bundle, "runner0@test.com"));
+
+		// 디스크에서 다시 읽은 번들도 같은 바이트
+		ByteArrayOutputStream binary = new ByteArrayOutputStream();
+		bundle.writeBinary(new DataOutputStream(binary));
+		ReplayBundle restored = ReplayBundle.readBinary(new DataInputStream(new ByteArrayInputStream(binary.toByteArray())));
+		assertArrayEquals(anonymous, gzipped(restored, "spectator@test.com"));
+		assertEquals(gunzip(bundle, "runner2@test.com"), gunzip(restored, "runner2@test.com"));
+	}
+
+	// 실제 DTO 로 만든 번들: 키는 "isMe" 하나뿐이고, 같은 사람의 기록이 여러 개면 모두 true
+	@Test
+	void bundleFromDtoHasSingleIsMeKey() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+		List<String> emails = List.of("a@test.com", "b@test.com", "a@test.com");
+		List<byte[]> json = new ArrayList<>();
+		for (int i = 0; i < emails.size(); i++) {
+			json.add(mapper.writeValueAsBytes(ReplayDto.Columns.builder().runRecordId((long) i).nickname("러너" + i)
+					.isMe(false).scale(1_000_000).lat(new int[]{i}).lng(new int[]{i}).t(new int[]{0}).build()));
+		}
+		JsonNode runners = mapper.readTree(gunzip(ReplayBundle.of(emails, json), "a@test.com"));
+
+		assertEquals(3, runners.size());
+		for (int i = 0; i < 3; i++) {
+			assertFalse(runners.get(i).has("me"));
+			assertEquals(i != 1, runners.get(i).get("isMe").asBoolean());
+		}
+	}
+
+	// 같은 키는 한 번만 만들고, 무효화하면 다시 만듦
+	@Test
+	void buildsOnceUntilInvalidated() {
+		ReplayBundleCache cache = new ReplayBundleCache(1 << 20, "", 0);
+		AtomicInteger builds = new AtomicInteger();
+
+		ReplayBundle first = cache.get(1L, "v1", () -> { builds.incrementAndGet(); return bundle(2); });
+		assertSame(first, cache.get(1L, "v1", () -> { builds.incrementAndGet(); return bundle(2); }));
+		assertEquals(1, builds.get());
+
+		cache.invalidate(1L);
+		assertNotSame(first, cache.get(1L, "v1", () -> { builds.incrementAndGet(); return bundle(2); }));
+		assertEquals(2, builds.get());
+	}
+
+	// 메모리 상한을 넘으면 오래된 번들이 디스크로 밀려나고, 다시 요청하면 디스크에서 읽어 옴
+	@Test
+	void evictedBundlesSpillToDiskAndComeBack() throws Exception {
+		Path dir = Files.createTempDirectory("replay-bundles");
+		long one = bundle(20).sizeInBytes();
+		ReplayBundleCache cache = new ReplayBundleCache(one * 2 + one / 2, dir.toString(), 1 << 24);
+		cache.start();
+
+		List<String> expected = new ArrayList<>();
+		for (long group = 1; group <= 4; group++) {
+			expected.add(gunzip(cache.get(group, "v", () -> bundle(20)), "runner3@test.com"));
+		}
+		assertTrue(cache.memoryBytes() <= one * 2 + one / 2);
+		try (var files = Files.list(dir)) {
+			assertEquals(2L, files.count());
+		}
+
+		ReplayBundle fromDisk = cache.get(1L, "v", () -> { throw new AssertionError("디스크에 있어야 함"); });
+		assertEquals(expected.get(0), gunzip(fromDisk, "runner3@test.com"));
+
+		cache.invalidate(2L);
+		try (var files = Files.list(dir)) {
+			assertTrue(files.noneMatch(f -> f.getFileName().toString().startsWith("2_")));
+		}
+	}
+
+	private static ReplayBundle bundle(int runners) {
+		List<String> emails = new ArrayList<>();
+		List<byte[]> json = new ArrayList<>();
+		for (int i = 0; i < runners; i++) {
+			emails.add("runner" + i + "@test.com");
+			json.add(("{\"id\":" + i + ",\"isMe\":false,\"path\":[" + i + "]}").getBytes(StandardCharsets.UTF_8));
+		}
+		return ReplayBundle.of(emails, json);
+	}
+
+	private static byte[] gzipped(ReplayBundle bundle, String email) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		bundle.writeTo(out, email, true);
+		return out.toByteArray();
+	}
+
+	private static String gunzip(ReplayBundle bundle, String email) throws Exception {
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped(bundle, email)))) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package runtogether.server.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import runtogether.server.domain.Course;
+import runtogether.server.domain.RouteDetail;
+import runtogether.server.domain.RunningGroup;
+import runtogether.server.domain.User;
+import runtogether.server.dto.RecordDto;
+import runtogether.server.repository.CourseRepository;
+import runtogether.server.repository.RunningGroupRepository;
+import runtogether.server.repository.UserRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// NDJSON 리플레이: 한 줄에 러너 하나, 러너 순서와 내용이 점 목록 / 프레임 형식과 같은지 (구버전 좌표 기록 포함, 메모리 DB)
+@SpringBootTest
+@ActiveProfiles("h2")
+class ReplayServiceTest {
+
+	private static final String ROUTE = "[{\"lat\":37.5000,\"lng\":127.0000,\"time\":0},{\"lat\":37.5050,\"lng\":127.0050,\"time\":200}," +
+			"{\"lat\":37.5100,\"lng\":127.0100,\"time\":400}]";
+
+	@Autowired ReplayService replayService;
+	@Autowired RecordService recordService;
+	@Autowired UserRepository userRepository;
+	@Autowired CourseRepository courseRepository;
+	@Autowired RunningGroupRepository runningGroupRepository;
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired TransactionTemplate transactionTemplate;
+
+	@Test
+	void ndjsonLinesMatchOtherFormatsInOrder() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+		List<String> emails = List.of(saveUser(), saveUser(), saveUser(), saveUser());
+		Long[] ids = new Long[emails.size()];
+		Long groupId = transactionTemplate.execute(status -> {
+			User owner = userRepository.findByEmail(emails.get(0)).orElseThrow();
+			return runningGroupRepository.save(new RunningGroup("리플레이", "", false, true, 10, "", owner, null, null)).getId();
+		});
+		Long courseId = transactionTemplate.execute(status -> courseRepository.save(new Course("한강 2km", 2.0, 12, null, "", null, null,
+				runningGroupRepository.getReferenceById(groupId), false)).getId());
+		for (int i = 0; i < emails.size(); i++) {
+			ids[i] = recordService.createRecord(emails.get(i), new RecordDto.Request(courseId, groupId, "00:1" + i + ":00",
+					2.0, "5'00''", 100, 150, null, ROUTE, null, null));
+		}
+		// 두 번째 기록은 BLOB 없는 구버전 좌표 기록 (시간 역순으로 넣어도 시간 순으로 나와야 함)
+		jdbcTemplate.update("UPDATE run_record SET route_blob = NULL, route_blob_low = NULL, route_blob_medium = NULL WHERE record_id = ?", ids[1]);
+		for (int t = 300; t >= 0; t -= 100) {
+			jdbcTemplate.update("INSERT INTO route_point (run_record_id, latitude, longitude, elapsed_seconds) VALUES (?, ?, ?, ?)",
+					ids[1], 37.6 + t * 1e-5, 127.1, t);
+		}
+
+		String me = emails.get(2);
+		ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+		replayService.streamNdjson(groupId, me, RouteDetail.FULL, ndjson);
+		String body = ndjson.toString(StandardCharsets.UTF_8);
+		assertTrue(body.endsWith("\n"));
+		String[] lines = body.split("\n");
+		assertEquals(emails.size(), lines.length);
+
+		ByteArrayOutputStream points = new ByteArrayOutputStream();
+		replayService.getBundle(groupId, "test", RouteDetail.FULL, false, false).writeTo(points, me, false);
+		JsonNode expected = mapper.readTree(points.toByteArray());
+
+		ByteArrayOutputStream frames = new ByteArrayOutputStream();
+		replayService.getFrames(groupId, me, RouteDetail.FULL, 100).writeTo(frames);
+		JsonNode frameRunners = mapper.readTree(frames.toByteArray()).get("runners");
+
+		for (int i = 0; i < lines.length; i++) {
+			JsonNode line = mapper.readTree(lines[i]);
+			Set<String> fields = new TreeSet<>();
+			line.fieldNames().forEachRemaining(fields::add);
+			assertEquals(Set.of("isMe", "nickname", "path", "runRecordId"), fields);
+			assertEquals(ids[i].longValue(), line.get("runRecordId").asLong());
+			assertEquals(i == 2, line.get("isMe").asBoolean());
+			assertEquals(expected.get(i), line, "점 목록 형식과 같은 러너");
+			assertEquals(ids[i].longValue(), frameRunners.get(i).get("runRecordId").asLong());
+		}
+
+		List<Integer> legacyTimes = new ArrayList<>();
+		mapper.readTree(lines[1]).get("path").forEach(p -> legacyTimes.add(p.get("time").asInt()));
+		assertEquals(List.of(0, 100, 200, 300), legacyTimes);
+	}
+
+	private String saveUser() {
+		String name = UUID.randomUUID().toString().substring(0, 8);
+		return userRepository.save(new User(name + "@test.com", "pw", "러너" + name)).getEmail();
+	}
+}
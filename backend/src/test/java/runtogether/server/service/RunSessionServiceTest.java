@@ -0,0 +1,147 @@
+package runtogether.server.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import runtogether.server.domain.Course;
+import runtogether.server.domain.RunningGroup;
+import runtogether.server.domain.User;
+import runtogether.server.dto.RecordDto;
+import runtogether.server.repository.CourseRepository;
+import runtogether.server.repository.RunRecordRepository;
+import runtogether.server.repository.RunningGroupRepository;
+import runtogether.server.repository.UserRepository;
+import runtogether.server.util.RouteCodec;
+import runtogether.server.util.RouteTrack;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 러닝 세션: 조각이 DB 안에서 BLOB 뒤에 이어 붙고, 재전송/순서 오류/종료 재전송이 기록을 한 벌만 남기는지 (메모리 DB)
+@SpringBootTest
+@ActiveProfiles("h2")
+class RunSessionServiceTest {
+
+	private static final String CHUNK_1 = "[{\"lat\":37.5000,\"lng\":127.0000,\"time\":0},{\"lat\":37.5010,\"lng\":127.0010,\"time\":60}]";
+	private static final String CHUNK_2 = "[{\"lat\":37.5020,\"lng\":127.0020,\"time\":120},{\"lat\":37.5030,\"lng\":127.0030,\"time\":180}," +
+			"{\"lat\":37.5040,\"lng\":127.0040,\"time\":240}]";
+	private static final String CHUNK_3 = "[{\"lat\":37.5050,\"lng\":127.0050,\"time\":300}]";
+
+	@Autowired RunSessionService runSessionService;
+	@Autowired UserRepository userRepository;
+	@Autowired CourseRepository courseRepository;
+	@Autowired RunningGroupRepository runningGroupRepository;
+	@Autowired RunRecordRepository recordRepository;
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired TransactionTemplate transactionTemplate;
+
+	@Test
+	void chunksAreAppendedInOrderAndBecomeTheRecordRoute() {
+		Fixture f = fixture();
+		Long sessionId = runSessionService.openSession(f.email, new RecordDto.SessionOpenRequest(f.courseId, f.groupId));
+
+		assertEquals(1, runSessionService.appendChunk(f.email, sessionId, new RecordDto.ChunkRequest(1, CHUNK_1)));
+		assertEquals(2, runSessionService.appendChunk(f.email, sessionId, new RecordDto.ChunkRequest(2, CHUNK_2)));
+
+		// DB 안에서 이어 붙은 BLOB = 헤더 + 조각 블록들
+		assertArrayEquals(concat(RouteCodec.emptyRoute(), block(0, 1), block(2, 3, 4)), sessionBlob(sessionId));
+		assertEquals(5, jdbcTemplate.queryForObject("SELECT point_count FROM run_sessions WHERE session_id = ?", Integer.class, sessionId));
+
+		// 재전송된 조각은 무시하고 마지막 번호를 돌려줌, 건너뛴 번호는 거절
+		assertEquals(2, runSessionService.appendChunk(f.email, sessionId, new RecordDto.ChunkRequest(1, CHUNK_1)));
+		assertEquals(2, runSessionService.appendChunk(f.email, sessionId, new RecordDto.ChunkRequest(2, CHUNK_2)));
+		IllegalArgumentException skipped = assertThrows(IllegalArgumentException.class,
+				() -> runSessionService.appendChunk(f.email, sessionId, new RecordDto.ChunkRequest(4, CHUNK_3)));
+		assertTrue(skipped.getMessage().contains("다음 번호: 3"), skipped.getMessage());
+		assertEquals(3, runSessionService.appendChunk(f.email, sessionId, new RecordDto.ChunkRequest(3, CHUNK_3)));
+
+		Long recordId = runSessionService.finishSession(f.email, sessionId, finishRequest());
+		assertEquals(recordId, runSessionService.finishSession(f.email, sessionId, finishRequest()));
+
+		RouteTrack route = RouteCodec.decode(recordRepository.findById(recordId).orElseThrow().getRouteBlob());
+		assertEquals(6, route.size());
+		for (int i = 0; i < route.size(); i++) {
+			assertEquals(37.5 + i * 0.001, route.lat(i), 1e-6, "lat " + i);
+			assertEquals(127.0 + i * 0.001, route.lng(i), 1e-6, "lng " + i);
+			assertEquals(i * 60, route.time(i), "time " + i);
+		}
+		assertNull(sessionBlob(sessionId)); // 경로는 기록으로 옮겨 감
+
+		// 종료된 세션에는 더 붙지 않음
+		assertThrows(IllegalArgumentException.class,
+				() -> runSessionService.appendChunk(f.email, sessionId, new RecordDto.ChunkRequest(4, CHUNK_3)));
+	}
+
+	// 종료 재전송이 동시에 와도 기록은 하나, 모두 같은 기록 ID
+	@Test
+	void concurrentFinishRetriesReturnSameRecord() throws Exception {
+		Fixture f = fixture();
+		Long sessionId = runSessionService.openSession(f.email, new RecordDto.SessionOpenRequest(f.courseId, f.groupId));
+		runSessionService.appendChunk(f.email, sessionId, new RecordDto.ChunkRequest(1, CHUNK_1));
+
+		int clients = 8;
+		ExecutorService pool = Executors.newFixedThreadPool(clients);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Long>> results = new ArrayList<>();
+		for (int i = 0; i < clients; i++) {
+			results.add(pool.submit(() -> {
+				start.await();
+				return runSessionService.finishSession(f.email, sessionId, finishRequest());
+			}));
+		}
+		start.countDown();
+		Set<Long> ids = new HashSet<>();
+		for (Future<Long> result : results) ids.add(result.get(30, TimeUnit.SECONDS));
+		pool.shutdown();
+
+		assertEquals(1, ids.size());
+		assertEquals(1, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM run_record WHERE user_id = ? AND running_group_id = ?", Integer.class, f.userId, f.groupId));
+		assertEquals(2, RouteCodec.decode(recordRepository.findById(ids.iterator().next()).orElseThrow().getRouteBlob()).size());
+	}
+
+	// CHUNK_1~3 의 점들 중 indexes 번째만 모은 블록 (점 i = 37.5 + i*0.001, 127.0 + i*0.001, i*60초)
+	private static byte[] block(int... indexes) {
+		RouteTrack track = new RouteTrack();
+		for (int i : indexes) track.add(37.5 + i * 0.001, 127.0 + i * 0.001, i * 60);
+		return RouteCodec.encodeBlock(track);
+	}
+
+	private static byte[] concat(byte[]... parts) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (byte[] part : parts) out.writeBytes(part);
+		return out.toByteArray();
+	}
+
+	private byte[] sessionBlob(Long sessionId) {
+		return jdbcTemplate.queryForObject("SELECT route_blob FROM run_sessions WHERE session_id = ?", byte[].class, sessionId);
+	}
+
+	private static RecordDto.Request finishRequest() {
+		return new RecordDto.Request(null, null, "00:05:00", 1.0, "5'00''", 60, 150, null, null, null, null);
+	}
+
+	private Fixture fixture() {
+		return transactionTemplate.execute(status -> {
+			String name = UUID.randomUUID().toString().substring(0, 8);
+			String email = name + "@test.com";
+			User user = userRepository.save(new User(email, "pw", "러너" + name));
+			RunningGroup group = runningGroupRepository.save(new RunningGroup("세션 그룹", "", false, true, 10, "", user, null, null));
+			Course course = courseRepository.save(new Course("한강 1km", 1.0, 6, null, "", null, null, group, false));
+			return new Fixture(email, user.getId(), group.getId(), course.getId());
+		});
+	}
+
+	private record Fixture(String email, Long userId, Long groupId, Long courseId) {
+	}
+}
@@ -0,0 +1,127 @@
+package runtogether.server.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import runtogether.server.domain.Course;
+import runtogether.server.domain.RecordStats;
+import runtogether.server.domain.RunRecord;
+import runtogether.server.domain.RunningGroup;
+import runtogether.server.domain.User;
+import runtogether.server.repository.CourseRepository;
+import runtogether.server.repository.CourseStatsRepository;
+import runtogether.server.repository.GroupStatsRepository;
+import runtogether.server.repository.RunRecordRepository;
+import runtogether.server.repository.RunningGroupRepository;
+import runtogether.server.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 예전 기록의 초 단위 컬럼 백필: 여러 묶음에 걸쳐 채우고, 다시 돌려도 그대로인지 (메모리 DB)
+@SpringBootTest
+@ActiveProfiles("h2")
+class RunTimeBackfillTest {
+
+	@Autowired RunTimeBackfill runTimeBackfill;
+	@Autowired RecordStatsService recordStatsService;
+	@Autowired GroupStatsRepository groupStatsRepository;
+	@Autowired CourseStatsRepository courseStatsRepository;
+	@Autowired UserRepository userRepository;
+	@Autowired CourseRepository courseRepository;
+	@Autowired RunningGroupRepository runningGroupRepository;
+	@Autowired RunRecordRepository recordRepository;
+	@Autowired JdbcTemplate jdbcTemplate;
+	@Autowired TransactionTemplate transactionTemplate;
+
+	@Test
+	void fillsLegacyRowsAcrossBatchesAndIsIdempotent() {
+		String[][] legacy = {
+				{"56:42", "6'52\""}, {"1:02:03", "6'12''"}, {"00:10:00", "5'00''"}, {"잘못된 시간", "모름"},
+				{"25:00", "측정 실패"}, {"45:30", "4'33\""}, {"2:00:00", "12'00''"}, {"30:00", "3'00''"}};
+		List<Long> ids = saveLegacyRecords(legacy);
+
+		// 3건씩 묶어서 여러 번 왕복 (다른 테스트와 같은 컨텍스트를 쓰도록 설정 대신 필드를 바꿈)
+		ReflectionTestUtils.setField(runTimeBackfill, "batchSize", 3);
+		ReflectionTestUtils.setField(runTimeBackfill, "pauseMillis", 0L);
+		try {
+			runTimeBackfill.run();
+		} finally {
+			ReflectionTestUtils.setField(runTimeBackfill, "batchSize", 1000);
+			ReflectionTestUtils.setField(runTimeBackfill, "pauseMillis", 50L);
+		}
+
+		Integer[][] expected = {{3402, 412}, {3723, 372}, {600, 300}, {null, null}, {1500, null}, {2730, 273}, {7200, 720}, {1800, 180}};
+		assertColumns(ids, expected);
+
+		// 다시 돌려도 그대로, 이미 채워진 값은 덮어쓰지 않음
+		jdbcTemplate.update("UPDATE run_record SET run_time_seconds = 1 WHERE record_id = ?", ids.get(0));
+		runTimeBackfill.run();
+		expected[0][0] = 1;
+		assertColumns(ids, expected);
+	}
+
+	// 백필 전에 만들어진 집계는 예전 기록의 시간/페이스가 빠져 있으므로 지워지고, 다음 기록 때 다시 채워짐
+	@Test
+	void dropsStatsBuiltBeforeBackfill() {
+		List<Long> ids = saveLegacyRecords(new String[][]{{"50:00", "5'00''"}, {"40:00", "4'00''"}});
+		RunRecord legacy = recordRepository.findById(ids.get(0)).orElseThrow();
+		Long groupId = legacy.getRunningGroup().getId();
+		Long courseId = legacy.getCourse().getId();
+		// 집계 행이 처음 생길 때는 DB 기록으로만 채우므로 넘기는 값은 상관없음
+		transactionTemplate.executeWithoutResult(status -> recordStatsService.recordAdded(groupId, courseId, null, null));
+		assertEquals(0, groupStatsRepository.findById(groupId).orElseThrow().getPaceCount()); // 예전 기록은 개수에만 들어감
+
+		runTimeBackfill.run();
+		assertTrue(groupStatsRepository.findById(groupId).isEmpty());
+		assertTrue(courseStatsRepository.findById(courseId).isEmpty());
+
+		// 다음 기록 때 채워진 컬럼으로 다시 채움 (두 기록은 코스가 달라서 코스 집계에는 하나씩)
+		transactionTemplate.executeWithoutResult(status -> recordStatsService.recordAdded(groupId, courseId, null, null));
+		RecordStats group = groupStatsRepository.findById(groupId).orElseThrow();
+		assertEquals(2, group.getRecordCount());
+		assertEquals(2, group.getPaceCount());
+		assertEquals(540, group.getPaceSum());
+		assertEquals(2400, group.getMinTimeSeconds());
+		assertEquals(3000, group.getMaxTimeSeconds());
+		assertEquals(2, group.distribution().total());
+		assertEquals(1, courseStatsRepository.findById(courseId).orElseThrow().getPaceCount());
+	}
+
+	// 초 단위 컬럼이 생기기 전에 저장된 기록 (문자열만 있음)
+	private List<Long> saveLegacyRecords(String[][] times) {
+		List<Long> ids = transactionTemplate.execute(status -> {
+			String name = UUID.randomUUID().toString().substring(0, 8);
+			User owner = userRepository.save(new User(name + "@test.com", "pw", "러너" + name));
+			RunningGroup group = runningGroupRepository.save(new RunningGroup("백필 그룹", "", false, true, 20, "", owner, null, null));
+			List<Long> saved = new ArrayList<>();
+			for (String[] time : times) {
+				String runner = UUID.randomUUID().toString().substring(0, 8);
+				User user = userRepository.save(new User(runner + "@test.com", "pw", "러너" + runner));
+				Course course = courseRepository.save(new Course("코스", 10.0, 60, null, "", null, null, group, false));
+				saved.add(recordRepository.save(new RunRecord(user, course, group, time[0], 10.0, time[1], 500, 150,
+						null, null, null, null)).getId());
+			}
+			return saved;
+		});
+		for (Long id : ids) {
+			jdbcTemplate.update("UPDATE run_record SET run_time_seconds = NULL, pace_seconds_per_km = NULL WHERE record_id = ?", id);
+		}
+		return ids;
+	}
+
+	private void assertColumns(List<Long> ids, Integer[][] expected) {
+		for (int i = 0; i < ids.size(); i++) {
+			List<Integer[]> row = jdbcTemplate.query("SELECT run_time_seconds, pace_seconds_per_km FROM run_record WHERE record_id = ?",
+					(rs, n) -> new Integer[]{rs.getObject(1, Integer.class), rs.getObject(2, Integer.class)}, ids.get(i));
+			assertArrayEquals(expected[i], row.get(0), "기록 " + i);
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package runtogether.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogHistogramTest {
+
+	// 10만 건 백분위가 정렬해서 구한 값과 칸 오차(1/32) 안에서 같은지
+	@Test
+	void percentilesStayWithinBucketError() {
+		Random random = new Random(11);
+		int[] seconds = new int[100_000];
+		LogHistogram histogram = new LogHistogram();
+		for (int i = 0; i < seconds.length; i++) {
+			seconds[i] = 1500 + random.nextInt(6000);
+			histogram.add(seconds[i]);
+		}
+		Arrays.sort(seconds);
+
+		for (int p : new int[]{1, 10, 25, 50, 75, 90, 99}) {
+			int exact = seconds[(int) Math.ceil(seconds.length * p / 100.0) - 1];
+			int approx = histogram.valueAtPercentile(p);
+			assertTrue(Math.abs(approx - exact) <= exact / 32 + 1, "p" + p + " exact=" + exact + " approx=" + approx);
+		}
+		assertEquals(100_000L, histogram.total());
+		assertTrue(histogram.toBytes().length < 2_000);
+	}
+
+	// 칸 경계가 겹치거나 비지 않고, 두 분포를 합친 결과가 한 번에 넣은 결과와 같은지
+	@Test
+	void bucketsAreContiguousAndMergeable() {
+		for (int i = 1; i < LogHistogram.BUCKETS; i++) {
+			assertEquals(LogHistogram.upperBound(i - 1) + 1, LogHistogram.lowerBound(i));
+			assertEquals(i, LogHistogram.index(LogHistogram.lowerBound(i)));
+			assertEquals(i, LogHistogram.index(LogHistogram.upperBound(i)));
+		}
+
+		LogHistogram a = new LogHistogram();
+		LogHistogram b = new LogHistogram();
+		LogHistogram all = new LogHistogram();
+		for (int s = 0; s < 20_000; s += 7) {
+			(s % 2 == 0 ? a : b).add(s);
+			all.add(s);
+		}
+		a.merge(b);
+		assertTrue(Arrays.equals(all.toBytes(), a.toBytes()));
+
+		LogHistogram restored = LogHistogram.fromBytes(a.toBytes());
+		assertEquals(a.total(), restored.total());
+		assertEquals(a.countLessThan(3600), restored.countLessThan(3600));
+
+		restored.remove(0);
+		assertEquals(a.total() - 1, restored.total());
+		assertEquals(Integer.valueOf(7), restored.lowestSeconds());
+	}
+}
@@ -0,0 +1,151 @@
+package runtogether.server.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NgramIndexTest {
+
+	@Test
+	void findsKoreanSubstringsAndCommaSeparatedTags() {
+		NgramIndex index = new NgramIndex(200);
+		index.put(1, "잠실 한강러닝 크루", "야간,10km", "퇴근 후 같이 뛰어요", false);
+		index.put(2, "남산 업힐", "#언덕 #인터벌", "한강 말고 남산", false);
+		index.put(3, "Morning RUN", "", null, false);
+
+		assertArrayEquals(new long[]{1}, index.search("한강러닝", false, 10));
+		assertArrayEquals(new long[]{1}, index.search("강러", false, 10)); // 단어 중간
+		assertArrayEquals(new long[]{2}, index.search("인터벌", false, 10)); // # 태그
+		assertArrayEquals(new long[]{1}, index.search("10KM", false, 10)); // 대소문자/전각 무시
+		assertArrayEquals(new long[]{3}, index.search("ｒｕｎ", false, 10));
+		assertArrayEquals(new long[]{1}, index.search("퇴근", false, 10)); // 소개
+		assertArrayEquals(new long[0], index.search("한강 업힐", false, 10)); // 모든 토큰이 같은 필드에 있어야 함
+		assertArrayEquals(new long[0], index.search("   ", false, 10));
+	}
+
+	// 이름 시작 > 이름 포함 > 태그 > 소개, 같은 단계는 최신 먼저
+	@Test
+	void ranksByFieldThenPrefixThenRecency() {
+		NgramIndex index = new NgramIndex(200);
+		index.put(1, "주말 모임", "", "한강에서 만나요", false);
+		index.put(2, "주말 모임", "한강", "", false);
+		index.put(3, "잠실 한강 크루", "", "", false);
+		index.put(4, "한강 새벽반", "", "", false);
+		index.put(5, "한강 야간반", "", "", false);
+
+		assertArrayEquals(new long[]{5, 4, 3, 2, 1}, index.search("한강", false, 10));
+		assertArrayEquals(new long[]{5, 4}, index.search("한강", false, 2));
+	}
+
+	@Test
+	void updatesAndRemovesIncrementally() {
+		NgramIndex index = new NgramIndex(200);
+		index.put(1, "한강 러닝", "", "", false);
+		index.put(2, "한강 비밀 모임", "", "", true);
+
+		assertArrayEquals(new long[]{2, 1}, index.search("한강", false, 10));
+		assertArrayEquals(new long[]{1}, index.search("한강", true, 10)); // 비밀 그룹 제외
+
+		index.put(1, "남산 러닝", "", "", false); // 이름 변경
+		assertArrayEquals(new long[]{2}, index.search("한강", false, 10));
+		assertArrayEquals(new long[]{1}, index.search("남산", false, 10));
+
+		assertTrue(index.remove(2));
+		assertFalse(index.remove(2));
+		assertArrayEquals(new long[0], index.search("한강", false, 10));
+		assertEquals(1, index.size());
+
+		index.compact();
+		assertArrayEquals(new long[]{1}, index.search("남산", false, 10));
+		index.put(3, "남산 둘레길", "", "", false);
+		assertArrayEquals(new long[]{3, 1}, index.search("남산", false, 10));
+	}
+
+	// 수정된 그룹이나 늦게 커밋된 그룹도 나중에 색인된 순서가 아니라 id 순으로
+	@Test
+	void ranksByGroupIdNotIndexOrder() {
+		NgramIndex index = new NgramIndex(200);
+		for (int id = 1; id <= 5; id++) index.put(id, "한강 러닝 " + id, "", "", false);
+		index.put(2, "한강 러닝 수정", "", "", false);
+		index.put(7, "한강 야간", "", "", false);
+		index.put(6, "한강 새벽", "", "", false);
+
+		assertArrayEquals(new long[]{7, 6, 5, 4, 3, 2, 1}, index.search("한강", false, 10));
+		assertArrayEquals(new long[]{7, 6, 5}, index.search("한강", false, 3));
+		assertArrayEquals(new long[]{5, 4}, index.search("러닝", false, 2));
+		assertArrayEquals(new long[]{7, 6, 5, 4}, index.complete("한가", false, 4));
+
+		index.compact();
+		assertArrayEquals(new long[]{7, 6, 5, 4, 3, 2, 1}, index.search("한강", false, 10));
+		assertArrayEquals(new long[]{2}, index.search("수정", false, 10));
+		index.put(8, "한강 러닝 8", "", "", true);
+		assertArrayEquals(new long[]{8, 5}, index.search("러닝", false, 2));
+		assertArrayEquals(new long[]{5, 4}, index.search("러닝", true, 2));
+	}
+
+	// 입력 중인 마지막 글자: "한가" 는 "한강" 으로 이어질 수 있음
+	@Test
+	void completesPartialHangulSyllable() {
+		NgramIndex index = new NgramIndex(200);
+		index.put(1, "한강 러닝", "", "", false);
+		index.put(2, "한가위 마라톤", "", "", false);
+		index.put(3, "하늘공원 산책", "", "", false);
+		index.put(4, "서울숲", "한강러너스", "", false);
+
+		assertArrayEquals(new long[]{2, 1, 4}, index.complete("한가", false, 10));
+		assertArrayEquals(new long[]{2, 1, 4}, index.complete("한", false, 10));
+		assertArrayEquals(new long[]{3, 2, 1, 4}, index.complete("하", false, 10));
+		assertArrayEquals(new long[]{1, 4}, index.complete("한강", false, 10));
+		assertArrayEquals(new long[]{4}, index.complete("한강러너", false, 10));
+		assertArrayEquals(new long[]{1}, index.complete("한강 러", false, 10));
+		assertArrayEquals(new long[0], index.complete("강", false, 10)); // 앞부분이 아님
+	}
+
+	// 검색·자동완성 중앙값이 1ms 미만인지 (기본 테스트에서는 실행 안 함)
+	// 실행: BENCHMARK_GROUPS=1000000 ./gradlew test --tests '*NgramIndexTest'
+	@Test
+	@EnabledIfEnvironmentVariable(named = "BENCHMARK_GROUPS", matches = "\\d+")
+	void answersUnderOneMillisecondAtBenchmarkSize() {
+		int groups = Integer.parseInt(System.getenv("BENCHMARK_GROUPS"));
+		String[] places = {"한강", "잠실", "여의도", "남산", "올림픽공원", "서울숲", "뚝섬", "반포", "광교", "일산호수공원"};
+		String[] kinds = {"러닝", "크루", "마라톤", "조깅", "인터벌", "LSD", "야간런", "새벽런"};
+		String[] tags = {"초보", "10km", "하프", "풀코스", "주말", "퇴근후", "트레일", "페이스메이커"};
+		Random random = new Random(11);
+		NgramIndex index = new NgramIndex(200);
+
+		for (int id = 1; id <= groups; id++) {
+			String name = places[random.nextInt(places.length)] + " " + kinds[random.nextInt(kinds.length)] + " " + id % 5000;
+			String tag = tags[random.nextInt(tags.length)] + "," + tags[random.nextInt(tags.length)];
+			index.put(id, name, tag, places[random.nextInt(places.length)] + "에서 같이 달려요", id % 10 == 0);
+		}
+		index.compact();
+
+		String[] queries = {"한강", "한강 러닝", "올림픽공원 마라톤", "호수", "페이스", "런", "4321", "없는검색어"};
+		long worst = 0;
+		for (String query : queries) {
+			worst = Math.max(worst, median(() -> index.search(query, true, 20)));
+		}
+		for (String prefix : new String[]{"한", "여의", "올림픽고", "한강 러"}) {
+			worst = Math.max(worst, median(() -> index.complete(prefix, false, 10)));
+		}
+
+		assertEquals(20, index.search("한강 러닝", true, 20).length);
+		assertTrue(worst < 1_000_000L, "1ms 를 넘음: " + worst / 1e6 + " ms");
+	}
+
+	private static long median(Runnable query) {
+		for (int i = 0; i < 200; i++) query.run(); // 워밍업
+		long[] nanos = new long[101];
+		for (int i = 0; i < nanos.length; i++) {
+			long start = System.nanoTime();
+			query.run();
+			nanos[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(nanos);
+		return nanos[nanos.length / 2];
+	}
+}
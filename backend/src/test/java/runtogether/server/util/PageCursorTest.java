@@ -0,0 +1,28 @@
+package runtogether.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+	@Test
+	void roundTripsKeys() {
+		String token = PageCursor.encode("START_DATE", "2026-05-01", 123L);
+		assertTrue(token.matches("[A-Za-z0-9_-]+")); // URL 에 그대로 붙일 수 있음
+
+		String[] keys = PageCursor.decode(token, "START_DATE", 2);
+		assertEquals("2026-05-01", keys[0]);
+		assertEquals("123", keys[1]);
+	}
+
+	// 다른 정렬로 만든 커서, 키 개수가 다른 커서, 깨진 토큰은 모두 거절
+	@Test
+	void rejectsForeignOrBrokenCursor() {
+		String seats = PageCursor.encode("SEATS", 3, 99L);
+		assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(seats, "START_DATE", 2));
+		assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(seats, "SEATS", 1));
+		assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("%%%", "SEATS", 2));
+		assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("", "NEWEST", 1));
+	}
+}
@@ -0,0 +1,116 @@
+package runtogether.server.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankTreeTest {
+
+	private static final int ENTRIES = 100_000;
+
+	// 그룹 하나에 10만 건: 삽입/갱신 뒤 정렬 결과/순위가 전체 정렬과 같은지 확인
+	@Test
+	void rankMatchesFullSortAt100kEntries() {
+		Random random = new Random(7);
+		int[] seconds = new int[ENTRIES];
+		RankTree tree = new RankTree();
+
+		for (int id = 0; id < ENTRIES; id++) {
+			seconds[id] = 1500 + random.nextInt(6000); // 25분 ~ 125분, 동점 많음
+			assertTrue(tree.insert(seconds[id], id));
+		}
+
+		// 기록 갱신: 1만 명이 더 빠른 기록으로 바뀜 (빼고 다시 넣기)
+		for (int i = 0; i < 10_000; i++) {
+			int id = random.nextInt(ENTRIES);
+			assertTrue(tree.remove(seconds[id], id));
+			seconds[id] = Math.max(1, seconds[id] - random.nextInt(300));
+			assertTrue(tree.insert(seconds[id], id));
+		}
+		assertEquals(ENTRIES, tree.size());
+
+		long[] sorted = new long[ENTRIES];
+		for (int id = 0; id < ENTRIES; id++) sorted[id] = ((long) seconds[id] << 32) | id;
+		Arrays.sort(sorted);
+
+		for (int id = 0; id < ENTRIES; id++) {
+			int expected = Arrays.binarySearch(sorted, ((long) seconds[id] << 32) | id);
+			assertEquals(expected, tree.rank(seconds[id], id));
+		}
+
+		int[] visited = {0};
+		tree.forEach(0, 100, (index, score, id) -> {
+			assertEquals(sorted[index], ((long) score << 32) | id);
+			visited[0]++;
+		});
+		assertEquals(100, visited[0]);
+
+		// 중간부터 끝까지 순회해도 순서가 맞아야 함
+		int[] next = {ENTRIES / 2};
+		tree.forEach(ENTRIES / 2, ENTRIES, (index, score, id) -> assertEquals(sorted[next[0]++], ((long) score << 32) | id));
+		assertEquals(ENTRIES, next[0]);
+	}
+
+	@Test
+	void tiesShareCountLessThan() {
+		RankTree tree = new RankTree();
+		tree.insert(300, 1);
+		tree.insert(300, 2);
+		tree.insert(200, 3);
+
+		assertEquals(1, tree.countLessThan(300));
+		assertEquals(3, tree.idAt(0));
+		assertEquals(1, tree.idAt(1)); // 동점이면 id 가 작은 쪽이 앞
+		assertFalse(tree.insert(300, 1));
+		assertFalse(tree.remove(100, 3));
+	}
+
+	// 순위 조회 / top-N 이 그룹 크기와 상관없이 마이크로초 단위인지 (기본 테스트에서는 실행 안 함)
+	// 실행: BENCHMARK_ENTRIES=100000 ./gradlew test --tests '*RankTreeTest'
+	@Test
+	@EnabledIfEnvironmentVariable(named = "BENCHMARK_ENTRIES", matches = "\\d+")
+	void rankAndTopNStayFastAtBenchmarkSize() {
+		int entries = Integer.parseInt(System.getenv("BENCHMARK_ENTRIES"));
+		Random random = new Random(7);
+		int[] seconds = new int[entries];
+		RankTree tree = new RankTree();
+		for (int id = 0; id < entries; id++) {
+			seconds[id] = 1500 + random.nextInt(6000);
+			tree.insert(seconds[id], id);
+		}
+
+		int[] probes = new int[1000];
+		for (int i = 0; i < probes.length; i++) probes[i] = random.nextInt(entries);
+		long[] sink = new long[1];
+
+		// 1000 명 순위 조회 한 번의 중앙값 → 한 명당
+		long rankNanos = median(() -> {
+			for (int id : probes) sink[0] += tree.rank(seconds[id], id);
+		}) / probes.length;
+		// 1등부터 100명, 그리고 중간 지점 100명
+		long topNanos = median(() -> tree.forEach(0, 100, (index, score, id) -> sink[0] += id));
+		long middleNanos = median(() -> tree.forEach(entries / 2, entries / 2 + 100, (index, score, id) -> sink[0] += id));
+
+		String timings = String.format("%,d건: rank %d ns/건, top100 %d us, 중간 100명 %d us",
+				entries, rankNanos, topNanos / 1000, middleNanos / 1000);
+		assertTrue(sink[0] != 0);
+		assertTrue(rankNanos < 5_000, "순위 조회가 너무 느림: " + timings);
+		assertTrue(topNanos < 200_000 && middleNanos < 200_000, "top-N 이 너무 느림: " + timings);
+	}
+
+	private static long median(Runnable query) {
+		for (int i = 0; i < 50; i++) query.run(); // 워밍업
+		long[] nanos = new long[31];
+		for (int i = 0; i < nanos.length; i++) {
+			long start = System.nanoTime();
+			query.run();
+			nanos[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(nanos);
+		return nanos[nanos.length / 2];
+	}
+}
@@ -0,0 +1,100 @@
+package runtogether.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayFramesTest {
+
+	// 점 사이는 선형 보간, 출발 전/도착 후는 첫 점/마지막 점에 멈춤
+	@Test
+	void interpolatesBetweenSamplesAndHoldsAtEnds() {
+		RouteTrack track = new RouteTrack();
+		track.add(37.0, 127.0, 2);
+		track.add(37.0004, 127.0, 6);
+		track.add(37.0004, 127.0008, 10);
+
+		ReplayFrames frames = new ReplayFrames(List.of(track), 1);
+		assertEquals(11, frames.frameCount());
+
+		int[] lat = new int[11];
+		int[] lng = new int[11];
+		frames.sample(track, 0, 11, lat, lng);
+		assertEquals(37_000_000, lat[0]);   // 출발 전
+		assertEquals(37_000_100, lat[3]);   // 2초와 6초 사이 1/4 지점
+		assertEquals(127_000_400, lng[8]);  // 6초와 10초 사이 절반
+		assertEquals(127_000_800, lng[10]); // 도착
+
+		assertEquals(-1, ReplayFrames.floorIndex(track, 1));
+		assertEquals(1, ReplayFrames.floorIndex(track, 9));
+	}
+
+	// 200명: 구간 단위 병렬 계산 결과가 테스트에서 따로 계산한 위치(점을 처음부터 훑어 보간)와 모든 프레임에서 같은지
+	@Test
+	void parallelChunksMatchReferenceFor200Runners() {
+		Random random = new Random(5);
+		List<RouteTrack> tracks = new ArrayList<>();
+		for (int r = 0; r < 200; r++) {
+			int samples = 100 + random.nextInt(200);
+			RouteTrack track = new RouteTrack(samples);
+			double lat = 37.5, lng = 127.0;
+			int t = random.nextInt(5); // 늦게 출발한 러너도 있음
+			for (int i = 0; i < samples; i++) {
+				track.add(lat, lng, t);
+				lat += random.nextDouble() * 0.00003;
+				lng += random.nextDouble() * 0.00003;
+				t += 1 + random.nextInt(4); // 샘플 간격이 프레임 간격과 안 맞음
+			}
+			tracks.add(track);
+		}
+		tracks.add(new RouteTrack()); // 경로 없는 러너
+
+		ReplayFrames frames = new ReplayFrames(tracks, 2);
+		int chunk = 37; // 프레임 수로 나누어 떨어지지 않는 구간 크기
+		int n = tracks.size();
+		int[][] lat = new int[n][chunk];
+		int[][] lng = new int[n][chunk];
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			for (int from = 0; from < frames.frameCount(); from += chunk) {
+				int to = Math.min(from + chunk, frames.frameCount());
+				frames.compute(from, to, pool, lat, lng);
+				for (int r = 0; r < n - 1; r++) {
+					for (int f = from; f < to; f++) {
+						int[] expected = reference(tracks.get(r), f * frames.step());
+						assertEquals(expected[0], lat[r][f - from], "러너 " + r + " 프레임 " + f);
+						assertEquals(expected[1], lng[r][f - from], "러너 " + r + " 프레임 " + f);
+					}
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		assertFalse(frames.hasPath(n - 1));
+		int last = 0;
+		for (RouteTrack track : tracks) if (!track.isEmpty()) last = Math.max(last, track.time(track.size() - 1));
+		assertEquals(last / 2 + 1, frames.frameCount());
+	}
+
+	// t 초의 위치: 처음부터 훑어서 t 를 넘지 않는 마지막 점을 찾고 다음 점과 보간 (출발 전/도착 후는 끝점)
+	private static int[] reference(RouteTrack track, int t) {
+		int last = track.size() - 1;
+		if (t < track.time(0)) return scaled(track.lat(0), track.lng(0));
+		if (t >= track.time(last)) return scaled(track.lat(last), track.lng(last));
+		int i = 0;
+		while (track.time(i + 1) <= t) i++;
+		double ratio = (double) (t - track.time(i)) / (track.time(i + 1) - track.time(i));
+		return scaled(track.lat(i) + (track.lat(i + 1) - track.lat(i)) * ratio,
+				track.lng(i) + (track.lng(i + 1) - track.lng(i)) * ratio);
+	}
+
+	private static int[] scaled(double lat, double lng) {
+		return new int[]{(int) Math.round(lat * ReplayFrames.SCALE), (int) Math.round(lng * ReplayFrames.SCALE)};
+	}
+}
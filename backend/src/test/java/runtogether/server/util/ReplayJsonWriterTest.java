@@ -0,0 +1,122 @@
+package runtogether.server.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import runtogether.server.dto.ReplayDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayJsonWriterTest {
+
+	private static final int POINTS = 3_600;
+
+	// NDJSON 한 줄이 기존 응답의 ReplayDto 하나와 같은 JSON 인지 (필드 순서는 무관)
+	@Test
+	void writesSameShapeAsReplayDto() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+		RouteTrack track = track(7, 5);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (JsonGenerator g = mapper.getFactory().createGenerator(out)) {
+			ReplayJsonWriter.writeRunner(g, 7, "러너7", true, track);
+		}
+		assertEquals(mapper.readTree(mapper.writeValueAsString(dto(7, track, true))), mapper.readTree(out.toString(StandardCharsets.UTF_8)));
+	}
+
+	// N명 x 3,600점 (1초 간격 1시간): 전체 List<ReplayDto> 를 만든 뒤 직렬화할 때와 한 명씩 NDJSON 으로 쓸 때 비교
+	//  - 힙에 남는 양: 목록은 인원에 비례, 스트리밍은 한 명분
+	//  - 한 명당 할당량: 스트리밍은 PointDto 를 만들지 않으므로 목록 방식의 절반도 안 됨
+	// 기본 테스트에서는 실행 안 함. 실행: BENCHMARK_RUNNERS=500 ./gradlew test --tests '*ReplayJsonWriterTest'
+	@Test
+	@EnabledIfEnvironmentVariable(named = "BENCHMARK_RUNNERS", matches = "\\d+")
+	void streamingKeepsOneRunnerOnHeap() throws Exception {
+		int runners = Integer.parseInt(System.getenv("BENCHMARK_RUNNERS"));
+		ObjectMapper mapper = new ObjectMapper();
+		CountingStream sink = new CountingStream();
+
+		long base = usedHeap();
+		long allocated = allocatedBytes();
+		List<ReplayDto> all = new ArrayList<>(runners);
+		for (int r = 0; r < runners; r++) all.add(dto(r, track(r, POINTS), false));
+		long materialized = usedHeap() - base;
+		mapper.writeValue(sink, all);
+		long materializedPerRunner = (allocatedBytes() - allocated) / runners;
+		long materializedBytes = sink.count;
+		all = null;
+
+		sink.count = 0;
+		base = usedHeap();
+		long streamingPeak = 0;
+		long streamedAllocation = 0;
+		JsonGenerator g = mapper.getFactory().createGenerator(sink);
+		g.setRootValueSeparator(null);
+		for (int r = 0; r < runners; r++) {
+			allocated = allocatedBytes();
+			RouteTrack track = track(r, POINTS); // DB 커서에서 한 명분을 읽어 디코딩한 것과 같음
+			ReplayJsonWriter.writeRunner(g, r, "러너" + r, false, track);
+			g.writeRaw('\n');
+			g.flush();
+			streamedAllocation += allocatedBytes() - allocated;
+			if (r % 100 == 50) streamingPeak = Math.max(streamingPeak, usedHeap() - base);
+		}
+		g.close();
+		long streamedPerRunner = streamedAllocation / runners;
+
+		String result = String.format("%d x %d: 목록 힙 %,d / 스트리밍 힙 최대 %,d bytes, 한 명당 할당 %,d / %,d bytes, 응답 %,d / %,d bytes",
+				runners, POINTS, materialized, streamingPeak, materializedPerRunner, streamedPerRunner, materializedBytes, sink.count);
+		assertEquals(materializedBytes, sink.count + 1, result); // 같은 내용 (쉼표 대신 줄바꿈, 배열 괄호만 다름)
+		assertTrue(materialized > runners * POINTS * 16L, result); // 점 하나에 PointDto + 박싱 없는 필드만 해도 16바이트 이상
+		assertTrue(streamingPeak * 20 < materialized, result);
+		assertTrue(streamedPerRunner * 2 < materializedPerRunner, result);
+	}
+
+	private static RouteTrack track(int runner, int points) {
+		RouteTrack track = new RouteTrack(points);
+		for (int i = 0; i < points; i++) {
+			track.add(37.5 + runner * 1e-5 + i * 1e-6, 127.0 + i * 2e-6, i);
+		}
+		return track;
+	}
+
+	private static ReplayDto dto(int runner, RouteTrack track, boolean isMe) {
+		List<ReplayDto.PointDto> path = new ArrayList<>(track.size());
+		for (int i = 0; i < track.size(); i++) {
+			path.add(ReplayDto.PointDto.builder().lat(track.lat(i)).lng(track.lng(i)).time(track.time(i)).build());
+		}
+		return ReplayDto.builder().runRecordId((long) runner).nickname("러너" + runner).isMe(isMe).path(path).build();
+	}
+
+	private static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	// 이 스레드가 지금까지 할당한 바이트 (HotSpot)
+	private static long allocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+	}
+
+	private static class CountingStream extends OutputStream {
+		long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package runtogether.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteCodecTest {
+
+	private static final double EPS = 0.5e-6; // 소수점 6자리 고정소수점 반올림 오차
+
+	@Test
+	void roundTripsNegativeDeltas() {
+		RouteTrack track = new RouteTrack();
+		track.add(37.5665, 126.9780, 0);
+		track.add(37.5660, 126.9770, 1);  // 위도/경도 모두 감소
+		track.add(-33.8688, -151.2093, 2); // 부호가 바뀜
+		track.add(-33.8690, -151.2095, 1); // 시간도 거꾸로 (GPS 시계 보정)
+
+		assertSameTrack(track, RouteCodec.decode(RouteCodec.encode(track)));
+	}
+
+	@Test
+	void roundTripsSinglePoint() {
+		RouteTrack track = new RouteTrack();
+		track.add(37.123456, 127.654321, 42);
+
+		RouteTrack decoded = RouteCodec.decode(RouteCodec.encode(track));
+		assertSameTrack(track, decoded);
+		assertEquals(1, decoded.size());
+	}
+
+	@Test
+	void emptyInputsDecodeToEmptyTrack() {
+		assertTrue(RouteCodec.decode(null).isEmpty());
+		assertTrue(RouteCodec.decode(new byte[0]).isEmpty());
+		assertTrue(RouteCodec.decode(RouteCodec.emptyRoute()).isEmpty());
+		assertTrue(RouteCodec.decode(RouteCodec.encode(new RouteTrack())).isEmpty());
+	}
+
+	// 지구 반대편으로 튀는 점, 긴 경과 시간 → varint 가 5바이트까지 쓰임
+	@Test
+	void roundTripsLargeCoordinateJumps() {
+		RouteTrack track = new RouteTrack();
+		track.add(-90.0, -180.0, 0);
+		track.add(90.0, 180.0, 86_400 * 7);
+		track.add(-90.0, -180.0, 0);
+		track.add(0.000001, -0.000001, Integer.MAX_VALUE / 2);
+
+		assertSameTrack(track, RouteCodec.decode(RouteCodec.encode(track)));
+	}
+
+	// 저장된 경로 뒤에 블록을 이어 붙이면 (세션 청크) 이어진 경로로 읽힘
+	@Test
+	void appendedBlocksDecodeAsOneRoute() throws Exception {
+		RouteTrack first = new RouteTrack();
+		first.add(37.5, 127.0, 0);
+		first.add(37.5001, 127.0002, 1);
+		RouteTrack second = new RouteTrack();
+		second.add(37.4999, 126.9998, 2);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write(RouteCodec.emptyRoute());
+		out.write(RouteCodec.encodeBlock(first));
+		out.write(RouteCodec.encodeBlock(second));
+
+		RouteTrack expected = new RouteTrack();
+		expected.add(37.5, 127.0, 0);
+		expected.add(37.5001, 127.0002, 1);
+		expected.add(37.4999, 126.9998, 2);
+		assertSameTrack(expected, RouteCodec.decode(out.toByteArray()));
+	}
+
+	@Test
+	void rejectsUnknownVersionAndTruncatedData() {
+		assertThrows(IllegalArgumentException.class, () -> RouteCodec.decode(new byte[]{99, 1, 0, 0, 0}));
+
+		RouteTrack track = new RouteTrack();
+		track.add(37.5, 127.0, 0);
+		byte[] data = RouteCodec.encode(track);
+		byte[] truncated = Arrays.copyOf(data, data.length - 1);
+		assertThrows(IllegalArgumentException.class, () -> RouteCodec.decode(truncated));
+	}
+
+	// 점 개수가 남은 바이트보다 크면 배열을 잡기 전에 거절 (손상된 BLOB 으로 OutOfMemoryError 가 나지 않게)
+	@Test
+	void rejectsPointCountLargerThanData() {
+		byte[] huge = {RouteCodec.FORMAT_VERSION, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0, 0, 0};
+		assertThrows(IllegalArgumentException.class, () -> RouteCodec.decode(huge));
+
+		byte[] twoPoints = {RouteCodec.FORMAT_VERSION, 2, 0, 0, 0};
+		assertThrows(IllegalArgumentException.class, () -> RouteCodec.decode(twoPoints));
+		assertEquals(1, RouteCodec.decode(new byte[]{RouteCodec.FORMAT_VERSION, 1, 0, 0, 0}).size());
+	}
+
+	private static void assertSameTrack(RouteTrack expected, RouteTrack actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.lat(i), actual.lat(i), EPS, "lat " + i);
+			assertEquals(expected.lng(i), actual.lng(i), EPS, "lng " + i);
+			assertEquals(expected.time(i), actual.time(i), "time " + i);
+		}
+	}
+}
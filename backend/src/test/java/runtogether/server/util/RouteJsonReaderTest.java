@@ -0,0 +1,100 @@
+package runtogether.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteJsonReaderTest {
+
+	@Test
+	void parsesShortDecimalsExactlyLikeDoubleParseDouble() {
+		String[] samples = {"0", "7", "-0", "37.5665", "-33.868800", "126.978000", "-151.2093", "5.", ".5", "-.25", "123456789012345", "0.000001"};
+		for (String s : samples) {
+			assertEquals(Double.parseDouble(s), parseShortDecimal(s), 0.0, s);
+		}
+
+		// 좌표처럼 생긴 무작위 10진수도 비트 단위로 같은 값이어야 함
+		Random random = new Random(3);
+		for (int i = 0; i < 100_000; i++) {
+			String s = String.format("%s%d.%06d", random.nextBoolean() ? "-" : "", random.nextInt(181), random.nextInt(1_000_000));
+			assertEquals(Double.parseDouble(s), parseShortDecimal(s), 0.0, s);
+		}
+	}
+
+	// 지수 표기, 16자리 이상, 숫자가 아닌 것은 NaN → 호출 쪽이 Jackson 변환으로 대체
+	@Test
+	void returnsNaNWhenShortPathDoesNotApply() {
+		for (String s : new String[]{"1e-5", "1E3", "1234567890123456", "0.1234567890123456", "-", ".", "", "1.2.3", "+5", "12a"}) {
+			assertTrue(Double.isNaN(parseShortDecimal(s)), s);
+		}
+	}
+
+	@Test
+	void parsesPaceStrings() {
+		assertEquals(401, parsePace("6'41''"));
+		assertEquals(401, parsePace("6'41\""));
+		assertEquals(401, parsePace("  6'41''"));
+		assertEquals(725, parsePace("12'05"));
+		assertEquals(0, parsePace("0'00''"));
+	}
+
+	@Test
+	void rejectsMalformedPaceStrings() {
+		for (String s : new String[]{"", "6", "6'", "'41''", "6:41", "abc", "-6'41''", "6 '41''"}) {
+			assertEquals(-1, parsePace(s), s);
+		}
+	}
+
+	// 빠른 경로가 안 되는 숫자는 Jackson 기본 변환, 문자열 숫자는 Double.parseDouble 로 읽힘
+	@Test
+	void readRouteFallsBackForExponentsAndStrings() throws Exception {
+		RouteTrack track = RouteJsonReader.readRoute("[" +
+				"{\"lat\":3.75e1,\"lng\":1.27E2,\"time\":1}," +
+				"{\"lat\":\" 37.55 \",\"lng\":\"-126.98\",\"time\":\"2\"}," +
+				"{\"lat\":37.1234567890123456,\"lng\":127,\"time\":3.9}," +
+				"{\"lat\":\"not a number\",\"lng\":127.0,\"time\":4}," +
+				"{\"lng\":127.0}," +
+				"{\"lat\":37.0,\"lng\":127.0,\"extra\":{\"nested\":[1,2]}}" +
+				"]");
+
+		assertEquals(4, track.size()); // 위도를 읽을 수 없는 두 점은 건너뜀
+		assertEquals(37.5, track.lat(0), 0.0);
+		assertEquals(127.0, track.lng(0), 0.0);
+		assertEquals(37.55, track.lat(1), 0.0);
+		assertEquals(-126.98, track.lng(1), 0.0);
+		assertEquals(2, track.time(1));
+		assertEquals(37.1234567890123456, track.lat(2), 0.0);
+		assertEquals(3, track.time(2)); // 소수 시간은 버림
+		assertEquals(0, track.time(3)); // time 없음
+	}
+
+	@Test
+	void readLapsAcceptsStringAndNumericPace() throws Exception {
+		LapSplits laps = RouteJsonReader.readLaps(
+				"[{\"km\":1,\"pace\":\"6'41''\"},{\"km\":2,\"pace\":5.3},{\"km\":3,\"pace\":\"bad\"},{\"pace\":\"5'00''\"}]");
+
+		assertEquals(3, laps.size()); // km 이 없는 항목은 빠짐
+		assertEquals(401, laps.time(0));
+		assertEquals(6.41, laps.pace(0), 1e-9);
+		assertEquals(330, laps.time(1));
+		assertEquals(0, laps.time(2));
+	}
+
+	@Test
+	void rejectsNonArrayAndTruncatedInput() {
+		assertThrows(IllegalArgumentException.class, () -> RouteJsonReader.readRoute("{\"lat\":1}"));
+		assertThrows(Exception.class, () -> RouteJsonReader.readRoute("[{\"lat\":1,\"lng\":2}"));
+	}
+
+	private static double parseShortDecimal(String s) {
+		char[] buf = ("xx" + s + "yy").toCharArray(); // offset/length 가 지켜지는지도 같이 확인
+		return RouteJsonReader.parseShortDecimal(buf, 2, s.length());
+	}
+
+	private static int parsePace(String s) {
+		char[] buf = ("x" + s + "x").toCharArray();
+		return RouteJsonReader.parsePaceSeconds(buf, 1, s.length());
+	}
+}
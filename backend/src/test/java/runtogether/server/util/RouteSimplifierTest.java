@@ -0,0 +1,142 @@
+package runtogether.server.util;
+
+import org.junit.jupiter.api.Test;
+import runtogether.server.domain.RouteDetail;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteSimplifierTest {
+
+	private static final double METERS_PER_DEGREE_LAT = 110_540.0;
+	private static final double METERS_PER_DEGREE_LNG = 111_320.0;
+	private static final double START_LAT = 37.5;
+	private static final double START_LNG = 127.0;
+
+	private final RouteSimplifier simplifier = new RouteSimplifier(4, 15);
+
+	@Test
+	void keepsEndpointsAndCorners() {
+		// 동쪽으로 100m 직선 → 북쪽으로 100m 직선 (1m 간격)
+		RouteTrack track = new RouteTrack();
+		for (int i = 0; i <= 100; i++) track.add(lat(0), lng(i), i);
+		for (int i = 1; i <= 100; i++) track.add(lat(i), lng(100), 100 + i);
+
+		RouteTrack simplified = RouteSimplifier.simplify(track, 1);
+		assertEquals(3, simplified.size());
+		assertSamePoint(track, 0, simplified, 0);
+		assertSamePoint(track, 100, simplified, 1); // 꺾이는 지점
+		assertSamePoint(track, track.size() - 1, simplified, 2);
+	}
+
+	@Test
+	void shortOrZeroToleranceTracksAreUnchanged() {
+		RouteTrack two = new RouteTrack();
+		two.add(lat(0), lng(0), 0);
+		two.add(lat(5), lng(5), 3);
+		assertSame(two, RouteSimplifier.simplify(two, 15));
+
+		RouteTrack zigzag = zigzag(50, 10);
+		assertSame(zigzag, RouteSimplifier.simplify(zigzag, 0));
+		assertSame(zigzag, simplifier.simplify(zigzag, RouteDetail.FULL));
+	}
+
+	// 빠진 점은 모두 남은 경로에서 허용 오차 안에 있음
+	@Test
+	void droppedPointsStayWithinTolerance() {
+		RouteTrack track = tenKilometerRun();
+		for (double tolerance : new double[]{1, 4, 15, 50}) {
+			RouteTrack simplified = RouteSimplifier.simplify(track, tolerance);
+			assertTrue(simplified.size() < track.size());
+			int segment = 0;
+			for (int i = 0; i < track.size(); i++) {
+				// 시간이 늘 증가하므로 원본 점 i 는 시간으로 찾은 남은 구간 위에 있어야 함
+				while (segment + 1 < simplified.size() - 1 && simplified.time(segment + 1) <= track.time(i)) segment++;
+				double distance = distanceToSegment(track, i, simplified, segment);
+				assertTrue(distance <= tolerance + 1e-6, "점 " + i + " 오차 " + distance + "m > " + tolerance + "m");
+			}
+		}
+	}
+
+	// 재귀가 아니라서 구간이 한 점씩만 줄어드는 최악의 경우(지그재그, 깊이 = 점 수)에도 스택 오버플로 없음
+	@Test
+	void handlesVeryLongTracks() {
+		RouteTrack track = zigzag(30_000, 20);
+		RouteTrack simplified = RouteSimplifier.simplify(track, 4);
+		assertTrue(simplified.size() > track.size() / 2, "남은 점 " + simplified.size()); // 20m 로 흔들리는 점은 4m 오차로 거의 못 뺌
+		assertSamePoint(track, 0, simplified, 0);
+		assertSamePoint(track, track.size() - 1, simplified, simplified.size() - 1);
+		assertTrue(RouteSimplifier.simplify(track, 30).size() <= 2);
+	}
+
+	// 1초 간격 10km 러닝 기록: LOW 는 JSON 크기가 한 자릿수 이상 줄어듦
+	@Test
+	void shrinksTenKilometerTraceByAnOrderOfMagnitude() {
+		String full = RouteJsonWriter.writePath(tenKilometerRun());
+		String medium = simplifier.simplifyJson(full, RouteDetail.MEDIUM);
+		String low = simplifier.simplifyJson(full, RouteDetail.LOW);
+
+		assertTrue(medium.length() * 5 < full.length(), "MEDIUM " + medium.length() + " / FULL " + full.length());
+		assertTrue(low.length() * 10 < full.length(), "LOW " + low.length() + " / FULL " + full.length());
+	}
+
+	// 읽을 수 있는 점이 없으면 "[]" 가 아니라 null (원본 경로로 대체되도록)
+	@Test
+	void simplifyJsonReturnsNullWithoutPoints() {
+		assertNull(simplifier.simplifyJson(null, RouteDetail.LOW));
+		assertNull(simplifier.simplifyJson("", RouteDetail.LOW));
+		assertNull(simplifier.simplifyJson("[]", RouteDetail.LOW));
+		assertNull(simplifier.simplifyJson("[{\"latitude\":37.5,\"longitude\":127.0}]", RouteDetail.MEDIUM));
+		assertNull(simplifier.simplifyJson("not json", RouteDetail.MEDIUM));
+		assertNotNull(simplifier.simplifyJson("[{\"lat\":37.5,\"lng\":127.0,\"time\":0}]", RouteDetail.MEDIUM));
+	}
+
+	// 3.3m/s 로 10km: 500m 마다 방향을 틀고 중간에 공원 곡선 구간, GPS 오차 ±1m
+	private static RouteTrack tenKilometerRun() {
+		Random random = new Random(7);
+		RouteTrack track = new RouteTrack();
+		double x = 0, y = 0, heading = 0;
+		for (int t = 0; t <= 3030; t++) {
+			track.add(lat(y + random.nextGaussian() * 0.5), lng(x + random.nextGaussian() * 0.5), t);
+			double meters = t * 3.3;
+			if (meters % 500 < 3.3) heading += Math.toRadians(60 + random.nextInt(60));
+			if (meters > 4000 && meters < 5500) heading += Math.toRadians(0.6);
+			x += Math.cos(heading) * 3.3;
+			y += Math.sin(heading) * 3.3;
+		}
+		return track;
+	}
+
+	// 동쪽으로 가면서 남북으로 amplitude 미터씩 번갈아 흔들림
+	private static RouteTrack zigzag(int points, double amplitude) {
+		RouteTrack track = new RouteTrack(points);
+		for (int i = 0; i < points; i++) track.add(lat((i % 2) * amplitude), lng(i * 0.01), i);
+		return track;
+	}
+
+	private static double lat(double northMeters) {
+		return START_LAT + northMeters / METERS_PER_DEGREE_LAT;
+	}
+
+	private static double lng(double eastMeters) {
+		return START_LNG + eastMeters / (METERS_PER_DEGREE_LNG * Math.cos(Math.toRadians(START_LAT)));
+	}
+
+	private static double distanceToSegment(RouteTrack track, int i, RouteTrack simplified, int segment) {
+		double cosLat = Math.cos(Math.toRadians(START_LAT));
+		double px = track.lng(i) * METERS_PER_DEGREE_LNG * cosLat, py = track.lat(i) * METERS_PER_DEGREE_LAT;
+		double ax = simplified.lng(segment) * METERS_PER_DEGREE_LNG * cosLat, ay = simplified.lat(segment) * METERS_PER_DEGREE_LAT;
+		double bx = simplified.lng(segment + 1) * METERS_PER_DEGREE_LNG * cosLat, by = simplified.lat(segment + 1) * METERS_PER_DEGREE_LAT;
+		double dx = bx - ax, dy = by - ay;
+		double lenSq = dx * dx + dy * dy;
+		double t = (lenSq == 0) ? 0 : Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / lenSq));
+		return Math.hypot(ax + t * dx - px, ay + t * dy - py);
+	}
+
+	private static void assertSamePoint(RouteTrack expected, int i, RouteTrack actual, int j) {
+		assertEquals(expected.lat(i), actual.lat(j), 0);
+		assertEquals(expected.lng(i), actual.lng(j), 0);
+		assertEquals(expected.time(i), actual.time(j));
+	}
+}
@@ -0,0 +1,62 @@
+package runtogether.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteTilesTest {
+
+	// 서울시청 (37.5665, 126.9780) 은 z=12 에서 3492/1586 타일
+	@Test
+	void tileOfKnownPoint() {
+		assertEquals(3492, RouteTiles.tileX(126.9780, 12));
+		assertEquals(1586, RouteTiles.tileY(37.5665, 12));
+		assertEquals(0, RouteTiles.tileX(-180, 0));
+	}
+
+	// 타일을 가로지르는 경로는 경계에서 잘리고, 나갔다 다시 들어오면 조각이 둘로 나뉨
+	@Test
+	void clipsAtTileEdgesAndSplitsOnReentry() {
+		int z = 16;
+		int tx = RouteTiles.tileX(126.9780, z), ty = RouteTiles.tileY(37.5665, z);
+		double west = RouteTiles.lngOf((double) tx / (1 << z)), east = RouteTiles.lngOf((double) (tx + 1) / (1 << z));
+		double north = RouteTiles.latOf((double) ty / (1 << z)), south = RouteTiles.latOf((double) (ty + 1) / (1 << z));
+		double midLat = (north + south) / 2, width = east - west;
+
+		RouteTrack track = new RouteTrack();
+		track.add(midLat, west - width, 0);           // 왼쪽 바깥
+		track.add(midLat, west + width * 0.5, 10);     // 안
+		track.add(midLat, east + width, 20);           // 오른쪽 바깥
+		track.add(north + 1, east + width, 30);        // 멀리
+		track.add(midLat, west + width * 0.25, 40);    // 다시 안
+
+		List<int[]> pieces = RouteTiles.clip(new RouteTiles.Projected(track), z, tx, ty, 0, 1_000_000);
+		assertEquals(2, pieces.size());
+		// 첫 조각: 왼쪽 경계 → 안쪽 점 → 오른쪽 경계
+		assertEquals(6, pieces.get(0).length);
+		assertEquals(Math.round(west * 1e6), pieces.get(0)[1], 1);
+		assertEquals(Math.round(east * 1e6), pieces.get(0)[5], 1);
+		// 둘째 조각은 마지막 점에서 끝남
+		int[] second = pieces.get(1);
+		assertEquals(Math.round((west + width * 0.25) * 1e6), second[second.length - 1], 1);
+
+		// 타일과 겹치지 않는 경로는 빈 결과
+		assertTrue(RouteTiles.clip(new RouteTiles.Projected(track), z, tx + 10, ty + 10, 0, 1_000_000).isEmpty());
+	}
+
+	// 줌을 낮추면 1px 오차로 단순화한 경로의 점 수가 크게 줄어듦
+	@Test
+	void zoomedOutRoutesAreMuchSmaller() {
+		RouteTrack track = new RouteTrack();
+		for (int i = 0; i < 3600; i++) {
+			double angle = i * 2 * Math.PI / 3600;
+			track.add(37.55 + 0.02 * Math.sin(angle) + 0.00002 * Math.sin(i * 1.3), 126.98 + 0.025 * Math.cos(angle), i);
+		}
+		int far = RouteSimplifier.simplify(track, RouteTiles.metersPerPixel(37.55, 11)).size();
+		int near = RouteSimplifier.simplify(track, RouteTiles.metersPerPixel(37.55, 17)).size();
+		assertTrue(far * 10 < track.size(), "z=11 점 수: " + far);
+		assertTrue(far < near);
+	}
+}
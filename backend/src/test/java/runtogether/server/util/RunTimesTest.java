@@ -0,0 +1,53 @@
+package runtogether.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunTimesTest {
+
+	// 두 칸이면 분:초, 세 칸이면 시:분:초
+	@Test
+	void parsesMinuteAndHourDurations() {
+		assertEquals(3402, RunTimes.durationSeconds("56:42"));
+		assertEquals(3723, RunTimes.durationSeconds("1:02:03"));
+		assertEquals(600, RunTimes.durationSeconds("00:10:00"));
+		assertEquals(0, RunTimes.durationSeconds("0:00"));
+		assertEquals(3402, RunTimes.durationSeconds(" 56 : 42 "));
+		assertEquals(6000, RunTimes.durationSeconds("100:00")); // 분이 60 을 넘어도 그대로 더함
+	}
+
+	@Test
+	void rejectsMalformedDurations() {
+		assertNull(RunTimes.durationSeconds(null));
+		assertNull(RunTimes.durationSeconds(""));
+		assertNull(RunTimes.durationSeconds("   "));
+		assertNull(RunTimes.durationSeconds("3402"));
+		assertNull(RunTimes.durationSeconds("1:02:03:04"));
+		assertNull(RunTimes.durationSeconds("56:4x"));
+		assertNull(RunTimes.durationSeconds("-1:00"));
+		assertNull(RunTimes.durationSeconds("56:"));
+		assertNull(RunTimes.durationSeconds("6'52\""));
+	}
+
+	@Test
+	void parsesBothPaceQuoteStyles() {
+		assertEquals(412, RunTimes.paceSeconds("6'52\""));
+		assertEquals(412, RunTimes.paceSeconds("6'52''"));
+		assertEquals(300, RunTimes.paceSeconds("5'00''"));
+		assertEquals(412, RunTimes.paceSeconds(" 6' 52\" "));
+		assertEquals(605, RunTimes.paceSeconds("10'05\""));
+	}
+
+	// 0초 페이스는 측정 실패
+	@Test
+	void rejectsMalformedOrZeroPaces() {
+		assertNull(RunTimes.paceSeconds(null));
+		assertNull(RunTimes.paceSeconds(""));
+		assertNull(RunTimes.paceSeconds("652"));
+		assertNull(RunTimes.paceSeconds("6:52"));
+		assertNull(RunTimes.paceSeconds("6'"));
+		assertNull(RunTimes.paceSeconds("six'52\""));
+		assertNull(RunTimes.paceSeconds("0'00''"));
+	}
+}
@@ -0,0 +1,116 @@
+package runtogether.server.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SplitCalculatorTest {
+
+	// 경도가 같으면 두 점 사이 거리 = 지구 반지름 × 위도 차(라디안) → 원하는 거리(m)에 딱 맞는 점을 만들 수 있음
+	private static final double START_LAT = 37.5;
+	private static final double LNG = 127.0;
+
+	@Test
+	void endsLapExactlyOnKmBoundaryPoint() {
+		LapSplits laps = SplitCalculator.computeKmSplits(track(
+				0, 0,
+				500, 150,
+				1000, 300,
+				1500, 450,
+				2000, 620), 620);
+
+		assertLaps(laps, 300, 320);
+		assertEquals(1, laps.km(0));
+		assertEquals(2, laps.km(1));
+		assertEquals(5.00, laps.pace(0), 1e-9);
+		assertEquals(5.20, laps.pace(1), 1e-9);
+	}
+
+	// 경계가 두 점 사이에 있으면 선형 보간한 시각
+	@Test
+	void interpolatesBoundaryInsideSegment() {
+		LapSplits laps = SplitCalculator.computeKmSplits(track(
+				0, 0,
+				800, 240,
+				1200, 400), 400);
+
+		assertLaps(laps, 320); // 800m 240초 + 200m (400m 를 160초) 의 절반 80초
+	}
+
+	// 마지막 1km 미만 구간은 랩이 아님
+	@Test
+	void dropsPartialLastKm() {
+		LapSplits laps = SplitCalculator.computeKmSplits(track(
+				0, 0,
+				1000, 300,
+				1999, 600), 600);
+
+		assertLaps(laps, 300);
+	}
+
+	// 같은 자리에 찍힌 점(정지, GPS 중복)은 거리 0 → 랩을 두 번 세거나 0 으로 나누지 않음
+	@Test
+	void ignoresDuplicateAndZeroDistancePoints() {
+		LapSplits laps = SplitCalculator.computeKmSplits(track(
+				0, 0,
+				0, 0,
+				0, 60,      // 출발 전 1분 대기
+				1000, 360,
+				1000, 360,  // 경계 위에서 중복
+				1000, 390,  // 경계 위에서 30초 정지
+				2000, 690), 690);
+
+		assertLaps(laps, 360, 330);
+		assertEquals(2, laps.km(1));
+	}
+
+	@Test
+	void returnsNoLapsForRouteShorterThanOneKm() {
+		assertTrue(SplitCalculator.computeKmSplits(track(0, 0, 400, 120, 999, 300), 300).isEmpty());
+		assertTrue(SplitCalculator.computeKmSplits(track(0, 0), 300).isEmpty());
+		assertTrue(SplitCalculator.computeKmSplits(track(0, 0, 0, 100, 0, 200), 200).isEmpty());
+		assertTrue(SplitCalculator.computeKmSplits(new RouteTrack(), 300).isEmpty());
+	}
+
+	// 시간 없는 경로는 전체 기록 시간을 점 개수로 나눠 추정 (시간도 없으면 계산 안 함)
+	@Test
+	void spreadsTotalTimeWhenPointsHaveNoTime() {
+		LapSplits laps = SplitCalculator.computeKmSplits(track(
+				0, 0,
+				1000, 0,
+				2000, 0,
+				2500, 0), 900);
+
+		assertLaps(laps, 300, 300);
+		assertTrue(SplitCalculator.computeKmSplits(track(0, 0, 1000, 0, 2000, 0), 0).isEmpty());
+	}
+
+	// 한 구간이 여러 km 를 건너뛰면 (GPS 끊김) 건너뛴 km 마다 랩
+	@Test
+	void splitsLongSegmentIntoSeveralLaps() {
+		LapSplits laps = SplitCalculator.computeKmSplits(track(
+				0, 0,
+				3000, 900), 900);
+
+		assertLaps(laps, 300, 300, 300);
+		assertEquals(3, laps.km(2));
+	}
+
+	// (거리 m, 경과 초) 쌍으로 정북 방향 경로 만들기
+	private static RouteTrack track(int... metersAndSeconds) {
+		RouteTrack track = new RouteTrack();
+		for (int i = 0; i < metersAndSeconds.length; i += 2) {
+			double lat = START_LAT + Math.toDegrees(metersAndSeconds[i] / 6_371_000.0);
+			track.add(lat, LNG, metersAndSeconds[i + 1]);
+		}
+		return track;
+	}
+
+	private static void assertLaps(LapSplits laps, int... lapSeconds) {
+		assertEquals(lapSeconds.length, laps.size(), "랩 개수");
+		for (int i = 0; i < lapSeconds.length; i++) {
+			assertEquals(i + 1, laps.km(i));
+			assertEquals(lapSeconds[i], laps.time(i), "랩 " + (i + 1));
+		}
+	}
+}
@@ -114,6 +114,10 @@ class _RankingCardState extends State<RankingCard> {
   bool _isLoading = true;
   Timer? _timer;
 
+  // 마지막으로 받은 응답의 ETag (같은 주소를 다시 부를 때 If-None-Match 로 보내서, 그대로면 304 로 본문 없이 끝남)
+  String? _etag;
+  String? _etagUrl;
+
   int _selectedKm = 1;
   final int _maxKm = 10;
 
@@ -141,11 +145,6 @@ class _RankingCardState extends State<RankingCard> {
       final email = prefs.getString('email') ?? '';
       final dio = Dio();
 
-      final options = Options(headers: {
-        'ngrok-skip-browser-warning': 'true',
-        'Authorization': 'Bearer $token',
-      });
-
       String query = "?email=$email&type=${widget.type}";
       if (widget.isSection) {
         query += "&km=$_selectedKm";
@@ -157,9 +156,26 @@ class _RankingCardState extends State<RankingCard> {
 
       final url = '$baseUrl/api/v1/groups/${widget.groupId}/rankings$query';
 
+      final options = Options(
+        headers: {
+          'ngrok-skip-browser-warning': 'true',
+          'Authorization': 'Bearer $token',
+          if (_etag != null && _etagUrl == url) 'If-None-Match': _etag,
+        },
+        validateStatus: (status) => status != null && (status < 300 || status == 304),
+      );
+
       final response = await dio.get(url, options: options);
 
+      if (response.statusCode == 304) {
+        // 랭킹이 바뀌지 않음 → 지금 화면 그대로
+        if (mounted && _isLoading) setState(() => _isLoading = false);
+        return;
+      }
+
       if (response.statusCode == 200 && mounted) {
+        _etag = response.headers.value('etag');
+        _etagUrl = url;
         List<dynamic> list = response.data;
         setState(() {
           _users = list.map((e) => RankingUser.fromJson(e)).toList();
@@ -167,6 +183,7 @@ class _RankingCardState extends State<RankingCard> {
         });
       }
     } catch (e) {
+      _etag = null; // 목록을 비웠으므로 다음에는 전체를 다시 받음
       if (mounted) {
         setState(() {
           _users = [];